@@ -64,6 +64,19 @@ tasks.jacocoTestReport {
     }
 }
 
+// Banc d'essai du réglage SQLite : gradle :app:sqliteBenchmark [-Pseconds=5 -Pwriters=4 -Preaders=8]
+tasks.register<JavaExec>("sqliteBenchmark") {
+    group = "verification"
+    description = "Compare le débit SQLite par défaut et avec SqliteDataSourceConfig"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass = "org.SportsIn.config.SqliteThroughputBenchmark"
+    args(
+        (project.findProperty("seconds") ?: "5").toString(),
+        (project.findProperty("writers") ?: "4").toString(),
+        (project.findProperty("readers") ?: "8").toString()
+    )
+}
+
 sonar {
     properties {
         property("sonar.projectKey", "AlvesMartim_SportsIn")
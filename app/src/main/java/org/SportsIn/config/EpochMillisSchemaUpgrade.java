@@ -0,0 +1,48 @@
+package org.SportsIn.config;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Migration V3 : dates de mission et active_perk en epoch millis.
+ *
+ * Le schéma V1 déclare déjà ces colonnes INTEGER, mais CREATE TABLE IF NOT EXISTS ne recrée pas une
+ * table existante : sur une base créée avant, ends_at et expires_at restent TEXT et contiennent de
+ * l'ISO-8601. Dans ce cas, db/upgrade/epoch_millis.sql recrée les deux tables. Sans effet sinon.
+ */
+@Component
+public class EpochMillisSchemaUpgrade implements SchemaMigration {
+
+    private static final String SCRIPT = "db/upgrade/epoch_millis.sql";
+
+    @Override
+    public int version() {
+        return 3;
+    }
+
+    @Override
+    public String description() {
+        return "epoch_millis";
+    }
+
+    @Override
+    public void migrate(Connection connection) throws SQLException {
+        if (!needsUpgrade(connection)) return;
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource(SCRIPT));
+        System.out.println("Dates de mission et active_perk converties en epoch millis.");
+    }
+
+    static boolean needsUpgrade(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT type FROM pragma_table_info('mission') WHERE name = 'ends_at'");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() && "TEXT".equalsIgnoreCase(rs.getString(1));
+        }
+    }
+}
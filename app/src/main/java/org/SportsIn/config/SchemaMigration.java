@@ -0,0 +1,23 @@
+package org.SportsIn.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Migration de schéma écrite en Java, pour les changements qu'un script SQL ne sait pas exprimer
+ * (condition sur l'état de la base, conversion de données).
+ *
+ * Déclarée comme bean, elle est ordonnée avec les scripts de db/migration par son numéro de version
+ * et appliquée une seule fois par SchemaMigrator, dans la transaction de la connexion fournie.
+ */
+public interface SchemaMigration {
+
+    int version();
+
+    String description();
+
+    /**
+     * Applique la migration. Ne pas valider ni fermer la connexion : SchemaMigrator s'en charge.
+     */
+    void migrate(Connection connection) throws SQLException;
+}
@@ -0,0 +1,291 @@
+package org.SportsIn.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applique les migrations de schéma versionnées au démarrage, à la place de spring.sql.init.
+ *
+ * Les migrations sont les scripts db/migration/V&lt;version&gt;__&lt;description&gt;.sql et les beans
+ * SchemaMigration, ordonnés par version. Les versions appliquées sont tracées dans schema_version :
+ * seules les nouvelles sont exécutées, chacune dans sa propre transaction avec sa ligne de
+ * métadonnées. Un script déjà appliqué ne doit plus être modifié (somme de contrôle vérifiée).
+ *
+ * Un script marqué "-- migration:online" ne peut contenir que des CREATE INDEX IF NOT EXISTS : il
+ * est appliqué en arrière-plan une fois l'application prête, pour que la construction d'un index
+ * sur une grosse table ne retarde pas le démarrage. Il passe par une connexion dédiée, ouverte hors
+ * du pool : l'unique connexion d'écriture du pool reste disponible. SQLite n'a pas de création
+ * d'index concurrente : pendant la construction, les lectures continuent (WAL) mais chaque
+ * écriture de l'application attend le verrou au plus sqlite.busy-timeout-ms (5 s par défaut), puis
+ * échoue (SQLITE_BUSY) si l'index n'est pas terminé. Une base en mémoire, qui ne peut pas être
+ * rouverte, garde la connexion du pool.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrator {
+
+    static final String ONLINE_MARKER = "-- migration:online";
+
+    // L'index attend la fin des transactions d'écriture en cours plutôt que d'échouer
+    private static final int ONLINE_BUSY_TIMEOUT_MS = 60_000;
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern INDEX_STATEMENT =
+            Pattern.compile("(?is)\\s*CREATE\\s+(UNIQUE\\s+)?INDEX\\s+IF\\s+NOT\\s+EXISTS\\s.+");
+
+    private static final String CREATE_METADATA = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                type TEXT NOT NULL,
+                checksum INTEGER,
+                installed_at INTEGER NOT NULL,
+                execution_ms INTEGER NOT NULL
+            )""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<SchemaMigration> javaMigrations;
+    private final String location;
+
+    private final List<Migration> pendingOnline = new CopyOnWriteArrayList<>();
+    private final ExecutorService onlineExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "schema-online-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SchemaMigrator(DataSource dataSource,
+                          List<SchemaMigration> javaMigrations,
+                          @Value("${schema.migrations.location:classpath:db/migration}") String location) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.javaMigrations = javaMigrations;
+        this.location = location;
+    }
+
+    /**
+     * Applique les migrations en attente, sauf les index en ligne (différés à onApplicationReady).
+     */
+    @PostConstruct
+    public void migrate() {
+        jdbcTemplate.execute(CREATE_METADATA);
+        Map<Integer, Long> applied = appliedChecksums();
+
+        int count = 0;
+        pendingOnline.clear();
+        for (Migration migration : loadMigrations()) {
+            if (applied.containsKey(migration.version())) {
+                Long recorded = applied.get(migration.version());
+                if (migration.checksum() != null && recorded != null && !recorded.equals(migration.checksum())) {
+                    throw new IllegalStateException("Migration V" + migration.version()
+                            + " modifiée après son application (somme de contrôle différente)");
+                }
+                continue;
+            }
+            if (migration.online()) {
+                pendingOnline.add(migration);
+                continue;
+            }
+            apply(migration);
+            count++;
+        }
+        System.out.println("Migrations de schéma : " + count + " appliquée(s), " + applied.size()
+                + " déjà en base, " + pendingOnline.size() + " index en ligne en attente.");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!pendingOnline.isEmpty()) {
+            onlineExecutor.submit(this::applyOnline);
+        }
+    }
+
+    /**
+     * Construit les index en ligne en attente, un par transaction. S'arrête au premier échec :
+     * la migration reste en attente et sera retentée au prochain démarrage.
+     */
+    public void applyOnline() {
+        for (Migration migration : pendingOnline) {
+            try {
+                applyOnDedicatedConnection(migration);
+                pendingOnline.remove(migration);
+            } catch (RuntimeException e) {
+                System.err.println("Échec de l'index en ligne V" + migration.version() + " : " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Versions des index en ligne pas encore construits.
+     */
+    public List<Integer> getPendingOnlineVersions() {
+        return pendingOnline.stream().map(Migration::version).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        onlineExecutor.shutdown();
+    }
+
+    private Map<Integer, Long> appliedChecksums() {
+        Map<Integer, Long> applied = new HashMap<>();
+        jdbcTemplate.query("SELECT version, checksum FROM schema_version", rs -> {
+            long checksum = rs.getLong("checksum");
+            applied.put(rs.getInt("version"), rs.wasNull() ? null : checksum);
+        });
+        return applied;
+    }
+
+    private void apply(Migration migration) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            apply(connection, migration);
+            return null;
+        });
+    }
+
+    private void applyOnDedicatedConnection(Migration migration) {
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        if (url == null || url.contains(":memory:") || url.contains("mode=memory")) {
+            apply(migration);
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("busy_timeout", String.valueOf(ONLINE_BUSY_TIMEOUT_MS));
+        try (Connection connection = DriverManager.getConnection(url, properties)) {
+            apply(connection, migration);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Index en ligne V" + migration.version() + " : " + e.getMessage(), e);
+        }
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.currentTimeMillis();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            migration.work().run(connection);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, type, checksum, installed_at, execution_ms) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)")) {
+                long now = System.currentTimeMillis();
+                ps.setInt(1, migration.version());
+                ps.setString(2, migration.description());
+                ps.setString(3, migration.type());
+                ps.setObject(4, migration.checksum());
+                ps.setLong(5, now);
+                ps.setLong(6, now - start);
+                ps.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        System.out.println("Migration V" + migration.version() + " (" + migration.description() + ") appliquée en "
+                + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    List<Migration> loadMigrations() {
+        Map<Integer, Migration> byVersion = new TreeMap<>();
+        for (Resource resource : findScripts()) {
+            String fileName = resource.getFilename();
+            Matcher matcher = FILE_NAME.matcher(fileName == null ? "" : fileName);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Nom de migration invalide : " + fileName);
+            }
+            String script = read(resource);
+            boolean online = script.lines().anyMatch(line -> line.strip().equalsIgnoreCase(ONLINE_MARKER));
+            if (online) {
+                checkIndexOnly(fileName, script);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(script.replace("\r", "").getBytes(StandardCharsets.UTF_8));
+            EncodedResource encoded = new EncodedResource(resource, StandardCharsets.UTF_8);
+            register(byVersion, new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2), "SQL",
+                    online, crc.getValue(), connection -> ScriptUtils.executeSqlScript(connection, encoded)));
+        }
+        for (SchemaMigration javaMigration : javaMigrations) {
+            register(byVersion, new Migration(javaMigration.version(), javaMigration.description(), "JAVA",
+                    false, null, javaMigration::migrate));
+        }
+        return new ArrayList<>(byVersion.values());
+    }
+
+    private Resource[] findScripts() {
+        try {
+            return new PathMatchingResourcePatternResolver().getResources(location + "/V*__*.sql");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture des migrations impossible : " + location, e);
+        }
+    }
+
+    private static String read(Resource resource) {
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture impossible : " + resource.getFilename(), e);
+        }
+    }
+
+    private static void register(Map<Integer, Migration> byVersion, Migration migration) {
+        Migration previous = byVersion.putIfAbsent(migration.version(), migration);
+        if (previous != null) {
+            throw new IllegalStateException("Version de migration en double : V" + migration.version()
+                    + " (" + previous.description() + ", " + migration.description() + ")");
+        }
+    }
+
+    private static void checkIndexOnly(String fileName, String script) {
+        StringBuilder withoutComments = new StringBuilder();
+        script.lines().filter(line -> !line.strip().startsWith("--"))
+                .forEach(line -> withoutComments.append(line).append('\n'));
+        for (String statement : withoutComments.toString().split(";")) {
+            if (!statement.isBlank() && !INDEX_STATEMENT.matcher(statement).matches()) {
+                throw new IllegalStateException("La migration en ligne " + fileName
+                        + " ne doit contenir que des CREATE INDEX IF NOT EXISTS : " + statement.strip());
+            }
+        }
+    }
+
+    record Migration(int version, String description, String type, boolean online, Long checksum, Work work) {
+    }
+
+    @FunctionalInterface
+    interface Work {
+        void run(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,59 @@
+package org.SportsIn.config;
+
+import org.SportsIn.repository.JdbcSessionRepository;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migration V5 : dates de session réécrites en UTC à largeur fixe.
+ *
+ * Avant, session.created_at et ended_at mélangeaient deux formats : heure locale sans décalage ni
+ * secondes nulles (écrite par save()) et ISO avec décalage (données d'exemple). Comparés comme du
+ * texte, les filtres par plage de dates étaient faux. Chaque date est relue puis réécrite au format
+ * de JdbcSessionRepository.formatDate.
+ */
+@Component
+public class SessionDateSchemaUpgrade implements SchemaMigration {
+
+    @Override
+    public int version() {
+        return 5;
+    }
+
+    @Override
+    public String description() {
+        return "session_utc_dates";
+    }
+
+    @Override
+    public void migrate(Connection connection) throws SQLException {
+        List<String[]> rows = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT id, created_at, ended_at FROM session");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new String[]{rs.getString(1), normalize(rs.getString(2)), normalize(rs.getString(3))});
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "UPDATE session SET created_at = ?, ended_at = ? WHERE id = ?")) {
+            for (String[] row : rows) {
+                ps.setString(1, row[1]);
+                ps.setString(2, row[2]);
+                ps.setString(3, row[0]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        System.out.println("Dates de " + rows.size() + " session(s) converties en UTC.");
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : JdbcSessionRepository.formatDate(JdbcSessionRepository.parseDate(value));
+    }
+}
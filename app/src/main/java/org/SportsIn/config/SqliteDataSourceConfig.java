@@ -0,0 +1,89 @@
+package org.SportsIn.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Properties;
+
+/**
+ * Source de données SQLite réglée pour un accès concurrent :
+ * - journal WAL : les lectures ne bloquent plus les écritures ;
+ * - synchronous=NORMAL : en WAL, seul le checkpoint attend le fsync ;
+ * - mmap et cache de pages agrandis, busy_timeout pour patienter au lieu d'échouer ;
+ * - une seule connexion d'écriture (transactions IMMEDIATE) et un pool de lecteurs en query_only.
+ *
+ * Remplace le pool Hikari auto-configuré ; sqlite.tuning.enabled=false revient au réglage par défaut.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sqlite.tuning.enabled", havingValue = "true", matchIfMissing = true)
+public class SqliteDataSourceConfig {
+
+    @Bean
+    public SqliteRoutingDataSource sqliteRoutingDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${sqlite.readers:4}") int readers,
+            @Value("${sqlite.busy-timeout-ms:5000}") int busyTimeoutMs,
+            @Value("${sqlite.mmap-size:268435456}") long mmapSize,
+            @Value("${sqlite.cache-size-kb:16384}") int cacheSizeKb) {
+        return create(url, readers, busyTimeoutMs, mmapSize, cacheSizeKb);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(SqliteRoutingDataSource sqliteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(sqliteRoutingDataSource);
+    }
+
+    static SqliteRoutingDataSource create(String url, int readers, int busyTimeoutMs, long mmapSize, int cacheSizeKb) {
+        if (url == null || !url.startsWith("jdbc:sqlite:")) {
+            throw new IllegalStateException("sqlite.tuning.enabled exige une URL jdbc:sqlite: : " + url);
+        }
+        if (url.contains(":memory:") || url.contains("mode=memory")) {
+            // Chaque connexion ouvrirait sa propre base en mémoire
+            throw new IllegalStateException("Base SQLite en mémoire incompatible avec le pool de lecteurs : " + url);
+        }
+        Properties pragmas = pragmas(busyTimeoutMs, mmapSize, cacheSizeKb);
+
+        Properties writerPragmas = new Properties();
+        writerPragmas.putAll(pragmas);
+        // Verrou d'écriture pris dès BEGIN : pas d'échec au passage lecture -> écriture
+        writerPragmas.setProperty("transaction_mode", "IMMEDIATE");
+        HikariDataSource writer = pool("sqlite-writer", url, 1, writerPragmas, null);
+
+        HikariDataSource readerPool = pool("sqlite-reader", url, Math.max(1, readers), pragmas, "PRAGMA query_only = 1");
+        return new SqliteRoutingDataSource(writer, readerPool);
+    }
+
+    private static Properties pragmas(int busyTimeoutMs, long mmapSize, int cacheSizeKb) {
+        Properties pragmas = new Properties();
+        pragmas.setProperty("journal_mode", "WAL");
+        pragmas.setProperty("synchronous", "NORMAL");
+        pragmas.setProperty("busy_timeout", String.valueOf(busyTimeoutMs));
+        pragmas.setProperty("mmap_size", String.valueOf(mmapSize));
+        // Valeur négative : taille du cache en Kio plutôt qu'en pages
+        pragmas.setProperty("cache_size", String.valueOf(-cacheSizeKb));
+        pragmas.setProperty("temp_store", "MEMORY");
+        return pragmas;
+    }
+
+    private static HikariDataSource pool(String name, String url, int size, Properties pragmas, String initSql) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setJdbcUrl(url);
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        config.setDataSourceProperties(pragmas);
+        if (initSql != null) {
+            config.setConnectionInitSql(initSql);
+        }
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,58 @@
+package org.SportsIn.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Aiguille les connexions SQLite : les transactions en lecture seule vont au pool de lecteurs,
+ * tout le reste (écritures, transactions ordinaires, accès hors transaction) à l'unique
+ * connexion d'écriture. SQLite n'accepte qu'un écrivain à la fois : le sérialiser côté pool
+ * évite les SQLITE_BUSY, tandis qu'en WAL les lecteurs ne bloquent pas l'écrivain.
+ *
+ * À envelopper dans un LazyConnectionDataSourceProxy, pour que la connexion soit choisie
+ * une fois le caractère lecture seule de la transaction connu. Hibernate doit rendre la connexion
+ * à la fin de chaque transaction (hibernate.connection.handling_mode) : sinon l'EntityManager
+ * partagé d'une requête (open-in-view) garde le lecteur de sa première lecture et ses écritures
+ * suivantes échouent en SQLITE_READONLY.
+ */
+public class SqliteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    enum Route {
+        WRITER,
+        READER
+    }
+
+    private final HikariDataSource writer;
+    private final HikariDataSource readers;
+
+    public SqliteRoutingDataSource(HikariDataSource writer, HikariDataSource readers) {
+        this.writer = writer;
+        this.readers = readers;
+        setTargetDataSources(Map.of(Route.WRITER, writer, Route.READER, readers));
+        setDefaultTargetDataSource(writer);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READER : Route.WRITER;
+    }
+
+    public HikariDataSource getWriter() {
+        return writer;
+    }
+
+    public HikariDataSource getReaders() {
+        return readers;
+    }
+
+    @Override
+    public void close() {
+        readers.close();
+        writer.close();
+    }
+}
@@ -1,11 +1,13 @@
 package org.SportsIn.controller;
 
+import org.SportsIn.dto.CursorPageDTO;
 import org.SportsIn.model.Arene;
 import org.SportsIn.services.AreneService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,9 +17,11 @@ import java.util.List;
 public class AreneController {
 
     private final AreneService areneService;
+    private final CursorListing cursorListing;
 
-    public AreneController(AreneService areneService) {
+    public AreneController(AreneService areneService, CursorListing cursorListing) {
         this.areneService = areneService;
+        this.cursorListing = cursorListing;
     }
 
     @GetMapping
@@ -25,6 +29,23 @@ public class AreneController {
         return ResponseEntity.ok(areneService.getAll());
     }
 
+    /**
+     * Page d'arènes triée par ID : ?limit=50 puis ?after=&lt;nextCursor&gt;&amp;limit=50.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<Arene>> getPage(@RequestParam(defaultValue = "") String after,
+                                                        @RequestParam int limit) {
+        return ResponseEntity.ok(cursorListing.page(areneService::getPageAfter, after, limit, Arene::getId));
+    }
+
+    /**
+     * Toutes les arènes en NDJSON (application/x-ndjson), envoyées au fil de la lecture.
+     */
+    @GetMapping(value = "/stream", produces = CursorListing.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return cursorListing.stream(areneService::getPageAfter, "", Arene::getId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Arene> getById(@NonNull @PathVariable String id) {
         return areneService.getById(id)
@@ -0,0 +1,107 @@
+package org.SportsIn.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.SportsIn.dto.CursorPageDTO;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Listes paginées par curseur et flux NDJSON pour les endpoints de liste.
+ *
+ * Le curseur est l'ID du dernier élément renvoyé : chaque page est une requête par clé
+ * (id &gt; after ORDER BY id LIMIT n), dont le coût ne dépend pas de la position dans la liste.
+ *
+ * Le flux NDJSON (un objet JSON par ligne) parcourt la liste par tranches de STREAM_CHUNK :
+ * chaque tranche est lue et sérialisée dans une transaction en lecture seule (les associations
+ * paresseuses restent accessibles), puis écrite et envoyée au client avant de lire la suivante.
+ * La mémoire d'une requête est bornée par une tranche, quelle que soit la taille de la table.
+ */
+@Component
+public class CursorListing {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
+    static final int MAX_LIMIT = 500;
+    static final int STREAM_CHUNK = 200;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    public CursorListing(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Lit une page de la source.
+     *
+     * @param <T> Type des éléments.
+     * @param <C> Type du curseur (ID des éléments).
+     */
+    @FunctionalInterface
+    public interface PageSource<T, C> {
+        List<T> pageAfter(C after, int limit);
+    }
+
+    /**
+     * Page suivant after, limit ramené entre 1 et MAX_LIMIT.
+     */
+    public <T, C> CursorPageDTO<T> page(PageSource<T, C> source, C after, int limit, Function<T, C> cursorOf) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // Un élément de plus pour savoir s'il existe une page suivante
+        List<T> rows = source.pageAfter(after, size + 1);
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPageDTO<>(List.copyOf(items), String.valueOf(cursorOf.apply(items.get(size - 1))));
+    }
+
+    /**
+     * Toute la source en NDJSON, à partir du curseur start, tranche par tranche.
+     */
+    public <T, C> ResponseEntity<StreamingResponseBody> stream(PageSource<T, C> source, C start, Function<T, C> cursorOf) {
+        StreamingResponseBody body = out -> {
+            C cursor = start;
+            while (true) {
+                Chunk<C> chunk = readChunk(source, cursor, cursorOf);
+                out.write(chunk.bytes());
+                out.flush();
+                if (chunk.rows() < STREAM_CHUNK) return;
+                cursor = chunk.last();
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private <T, C> Chunk<C> readChunk(PageSource<T, C> source, C after, Function<T, C> cursorOf) {
+        return readOnly.execute(status -> {
+            List<T> rows = source.pageAfter(after, STREAM_CHUNK);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try {
+                for (T row : rows) {
+                    buffer.write(objectMapper.writeValueAsBytes(row));
+                    buffer.write('\n');
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Sérialisation NDJSON impossible", e);
+            }
+            C last = rows.isEmpty() ? after : cursorOf.apply(rows.get(rows.size() - 1));
+            return new Chunk<>(buffer.toByteArray(), rows.size(), last);
+        });
+    }
+
+    private record Chunk<C>(byte[] bytes, int rows, C last) {
+    }
+}
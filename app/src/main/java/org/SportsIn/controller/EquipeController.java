@@ -1,11 +1,13 @@
 package org.SportsIn.controller;
 
+import org.SportsIn.dto.CursorPageDTO;
 import org.SportsIn.model.user.Equipe;
 import org.SportsIn.services.EquipeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -16,9 +18,11 @@ import java.util.Map;
 public class EquipeController {
 
     private final EquipeService equipeService;
+    private final CursorListing cursorListing;
 
-    public EquipeController(EquipeService equipeService) {
+    public EquipeController(EquipeService equipeService, CursorListing cursorListing) {
         this.equipeService = equipeService;
+        this.cursorListing = cursorListing;
     }
 
     @GetMapping
@@ -26,6 +30,23 @@ public class EquipeController {
         return ResponseEntity.ok(equipeService.getAll());
     }
 
+    /**
+     * Page d'équipes triée par ID : ?limit=50 puis ?after=&lt;nextCursor&gt;&amp;limit=50.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<Equipe>> getPage(@RequestParam(defaultValue = "0") Long after,
+                                                         @RequestParam int limit) {
+        return ResponseEntity.ok(cursorListing.page(equipeService::getPageAfter, after, limit, Equipe::getId));
+    }
+
+    /**
+     * Toutes les équipes en NDJSON (application/x-ndjson), envoyées au fil de la lecture.
+     */
+    @GetMapping(value = "/stream", produces = CursorListing.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return cursorListing.stream(equipeService::getPageAfter, 0L, Equipe::getId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Equipe> getById(@NonNull @PathVariable Long id) {
         return equipeService.getById(id)
@@ -1,11 +1,14 @@
 package org.SportsIn.controller;
 
+import org.SportsIn.dto.CursorPageDTO;
 import org.SportsIn.model.Game;
+import org.SportsIn.model.InvalidSessionException;
 import org.SportsIn.services.GameService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -16,9 +19,11 @@ import java.util.Map;
 public class GameController {
 
     private final GameService gameService;
+    private final CursorListing cursorListing;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, CursorListing cursorListing) {
         this.gameService = gameService;
+        this.cursorListing = cursorListing;
     }
 
     @GetMapping
@@ -26,6 +31,23 @@ public class GameController {
         return ResponseEntity.ok(gameService.getAll());
     }
 
+    /**
+     * Page de jeux triée par ID : ?limit=50 puis ?after=&lt;nextCursor&gt;&amp;limit=50.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<Game>> getPage(@RequestParam(defaultValue = "") String after,
+                                                       @RequestParam int limit) {
+        return ResponseEntity.ok(cursorListing.page(gameService::getPageAfter, after, limit, Game::getId));
+    }
+
+    /**
+     * Tous les jeux en NDJSON (application/x-ndjson), envoyés au fil de la lecture.
+     */
+    @GetMapping(value = "/stream", produces = CursorListing.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return cursorListing.stream(gameService::getPageAfter, "", Game::getId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Game> getById(@NonNull @PathVariable String id) {
         return gameService.getById(id)
@@ -70,7 +92,7 @@ public class GameController {
             return gameService.startGame(id)
                     .map(ResponseEntity::ok)
                     .orElseGet(() -> ResponseEntity.notFound().build());
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | InvalidSessionException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -1,5 +1,7 @@
 package org.SportsIn.controller;
 
+import org.SportsIn.services.InfluenceCalculator;
+import org.SportsIn.services.SessionCompletionPipeline;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +14,14 @@ import java.util.Map;
 @RequestMapping("/api/health")
 public class HealthController {
 
+    private final InfluenceCalculator influenceCalculator;
+    private final SessionCompletionPipeline completionPipeline;
+
+    public HealthController(InfluenceCalculator influenceCalculator, SessionCompletionPipeline completionPipeline) {
+        this.influenceCalculator = influenceCalculator;
+        this.completionPipeline = completionPipeline;
+    }
+
     @GetMapping
     public ResponseEntity<Map<String, String>> checkHealth() {
         Map<String, String> status = new HashMap<>();
@@ -19,4 +29,18 @@ public class HealthController {
         status.put("message", "Backend is running correctly");
         return ResponseEntity.ok(status);
     }
+
+    @GetMapping("/influence-cache")
+    public ResponseEntity<Map<String, Long>> influenceCacheStats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("hits", influenceCalculator.getCacheHits());
+        stats.put("misses", influenceCalculator.getCacheMisses());
+        stats.put("size", (long) influenceCalculator.getCacheSize());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/session-pipeline")
+    public ResponseEntity<Map<String, Object>> sessionPipelineStats() {
+        return ResponseEntity.ok(completionPipeline.getStats());
+    }
 }
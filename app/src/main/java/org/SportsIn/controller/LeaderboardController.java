@@ -0,0 +1,70 @@
+package org.SportsIn.controller;
+
+import org.SportsIn.services.LeaderboardService;
+import org.SportsIn.services.LeaderboardService.Metric;
+import org.SportsIn.services.LeaderboardService.Standing;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Page du classement. metric : xp, points, arenas ou zones.
+     * Ex : GET /api/leaderboard/xp?offset=0&limit=20
+     */
+    @GetMapping("/{metric}")
+    public ResponseEntity<Map<String, Object>> page(@NonNull @PathVariable String metric,
+                                                    @RequestParam(defaultValue = "0") int offset,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        Metric parsed = parseMetric(metric);
+        if (parsed == null || offset < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        int boundedLimit = Math.min(limit, MAX_LIMIT);
+        List<Standing> standings = leaderboardService.page(parsed, offset, boundedLimit);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("metric", parsed);
+        response.put("total", leaderboardService.size(parsed));
+        response.put("offset", offset);
+        response.put("limit", boundedLimit);
+        response.put("entries", standings);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{metric}/teams/{teamId}")
+    public ResponseEntity<Standing> standing(@NonNull @PathVariable String metric, @NonNull @PathVariable Long teamId) {
+        Metric parsed = parseMetric(metric);
+        if (parsed == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return leaderboardService.standingOf(parsed, teamId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static Metric parseMetric(String metric) {
+        try {
+            return Metric.valueOf(metric.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.SportsIn.controller;
+
+import org.SportsIn.model.MatchTicket;
+import org.SportsIn.services.MatchmakingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/matchmaking")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class MatchmakingController {
+
+    private final MatchmakingService matchmakingService;
+
+    public MatchmakingController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    /**
+     * Body : {"teamId": 1, "pointId": "arene1", "sportCode": "FOOTBALL"}
+     */
+    @PostMapping("/queue")
+    public ResponseEntity<MatchTicket> enqueue(@RequestBody Map<String, Object> body) {
+        Object teamId = body.get("teamId");
+        Object pointId = body.get("pointId");
+        Object sportCode = body.get("sportCode");
+        if (!(teamId instanceof Number) || pointId == null || sportCode == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(matchmakingService.enqueue(
+                    ((Number) teamId).longValue(), pointId.toString(), sportCode.toString()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/teams/{teamId}")
+    public ResponseEntity<MatchTicket> getTicket(@NonNull @PathVariable Long teamId) {
+        return matchmakingService.getTicket(teamId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/teams/{teamId}")
+    public ResponseEntity<Void> cancel(@NonNull @PathVariable Long teamId) {
+        if (matchmakingService.cancel(teamId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
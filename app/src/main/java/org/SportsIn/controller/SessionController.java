@@ -1,13 +1,19 @@
 package org.SportsIn.controller;
 
+import org.SportsIn.dto.CursorPageDTO;
+import org.SportsIn.model.InvalidSessionException;
+import org.SportsIn.model.Participant;
 import org.SportsIn.model.Session;
 import org.SportsIn.model.SessionRepository;
+import org.SportsIn.model.SessionResult;
 import org.SportsIn.model.SessionState;
-import org.SportsIn.services.SessionService;
+import org.SportsIn.model.Sport;
+import org.SportsIn.services.SessionCompletionPipeline;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,11 +24,15 @@ import java.util.List;
 public class SessionController {
 
     private final SessionRepository sessionRepository;
-    private final SessionService sessionService;
+    private final SessionCompletionPipeline completionPipeline;
+    private final CursorListing cursorListing;
 
-    public SessionController(SessionRepository sessionRepository, SessionService sessionService) {
+    public SessionController(SessionRepository sessionRepository,
+                             SessionCompletionPipeline completionPipeline,
+                             CursorListing cursorListing) {
         this.sessionRepository = sessionRepository;
-        this.sessionService = sessionService;
+        this.completionPipeline = completionPipeline;
+        this.cursorListing = cursorListing;
     }
 
     @GetMapping
@@ -30,6 +40,23 @@ public class SessionController {
         return ResponseEntity.ok(sessionRepository.findAll());
     }
 
+    /**
+     * Page de sessions triée par ID : ?limit=50 puis ?after=&lt;nextCursor&gt;&amp;limit=50.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<Session>> getPage(@RequestParam(defaultValue = "") String after,
+                                                          @RequestParam int limit) {
+        return ResponseEntity.ok(cursorListing.page(sessionRepository::findPageAfter, after, limit, Session::getId));
+    }
+
+    /**
+     * Toutes les sessions en NDJSON (application/x-ndjson), envoyées au fil de la lecture.
+     */
+    @GetMapping(value = "/stream", produces = CursorListing.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return cursorListing.stream(sessionRepository::findPageAfter, "", Session::getId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Session> getById(@NonNull @PathVariable String id) {
         return sessionRepository.findById(id)
@@ -46,19 +73,35 @@ public class SessionController {
     public ResponseEntity<Session> create(@NonNull @RequestBody Session session) {
         session.setState(SessionState.ACTIVE);
         session.setCreatedAt(LocalDateTime.now());
-        Session saved = sessionRepository.save(session);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(sessionRepository.save(session));
+        } catch (InvalidSessionException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Session> update(@NonNull @PathVariable String id, @NonNull @RequestBody Session sessionDetails) {
         return sessionRepository.findById(id)
                 .map(session -> {
+                    Sport sport = session.getSport();
+                    String pointId = session.getPointId();
+                    List<Participant> participants = session.getParticipants();
+                    SessionResult result = session.getResult();
                     session.setSport(sessionDetails.getSport());
                     session.setPointId(sessionDetails.getPointId());
                     session.setParticipants(sessionDetails.getParticipants());
                     session.setResult(sessionDetails.getResult());
-                    return ResponseEntity.ok(sessionRepository.save(session));
+                    try {
+                        return ResponseEntity.ok(sessionRepository.save(session));
+                    } catch (InvalidSessionException e) {
+                        // La session lue peut être celle du tampon write-behind : on la remet en l'état
+                        session.setSport(sport);
+                        session.setPointId(pointId);
+                        session.setParticipants(participants);
+                        session.setResult(result);
+                        return ResponseEntity.badRequest().<Session>build();
+                    }
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -71,13 +114,24 @@ public class SessionController {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Accepte la fin de la session et rend la main sans attendre son traitement :
+     * 202 tant que la session est en cours de finalisation, 200 si elle était déjà terminée.
+     * Si un traitement précédent a échoué, X-Completion-Status (RETRYING ou FAILED) et
+     * X-Completion-Attempts le signalent ; le détail est exposé par les statistiques du pipeline.
+     */
     @PostMapping("/{id}/terminate")
     public ResponseEntity<Session> terminate(@NonNull @PathVariable String id) {
-        return sessionRepository.findById(id)
-                .map(session -> {
-                    sessionService.processSessionCompletion(id);
-                    return ResponseEntity.ok(sessionRepository.findById(id).orElse(session));
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        try {
+            Session session = completionPipeline.submit(id);
+            HttpStatus status = session.getState() == SessionState.TERMINATED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+            completionPipeline.getFailure(id).ifPresent(failure -> response
+                    .header("X-Completion-Status", failure.exhausted() ? "FAILED" : "RETRYING")
+                    .header("X-Completion-Attempts", String.valueOf(failure.attempts())));
+            return response.body(session);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 }
@@ -0,0 +1,12 @@
+package org.SportsIn.dto;
+
+import java.util.List;
+
+/**
+ * Page d'une liste parcourue par curseur.
+ *
+ * @param items      Éléments de la page, triés par ID.
+ * @param nextCursor Valeur à passer en paramètre after pour la page suivante, null sur la dernière page.
+ */
+public record CursorPageDTO<T>(List<T> items, String nextCursor) {
+}
@@ -8,6 +8,7 @@ import org.SportsIn.model.mission.MissionStatus;
 import org.SportsIn.model.mission.MissionType;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class MissionDetailDTO {
 
@@ -44,10 +45,10 @@ public class MissionDetailDTO {
         dto.priority = m.getPriority();
         dto.rewardTeamPoints = m.getRewardTeamPoints();
         dto.rewardTeamXp = m.getRewardTeamXp();
-        dto.createdAt = m.getCreatedAt();
-        dto.startsAt = m.getStartsAt();
-        dto.endsAt = m.getEndsAt();
-        dto.completedAt = m.getCompletedAt();
+        dto.createdAt = Objects.toString(m.getCreatedAt(), null);
+        dto.startsAt = Objects.toString(m.getStartsAt(), null);
+        dto.endsAt = Objects.toString(m.getEndsAt(), null);
+        dto.completedAt = Objects.toString(m.getCompletedAt(), null);
         dto.progressCurrent = m.getProgressCurrent();
         dto.progressTarget = m.getProgressTarget();
         dto.payload = parsePayload(m.getPayloadJson());
@@ -5,6 +5,8 @@ import org.SportsIn.model.mission.MissionPriority;
 import org.SportsIn.model.mission.MissionStatus;
 import org.SportsIn.model.mission.MissionType;
 
+import java.util.Objects;
+
 public class MissionSummaryDTO {
 
     private Long id;
@@ -27,7 +29,7 @@ public class MissionSummaryDTO {
         dto.status = m.getStatus();
         dto.title = m.getTitle();
         dto.priority = m.getPriority();
-        dto.endsAt = m.getEndsAt();
+        dto.endsAt = Objects.toString(m.getEndsAt(), null);
         dto.rewardTeamPoints = m.getRewardTeamPoints();
         dto.progressCurrent = m.getProgressCurrent();
         dto.progressTarget = m.getProgressTarget();
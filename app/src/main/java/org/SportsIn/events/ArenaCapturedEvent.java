@@ -0,0 +1,12 @@
+package org.SportsIn.events;
+
+/**
+ * Publié lorsqu'une arène change de propriétaire, à l'issue d'une session ou par modification
+ * directe de l'arène.
+ *
+ * @param areneId L'arène capturée.
+ * @param teamId La nouvelle équipe propriétaire (null si l'arène redevient neutre).
+ * @param previousTeamId L'ancien propriétaire (null si l'arène était neutre).
+ */
+public record ArenaCapturedEvent(String areneId, Long teamId, Long previousTeamId) {
+}
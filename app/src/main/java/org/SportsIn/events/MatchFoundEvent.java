@@ -0,0 +1,14 @@
+package org.SportsIn.events;
+
+/**
+ * Publié lorsque le matchmaking apparie deux équipes : le jeu est créé et à l'état MATCHED.
+ *
+ * @param gameId Le jeu créé pour le match.
+ * @param pointId Le point où se déroule le match.
+ * @param sportCode Le sport joué.
+ * @param creatorTeamId L'équipe la plus ancienne dans la file (créatrice du jeu).
+ * @param opponentTeamId L'équipe adverse.
+ */
+public record MatchFoundEvent(String gameId, String pointId, String sportCode,
+                              Long creatorTeamId, Long opponentTeamId) {
+}
@@ -0,0 +1,14 @@
+package org.SportsIn.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publié lorsqu'une session passe à l'état TERMINATED, avec ou sans vainqueur.
+ *
+ * @param sessionId La session terminée.
+ * @param sportCode Le code du sport joué (null si inconnu).
+ * @param pointId L'arène où s'est jouée la session (null si aucune).
+ * @param endedAt La date de fin de la session.
+ */
+public record SessionTerminatedEvent(String sessionId, String sportCode, String pointId, LocalDateTime endedAt) {
+}
@@ -0,0 +1,11 @@
+package org.SportsIn.events;
+
+/**
+ * Publié après l'écriture en base d'un gain de points ou d'XP pour une équipe.
+ *
+ * @param teamId L'équipe créditée.
+ * @param pointsDelta Les points ajoutés.
+ * @param xpDelta L'XP ajoutée.
+ */
+public record TeamScoreChangedEvent(Long teamId, int pointsDelta, int xpDelta) {
+}
@@ -0,0 +1,11 @@
+package org.SportsIn.events;
+
+/**
+ * Publié lorsqu'une zone change de contrôleur après la capture d'une de ses arènes.
+ *
+ * @param zoneId La zone concernée.
+ * @param teamId La nouvelle équipe contrôlant la zone (null si la zone redevient neutre).
+ * @param previousTeamId L'ancien contrôleur (null si la zone était neutre).
+ */
+public record ZoneControlChangedEvent(Long zoneId, Long teamId, Long previousTeamId) {
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import org.SportsIn.model.user.Equipe;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "arene")
@@ -26,7 +27,9 @@ public class Arene {
     @JsonBackReference
     private Equipe controllingTeam;
 
+    // Chargée par lots : findAll() ne lance pas une requête arene_sport par arène
     @ElementCollection(targetClass = String.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     @CollectionTable(name = "arene_sport", joinColumns = @JoinColumn(name = "arene_id"))
     @Column(name = "sport_type")
     private List<String> sportsDisponibles;
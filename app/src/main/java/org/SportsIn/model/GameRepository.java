@@ -2,6 +2,7 @@ package org.SportsIn.model;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GameRepository {
     Optional<Game> findById(String id);
@@ -11,4 +12,17 @@ public interface GameRepository {
     Game save(Game game);
     boolean deleteById(String id);
     boolean existsById(String id);
+
+    /**
+     * Page suivant le curseur afterId (exclu), triée par ID : au plus limit éléments.
+     */
+    List<Game> findPageAfter(String afterId, int limit);
+
+    /**
+     * Applique update au jeu seulement s'il est dans l'état expected, de façon atomique
+     * vis-à-vis des autres écritures sur ce jeu (compare-and-set sur l'état).
+     *
+     * @return Le jeu mis à jour, ou vide s'il est absent ou n'est plus dans l'état attendu.
+     */
+    Optional<Game> compareAndUpdate(String id, GameState expected, Consumer<Game> update);
 }
@@ -3,40 +3,102 @@ package org.SportsIn.model;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+/**
+ * Stockage en mémoire des jeux, sûr en accès concurrent.
+ *
+ * Les jeux en cours (WAITING, MATCHED, IN_PROGRESS) sont indexés par état et par (point, état) :
+ * le matchmaking lit directement les jeux en attente d'un point. Toute écriture sur un jeu passe
+ * par compute() sur son entrée, ce qui sérialise les transitions d'un même jeu ;
+ * compareAndUpdate() s'appuie dessus pour qu'une seule équipe puisse rejoindre un jeu WAITING.
+ *
+ * Les jeux COMPLETED quittent la map chaude pour l'archive, bornée aux archiveCapacity jeux
+ * les plus récemment terminés (le résultat reste dans la session associée).
+ *
+ * Les IDs des jeux actifs et archivés sont aussi tenus triés, pour lire une page par curseur sans
+ * parcourir ni trier tous les jeux.
+ */
 @Repository
 public class InMemoryGameRepository implements GameRepository {
 
-    private final Map<String, Game> database = new HashMap<>();
+    static final int DEFAULT_ARCHIVE_CAPACITY = 10_000;
+
+    private final Map<String, Indexed> active = new ConcurrentHashMap<>();
+    private final Map<GameState, Set<String>> idsByState = new ConcurrentHashMap<>();
+    private final Map<PointState, Set<String>> idsByPointAndState = new ConcurrentHashMap<>();
+
+    private final Map<String, Game> archive = new ConcurrentHashMap<>();
+    private final Queue<String> archiveOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger archiveSize = new AtomicInteger();
+    private final ConcurrentSkipListSet<String> sortedIds = new ConcurrentSkipListSet<>();
+    private final int archiveCapacity;
+
+    public InMemoryGameRepository() {
+        this(DEFAULT_ARCHIVE_CAPACITY);
+    }
+
+    InMemoryGameRepository(int archiveCapacity) {
+        this.archiveCapacity = archiveCapacity;
+    }
 
     @Override
     public Optional<Game> findById(String id) {
-        return Optional.ofNullable(database.get(id));
+        Indexed indexed = active.get(id);
+        if (indexed != null) {
+            return Optional.of(indexed.game);
+        }
+        return Optional.ofNullable(archive.get(id));
     }
 
     @Override
     public List<Game> findAll() {
-        return new ArrayList<>(database.values());
+        List<Game> games = new ArrayList<>(active.size() + archive.size());
+        for (Indexed indexed : active.values()) {
+            games.add(indexed.game);
+        }
+        games.addAll(archive.values());
+        return games;
+    }
+
+    @Override
+    public List<Game> findPageAfter(String afterId, int limit) {
+        List<Game> page = new ArrayList<>(limit);
+        for (String id : sortedIds.tailSet(afterId, false)) {
+            if (page.size() == limit) break;
+            // Une suppression concurrente peut avoir retiré le jeu avant son ID
+            findById(id).ifPresent(page::add);
+        }
+        return page;
     }
 
     @Override
     public List<Game> findByState(GameState state) {
-        return database.values().stream()
-                .filter(game -> game.getState() == state)
-                .collect(Collectors.toList());
+        if (state == GameState.COMPLETED) {
+            return new ArrayList<>(archive.values());
+        }
+        return resolve(idsByState.get(state), state);
     }
 
     @Override
     public List<Game> findByPointIdAndState(String pointId, GameState state) {
-        return database.values().stream()
-                .filter(game -> game.getState() == state && pointId.equals(game.getPointId()))
-                .collect(Collectors.toList());
+        if (state == GameState.COMPLETED) {
+            return archive.values().stream()
+                    .filter(game -> pointId.equals(game.getPointId()))
+                    .collect(Collectors.toList());
+        }
+        return resolve(idsByPointAndState.get(new PointState(pointId, state)), state);
     }
 
     @Override
@@ -47,17 +109,133 @@ public class InMemoryGameRepository implements GameRepository {
         if (game.getId() == null) {
             game.setId("GAME_" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
         }
-        database.put(game.getId(), game);
+        active.compute(game.getId(), (id, previous) -> {
+            sortedIds.add(id);
+            return store(previous, game);
+        });
         return game;
     }
 
+    @Override
+    public Optional<Game> compareAndUpdate(String id, GameState expected, Consumer<Game> update) {
+        Game[] updated = new Game[1];
+        active.computeIfPresent(id, (key, current) -> {
+            if (current.state != expected) {
+                return current;
+            }
+            update.accept(current.game);
+            updated[0] = current.game;
+            return store(current, current.game);
+        });
+        return Optional.ofNullable(updated[0]);
+    }
+
     @Override
     public boolean deleteById(String id) {
-        return database.remove(id) != null;
+        boolean[] removed = {false};
+        active.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            removed[0] = true;
+            return null;
+        });
+        if (archive.remove(id) != null) {
+            archiveSize.decrementAndGet();
+            removed[0] = true;
+        }
+        if (removed[0]) {
+            sortedIds.remove(id);
+        }
+        return removed[0];
     }
 
     @Override
     public boolean existsById(String id) {
-        return database.containsKey(id);
+        return active.containsKey(id) || archive.containsKey(id);
+    }
+
+    /**
+     * Remplace l'entrée previous par game dans les index ; appelé sous le verrou de compute().
+     *
+     * @return La nouvelle entrée de la map chaude, ou null si le jeu part à l'archive.
+     */
+    private Indexed store(Indexed previous, Game game) {
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (game.getState() == GameState.COMPLETED) {
+            // Archivé avant de quitter la map chaude : le jeu reste visible par findById
+            archiveGame(game);
+            return null;
+        }
+        if (archive.remove(game.getId()) != null) {
+            archiveSize.decrementAndGet();
+        }
+        Indexed next = new Indexed(game, game.getState(), game.getPointId());
+        index(next);
+        return next;
+    }
+
+    private void archiveGame(Game game) {
+        if (archive.put(game.getId(), game) == null) {
+            archiveOrder.add(game.getId());
+            archiveSize.incrementAndGet();
+        }
+        while (archiveSize.get() > archiveCapacity) {
+            String oldest = archiveOrder.poll();
+            if (oldest == null) break;
+            if (archive.remove(oldest) != null) {
+                archiveSize.decrementAndGet();
+                sortedIds.remove(oldest);
+            }
+        }
+    }
+
+    private List<Game> resolve(Set<String> ids, GameState state) {
+        if (ids == null) return new ArrayList<>();
+        List<Game> games = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Indexed indexed = active.get(id);
+            // Une transition concurrente peut avoir mis à jour l'index avant la map chaude
+            if (indexed != null && indexed.state == state) {
+                games.add(indexed.game);
+            }
+        }
+        return games;
+    }
+
+    private void index(Indexed indexed) {
+        String id = indexed.game.getId();
+        if (indexed.state != null) {
+            idsByState.computeIfAbsent(indexed.state, k -> ConcurrentHashMap.newKeySet()).add(id);
+            if (indexed.pointId != null) {
+                idsByPointAndState.computeIfAbsent(new PointState(indexed.pointId, indexed.state),
+                        k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    private void unindex(Indexed indexed) {
+        String id = indexed.game.getId();
+        if (indexed.state != null) {
+            removeFrom(idsByState, indexed.state, id);
+            if (indexed.pointId != null) {
+                removeFrom(idsByPointAndState, new PointState(indexed.pointId, indexed.state), id);
+            }
+        }
+    }
+
+    // Les ensembles vides sont conservés : leur nombre est borné par les points et les états
+    private static <K> void removeFrom(Map<K, Set<String>> index, K key, String id) {
+        Set<String> ids = index.get(key);
+        if (ids != null) ids.remove(id);
+    }
+
+    /**
+     * Jeu et clés d'index relevées au moment de l'écriture.
+     */
+    private record Indexed(Game game, GameState state, String pointId) {
+    }
+
+    private record PointState(String pointId, GameState state) {
     }
 }
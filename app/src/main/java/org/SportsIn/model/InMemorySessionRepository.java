@@ -1,35 +1,117 @@
 package org.SportsIn.model;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
 
+/**
+ * Stockage en mémoire des sessions, sûr en accès concurrent.
+ *
+ * Chaque écriture passe par compute() sur la map principale : les écritures d'une même session
+ * sont sérialisées (verrou du segment de la ConcurrentHashMap), celles de sessions différentes
+ * avancent en parallèle. Les index secondaires (état, point, sport, date de fin des sessions
+ * TERMINATED) sont mis à jour dans ce même compute() à partir des clés relevées au save() ;
+ * une session modifiée doit donc être re-sauvegardée pour être ré-indexée. Les IDs sont aussi
+ * tenus triés, pour lire une page par curseur sans parcourir ni trier toute la map.
+ *
+ * Implémentation par défaut si session.repository n'est pas défini ; la version persistante
+ * est JdbcSessionRepository (session.repository=jdbc).
+ */
 @Repository
+@ConditionalOnProperty(name = "session.repository", havingValue = "memory", matchIfMissing = true)
 public class InMemorySessionRepository implements SessionRepository {
 
-    private final Map<String, Session> database = new HashMap<>();
+    private static final Comparator<EndedKey> BY_ENDED_AT = Comparator
+            .comparing(EndedKey::endedAt)
+            .thenComparing(EndedKey::sessionId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Map<String, Indexed> database = new ConcurrentHashMap<>();
+    private final Map<SessionState, Set<String>> idsByState = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> idsByPoint = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> idsBySport = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<EndedKey> terminatedByEndedAt = new ConcurrentSkipListSet<>(BY_ENDED_AT);
+    private final ConcurrentSkipListSet<String> sortedIds = new ConcurrentSkipListSet<>();
 
     @Override
     public Optional<Session> findById(String id) {
-        return Optional.ofNullable(database.get(id));
+        Indexed indexed = database.get(id);
+        return indexed == null ? Optional.empty() : Optional.of(indexed.session);
     }
 
     @Override
     public List<Session> findAll() {
-        return new ArrayList<>(database.values());
+        List<Session> sessions = new ArrayList<>(database.size());
+        for (Indexed indexed : database.values()) {
+            sessions.add(indexed.session);
+        }
+        return sessions;
+    }
+
+    @Override
+    public List<Session> findPageAfter(String afterId, int limit) {
+        List<Session> page = new ArrayList<>(limit);
+        for (String id : sortedIds.tailSet(afterId, false)) {
+            if (page.size() == limit) break;
+            Indexed indexed = database.get(id);
+            // Une suppression concurrente peut avoir retiré la session avant son ID
+            if (indexed != null) {
+                page.add(indexed.session);
+            }
+        }
+        return page;
     }
 
     @Override
     public List<Session> findByState(SessionState state) {
-        return database.values().stream()
-                .filter(session -> session.getState() == state)
-                .collect(Collectors.toList());
+        return resolve(idsByState.get(state), indexed -> indexed.state == state);
+    }
+
+    @Override
+    public List<Session> findByPointId(String pointId) {
+        return resolve(idsByPoint.get(pointId), indexed -> pointId.equals(indexed.pointId));
+    }
+
+    @Override
+    public List<Session> findBySportCode(String sportCode) {
+        return resolve(idsBySport.get(sportCode), indexed -> sportCode.equals(indexed.sportCode));
+    }
+
+    @Override
+    public List<Session> findTerminatedEndedAfter(LocalDateTime since) {
+        List<Session> sessions = new ArrayList<>();
+        // Clé (since, null) rangée après toutes les sessions terminées à since : lecture strictement après
+        for (EndedKey key : terminatedByEndedAt.tailSet(new EndedKey(since, null), false)) {
+            Indexed indexed = database.get(key.sessionId);
+            if (indexed != null && indexed.state == SessionState.TERMINATED && key.endedAt.equals(indexed.endedAt)) {
+                sessions.add(indexed.session);
+            }
+        }
+        return sessions;
+    }
+
+    @Override
+    public List<Session> findTerminatedEndedBefore(LocalDateTime before) {
+        List<Session> sessions = new ArrayList<>();
+        for (EndedKey key : terminatedByEndedAt) {
+            if (!key.endedAt.isBefore(before)) break;
+            Indexed indexed = database.get(key.sessionId);
+            if (indexed != null && indexed.state == SessionState.TERMINATED && key.endedAt.equals(indexed.endedAt)) {
+                sessions.add(indexed.session);
+            }
+        }
+        return sessions;
     }
 
     @Override
@@ -40,17 +122,95 @@ public class InMemorySessionRepository implements SessionRepository {
         if (session.getId() == null) {
             session.setId("SESSION_" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
         }
-        database.put(session.getId(), session);
+        database.compute(session.getId(), (id, previous) -> {
+            if (previous != null) {
+                unindex(previous);
+            }
+            Indexed next = Indexed.of(session);
+            index(next);
+            return next;
+        });
         return session;
     }
 
     @Override
     public boolean deleteById(String id) {
-        return database.remove(id) != null;
+        boolean[] removed = {false};
+        database.computeIfPresent(id, (key, previous) -> {
+            unindex(previous);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
     }
 
     @Override
     public boolean existsById(String id) {
         return database.containsKey(id);
     }
+
+    private List<Session> resolve(Set<String> ids, Predicate<Indexed> stillMatches) {
+        if (ids == null) return new ArrayList<>();
+        List<Session> sessions = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Indexed indexed = database.get(id);
+            // Une écriture concurrente peut avoir mis à jour l'index avant la map principale
+            if (indexed != null && stillMatches.test(indexed)) {
+                sessions.add(indexed.session);
+            }
+        }
+        return sessions;
+    }
+
+    private void index(Indexed indexed) {
+        String id = indexed.session.getId();
+        sortedIds.add(id);
+        if (indexed.state != null) {
+            idsByState.computeIfAbsent(indexed.state, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        if (indexed.pointId != null) {
+            idsByPoint.computeIfAbsent(indexed.pointId, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        if (indexed.sportCode != null) {
+            idsBySport.computeIfAbsent(indexed.sportCode, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        if (indexed.state == SessionState.TERMINATED && indexed.endedAt != null) {
+            terminatedByEndedAt.add(new EndedKey(indexed.endedAt, id));
+        }
+    }
+
+    private void unindex(Indexed indexed) {
+        String id = indexed.session.getId();
+        sortedIds.remove(id);
+        removeFrom(idsByState, indexed.state, id);
+        removeFrom(idsByPoint, indexed.pointId, id);
+        removeFrom(idsBySport, indexed.sportCode, id);
+        if (indexed.endedAt != null) {
+            terminatedByEndedAt.remove(new EndedKey(indexed.endedAt, id));
+        }
+    }
+
+    // Les ensembles vides sont conservés : leur nombre est borné par les états, points et sports
+    private static <K> void removeFrom(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) return;
+        Set<String> ids = index.get(key);
+        if (ids != null) ids.remove(id);
+    }
+
+    /**
+     * Session et clés d'index relevées au moment du save().
+     */
+    private record Indexed(Session session, SessionState state, String pointId, String sportCode,
+                           LocalDateTime endedAt) {
+        static Indexed of(Session session) {
+            String sportCode = session.getSport() != null ? session.getSport().getCode() : null;
+            return new Indexed(session, session.getState(), session.getPointId(), sportCode, session.getEndedAt());
+        }
+    }
+
+    private record EndedKey(LocalDateTime endedAt, String sessionId) {
+        EndedKey {
+            Objects.requireNonNull(endedAt);
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package org.SportsIn.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.Instant;
+
+/**
+ * Stocke un Instant en millisecondes depuis l'epoch (colonne INTEGER).
+ *
+ * Les comparaisons de dates deviennent des comparaisons d'entiers, servies par les index,
+ * et la lecture ne reparse aucune chaîne.
+ */
+@Converter
+public class InstantEpochMillisConverter implements AttributeConverter<Instant, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Instant instant) {
+        return instant == null ? null : instant.toEpochMilli();
+    }
+
+    @Override
+    public Instant convertToEntityAttribute(Long epochMillis) {
+        return epochMillis == null ? null : Instant.ofEpochMilli(epochMillis);
+    }
+}
@@ -0,0 +1,13 @@
+package org.SportsIn.model;
+
+/**
+ * Session refusée par le stockage (sport absent ou inconnu, participant en double, métrique
+ * incomplète). Ne dérive pas d'IllegalArgumentException : la traduction des exceptions des
+ * beans @Repository la laisse donc passer telle quelle jusqu'aux contrôleurs.
+ */
+public class InvalidSessionException extends RuntimeException {
+
+    public InvalidSessionException(String message) {
+        super(message);
+    }
+}
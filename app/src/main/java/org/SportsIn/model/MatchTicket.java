@@ -0,0 +1,121 @@
+package org.SportsIn.model;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Demande de matchmaking d'une équipe sur un point et un sport.
+ *
+ * Le statut avance par compare-and-set (QUEUED → PAIRING → MATCHED, ou QUEUED → CANCELLED) : un
+ * ticket ne peut être apparié qu'une fois, même s'il est annulé au même moment. PAIRING réserve
+ * le ticket pendant la création du jeu ; il n'est pas exposé (getStatus() renvoie QUEUED), et
+ * MATCHED n'est visible qu'une fois l'ID du jeu renseigné.
+ */
+public class MatchTicket {
+
+    public enum Status {
+        QUEUED,
+        PAIRING,
+        MATCHED,
+        CANCELLED
+    }
+
+    private final String id;
+    private final Long teamId;
+    private final String pointId;
+    private final String sportCode;
+    private final int levelBand;
+    private final LocalDateTime queuedAt;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+
+    private volatile String gameId;
+    private volatile Long opponentTeamId;
+
+    public MatchTicket(String id, Long teamId, String pointId, String sportCode, int levelBand) {
+        this.id = id;
+        this.teamId = teamId;
+        this.pointId = pointId;
+        this.sportCode = sportCode;
+        this.levelBand = levelBand;
+        this.queuedAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public String getPointId() {
+        return pointId;
+    }
+
+    public String getSportCode() {
+        return sportCode;
+    }
+
+    public int getLevelBand() {
+        return levelBand;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public Status getStatus() {
+        Status current = status.get();
+        return current == Status.PAIRING ? Status.QUEUED : current;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public Long getOpponentTeamId() {
+        return opponentTeamId;
+    }
+
+    /**
+     * Vrai tant que le ticket n'est ni apparié ni annulé (y compris pendant la création du jeu).
+     */
+    public boolean isQueued() {
+        Status current = status.get();
+        return current == Status.QUEUED || current == Status.PAIRING;
+    }
+
+    /**
+     * Passe le ticket de QUEUED à next.
+     *
+     * @return false si le ticket n'était plus en file.
+     */
+    public boolean transition(Status next) {
+        return status.compareAndSet(Status.QUEUED, next);
+    }
+
+    /**
+     * Passe le ticket de QUEUED à PAIRING : il est réservé pour un appariement.
+     *
+     * @return false si le ticket n'était plus en file.
+     */
+    public boolean reserve() {
+        return status.compareAndSet(Status.QUEUED, Status.PAIRING);
+    }
+
+    /**
+     * Remet en file un ticket réservé dont le partenaire s'est désisté ou dont le jeu n'a pas pu être créé.
+     */
+    public void release() {
+        status.compareAndSet(Status.PAIRING, Status.QUEUED);
+    }
+
+    /**
+     * Renseigne le jeu puis passe le ticket réservé à MATCHED : un lecteur qui voit MATCHED voit aussi le jeu.
+     */
+    public void matched(String gameId, Long opponentTeamId) {
+        this.gameId = gameId;
+        this.opponentTeamId = opponentTeamId;
+        status.compareAndSet(Status.PAIRING, Status.MATCHED);
+    }
+}
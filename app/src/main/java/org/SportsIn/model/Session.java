@@ -1,5 +1,7 @@
 package org.SportsIn.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,6 +25,9 @@ public class Session {
 
     private String winnerParticipantId;      // id du gagnant une fois règles appliquées
 
+    @JsonIgnore
+    private boolean matchXpGranted;          // XP de match déjà attribuée (fin de session)
+
     // --- Constructeurs ---
 
     public Session() {
@@ -119,6 +124,16 @@ public class Session {
         this.winnerParticipantId = winnerParticipantId;
     }
 
+    @JsonIgnore
+    public boolean isMatchXpGranted() {
+        return matchXpGranted;
+    }
+
+    @JsonIgnore
+    public void setMatchXpGranted(boolean matchXpGranted) {
+        this.matchXpGranted = matchXpGranted;
+    }
+
     // --- Utilitaires ---
 
     @Override
@@ -0,0 +1,78 @@
+package org.SportsIn.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Agrégat journalier des sessions terminées, par (jour, sport, arène, équipe).
+ *
+ * Alimenté par SessionRetentionService quand une session sort de la fenêtre chaude :
+ * la session détaillée est alors supprimée, seul son comptage et sa date de fin subsistent.
+ * pointId et teamId valent "" quand la session n'en a pas (colonnes de la clé unique).
+ */
+@Entity
+@Table(name = "session_daily_aggregate")
+public class SessionDailyAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String day;
+
+    @Column(name = "sport_code", nullable = false)
+    private String sportCode;
+
+    @Column(name = "point_id", nullable = false)
+    private String pointId;
+
+    @Column(name = "team_id", nullable = false)
+    private String teamId;
+
+    @Column(name = "session_count", nullable = false)
+    private int sessionCount;
+
+    @Column(name = "last_ended_at", nullable = false)
+    private String lastEndedAt;
+
+    public SessionDailyAggregate() {
+    }
+
+    public SessionDailyAggregate(String day, String sportCode, String pointId, String teamId,
+                                 int sessionCount, String lastEndedAt) {
+        this.day = day;
+        this.sportCode = sportCode;
+        this.pointId = pointId;
+        this.teamId = teamId;
+        this.sessionCount = sessionCount;
+        this.lastEndedAt = lastEndedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public String getSportCode() {
+        return sportCode;
+    }
+
+    public String getPointId() {
+        return pointId;
+    }
+
+    public String getTeamId() {
+        return teamId;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    public String getLastEndedAt() {
+        return lastEndedAt;
+    }
+}
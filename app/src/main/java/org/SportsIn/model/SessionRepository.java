@@ -1,5 +1,7 @@
 package org.SportsIn.model;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,7 +9,56 @@ public interface SessionRepository {
     Optional<Session> findById(String id);
     List<Session> findAll();
     List<Session> findByState(SessionState state);
+
+    /**
+     * @throws InvalidSessionException si le stockage ne peut pas accepter la session.
+     */
     Session save(Session session);
     boolean deleteById(String id);
     boolean existsById(String id);
+
+    /**
+     * Page suivant le curseur afterId (exclu), triée par ID : au plus limit éléments.
+     */
+    List<Session> findPageAfter(String afterId, int limit);
+
+    /**
+     * Comme save(), mais ne rend la main qu'une fois la session écrite sur le support durable
+     * (contourne un éventuel tampon d'écriture différée).
+     */
+    default Session saveDurably(Session session) {
+        return save(session);
+    }
+
+    default List<Session> findByPointId(String pointId) {
+        return findAll().stream()
+                .filter(session -> pointId.equals(session.getPointId()))
+                .toList();
+    }
+
+    default List<Session> findBySportCode(String sportCode) {
+        return findAll().stream()
+                .filter(session -> session.getSport() != null && sportCode.equals(session.getSport().getCode()))
+                .toList();
+    }
+
+    /**
+     * Sessions TERMINATED terminées strictement après {@code since}, triées par endedAt croissant.
+     */
+    default List<Session> findTerminatedEndedAfter(LocalDateTime since) {
+        return findByState(SessionState.TERMINATED).stream()
+                .filter(session -> session.getEndedAt() != null && session.getEndedAt().isAfter(since))
+                .sorted(Comparator.comparing(Session::getEndedAt))
+                .toList();
+    }
+
+    /**
+     * Sessions TERMINATED terminées strictement avant {@code before}, triées par endedAt croissant.
+     */
+    default List<Session> findTerminatedEndedBefore(LocalDateTime before) {
+        return findByState(SessionState.TERMINATED).stream()
+                .filter(session -> session.getEndedAt() != null && session.getEndedAt().isBefore(before))
+                .sorted(Comparator.comparing(Session::getEndedAt))
+                .toList();
+    }
 }
@@ -1,6 +1,9 @@
 package org.SportsIn.model.mission;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.SportsIn.model.InstantEpochMillisConverter;
+
 import java.time.Instant;
 
 @Entity
@@ -38,16 +41,20 @@ public class Mission {
     private int rewardTeamXp;
 
     @Column(name = "created_at", nullable = false)
-    private String createdAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant createdAt;
 
     @Column(name = "starts_at", nullable = false)
-    private String startsAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant startsAt;
 
     @Column(name = "ends_at", nullable = false)
-    private String endsAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant endsAt;
 
     @Column(name = "completed_at")
-    private String completedAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant completedAt;
 
     @Column(name = "payload_json", columnDefinition = "TEXT")
     private String payloadJson;
@@ -59,7 +66,15 @@ public class Mission {
     private int progressTarget = 1;
 
     @Column(name = "last_evaluated_at")
-    private String lastEvaluatedAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant lastEvaluatedAt;
+
+    // Payload décodé, valide tant que payloadJson est la chaîne dont il provient
+    @Transient
+    private MissionPayload decodedPayload;
+
+    @Transient
+    private String decodedFrom;
 
     public Mission() {
     }
@@ -138,35 +153,35 @@ public class Mission {
         this.rewardTeamXp = rewardTeamXp;
     }
 
-    public String getCreatedAt() {
+    public Instant getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
 
-    public String getStartsAt() {
+    public Instant getStartsAt() {
         return startsAt;
     }
 
-    public void setStartsAt(String startsAt) {
+    public void setStartsAt(Instant startsAt) {
         this.startsAt = startsAt;
     }
 
-    public String getEndsAt() {
+    public Instant getEndsAt() {
         return endsAt;
     }
 
-    public void setEndsAt(String endsAt) {
+    public void setEndsAt(Instant endsAt) {
         this.endsAt = endsAt;
     }
 
-    public String getCompletedAt() {
+    public Instant getCompletedAt() {
         return completedAt;
     }
 
-    public void setCompletedAt(String completedAt) {
+    public void setCompletedAt(Instant completedAt) {
         this.completedAt = completedAt;
     }
 
@@ -178,6 +193,28 @@ public class Mission {
         this.payloadJson = payloadJson;
     }
 
+    /**
+     * Payload typé, décodé au premier accès puis conservé tant que payloadJson ne change pas.
+     */
+    @JsonIgnore
+    public MissionPayload getPayload() {
+        if (decodedPayload == null || decodedFrom != payloadJson || decodedPayload.type() != type) {
+            decodedPayload = MissionPayload.decode(type, payloadJson);
+            decodedFrom = payloadJson;
+        }
+        return decodedPayload;
+    }
+
+    /**
+     * Définit le type et le payload ; payloadJson reçoit l'encodage canonique.
+     */
+    public void setPayload(MissionPayload payload) {
+        this.type = payload.type();
+        this.payloadJson = payload.toJson();
+        this.decodedPayload = payload;
+        this.decodedFrom = this.payloadJson;
+    }
+
     public int getProgressCurrent() {
         return progressCurrent;
     }
@@ -194,32 +231,18 @@ public class Mission {
         this.progressTarget = progressTarget;
     }
 
-    public String getLastEvaluatedAt() {
+    public Instant getLastEvaluatedAt() {
         return lastEvaluatedAt;
     }
 
-    public void setLastEvaluatedAt(String lastEvaluatedAt) {
+    public void setLastEvaluatedAt(Instant lastEvaluatedAt) {
         this.lastEvaluatedAt = lastEvaluatedAt;
     }
 
-    // --- Convenience methods using Instant ---
-
-    public Instant getEndsAtInstant() {
-        return endsAt != null ? Instant.parse(endsAt) : null;
-    }
-
-    public Instant getStartsAtInstant() {
-        return startsAt != null ? Instant.parse(startsAt) : null;
-    }
-
-    public Instant getCreatedAtInstant() {
-        return createdAt != null ? Instant.parse(createdAt) : null;
-    }
-
     public void setTimestampsFromInstant(Instant created, Instant starts, Instant ends) {
-        this.createdAt = created.toString();
-        this.startsAt = starts.toString();
-        this.endsAt = ends.toString();
+        this.createdAt = created;
+        this.startsAt = starts;
+        this.endsAt = ends;
     }
 
     public boolean isActive() {
@@ -227,10 +250,14 @@ public class Mission {
     }
 
     public boolean isExpired() {
-        return isActive() && Instant.now().isAfter(getEndsAtInstant());
+        return isActive() && Instant.now().isAfter(endsAt);
     }
 
+    /**
+     * Clé de déduplication : type et encodage canonique du payload, indépendante
+     * de l'ordre des champs dans le JSON stocké.
+     */
     public String payloadKey() {
-        return type.name() + ":" + (payloadJson != null ? payloadJson : "");
+        return type.name() + ":" + getPayload().toJson();
     }
 }
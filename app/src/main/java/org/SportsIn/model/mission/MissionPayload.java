@@ -0,0 +1,61 @@
+package org.SportsIn.model.mission;
+
+/**
+ * Paramètres typés d'une mission, un type de record par MissionType.
+ *
+ * L'encodage JSON est canonique : champs dans l'ordre de déclaration du record, valeurs nulles
+ * omises. Deux payloads égaux ont donc toujours le même JSON, ce qui rend la clé de
+ * déduplication (Mission.payloadKey) stable.
+ */
+public sealed interface MissionPayload
+        permits MissionPayload.Recapture, MissionPayload.Diversity, MissionPayload.BreakRoute {
+
+    MissionType type();
+
+    /**
+     * Arène visée par la mission (peut être null pour une mission DIVERSITY).
+     */
+    String arenaId();
+
+    default String toJson() {
+        return MissionPayloadCodec.encode(this);
+    }
+
+    /**
+     * Décode un payload JSON selon le type de mission. Les champs absents restent nuls ;
+     * un JSON absent ou invalide donne un payload vide du bon type.
+     */
+    static MissionPayload decode(MissionType type, String json) {
+        return MissionPayloadCodec.decode(type, json);
+    }
+
+    /**
+     * RECAPTURE_RECENT_LOSS : reprendre une arène contrôlée par un adversaire.
+     */
+    record Recapture(String arenaId, String arenaName, Integer windowDays) implements MissionPayload {
+        @Override
+        public MissionType type() {
+            return MissionType.RECAPTURE_RECENT_LOSS;
+        }
+    }
+
+    /**
+     * DIVERSITY_SPORT : terminer une session du sport, sur l'arène si elle est précisée.
+     */
+    record Diversity(String arenaId, String arenaName, String sportCode, Integer windowDays) implements MissionPayload {
+        @Override
+        public MissionType type() {
+            return MissionType.DIVERSITY_SPORT;
+        }
+    }
+
+    /**
+     * BREAK_ROUTE : briser le contrôle d'une arène adverse.
+     */
+    record BreakRoute(String arenaId, String arenaName, Long adversaryTeamId, Integer minCount) implements MissionPayload {
+        @Override
+        public MissionType type() {
+            return MissionType.BREAK_ROUTE;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.SportsIn.model.mission;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Encodage JSON des MissionPayload (ordre des champs fixe, nulls omis, champs inconnus ignorés).
+ */
+final class MissionPayloadCodec {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private MissionPayloadCodec() {
+    }
+
+    static String encode(MissionPayload payload) {
+        try {
+            return MAPPER.writeValueAsString(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Payload de mission non sérialisable: " + payload, e);
+        }
+    }
+
+    static MissionPayload decode(MissionType type, String json) {
+        Class<? extends MissionPayload> target = switch (type) {
+            case RECAPTURE_RECENT_LOSS -> MissionPayload.Recapture.class;
+            case DIVERSITY_SPORT -> MissionPayload.Diversity.class;
+            case BREAK_ROUTE -> MissionPayload.BreakRoute.class;
+        };
+        if (json != null && !json.isBlank()) {
+            try {
+                return MAPPER.readValue(json, target);
+            } catch (Exception ignored) {
+                // Payload illisible : traité comme vide
+            }
+        }
+        return empty(type);
+    }
+
+    private static MissionPayload empty(MissionType type) {
+        return switch (type) {
+            case RECAPTURE_RECENT_LOSS -> new MissionPayload.Recapture(null, null, null);
+            case DIVERSITY_SPORT -> new MissionPayload.Diversity(null, null, null, null);
+            case BREAK_ROUTE -> new MissionPayload.BreakRoute(null, null, null, null);
+        };
+    }
+}
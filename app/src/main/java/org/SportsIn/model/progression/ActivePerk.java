@@ -1,6 +1,8 @@
 package org.SportsIn.model.progression;
 
 import jakarta.persistence.*;
+import org.SportsIn.model.InstantEpochMillisConverter;
+
 import java.time.Duration;
 import java.time.Instant;
 
@@ -22,13 +24,16 @@ public class ActivePerk {
     private String targetId;
 
     @Column(name = "activated_at", nullable = false)
-    private String activatedAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant activatedAt;
 
     @Column(name = "expires_at", nullable = false)
-    private String expiresAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant expiresAt;
 
     @Column(name = "last_used_at")
-    private String lastUsedAt;
+    @Convert(converter = InstantEpochMillisConverter.class)
+    private Instant lastUsedAt;
 
     @Column(name = "usage_count", nullable = false)
     private int usageCount = 0;
@@ -39,27 +44,18 @@ public class ActivePerk {
     // --- Lifecycle methods ---
 
     public boolean isExpired() {
-        return Instant.now().isAfter(Instant.parse(expiresAt));
+        return Instant.now().isAfter(expiresAt);
     }
 
     public boolean isActive() {
         Instant now = Instant.now();
-        return now.isAfter(Instant.parse(activatedAt)) && now.isBefore(Instant.parse(expiresAt));
+        return now.isAfter(activatedAt) && now.isBefore(expiresAt);
     }
 
     public Duration getRemainingDuration() {
-        Instant expires = Instant.parse(expiresAt);
         Instant now = Instant.now();
-        if (now.isAfter(expires)) return Duration.ZERO;
-        return Duration.between(now, expires);
-    }
-
-    public Instant getExpiresAtInstant() {
-        return expiresAt != null ? Instant.parse(expiresAt) : null;
-    }
-
-    public Instant getActivatedAtInstant() {
-        return activatedAt != null ? Instant.parse(activatedAt) : null;
+        if (now.isAfter(expiresAt)) return Duration.ZERO;
+        return Duration.between(now, expiresAt);
     }
 
     // --- Getters & Setters ---
@@ -96,27 +92,27 @@ public class ActivePerk {
         this.targetId = targetId;
     }
 
-    public String getActivatedAt() {
+    public Instant getActivatedAt() {
         return activatedAt;
     }
 
-    public void setActivatedAt(String activatedAt) {
+    public void setActivatedAt(Instant activatedAt) {
         this.activatedAt = activatedAt;
     }
 
-    public String getExpiresAt() {
+    public Instant getExpiresAt() {
         return expiresAt;
     }
 
-    public void setExpiresAt(String expiresAt) {
+    public void setExpiresAt(Instant expiresAt) {
         this.expiresAt = expiresAt;
     }
 
-    public String getLastUsedAt() {
+    public Instant getLastUsedAt() {
         return lastUsedAt;
     }
 
-    public void setLastUsedAt(String lastUsedAt) {
+    public void setLastUsedAt(Instant lastUsedAt) {
         this.lastUsedAt = lastUsedAt;
     }
 
@@ -1,7 +1,5 @@
 package org.SportsIn.model.progression;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.*;
 import java.util.Map;
 
@@ -9,8 +7,6 @@ import java.util.Map;
 @Table(name = "perk_definition")
 public class PerkDefinition {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -137,12 +133,11 @@ public class PerkDefinition {
         this.parametersJson = parametersJson;
     }
 
+    /**
+     * Parse parametersJson à chaque appel : les chemins chauds passent par PerkCatalog,
+     * qui conserve des paramètres déjà parsés.
+     */
     public Map<String, Object> getParametersAsMap() {
-        if (parametersJson == null || parametersJson.isBlank()) return Map.of();
-        try {
-            return MAPPER.readValue(parametersJson, new TypeReference<>() {});
-        } catch (Exception e) {
-            return Map.of();
-        }
+        return PerkParameters.parse(parametersJson).asMap();
     }
 }
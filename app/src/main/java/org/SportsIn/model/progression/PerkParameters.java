@@ -0,0 +1,73 @@
+package org.SportsIn.model.progression;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * Paramètres d'un perk, parsés une seule fois depuis parametersJson.
+ *
+ * Les valeurs numériques connues des effets sont exposées typées ; la map complète
+ * (immuable) reste disponible pour les stratégies via PerkContext.
+ */
+public final class PerkParameters {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final PerkParameters EMPTY = new PerkParameters(Map.of());
+
+    private final Map<String, Object> values;
+    private final OptionalDouble boostPercent;
+    private final OptionalDouble reductionPercent;
+    private final OptionalDouble multiplier;
+    private final String targetType;
+
+    private PerkParameters(Map<String, Object> values) {
+        this.values = values;
+        this.boostPercent = number(values.get("boostPercent"));
+        this.reductionPercent = number(values.get("reductionPercent"));
+        this.multiplier = number(values.get("multiplier"));
+        this.targetType = values.get("targetType") instanceof String s ? s : null;
+    }
+
+    /**
+     * Parse le JSON de paramètres. Un JSON absent ou invalide donne des paramètres vides.
+     */
+    public static PerkParameters parse(String json) {
+        if (json == null || json.isBlank()) return EMPTY;
+        try {
+            Map<String, Object> parsed = MAPPER.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() {});
+            return new PerkParameters(Collections.unmodifiableMap(parsed));
+        } catch (Exception e) {
+            return EMPTY;
+        }
+    }
+
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    public OptionalDouble boostPercent() {
+        return boostPercent;
+    }
+
+    public OptionalDouble reductionPercent() {
+        return reductionPercent;
+    }
+
+    public OptionalDouble multiplier() {
+        return multiplier;
+    }
+
+    public String targetType() {
+        return targetType;
+    }
+
+    private static OptionalDouble number(Object raw) {
+        return raw instanceof Number n ? OptionalDouble.of(n.doubleValue()) : OptionalDouble.empty();
+    }
+}
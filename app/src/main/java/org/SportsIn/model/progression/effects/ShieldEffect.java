@@ -39,7 +39,7 @@ public class ShieldEffect implements PerkEffectStrategy {
 
         Optional<Instant> lastExpiry = existingPerks.stream()
                 .filter(ap -> ap.getPerkDefinitionId().equals(def.getId()))
-                .map(ActivePerk::getExpiresAtInstant)
+                .map(ActivePerk::getExpiresAt)
                 .max(Instant::compareTo);
 
         if (lastExpiry.isPresent()) {
@@ -38,7 +38,7 @@ public class XpMultiplierEffect implements PerkEffectStrategy {
 
         Optional<Instant> lastExpiry = existingPerks.stream()
                 .filter(ap -> ap.getPerkDefinitionId().equals(def.getId()))
-                .map(ActivePerk::getExpiresAtInstant)
+                .map(ActivePerk::getExpiresAt)
                 .max(Instant::compareTo);
 
         if (lastExpiry.isPresent()) {
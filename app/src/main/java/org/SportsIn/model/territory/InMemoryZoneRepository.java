@@ -1,18 +1,34 @@
 package org.SportsIn.model.territory;
 
+import org.SportsIn.model.Arene;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Stockage en mémoire des zones, sûr pour des lectures et écritures concurrentes.
+ *
+ * Un index inverse arène -> zones est maintenu à chaque save : findZonesByAreneId
+ * se résume à une lecture dans une table de hachage. L'index reflète la composition
+ * des zones au moment de leur dernière sauvegarde.
+ */
 @Repository
 public class InMemoryZoneRepository implements ZoneRepository {
 
-    private final Map<Long, Zone> database = new HashMap<>();
+    private final Map<Long, Zone> database = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> zoneIdsByAreneId = new ConcurrentHashMap<>();
+
+    // Arènes indexées pour chaque zone lors de son dernier save (protégé par writeLock)
+    private final Map<Long, Set<String>> indexedAreneIdsByZoneId = new HashMap<>();
+    private final Object writeLock = new Object();
 
     @Override
     public Optional<Zone> findById(Long id) {
@@ -29,14 +45,64 @@ public class InMemoryZoneRepository implements ZoneRepository {
         if (zone == null || zone.getId() == null) {
             return;
         }
-        database.put(zone.getId(), zone);
+        Long zoneId = zone.getId();
+        Set<String> areneIds = areneIdsOf(zone);
+
+        synchronized (writeLock) {
+            database.put(zoneId, zone);
+
+            for (String areneId : areneIds) {
+                zoneIdsByAreneId.computeIfAbsent(areneId, k -> ConcurrentHashMap.newKeySet()).add(zoneId);
+            }
+
+            Set<String> previous = indexedAreneIdsByZoneId.put(zoneId, areneIds);
+            if (previous != null) {
+                for (String areneId : previous) {
+                    if (!areneIds.contains(areneId)) {
+                        unindex(areneId, zoneId);
+                    }
+                }
+            }
+        }
     }
 
     @Override
     public List<Zone> findZonesByAreneId(String areneId) {
-        return database.values().stream()
-                .filter(zone -> zone.getArenes().stream()
-                        .anyMatch(a -> a.getId().equals(areneId)))
-                .collect(Collectors.toList());
+        Set<Long> zoneIds = zoneIdsByAreneId.get(areneId);
+        if (zoneIds == null) {
+            return new ArrayList<>();
+        }
+        List<Zone> zones = new ArrayList<>(zoneIds.size());
+        for (Long zoneId : zoneIds) {
+            Zone zone = database.get(zoneId);
+            if (zone != null) {
+                zones.add(zone);
+            }
+        }
+        zones.sort(Comparator.comparing(Zone::getId));
+        return zones;
+    }
+
+    private void unindex(String areneId, Long zoneId) {
+        Set<Long> zoneIds = zoneIdsByAreneId.get(areneId);
+        if (zoneIds == null) {
+            return;
+        }
+        zoneIds.remove(zoneId);
+        if (zoneIds.isEmpty()) {
+            zoneIdsByAreneId.remove(areneId);
+        }
+    }
+
+    private static Set<String> areneIdsOf(Zone zone) {
+        Set<String> ids = new HashSet<>();
+        if (zone.getArenes() != null) {
+            for (Arene arene : zone.getArenes()) {
+                if (arene != null && arene.getId() != null) {
+                    ids.add(arene.getId());
+                }
+            }
+        }
+        return ids;
     }
 }
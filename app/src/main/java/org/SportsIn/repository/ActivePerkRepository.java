@@ -2,10 +2,12 @@ package org.SportsIn.repository;
 
 import org.SportsIn.model.progression.ActivePerk;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
@@ -16,11 +18,18 @@ public interface ActivePerkRepository extends JpaRepository<ActivePerk, Long> {
     List<ActivePerk> findByTeamIdAndPerkDefinitionId(Long teamId, Long perkDefinitionId);
 
     @Query("SELECT ap FROM ActivePerk ap WHERE ap.expiresAt < :now")
-    List<ActivePerk> findExpiredBefore(@Param("now") String now);
+    List<ActivePerk> findExpiredBefore(@Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM ActivePerk ap WHERE ap.expiresAt < :now")
+    int deleteExpiredBefore(@Param("now") Instant now);
+
+    @Query("SELECT ap FROM ActivePerk ap WHERE ap.expiresAt > :now")
+    List<ActivePerk> findActiveAt(@Param("now") Instant now);
 
     @Query("SELECT ap FROM ActivePerk ap WHERE ap.targetId = :targetId AND ap.expiresAt > :now")
-    List<ActivePerk> findActiveOnTarget(@Param("targetId") String targetId, @Param("now") String now);
+    List<ActivePerk> findActiveOnTarget(@Param("targetId") String targetId, @Param("now") Instant now);
 
     @Query("SELECT ap FROM ActivePerk ap WHERE ap.teamId = :teamId AND ap.expiresAt > :now")
-    List<ActivePerk> findActiveByTeam(@Param("teamId") Long teamId, @Param("now") String now);
+    List<ActivePerk> findActiveByTeam(@Param("teamId") Long teamId, @Param("now") Instant now);
 }
@@ -0,0 +1,8 @@
+package org.SportsIn.repository;
+
+/**
+ * Projection d'une arène sans l'entité : position et ID de l'équipe qui la contrôle (null si neutre).
+ * Lue directement depuis la clé étrangère equipe_controle, sans charger l'équipe ni les sports.
+ */
+public record ArenaOwnershipRow(String arenaId, String nom, double latitude, double longitude, Long controllingTeamId) {
+}
@@ -1,13 +1,39 @@
 package org.SportsIn.repository;
 
 import org.SportsIn.model.Arene;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AreneRepository extends JpaRepository<Arene, String> {
     List<Arene> findByControllingTeam_Id(Long teamId);
     List<Arene> findBySportsDisponiblesContaining(String sport);
+
+    /**
+     * Page suivant le curseur afterId (exclu), triée par ID.
+     */
+    List<Arene> findByIdGreaterThanOrderByIdAsc(String afterId, Limit limit);
+
+    /**
+     * Toutes les arènes en une requête, triées par ID : les choix faits par position restent stables.
+     */
+    @Query("SELECT new org.SportsIn.repository.ArenaOwnershipRow(a.id, a.nom, a.latitude, a.longitude, a.controllingTeam.id) "
+            + "FROM Arene a ORDER BY a.id")
+    List<ArenaOwnershipRow> findAllOwnership();
+
+    @Query("SELECT new org.SportsIn.repository.ArenaOwnershipRow(a.id, a.nom, a.latitude, a.longitude, a.controllingTeam.id) "
+            + "FROM Arene a WHERE a.id IN :ids ORDER BY a.id")
+    List<ArenaOwnershipRow> findOwnershipByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Paires (ID d'arène, sport) de toutes les arènes, lues dans la table arene_sport en une requête.
+     */
+    @Query("SELECT a.id, s FROM Arene a JOIN a.sportsDisponibles s")
+    List<Object[]> findAllArenaSports();
 }
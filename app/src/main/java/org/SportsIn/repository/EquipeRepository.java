@@ -1,12 +1,49 @@
 package org.SportsIn.repository;
 
 import org.SportsIn.model.user.Equipe;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EquipeRepository extends JpaRepository<Equipe, Long> {
     Optional<Equipe> findByNom(String nom);
+
+    /**
+     * Page suivant le curseur afterId (exclu), triée par ID.
+     */
+    List<Equipe> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Points et XP actuels d'une équipe, lus en base même si l'entité est déjà chargée.
+     */
+    @Query("SELECT new org.SportsIn.repository.TeamScoreRow(e.id, e.points, e.xp) FROM Equipe e WHERE e.id = :id")
+    Optional<TeamScoreRow> findScoreById(@Param("id") Long id);
+
+    /**
+     * Incrémente l'XP en base sans charger l'entité.
+     *
+     * @return Le nombre de lignes modifiées (0 si l'équipe n'existe pas).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Equipe e SET e.xp = e.xp + :xp WHERE e.id = :id")
+    int addXp(@Param("id") Long id, @Param("xp") int xp);
+
+    /**
+     * Incrémente points et XP en base sans charger l'entité.
+     *
+     * @return Le nombre de lignes modifiées (0 si l'équipe n'existe pas).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Equipe e SET e.points = e.points + :points, e.xp = e.xp + :xp WHERE e.id = :id")
+    int addRewards(@Param("id") Long id, @Param("points") int points, @Param("xp") int xp);
 }
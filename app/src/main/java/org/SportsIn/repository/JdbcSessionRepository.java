@@ -0,0 +1,517 @@
+package org.SportsIn.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.SportsIn.model.InvalidSessionException;
+import org.SportsIn.model.MetricType;
+import org.SportsIn.model.MetricValue;
+import org.SportsIn.model.Participant;
+import org.SportsIn.model.ParticipantType;
+import org.SportsIn.model.Session;
+import org.SportsIn.model.SessionRepository;
+import org.SportsIn.model.SessionResult;
+import org.SportsIn.model.SessionState;
+import org.SportsIn.model.Sport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Stockage des sessions dans les tables session, session_participant et metric_value.
+ *
+ * Écritures : une session est réécrite en entier (upsert de la ligne session, puis participants
+ * et métriques supprimés et réinsérés par lots JDBC), plusieurs sessions par transaction.
+ * Lectures : une requête joint session, sport et participants, une seconde charge les métriques
+ * des mêmes sessions ; pas de requête par session.
+ *
+ * En mode write-behind (session.repository.write-behind=true), save() et deleteById() ne font que
+ * déposer l'écriture dans un tampon, vidé périodiquement par lots : la fin d'une session ne
+ * dépend plus de l'écriture disque. Les lectures consultent le tampon avant la base, une
+ * session sauvegardée est donc visible immédiatement. Une écriture non encore vidée est perdue
+ * en cas d'arrêt brutal ; le tampon est vidé à l'arrêt normal de l'application. save() valide la
+ * session (sport connu, métriques complètes) avant de l'accepter, et une écriture que la base
+ * refuse malgré tout est écartée au vidage sans bloquer les autres.
+ *
+ * Contrairement au stockage en mémoire, une session sans sport (ou d'un sport absent de la table
+ * sport) est refusée par save() avec InvalidSessionException : la colonne sport_id est obligatoire.
+ *
+ * Les dates sont stockées en UTC à largeur fixe (2026-01-13T08:00:00.000Z) : l'ordre du texte est
+ * celui des instants, les filtres par plage peuvent donc comparer directement les colonnes.
+ */
+@Repository
+@ConditionalOnProperty(name = "session.repository", havingValue = "jdbc")
+public class JdbcSessionRepository implements SessionRepository {
+
+    private static final DateTimeFormatter STORED_DATE =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private static final String SELECT_SESSIONS =
+            "SELECT s.id, s.point_id, s.state, s.created_at, s.ended_at, s.winner_participant_id, s.xp_granted, "
+            + "sp.id AS sport_id, sp.code AS sport_code, sp.name AS sport_name, "
+            + "p.participant_id, p.participant_type, p.participant_name "
+            + "FROM session s "
+            + "JOIN sport sp ON sp.id = s.sport_id "
+            + "LEFT JOIN session_participant p ON p.session_id = s.id ";
+
+    private static final String SELECT_METRICS =
+            "SELECT m.session_id, m.participant_id, m.metric_type, m.value, m.context "
+            + "FROM metric_value m JOIN session s ON s.id = m.session_id ";
+
+    private static final String UPSERT_SESSION =
+            "INSERT INTO session (id, sport_id, point_id, state, created_at, ended_at, winner_participant_id, xp_granted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT(id) DO UPDATE SET sport_id = excluded.sport_id, point_id = excluded.point_id, "
+            + "state = excluded.state, created_at = excluded.created_at, ended_at = excluded.ended_at, "
+            + "winner_participant_id = excluded.winner_participant_id, xp_granted = excluded.xp_granted";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTemplate;
+    private final boolean writeBehind;
+
+    // Écritures en attente (write-behind) : dernière version de chaque session, null pour une suppression
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<String, Long> sportIdByCode = new ConcurrentHashMap<>();
+    private final Set<Long> knownSportIds = ConcurrentHashMap.newKeySet();
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${session.repository.write-behind:false}") boolean writeBehind) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Lecture seule : instantané cohérent des deux requêtes, servi par le pool de lecteurs SQLite
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public Optional<Session> findById(String id) {
+        Pending write = pending.get(id);
+        if (write != null) {
+            return Optional.ofNullable(write.session);
+        }
+        return query("WHERE s.id = ?", id).stream().findFirst();
+    }
+
+    @Override
+    public List<Session> findAll() {
+        return withPending(query(""), session -> true);
+    }
+
+    /**
+     * Page par clé : LIMIT porte sur les sessions (sous-requête), pas sur les lignes de participants.
+     * Les écritures en attente sont superposées dans les bornes de chaque page lue ; si des
+     * suppressions en attente raccourcissent la page, on lit la suivante pour la compléter.
+     */
+    @Override
+    public List<Session> findPageAfter(String afterId, int limit) {
+        List<Session> page = new ArrayList<>();
+        String cursor = afterId;
+        while (page.size() < limit) {
+            List<Session> fromDb = query("WHERE s.id IN (SELECT id FROM session WHERE id > ? ORDER BY id LIMIT ?)",
+                    cursor, limit);
+            boolean exhausted = fromDb.size() < limit;
+            String from = cursor;
+            String to = exhausted ? null : fromDb.get(fromDb.size() - 1).getId();
+            List<Session> merged = withPending(fromDb, session -> session.getId().compareTo(from) > 0
+                    && (to == null || session.getId().compareTo(to) <= 0));
+            merged.sort(Comparator.comparing(Session::getId));
+            for (Session session : merged) {
+                if (page.size() == limit) break;
+                page.add(session);
+            }
+            if (exhausted) break;
+            cursor = to;
+        }
+        return page;
+    }
+
+    @Override
+    public List<Session> findByState(SessionState state) {
+        return withPending(query("WHERE s.state = ?", state.name()), session -> session.getState() == state);
+    }
+
+    @Override
+    public List<Session> findByPointId(String pointId) {
+        return withPending(query("WHERE s.point_id = ?", pointId), session -> pointId.equals(session.getPointId()));
+    }
+
+    @Override
+    public List<Session> findBySportCode(String sportCode) {
+        return withPending(query("WHERE sp.code = ?", sportCode),
+                session -> session.getSport() != null && sportCode.equals(session.getSport().getCode()));
+    }
+
+    @Override
+    public List<Session> findTerminatedEndedAfter(LocalDateTime since) {
+        List<Session> sessions = withPending(
+                query("WHERE s.state = 'TERMINATED' AND s.ended_at > ?", formatDate(since)),
+                session -> session.getState() == SessionState.TERMINATED
+                        && session.getEndedAt() != null && session.getEndedAt().isAfter(since));
+        sessions.sort(Comparator.comparing(Session::getEndedAt));
+        return sessions;
+    }
+
+    @Override
+    public List<Session> findTerminatedEndedBefore(LocalDateTime before) {
+        List<Session> sessions = withPending(
+                query("WHERE s.state = 'TERMINATED' AND s.ended_at < ?", formatDate(before)),
+                session -> session.getState() == SessionState.TERMINATED
+                        && session.getEndedAt() != null && session.getEndedAt().isBefore(before));
+        sessions.sort(Comparator.comparing(Session::getEndedAt));
+        return sessions;
+    }
+
+    @Override
+    public Session save(Session session) {
+        if (session == null) {
+            return null;
+        }
+        if (session.getId() == null) {
+            session.setId("SESSION_" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        }
+        validate(session);
+        if (writeBehind) {
+            pending.put(session.getId(), new Pending(session));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> writeSessions(List.of(session)));
+        }
+        return session;
+    }
+
+    /**
+     * En write-behind, place la session dans le tampon puis le vide aussitôt : les écritures
+     * antérieures de la même session ne peuvent donc pas l'écraser au prochain passage.
+     */
+    @Override
+    public Session saveDurably(Session session) {
+        if (!writeBehind) {
+            return save(session);
+        }
+        synchronized (this) {
+            save(session);
+            flush();
+        }
+        return session;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        boolean existed = existsById(id);
+        if (writeBehind) {
+            pending.put(id, new Pending(null));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> deleteSessions(List.of(id)));
+        }
+        return existed;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        Pending write = pending.get(id);
+        if (write != null) {
+            return write.session != null;
+        }
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session WHERE id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${session.repository.flush-interval-ms:200}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Vide le tampon write-behind en une transaction. Si la base refuse le lot, chaque écriture est
+     * rejouée dans sa propre transaction et celles qui échouent encore sont écartées : une session
+     * invalide ne doit pas bloquer indéfiniment l'écriture des autres.
+     *
+     * @return Le nombre d'écritures appliquées.
+     */
+    public synchronized int flush() {
+        if (pending.isEmpty()) return 0;
+        Map<String, Pending> batch = new LinkedHashMap<>(pending);
+
+        int applied;
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+            applied = batch.size();
+        } catch (RuntimeException e) {
+            applied = 0;
+            for (Map.Entry<String, Pending> entry : batch.entrySet()) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> apply(Map.of(entry.getKey(), entry.getValue())));
+                    applied++;
+                } catch (RuntimeException rejected) {
+                    System.out.println("Écriture de la session " + entry.getKey() + " écartée : " + rejected.getMessage());
+                }
+            }
+        }
+
+        // Une écriture arrivée pendant le vidage reste en attente pour le prochain passage
+        batch.forEach(pending::remove);
+        return applied;
+    }
+
+    private void apply(Map<String, Pending> writes) {
+        List<Session> saves = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        writes.forEach((id, write) -> {
+            if (write.session != null) saves.add(write.session);
+            else deletes.add(id);
+        });
+        deleteSessions(deletes);
+        writeSessions(saves);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            System.out.println("Sessions en attente écrites à l'arrêt : " + flushed);
+        }
+    }
+
+    public int getPendingWrites() {
+        return pending.size();
+    }
+
+    private void writeSessions(List<Session> sessions) {
+        if (sessions.isEmpty()) return;
+        List<String> ids = sessions.stream().map(Session::getId).toList();
+
+        jdbcTemplate.batchUpdate(UPSERT_SESSION, sessions, sessions.size(), (ps, s) -> {
+            ps.setString(1, s.getId());
+            ps.setLong(2, resolveSportId(s.getSport()));
+            ps.setString(3, s.getPointId());
+            ps.setString(4, (s.getState() != null ? s.getState() : SessionState.ACTIVE).name());
+            ps.setString(5, formatDate(s.getCreatedAt() != null ? s.getCreatedAt() : LocalDateTime.now()));
+            ps.setString(6, s.getEndedAt() != null ? formatDate(s.getEndedAt()) : null);
+            ps.setString(7, s.getWinnerParticipantId());
+            ps.setInt(8, s.isMatchXpGranted() ? 1 : 0);
+        });
+
+        // Participants et métriques sont réécrits en entier
+        deleteChildren(ids);
+
+        List<Object[]> participants = new ArrayList<>();
+        List<Object[]> metrics = new ArrayList<>();
+        for (Session s : sessions) {
+            if (s.getParticipants() != null) {
+                for (Participant p : s.getParticipants()) {
+                    participants.add(new Object[]{s.getId(), p.getId(),
+                            (p.getType() != null ? p.getType() : ParticipantType.PLAYER).name(),
+                            p.getName() != null ? p.getName() : p.getId()});
+                }
+            }
+            if (s.getResult() != null && s.getResult().getMetrics() != null) {
+                for (MetricValue m : s.getResult().getMetrics()) {
+                    metrics.add(new Object[]{s.getId(), m.getParticipantId(), m.getMetricType().name(),
+                            m.getValue(), m.getContext()});
+                }
+            }
+        }
+        if (!participants.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO session_participant "
+                    + "(session_id, participant_id, participant_type, participant_name) VALUES (?, ?, ?, ?)", participants);
+        }
+        if (!metrics.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO metric_value "
+                    + "(session_id, participant_id, metric_type, value, context) VALUES (?, ?, ?, ?, ?)", metrics);
+        }
+    }
+
+    private void deleteSessions(List<String> ids) {
+        if (ids.isEmpty()) return;
+        // Les clés étrangères SQLite (ON DELETE CASCADE) ne sont pas activées : suppression explicite
+        deleteChildren(ids);
+        batchDelete("DELETE FROM session WHERE id = ?", ids);
+    }
+
+    private void deleteChildren(List<String> ids) {
+        batchDelete("DELETE FROM session_participant WHERE session_id = ?", ids);
+        batchDelete("DELETE FROM metric_value WHERE session_id = ?", ids);
+    }
+
+    private void batchDelete(String sql, List<String> ids) {
+        jdbcTemplate.batchUpdate(sql, ids, ids.size(), (ps, id) -> ps.setString(1, id));
+    }
+
+    /**
+     * Refuse une session que la base n'accepterait pas, avant qu'elle n'entre dans le tampon.
+     */
+    private void validate(Session session) {
+        if (session.getSport() == null) {
+            throw new InvalidSessionException("Une session doit avoir un sport pour être persistée : " + session.getId());
+        }
+        session.getSport().setId(resolveSportId(session.getSport()));
+        if (session.getParticipants() != null) {
+            Set<String> participantIds = new HashSet<>();
+            for (Participant p : session.getParticipants()) {
+                if (p == null || p.getId() == null || !participantIds.add(p.getId())) {
+                    throw new InvalidSessionException("Participant absent ou en double dans la session " + session.getId());
+                }
+            }
+        }
+        if (session.getResult() != null && session.getResult().getMetrics() != null) {
+            for (MetricValue m : session.getResult().getMetrics()) {
+                if (m == null || m.getParticipantId() == null || m.getMetricType() == null) {
+                    throw new InvalidSessionException("Métrique incomplète dans la session " + session.getId());
+                }
+            }
+        }
+    }
+
+    private long resolveSportId(Sport sport) {
+        try {
+            if (sport.getId() != null) {
+                if (!knownSportIds.contains(sport.getId())) {
+                    jdbcTemplate.queryForObject("SELECT id FROM sport WHERE id = ?", Long.class, sport.getId());
+                    knownSportIds.add(sport.getId());
+                }
+                return sport.getId();
+            }
+            if (sport.getCode() == null) {
+                throw new InvalidSessionException("Sport sans ID ni code");
+            }
+            return sportIdByCode.computeIfAbsent(sport.getCode(), code ->
+                    jdbcTemplate.queryForObject("SELECT id FROM sport WHERE code = ?", Long.class, code));
+        } catch (EmptyResultDataAccessException e) {
+            throw new InvalidSessionException("Sport inconnu : " + (sport.getCode() != null ? sport.getCode() : sport.getId()));
+        }
+    }
+
+    /**
+     * Charge les sessions correspondant au filtre : une requête pour les sessions et leurs
+     * participants, une pour leurs métriques.
+     */
+    private List<Session> query(String where, Object... args) {
+        return readTemplate.execute(status -> queryRows(where, args));
+    }
+
+    private List<Session> queryRows(String where, Object... args) {
+        Map<String, Session> sessions = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_SESSIONS + where + " ORDER BY s.id", rs -> {
+            Session session = sessions.computeIfAbsent(rs.getString("id"), id -> mapSession(rs));
+            String participantId = rs.getString("participant_id");
+            if (participantId != null) {
+                session.getParticipants().add(new Participant(participantId,
+                        rs.getString("participant_name"),
+                        ParticipantType.valueOf(rs.getString("participant_type"))));
+            }
+        }, args);
+        if (sessions.isEmpty()) return new ArrayList<>();
+
+        jdbcTemplate.query(SELECT_METRICS + "JOIN sport sp ON sp.id = s.sport_id " + where + " ORDER BY m.id", rs -> {
+            Session session = sessions.get(rs.getString("session_id"));
+            if (session == null) return;
+            if (session.getResult() == null || session.getResult().getMetrics() == null) {
+                session.setResult(new SessionResult(session, new ArrayList<>()));
+            }
+            session.getResult().getMetrics().add(new MetricValue(rs.getString("participant_id"),
+                    MetricType.valueOf(rs.getString("metric_type")),
+                    rs.getDouble("value"),
+                    rs.getString("context")));
+        }, args);
+        return new ArrayList<>(sessions.values());
+    }
+
+    private static Session mapSession(ResultSet rs) {
+        try {
+            Sport sport = new Sport();
+            sport.setId(rs.getLong("sport_id"));
+            sport.setCode(rs.getString("sport_code"));
+            sport.setName(rs.getString("sport_name"));
+
+            Session session = new Session();
+            session.setId(rs.getString("id"));
+            session.setSport(sport);
+            session.setPointId(rs.getString("point_id"));
+            session.setState(SessionState.valueOf(rs.getString("state")));
+            session.setCreatedAt(parseDate(rs.getString("created_at")));
+            session.setEndedAt(parseDate(rs.getString("ended_at")));
+            session.setWinnerParticipantId(rs.getString("winner_participant_id"));
+            session.setMatchXpGranted(rs.getInt("xp_granted") == 1);
+            session.setParticipants(new ArrayList<>());
+            return session;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Ligne de session illisible", e);
+        }
+    }
+
+    /**
+     * Date locale du serveur au format stocké : UTC, largeur fixe, triable comme du texte.
+     */
+    public static String formatDate(LocalDateTime value) {
+        return STORED_DATE.format(value.atZone(ZoneId.systemDefault()));
+    }
+
+    /**
+     * Lit une date stockée (UTC) ou écrite avant la migration V5 (heure locale sans décalage, ou
+     * données d'exemple avec décalage), ramenée à l'heure locale du serveur.
+     */
+    public static LocalDateTime parseDate(String value) {
+        if (value == null) return null;
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value, OffsetDateTime::from, LocalDateTime::from);
+        return parsed instanceof OffsetDateTime offset
+                ? offset.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                : (LocalDateTime) parsed;
+    }
+
+    /**
+     * Superpose les écritures en attente au résultat lu en base.
+     */
+    private List<Session> withPending(List<Session> fromDb, Predicate<Session> matches) {
+        if (pending.isEmpty()) return fromDb;
+        Map<String, Session> merged = new LinkedHashMap<>();
+        for (Session session : fromDb) {
+            merged.put(session.getId(), session);
+        }
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            Session session = entry.getValue().session;
+            if (session != null && matches.test(session)) {
+                merged.put(entry.getKey(), session);
+            } else {
+                merged.remove(entry.getKey());
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Écriture en attente. Comparée par identité : flush() ne retire du tampon que l'écriture
+     * qu'il a appliquée, même si la même session a été re-sauvegardée entre-temps.
+     */
+    private static final class Pending {
+        private final Session session;
+
+        private Pending(Session session) {
+            this.session = session;
+        }
+    }
+}
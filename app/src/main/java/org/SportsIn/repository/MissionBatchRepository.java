@@ -0,0 +1,18 @@
+package org.SportsIn.repository;
+
+import org.SportsIn.model.mission.Mission;
+
+import java.util.List;
+
+/**
+ * Fragment de MissionRepository pour l'insertion groupée de nouvelles missions.
+ */
+public interface MissionBatchRepository {
+
+    /**
+     * Insère des missions sans ID en un seul lot JDBC et leur attribue leur ID.
+     *
+     * @return Les missions reçues, dans le même ordre.
+     */
+    List<Mission> insertAll(List<Mission> missions);
+}
@@ -0,0 +1,69 @@
+package org.SportsIn.repository;
+
+import org.SportsIn.model.mission.Mission;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Avec un ID IDENTITY, Hibernate émet un INSERT par mission pour lire la clé générée : saveAll
+ * n'est jamais regroupé. Ici, un seul INSERT préparé est exécuté en lot, puis les IDs sont
+ * déduits de last_insert_rowid() : la transaction tient le verrou d'écriture SQLite du premier
+ * INSERT au commit, les lignes du lot reçoivent donc des IDs consécutifs.
+ */
+public class MissionBatchRepositoryImpl implements MissionBatchRepository {
+
+    private static final String INSERT_MISSION = "INSERT INTO mission (team_id, type, status, title, description, "
+            + "priority, reward_team_points, reward_team_xp, created_at, starts_at, ends_at, completed_at, "
+            + "payload_json, progress_current, progress_target, last_evaluated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MissionBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<Mission> insertAll(List<Mission> missions) {
+        if (missions.isEmpty()) return missions;
+        for (Mission mission : missions) {
+            if (mission.getId() != null) {
+                throw new IllegalArgumentException("Mission déjà enregistrée : " + mission.getId());
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MISSION, missions, missions.size(), (ps, m) -> {
+            ps.setLong(1, m.getTeamId());
+            ps.setString(2, m.getType().name());
+            ps.setString(3, m.getStatus().name());
+            ps.setString(4, m.getTitle());
+            ps.setString(5, m.getDescription());
+            ps.setString(6, m.getPriority().name());
+            ps.setInt(7, m.getRewardTeamPoints());
+            ps.setInt(8, m.getRewardTeamXp());
+            ps.setObject(9, epochMillis(m.getCreatedAt()));
+            ps.setObject(10, epochMillis(m.getStartsAt()));
+            ps.setObject(11, epochMillis(m.getEndsAt()));
+            ps.setObject(12, epochMillis(m.getCompletedAt()));
+            ps.setString(13, m.getPayloadJson());
+            ps.setInt(14, m.getProgressCurrent());
+            ps.setInt(15, m.getProgressTarget());
+            ps.setObject(16, epochMillis(m.getLastEvaluatedAt()));
+        });
+
+        long lastId = jdbcTemplate.queryForObject("SELECT last_insert_rowid()", Long.class);
+        long firstId = lastId - missions.size() + 1;
+        for (int i = 0; i < missions.size(); i++) {
+            missions.get(i).setId(firstId + i);
+        }
+        return missions;
+    }
+
+    private static Long epochMillis(Instant instant) {
+        return instant == null ? null : instant.toEpochMilli();
+    }
+}
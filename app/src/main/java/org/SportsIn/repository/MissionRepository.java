@@ -7,10 +7,11 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
-public interface MissionRepository extends JpaRepository<Mission, Long> {
+public interface MissionRepository extends JpaRepository<Mission, Long>, MissionBatchRepository {
 
     List<Mission> findByTeamIdAndStatus(Long teamId, MissionStatus status);
 
@@ -18,7 +19,7 @@ public interface MissionRepository extends JpaRepository<Mission, Long> {
     List<Mission> findActiveByTeam(@Param("teamId") Long teamId);
 
     @Query("SELECT m FROM Mission m WHERE m.status = 'ACTIVE' AND m.endsAt < :now")
-    List<Mission> findActiveEndingBefore(@Param("now") String now);
+    List<Mission> findActiveEndingBefore(@Param("now") Instant now);
 
     @Query("SELECT COUNT(m) FROM Mission m WHERE m.teamId = :teamId AND m.status = 'ACTIVE'")
     long countActiveByTeam(@Param("teamId") Long teamId);
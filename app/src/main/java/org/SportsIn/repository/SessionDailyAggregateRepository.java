@@ -0,0 +1,35 @@
+package org.SportsIn.repository;
+
+import org.SportsIn.model.SessionDailyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SessionDailyAggregateRepository extends JpaRepository<SessionDailyAggregate, Long> {
+
+    /**
+     * Ajoute des sessions à l'agrégat (jour, sport, arène, équipe), en le créant si besoin.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO session_daily_aggregate "
+            + "(day, sport_code, point_id, team_id, session_count, last_ended_at) "
+            + "VALUES (:day, :sportCode, :pointId, :teamId, :count, :lastEndedAt) "
+            + "ON CONFLICT(day, sport_code, point_id, team_id) DO UPDATE SET "
+            + "session_count = session_count + excluded.session_count, "
+            + "last_ended_at = max(last_ended_at, excluded.last_ended_at)",
+            nativeQuery = true)
+    void accumulate(@Param("day") String day,
+                    @Param("sportCode") String sportCode,
+                    @Param("pointId") String pointId,
+                    @Param("teamId") String teamId,
+                    @Param("count") int count,
+                    @Param("lastEndedAt") String lastEndedAt);
+
+    @Query("SELECT a FROM SessionDailyAggregate a WHERE a.lastEndedAt > :since")
+    List<SessionDailyAggregate> findEndedAfter(@Param("since") String since);
+}
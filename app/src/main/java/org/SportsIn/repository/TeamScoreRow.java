@@ -0,0 +1,7 @@
+package org.SportsIn.repository;
+
+/**
+ * Projection des scores d'une équipe, lue en base sans l'entité (jamais une copie en cache).
+ */
+public record TeamScoreRow(Long teamId, int points, int xp) {
+}
@@ -12,7 +12,8 @@ import java.util.List;
 
 /**
  * Scheduler pour la gestion automatique des missions.
- * - Toutes les 10 minutes: expire et évalue les missions actives.
+ * - Toutes les 10 minutes: expire les missions dépassées. L'aboutissement des missions est
+ *   évalué au fil des événements (MissionEventListener), pas par ce balayage.
  * - Tous les jours à 06:00 Europe/Paris: génère des missions pour toutes les équipes.
  *
  * Peut être désactivé via la propriété mission.scheduler.enabled=false.
@@ -34,12 +35,11 @@ public class MissionScheduler {
     }
 
     /**
-     * Toutes les 10 minutes: expire les missions dépassées puis évalue les actives.
+     * Toutes les 10 minutes: expire les missions dépassées.
      */
     @Scheduled(fixedRate = 600_000)
-    public void expireAndEvaluate() {
+    public void expireMissions() {
         evaluationService.expireActiveMissions();
-        evaluationService.evaluateAllActiveMissions();
     }
 
     /**
@@ -47,9 +47,10 @@ public class MissionScheduler {
      */
     @Scheduled(cron = "0 0 6 * * *", zone = "Europe/Paris")
     public void generateMissionsForAllTeams() {
-        List<Equipe> teams = equipeRepository.findAll();
-        for (Equipe team : teams) {
-            generationService.generateForTeam(team.getId());
-        }
+        List<Long> teamIds = equipeRepository.findAll().stream()
+                .map(Equipe::getId)
+                .toList();
+        int created = generationService.generateForAllTeams(teamIds);
+        System.out.println("Missions générées pour " + teamIds.size() + " équipes : " + created);
     }
 }
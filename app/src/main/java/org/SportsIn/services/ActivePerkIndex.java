@@ -0,0 +1,156 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.progression.ActivePerk;
+import org.SportsIn.repository.ActivePerkRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Index en mémoire des perks actifs, par équipe et par cible.
+ *
+ * Les perks sont rangés dans une file de priorité ordonnée par date d'expiration : chaque lecture
+ * commence par évincer les entrées échues, ce qui ne coûte que le nombre de perks expirés.
+ * La table active_perk ne sert qu'à la durabilité : l'index est chargé au démarrage puis
+ * alimenté par PerkActivationService, et les lectures d'influence et d'XP n'émettent aucune requête.
+ */
+@Component
+public class ActivePerkIndex {
+
+    private final ActivePerkRepository activePerkRepository;
+    private final GameStateVersions versions;
+
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    private final Map<Long, Map<Long, ActivePerk>> perksByTeam = new HashMap<>();
+    private final Map<String, Map<Long, ActivePerk>> perksByTarget = new HashMap<>();
+    private final PriorityQueue<Entry> expiryQueue = new PriorityQueue<>(
+            Comparator.comparingLong(Entry::expiresAtMillis).thenComparing(e -> e.perk.getId()));
+
+    private boolean loaded = false;
+
+    public ActivePerkIndex(ActivePerkRepository activePerkRepository, GameStateVersions versions) {
+        this.activePerkRepository = activePerkRepository;
+        this.versions = versions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Recharge l'index depuis les perks non expirés de la base.
+     */
+    public synchronized void reload() {
+        entriesById.clear();
+        perksByTeam.clear();
+        perksByTarget.clear();
+        expiryQueue.clear();
+        for (ActivePerk perk : activePerkRepository.findActiveAt(Instant.now())) {
+            insert(perk);
+        }
+        loaded = true;
+        versions.bumpPerks();
+        System.out.println("Index des perks actifs chargé : " + entriesById.size() + " perks.");
+    }
+
+    /**
+     * Ajoute (ou remplace) un perk persisté dans l'index.
+     */
+    public synchronized void add(ActivePerk perk) {
+        ensureLoaded();
+        if (perk.getId() == null || perk.getExpiresAt() == null) return;
+        unlink(perk.getId());
+        insert(perk);
+    }
+
+    public synchronized void remove(Long perkId) {
+        ensureLoaded();
+        unlink(perkId);
+    }
+
+    public synchronized List<ActivePerk> findActiveByTeam(Long teamId) {
+        evictExpired(System.currentTimeMillis());
+        return copyOf(perksByTeam.get(teamId));
+    }
+
+    public synchronized List<ActivePerk> findActiveOnTarget(String targetId) {
+        evictExpired(System.currentTimeMillis());
+        return copyOf(perksByTarget.get(targetId));
+    }
+
+    public synchronized int size() {
+        evictExpired(System.currentTimeMillis());
+        return entriesById.size();
+    }
+
+    /**
+     * Retire de l'index les perks expirés à l'instant donné.
+     *
+     * @return Le nombre de perks évincés.
+     */
+    synchronized int evictExpired(long nowMillis) {
+        ensureLoaded();
+        int evicted = 0;
+        Entry head;
+        while ((head = expiryQueue.peek()) != null && head.expiresAtMillis <= nowMillis) {
+            expiryQueue.poll();
+            // Les entrées remplacées ou supprimées restent dans la file : on les ignore ici
+            if (entriesById.get(head.perk.getId()) == head) {
+                unlink(head.perk.getId());
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private void insert(ActivePerk perk) {
+        Entry entry = new Entry(perk, perk.getExpiresAt().toEpochMilli());
+        entriesById.put(perk.getId(), entry);
+        expiryQueue.add(entry);
+        perksByTeam.computeIfAbsent(perk.getTeamId(), k -> new LinkedHashMap<>()).put(perk.getId(), perk);
+        if (perk.getTargetId() != null) {
+            perksByTarget.computeIfAbsent(perk.getTargetId(), k -> new LinkedHashMap<>()).put(perk.getId(), perk);
+        }
+        versions.schedulePerkExpiry(Instant.ofEpochMilli(entry.expiresAtMillis));
+    }
+
+    private void unlink(Long perkId) {
+        Entry entry = entriesById.remove(perkId);
+        if (entry == null) return;
+        ActivePerk perk = entry.perk;
+        removeFrom(perksByTeam, perk.getTeamId(), perkId);
+        if (perk.getTargetId() != null) {
+            removeFrom(perksByTarget, perk.getTargetId(), perkId);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Map<Long, ActivePerk>> index, K key, Long perkId) {
+        Map<Long, ActivePerk> perks = index.get(key);
+        if (perks == null) return;
+        perks.remove(perkId);
+        if (perks.isEmpty()) index.remove(key);
+    }
+
+    private static List<ActivePerk> copyOf(Map<Long, ActivePerk> perks) {
+        return perks == null ? List.of() : new ArrayList<>(perks.values());
+    }
+
+    private record Entry(ActivePerk perk, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,68 @@
+package org.SportsIn.services;
+
+import org.SportsIn.repository.AreneRepository;
+import org.SportsIn.repository.ArenaOwnershipRow;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Instantané immuable du contrôle des arènes : qui tient quoi, sans entité Arene.
+ *
+ * Construit depuis la projection ArenaOwnershipRow en une seule requête, quel que soit le nombre
+ * d'arènes : ni proxy d'équipe ni collection de sports n'est chargé. Les lectures (ownerOf,
+ * isOwnedBy) ne touchent plus la base.
+ */
+public final class ArenaOwnership {
+
+    private final List<ArenaOwnershipRow> arenas;
+    private final Map<String, Long> ownerByArena;
+
+    private ArenaOwnership(List<ArenaOwnershipRow> arenas) {
+        this.arenas = arenas;
+        this.ownerByArena = new HashMap<>();
+        for (ArenaOwnershipRow row : arenas) {
+            ownerByArena.put(row.arenaId(), row.controllingTeamId());
+        }
+    }
+
+    public static ArenaOwnership of(Collection<ArenaOwnershipRow> rows) {
+        return new ArenaOwnership(List.copyOf(rows));
+    }
+
+    /**
+     * Toutes les arènes.
+     */
+    public static ArenaOwnership load(AreneRepository areneRepository) {
+        return of(areneRepository.findAllOwnership());
+    }
+
+    /**
+     * Seulement les arènes demandées (aucune requête si la liste est vide).
+     */
+    public static ArenaOwnership load(AreneRepository areneRepository, Collection<String> arenaIds) {
+        return arenaIds.isEmpty() ? of(List.of()) : of(areneRepository.findOwnershipByIdIn(arenaIds));
+    }
+
+    /**
+     * Arènes dans l'ordre de la requête (par ID pour load()).
+     */
+    public List<ArenaOwnershipRow> arenas() {
+        return arenas;
+    }
+
+    /**
+     * ID de l'équipe qui contrôle l'arène, null si elle est neutre ou inconnue.
+     */
+    public Long ownerOf(String arenaId) {
+        return ownerByArena.get(arenaId);
+    }
+
+    public boolean isOwnedBy(String arenaId, Long teamId) {
+        Long owner = ownerByArena.get(arenaId);
+        return owner != null && Objects.equals(owner, teamId);
+    }
+}
@@ -1,25 +1,39 @@
 package org.SportsIn.services;
 
+import org.SportsIn.events.ArenaCapturedEvent;
 import org.SportsIn.model.Arene;
 import org.SportsIn.repository.AreneRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class AreneService {
 
     private final AreneRepository areneRepository;
+    private final RouteControlState routeControlState;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AreneService(AreneRepository areneRepository) {
+    public AreneService(AreneRepository areneRepository,
+                        RouteControlState routeControlState,
+                        ApplicationEventPublisher eventPublisher) {
         this.areneRepository = areneRepository;
+        this.routeControlState = routeControlState;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Arene> getAll() {
         return areneRepository.findAll();
     }
 
+    public List<Arene> getPageAfter(String afterId, int limit) {
+        return areneRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
     public Optional<Arene> getById(String id) {
         return areneRepository.findById(id);
     }
@@ -36,17 +50,35 @@ public class AreneService {
         return areneRepository.save(arene);
     }
 
+    /**
+     * Met à jour l'arène. Un changement de propriétaire est traité comme une capture
+     * (ArenaCapturedEvent) : missions et classements le prennent en compte aussitôt.
+     */
     public Optional<Arene> update(String id, Arene areneDetails) {
         return areneRepository.findById(id).map(arene -> {
+            Long previousOwner = arene.getControllingTeamId();
             arene.setNom(areneDetails.getNom());
             arene.setLatitude(areneDetails.getLatitude());
             arene.setLongitude(areneDetails.getLongitude());
             arene.setControllingTeam(areneDetails.getControllingTeam());
             arene.setSportsDisponibles(areneDetails.getSportsDisponibles());
-            return areneRepository.save(arene);
+            Arene saved = areneRepository.save(arene);
+            if (!Objects.equals(previousOwner, saved.getControllingTeamId())) {
+                routeControlState.onArenaOwnerChanged(id, saved.getControllingTeamId());
+                publishCapture(new ArenaCapturedEvent(id, saved.getControllingTeamId(), previousOwner));
+            }
+            return saved;
         });
     }
 
+    private void publishCapture(ArenaCapturedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            System.err.println("Échec d'un écouteur de capture de l'arène " + event.areneId() + " : " + e.getMessage());
+        }
+    }
+
     public boolean delete(String id) {
         if (areneRepository.existsById(id)) {
             areneRepository.deleteById(id);
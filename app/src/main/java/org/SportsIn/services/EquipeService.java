@@ -4,6 +4,7 @@ import org.SportsIn.model.user.Equipe;
 import org.SportsIn.model.user.Joueur;
 import org.SportsIn.repository.EquipeRepository;
 import org.SportsIn.repository.JoueurRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -24,6 +25,10 @@ public class EquipeService {
         return equipeRepository.findAll();
     }
 
+    public List<Equipe> getPageAfter(Long afterId, int limit) {
+        return equipeRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
     public Optional<Equipe> getById(Long id) {
         return equipeRepository.findById(id);
     }
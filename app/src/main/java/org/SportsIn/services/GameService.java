@@ -32,6 +32,10 @@ public class GameService {
         return gameRepository.findAll();
     }
 
+    public List<Game> getPageAfter(String afterId, int limit) {
+        return gameRepository.findPageAfter(afterId, limit);
+    }
+
     public Optional<Game> getById(String id) {
         return gameRepository.findById(id);
     }
@@ -55,7 +59,8 @@ public class GameService {
 
     /**
      * Une équipe rejoint un jeu existant comme adversaire.
-     * Le jeu passe à l'état MATCHED.
+     * Le jeu passe à l'état MATCHED par compare-and-set : si deux équipes rejoignent
+     * le même jeu au même moment, une seule réussit.
      */
     public Optional<Game> joinGame(String gameId, Long opponentTeamId) {
         return gameRepository.findById(gameId).map(game -> {
@@ -73,20 +78,29 @@ public class GameService {
                 throw new IllegalArgumentException("Une équipe ne peut pas s'affronter elle-même");
             }
 
-            game.setOpponentTeam(opponent);
-            game.setState(GameState.MATCHED);
-            return gameRepository.save(game);
+            return gameRepository.compareAndUpdate(gameId, GameState.WAITING, g -> {
+                g.setOpponentTeam(opponent);
+                g.setState(GameState.MATCHED);
+            }).orElseThrow(() -> new IllegalStateException("Ce jeu n'est plus en attente d'adversaire"));
         });
     }
 
     /**
      * Démarre le jeu : crée une session et passe le jeu à IN_PROGRESS.
+     * Si la session est refusée, le jeu revient à MATCHED et peut être redémarré.
+     *
+     * @throws InvalidSessionException si le stockage refuse la session du jeu (sport inconnu...).
      */
     public Optional<Game> startGame(String gameId) {
         return gameRepository.findById(gameId).map(game -> {
             if (game.getState() != GameState.MATCHED) {
                 throw new IllegalStateException("Le jeu doit être en état MATCHED pour démarrer");
             }
+            // Réserver la transition avant de créer la session : un seul démarrage par jeu
+            gameRepository.compareAndUpdate(gameId, GameState.MATCHED, g -> {
+                g.setState(GameState.IN_PROGRESS);
+                g.setStartedAt(LocalDateTime.now());
+            }).orElseThrow(() -> new IllegalStateException("Le jeu doit être en état MATCHED pour démarrer"));
 
             // Créer une session pour ce jeu
             Session session = new Session();
@@ -113,13 +127,20 @@ public class GameService {
             }
             session.setParticipants(participants);
 
-            Session savedSession = sessionRepository.save(session);
-
-            game.setSessionId(savedSession.getId());
-            game.setState(GameState.IN_PROGRESS);
-            game.setStartedAt(LocalDateTime.now());
+            Session savedSession;
+            try {
+                savedSession = sessionRepository.save(session);
+            } catch (RuntimeException e) {
+                // Rendre la transition réservée : sans session, le jeu ne pourrait jamais être terminé
+                gameRepository.compareAndUpdate(gameId, GameState.IN_PROGRESS, g -> {
+                    g.setState(GameState.MATCHED);
+                    g.setStartedAt(null);
+                });
+                throw e;
+            }
 
-            return gameRepository.save(game);
+            return gameRepository.compareAndUpdate(gameId, GameState.IN_PROGRESS,
+                    g -> g.setSessionId(savedSession.getId())).orElse(game);
         });
     }
 
@@ -132,11 +153,11 @@ public class GameService {
                 throw new IllegalStateException("Le jeu doit être en cours pour être terminé");
             }
 
-            game.setWinnerTeamId(winnerTeamId);
-            game.setState(GameState.COMPLETED);
-            game.setCompletedAt(LocalDateTime.now());
-
-            return gameRepository.save(game);
+            return gameRepository.compareAndUpdate(gameId, GameState.IN_PROGRESS, g -> {
+                g.setWinnerTeamId(winnerTeamId);
+                g.setState(GameState.COMPLETED);
+                g.setCompletedAt(LocalDateTime.now());
+            }).orElseThrow(() -> new IllegalStateException("Le jeu doit être en cours pour être terminé"));
         });
     }
 
@@ -0,0 +1,55 @@
+package org.SportsIn.services;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs de version de l'état de jeu servant à invalider les caches de calcul.
+ *
+ * - territoryVersion : incrémentée à chaque changement de contrôle d'arène ou de routes.
+ * - perkVersion : incrémentée à chaque activation de perk, et lorsqu'une date d'expiration
+ *   enregistrée via schedulePerkExpiry est dépassée (constaté à la lecture, sans tâche planifiée).
+ */
+@Component
+public class GameStateVersions {
+
+    private final AtomicLong territoryVersion = new AtomicLong();
+    private final AtomicLong perkVersion = new AtomicLong();
+
+    // Dates d'expiration (epoch millis) des perks connus, en attente
+    private final ConcurrentSkipListSet<Long> pendingPerkExpiries = new ConcurrentSkipListSet<>();
+
+    public long getTerritoryVersion() {
+        return territoryVersion.get();
+    }
+
+    public long getPerkVersion() {
+        for (Long expiry : pendingPerkExpiries.headSet(System.currentTimeMillis(), true)) {
+            if (pendingPerkExpiries.remove(expiry)) {
+                perkVersion.incrementAndGet();
+            }
+        }
+        return perkVersion.get();
+    }
+
+    public void bumpTerritory() {
+        territoryVersion.incrementAndGet();
+    }
+
+    public void bumpPerks() {
+        perkVersion.incrementAndGet();
+    }
+
+    /**
+     * Enregistre l'expiration d'un perk : la version des perks sera incrémentée
+     * à la première lecture suivant cette date.
+     */
+    public void schedulePerkExpiry(Instant expiresAt) {
+        if (expiresAt != null) {
+            pendingPerkExpiries.add(expiresAt.toEpochMilli());
+        }
+    }
+}
@@ -4,23 +4,110 @@ import org.springframework.stereotype.Service;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Calcule le modificateur d'influence total d'une équipe sur un point en chaînant les modificateurs.
+ *
+ * Les résultats sont mis en cache par (équipe, point) dans une génération liée aux versions de
+ * territoire et de perks. Dès qu'une de ces versions avance, la génération entière est remplacée :
+ * les entrées obsolètes sont libérées d'un coup au lieu de s'accumuler. Une génération est en outre
+ * plafonnée à {@link #MAX_CACHE_ENTRIES} entrées ; au-delà, les résultats sont calculés sans être
+ * mis en cache.
+ */
 @Service
 public class InfluenceCalculator {
 
+    static final int MAX_CACHE_ENTRIES = 50_000;
+
     private final List<InfluenceModifier> modifiers;
+    private final GameStateVersions versions;
+
+    private final AtomicReference<CacheGeneration> generation =
+            new AtomicReference<>(new CacheGeneration(-1, -1));
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
-    public InfluenceCalculator(List<InfluenceModifier> modifiers) {
+    public InfluenceCalculator(List<InfluenceModifier> modifiers, GameStateVersions versions) {
         this.modifiers = modifiers.stream()
                 .sorted(Comparator.comparingInt(InfluenceModifier::getOrder))
                 .toList();
+        this.versions = versions;
     }
 
     public double computeTotalModifier(Long teamId, String pointId) {
+        // Versions lues avant le calcul : un changement concurrent rendra l'entrée obsolète
+        long territoryVersion = versions.getTerritoryVersion();
+        long perkVersion = versions.getPerkVersion();
+
+        CacheGeneration current = generationFor(territoryVersion, perkVersion);
+        CacheKey key = new CacheKey(teamId, pointId);
+        if (current != null) {
+            Double cached = current.entries.get(key);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        cacheMisses.incrementAndGet();
         double modifier = 0.0;
         for (InfluenceModifier mod : modifiers) {
             modifier = mod.apply(teamId, pointId, modifier);
         }
+        if (current != null && current.entries.size() < MAX_CACHE_ENTRIES) {
+            current.entries.put(key, modifier);
+        }
         return modifier;
     }
+
+    /**
+     * Retourne la génération correspondant aux versions lues, en remplaçant la génération courante
+     * si elle est plus ancienne. Retourne null si un autre thread a déjà installé une génération plus
+     * récente : le résultat calculé avec des versions dépassées ne doit alors pas être mis en cache.
+     */
+    private CacheGeneration generationFor(long territoryVersion, long perkVersion) {
+        while (true) {
+            CacheGeneration current = generation.get();
+            if (current.territoryVersion == territoryVersion && current.perkVersion == perkVersion) {
+                return current;
+            }
+            if (territoryVersion < current.territoryVersion || perkVersion < current.perkVersion) {
+                return null;
+            }
+            CacheGeneration next = new CacheGeneration(territoryVersion, perkVersion);
+            if (generation.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public int getCacheSize() {
+        return generation.get().entries.size();
+    }
+
+    private record CacheKey(Long teamId, String pointId) {
+    }
+
+    private static final class CacheGeneration {
+        private final long territoryVersion;
+        private final long perkVersion;
+        private final Map<CacheKey, Double> entries = new ConcurrentHashMap<>();
+
+        private CacheGeneration(long territoryVersion, long perkVersion) {
+            this.territoryVersion = territoryVersion;
+            this.perkVersion = perkVersion;
+        }
+    }
 }
@@ -0,0 +1,239 @@
+package org.SportsIn.services;
+
+import org.SportsIn.events.ArenaCapturedEvent;
+import org.SportsIn.events.TeamScoreChangedEvent;
+import org.SportsIn.events.ZoneControlChangedEvent;
+import org.SportsIn.model.territory.Zone;
+import org.SportsIn.model.territory.ZoneRepository;
+import org.SportsIn.model.user.Equipe;
+import org.SportsIn.repository.ArenaOwnershipRow;
+import org.SportsIn.repository.AreneRepository;
+import org.SportsIn.repository.EquipeRepository;
+import org.SportsIn.utils.RankedSet;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Classements des équipes par XP, points, arènes tenues et zones tenues.
+ *
+ * Chaque classement est un RankedSet en mémoire : top-N et rang d'une équipe en O(log n).
+ * Ils sont reconstruits depuis la base au démarrage, puis tenus à jour par les événements
+ * TeamScoreChangedEvent, ArenaCapturedEvent et ZoneControlChangedEvent. Une reconstruction
+ * périodique (leaderboard.rebuild-interval-ms) rattrape les modifications faites hors de ces
+ * chemins (édition directe d'une équipe ou d'une arène).
+ *
+ * Les événements sont appliqués de façon idempotente, pour qu'une reconstruction concurrente ne
+ * perde ni ne compte deux fois un changement déjà écrit en base :
+ * - un changement de score relit les points et l'XP de l'équipe en base (après validation de la
+ *   transaction qui les a écrits) au lieu d'ajouter le delta ;
+ * - une capture fixe le propriétaire de l'arène ou de la zone ; les compteurs ne bougent que si
+ *   ce propriétaire change par rapport à celui connu.
+ * Les événements reçus pendant une reconstruction sont rejoués sur les nouveaux classements,
+ * dans l'ordre, une fois ceux-ci en place.
+ */
+@Service
+public class LeaderboardService {
+
+    public enum Metric {
+        XP,
+        POINTS,
+        ARENAS,
+        ZONES
+    }
+
+    private final EquipeRepository equipeRepository;
+    private final AreneRepository areneRepository;
+    private final ZoneRepository zoneRepository;
+
+    private final Object rebuildLock = new Object();
+    private Map<Metric, RankedSet<Long>> boards = emptyBoards();
+    private Map<String, Long> arenaOwners = new HashMap<>();
+    private Map<Long, Long> zoneOwners = new HashMap<>();
+    // Événements reçus pendant une reconstruction, null hors reconstruction
+    private List<Object> receivedDuringRebuild;
+
+    public LeaderboardService(EquipeRepository equipeRepository,
+                              AreneRepository areneRepository,
+                              ZoneRepository zoneRepository) {
+        this.equipeRepository = equipeRepository;
+        this.areneRepository = areneRepository;
+        this.zoneRepository = zoneRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.rebuild-interval-ms:600000}",
+            initialDelayString = "${leaderboard.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Recharge tous les classements depuis la base. Toutes les équipes y figurent, à 0 par défaut.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                receivedDuringRebuild = new ArrayList<>();
+            }
+            Map<Metric, RankedSet<Long>> rebuilt = emptyBoards();
+            Map<String, Long> rebuiltArenaOwners = new HashMap<>();
+            Map<Long, Long> rebuiltZoneOwners = new HashMap<>();
+            try {
+                for (Equipe equipe : equipeRepository.findAll()) {
+                    rebuilt.get(Metric.XP).put(equipe.getId(), equipe.getXp());
+                    rebuilt.get(Metric.POINTS).put(equipe.getId(), equipe.getPoints());
+                    rebuilt.get(Metric.ARENAS).put(equipe.getId(), 0);
+                    rebuilt.get(Metric.ZONES).put(equipe.getId(), 0);
+                }
+                for (ArenaOwnershipRow arene : areneRepository.findAllOwnership()) {
+                    rebuiltArenaOwners.put(arene.arenaId(), arene.controllingTeamId());
+                    if (arene.controllingTeamId() != null) {
+                        rebuilt.get(Metric.ARENAS).add(arene.controllingTeamId(), 1);
+                    }
+                }
+                for (Zone zone : zoneRepository.findAll()) {
+                    rebuiltZoneOwners.put(zone.getId(), zone.getControllingTeamId());
+                    if (zone.getControllingTeamId() != null) {
+                        rebuilt.get(Metric.ZONES).add(zone.getControllingTeamId(), 1);
+                    }
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    receivedDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                boards = rebuilt;
+                arenaOwners = rebuiltArenaOwners;
+                zoneOwners = rebuiltZoneOwners;
+                List<Object> replay = receivedDuringRebuild;
+                receivedDuringRebuild = null;
+                for (Object event : replay) {
+                    apply(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Après validation de la transaction qui a écrit le gain : la relecture voit la valeur écrite.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTeamScoreChanged(TeamScoreChangedEvent event) {
+        receive(event);
+    }
+
+    @EventListener
+    public synchronized void onArenaCaptured(ArenaCapturedEvent event) {
+        receive(event);
+    }
+
+    @EventListener
+    public synchronized void onZoneControlChanged(ZoneControlChangedEvent event) {
+        receive(event);
+    }
+
+    private void receive(Object event) {
+        apply(event);
+        if (receivedDuringRebuild != null) {
+            receivedDuringRebuild.add(event);
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof TeamScoreChangedEvent score) {
+            equipeRepository.findScoreById(score.teamId()).ifPresent(row -> {
+                boards.get(Metric.XP).put(row.teamId(), row.xp());
+                boards.get(Metric.POINTS).put(row.teamId(), row.points());
+            });
+        } else if (event instanceof ArenaCapturedEvent capture) {
+            setOwner(arenaOwners, boards.get(Metric.ARENAS), capture.areneId(), capture.teamId(),
+                    capture.previousTeamId());
+        } else if (event instanceof ZoneControlChangedEvent zone) {
+            setOwner(zoneOwners, boards.get(Metric.ZONES), zone.zoneId(), zone.teamId(), zone.previousTeamId());
+        }
+    }
+
+    public synchronized int size(Metric metric) {
+        return boards.get(metric).size();
+    }
+
+    /**
+     * Page du classement, avec le nom des équipes.
+     *
+     * @param offset Position de départ (0 = première équipe).
+     * @param limit Nombre maximum d'équipes.
+     */
+    public List<Standing> page(Metric metric, int offset, int limit) {
+        List<RankedSet.Entry<Long>> entries;
+        synchronized (this) {
+            entries = boards.get(metric).range(offset, limit);
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Equipe equipe : equipeRepository.findAllById(entries.stream().map(RankedSet.Entry::id).toList())) {
+            names.put(equipe.getId(), equipe.getNom());
+        }
+        return entries.stream()
+                .map(e -> new Standing(e.rank(), e.id(), names.get(e.id()), e.score()))
+                .toList();
+    }
+
+    /**
+     * Position d'une équipe dans le classement, vide si elle n'y figure pas.
+     */
+    public Optional<Standing> standingOf(Metric metric, Long teamId) {
+        int rank;
+        Long score;
+        synchronized (this) {
+            RankedSet<Long> board = boards.get(metric);
+            rank = board.rank(teamId);
+            score = board.score(teamId);
+        }
+        if (rank < 0) return Optional.empty();
+        String name = equipeRepository.findById(teamId).map(Equipe::getNom).orElse(null);
+        return Optional.of(new Standing(rank, teamId, name, score));
+    }
+
+    /**
+     * @param reportedPrevious Ancien propriétaire selon l'événement, utilisé seulement pour une
+     *                         arène ou une zone apparue depuis la dernière reconstruction.
+     */
+    private static <K> void setOwner(Map<K, Long> owners, RankedSet<Long> board, K key, Long owner,
+                                     Long reportedPrevious) {
+        Long previous = owners.containsKey(key) ? owners.get(key) : reportedPrevious;
+        owners.put(key, owner);
+        if (Objects.equals(previous, owner)) return;
+        if (previous != null) board.add(previous, -1);
+        if (owner != null) board.add(owner, 1);
+    }
+
+    private static Map<Metric, RankedSet<Long>> emptyBoards() {
+        Map<Metric, RankedSet<Long>> empty = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            empty.put(metric, new RankedSet<>());
+        }
+        return empty;
+    }
+
+    /**
+     * Position d'une équipe : rang (à partir de 1), identité et score.
+     */
+    public record Standing(int rank, Long teamId, String teamName, long score) {
+    }
+}
@@ -0,0 +1,226 @@
+package org.SportsIn.services;
+
+import org.SportsIn.events.MatchFoundEvent;
+import org.SportsIn.model.Game;
+import org.SportsIn.model.MatchTicket;
+import org.SportsIn.model.Sport;
+import org.SportsIn.model.progression.LevelThreshold;
+import org.SportsIn.model.user.Equipe;
+import org.SportsIn.repository.EquipeRepository;
+import org.SportsIn.repository.SportRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Matchmaking automatique : une file par (point, sport, tranche de niveau).
+ *
+ * L'ajout en file est sans verrou (ConcurrentLinkedDeque). L'appariement est fait par un seul
+ * thread à la fois par file : celui qui obtient le drapeau draining apparie les tickets deux par
+ * deux, dans l'ordre d'arrivée, les autres repartent aussitôt. Après avoir rendu le drapeau,
+ * il revérifie la taille de la file, ce qui évite de laisser deux tickets en attente.
+ *
+ * Chaque appariement réserve les deux tickets (PAIRING, vu comme QUEUED par les clients), crée un
+ * jeu via GameService (WAITING puis MATCHED), passe les tickets à MATCHED avec l'ID du jeu et
+ * publie un MatchFoundEvent. Aucune lecture de la table des jeux. Si la
+ * création du jeu échoue, les deux tickets repassent QUEUED et sont remis en tête de file à la fin
+ * du passage ; le reste de la file continue d'être apparié. Ils seront retentés au prochain ajout
+ * dans cette file (pas dans le même passage, pour ne pas boucler sur une erreur persistante).
+ *
+ * Avec matchmaking.level-band-width > 0, seules les équipes de la même tranche de niveaux
+ * (LevelThreshold) sont appariées ; 0 désactive les tranches.
+ */
+@Service
+public class MatchmakingService {
+
+    private final GameService gameService;
+    private final EquipeRepository equipeRepository;
+    private final SportRepository sportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int levelBandWidth;
+
+    private final Map<QueueKey, MatchQueue> queues = new ConcurrentHashMap<>();
+    private final Map<Long, MatchTicket> ticketByTeam = new ConcurrentHashMap<>();
+    private final Map<String, Sport> sportByCode = new ConcurrentHashMap<>();
+
+    public MatchmakingService(GameService gameService,
+                              EquipeRepository equipeRepository,
+                              SportRepository sportRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${matchmaking.level-band-width:0}") int levelBandWidth) {
+        this.gameService = gameService;
+        this.equipeRepository = equipeRepository;
+        this.sportRepository = sportRepository;
+        this.eventPublisher = eventPublisher;
+        this.levelBandWidth = levelBandWidth;
+    }
+
+    /**
+     * Place l'équipe en file et tente l'appariement. Si l'équipe est déjà en file,
+     * son ticket courant est renvoyé.
+     */
+    public MatchTicket enqueue(Long teamId, String pointId, String sportCode) {
+        Equipe team = equipeRepository.findById(teamId)
+                .orElseThrow(() -> new IllegalArgumentException("Équipe non trouvée"));
+        Sport sport = sportByCode.computeIfAbsent(sportCode, code -> sportRepository.findByCode(code)
+                .orElseThrow(() -> new IllegalArgumentException("Sport inconnu: " + code)));
+
+        int band = levelBand(team);
+        Entry[] created = {null};
+        MatchTicket current = ticketByTeam.compute(teamId, (id, existing) -> {
+            if (existing != null && existing.isQueued()) return existing;
+            String ticketId = "TICKET_" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+            created[0] = new Entry(new MatchTicket(ticketId, teamId, pointId, sportCode, band), team);
+            return created[0].ticket;
+        });
+        if (created[0] == null) {
+            return current;
+        }
+
+        MatchQueue queue = queues.computeIfAbsent(new QueueKey(pointId, sportCode, band), k -> new MatchQueue());
+        queue.offer(created[0]);
+        drain(queue, sport);
+        return current;
+    }
+
+    /**
+     * Retire l'équipe de la file.
+     *
+     * @return false si l'équipe n'était pas en file (déjà appariée ou jamais inscrite).
+     */
+    public boolean cancel(Long teamId) {
+        MatchTicket ticket = ticketByTeam.get(teamId);
+        return ticket != null && ticket.transition(MatchTicket.Status.CANCELLED);
+    }
+
+    /**
+     * Dernier ticket de l'équipe : en file, apparié (avec le jeu créé) ou annulé.
+     */
+    public Optional<MatchTicket> getTicket(Long teamId) {
+        return Optional.ofNullable(ticketByTeam.get(teamId));
+    }
+
+    private int levelBand(Equipe team) {
+        if (levelBandWidth <= 0) return 0;
+        return (LevelThreshold.levelForXp(team.getXp()) - 1) / levelBandWidth;
+    }
+
+    private void drain(MatchQueue queue, Sport sport) {
+        boolean failed = false;
+        while (!failed && queue.size.get() >= 2 && queue.draining.compareAndSet(false, true)) {
+            List<Entry> unpaired = new ArrayList<>();
+            try {
+                Entry first;
+                while ((first = queue.pollLive()) != null) {
+                    Entry second = queue.pollLive();
+                    if (second == null) {
+                        queue.offerFirst(first);
+                        break;
+                    }
+                    if (!first.ticket.reserve()) {
+                        // Annulé entre-temps : second reprend la tête de file
+                        queue.offerFirst(second);
+                        continue;
+                    }
+                    if (!second.ticket.reserve()) {
+                        first.ticket.release();
+                        queue.offerFirst(first);
+                        continue;
+                    }
+                    if (!pair(first, second, sport)) {
+                        unpaired.add(first);
+                        unpaired.add(second);
+                    }
+                }
+            } finally {
+                // Remis en tête dans leur ordre d'arrivée, devant un éventuel ticket resté seul
+                for (int i = unpaired.size() - 1; i >= 0; i--) {
+                    queue.offerFirst(unpaired.get(i));
+                }
+                failed = !unpaired.isEmpty();
+                queue.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return false si le jeu n'a pas pu être créé : les deux tickets réservés sont alors remis à QUEUED.
+     */
+    private boolean pair(Entry first, Entry second, Sport sport) {
+        MatchTicket ticket = first.ticket;
+        Game game = null;
+        try {
+            game = gameService.create(new Game(null, sport, ticket.getPointId(), first.team));
+            if (gameService.joinGame(game.getId(), second.team.getId()).isEmpty()) {
+                throw new IllegalStateException("Jeu " + game.getId() + " non rejoint");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Échec de l'appariement des équipes " + first.team.getId() + " et "
+                    + second.team.getId() + " : " + e.getMessage());
+            if (game != null && game.getId() != null) {
+                gameService.delete(game.getId());
+            }
+            first.ticket.release();
+            second.ticket.release();
+            return false;
+        }
+
+        first.ticket.matched(game.getId(), second.team.getId());
+        second.ticket.matched(game.getId(), first.team.getId());
+        try {
+            eventPublisher.publishEvent(new MatchFoundEvent(game.getId(), ticket.getPointId(),
+                    ticket.getSportCode(), first.team.getId(), second.team.getId()));
+        } catch (RuntimeException e) {
+            System.err.println("Échec d'un écouteur de MatchFoundEvent pour le jeu " + game.getId() + " : " + e.getMessage());
+        }
+        return true;
+    }
+
+    private record QueueKey(String pointId, String sportCode, int levelBand) {
+    }
+
+    private record Entry(MatchTicket ticket, Equipe team) {
+    }
+
+    /**
+     * File d'une clé : les ajouts se font en queue, seul le thread qui tient draining
+     * retire ou remet des tickets en tête.
+     */
+    private static final class MatchQueue {
+        private final ConcurrentLinkedDeque<Entry> entries = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        void offer(Entry entry) {
+            entries.offerLast(entry);
+            size.incrementAndGet();
+        }
+
+        void offerFirst(Entry entry) {
+            entries.offerFirst(entry);
+            size.incrementAndGet();
+        }
+
+        /**
+         * Premier ticket encore en file ; les tickets annulés rencontrés sont jetés.
+         */
+        Entry pollLive() {
+            Entry entry;
+            while ((entry = entries.pollFirst()) != null) {
+                size.decrementAndGet();
+                if (entry.ticket.isQueued()) return entry;
+            }
+            return null;
+        }
+    }
+}
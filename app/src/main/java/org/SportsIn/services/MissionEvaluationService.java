@@ -1,22 +1,24 @@
 package org.SportsIn.services;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.SportsIn.model.Arene;
-import org.SportsIn.model.Session;
-import org.SportsIn.model.SessionRepository;
-import org.SportsIn.model.SessionState;
+import org.SportsIn.events.TeamScoreChangedEvent;
 import org.SportsIn.model.mission.*;
 import org.SportsIn.repository.AreneRepository;
 import org.SportsIn.repository.EquipeRepository;
 import org.SportsIn.repository.MissionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Évalue les missions actives et gère les transitions de statut,
@@ -25,21 +27,28 @@ import java.util.Optional;
 @Service
 public class MissionEvaluationService {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Clé d'index regroupant toutes les arènes d'un sport (missions DIVERSITY sans arenaId)
+    private static final String ANY_ARENA = "*";
 
     private final MissionRepository missionRepository;
     private final EquipeRepository equipeRepository;
     private final AreneRepository areneRepository;
-    private final SessionRepository sessionRepository;
+    private final SessionHistory sessionHistory;
+    private final MissionTriggerIndex triggerIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MissionEvaluationService(MissionRepository missionRepository,
                                     EquipeRepository equipeRepository,
                                     AreneRepository areneRepository,
-                                    SessionRepository sessionRepository) {
+                                    SessionHistory sessionHistory,
+                                    MissionTriggerIndex triggerIndex,
+                                    ApplicationEventPublisher eventPublisher) {
         this.missionRepository = missionRepository;
         this.equipeRepository = equipeRepository;
         this.areneRepository = areneRepository;
-        this.sessionRepository = sessionRepository;
+        this.sessionHistory = sessionHistory;
+        this.triggerIndex = triggerIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -51,105 +60,193 @@ public class MissionEvaluationService {
             return mission;
         }
 
-        if (mission.isExpired()) {
-            mission.setStatus(MissionStatus.EXPIRED);
-            mission.setLastEvaluatedAt(Instant.now().toString());
-            return missionRepository.save(mission);
-        }
-
-        Map<String, Object> payload = parsePayload(mission.getPayloadJson());
-        boolean success = evaluateByType(mission, payload);
-
-        if (success) {
-            completeMissionSuccess(mission);
-        }
-
-        mission.setLastEvaluatedAt(Instant.now().toString());
-        return missionRepository.save(mission);
+        return evaluateBatch(List.of(mission)).get(0);
     }
 
     @Transactional
     public void evaluateActiveMissionsForTeam(Long teamId) {
-        List<Mission> activeMissions = missionRepository.findActiveByTeam(teamId);
-        for (Mission m : activeMissions) {
-            evaluateMission(m.getId());
-        }
+        evaluateBatch(missionRepository.findActiveByTeam(teamId));
     }
 
     @Transactional
     public void expireActiveMissions() {
-        String now = Instant.now().toString();
+        Instant now = Instant.now();
         List<Mission> expired = missionRepository.findActiveEndingBefore(now);
         for (Mission m : expired) {
             m.setStatus(MissionStatus.EXPIRED);
             m.setLastEvaluatedAt(now);
-            missionRepository.save(m);
+            triggerIndex.unregister(m.getId());
         }
+        missionRepository.saveAll(expired);
     }
 
     @Transactional
     public void evaluateAllActiveMissions() {
-        List<Mission> allActive = missionRepository.findAllActive();
-        for (Mission m : allActive) {
-            evaluateMission(m.getId());
-        }
+        evaluateBatch(missionRepository.findAllActive());
     }
 
-    private boolean evaluateByType(Mission mission, Map<String, Object> payload) {
-        return switch (mission.getType()) {
-            case RECAPTURE_RECENT_LOSS -> evaluateRecapture(mission, payload);
-            case DIVERSITY_SPORT -> evaluateDiversity(mission, payload);
-            case BREAK_ROUTE -> evaluateBreakRoute(mission, payload);
-        };
+    /**
+     * Réévalue uniquement les missions dont l'objectif porte sur le contrôle de cette arène.
+     */
+    @Transactional
+    public void evaluateMissionsForArena(String arenaId) {
+        List<Long> missionIds = triggerIndex.missionIdsForArena(arenaId);
+        if (missionIds.isEmpty()) return;
+        evaluateBatch(activeMissions(missionIds));
     }
 
     /**
-     * RECAPTURE: SUCCESS si l'équipe contrôle l'arène (arenaId).
+     * Réévalue les missions DIVERSITY portant sur le sport d'une session qui vient de se terminer.
+     * Ces missions n'étaient pas abouties avant cette session : seule celle-ci peut les faire
+     * aboutir, l'historique des sessions n'est donc pas rechargé.
      */
-    private boolean evaluateRecapture(Mission mission, Map<String, Object> payload) {
-        Object arenaIdObj = payload.get("arenaId");
-        if (arenaIdObj == null) return false;
+    @Transactional
+    public void evaluateMissionsForSession(String sportCode, String pointId, LocalDateTime endedAt) {
+        if (sportCode == null || endedAt == null) return;
+        List<Long> missionIds = triggerIndex.missionIdsForSport(sportCode);
+        if (missionIds.isEmpty()) return;
 
-        String arenaId = arenaIdObj.toString();
-        Optional<Arene> areneOpt = areneRepository.findById(arenaId);
-        if (areneOpt.isEmpty()) return false;
+        Map<String, Map<String, Instant>> latestEnd = new HashMap<>();
+        indexSessionEnd(latestEnd, sportCode, pointId, endedAt);
+        evaluateBatch(activeMissions(missionIds), since -> latestEnd);
+    }
 
-        Arene arene = areneOpt.get();
-        if (arene.getControllingTeam() != null
-                && mission.getTeamId().equals(arene.getControllingTeam().getId())) {
-            mission.setProgressCurrent(1);
-            return true;
+    private List<Mission> activeMissions(List<Long> missionIds) {
+        return missionRepository.findAllById(missionIds).stream()
+                .filter(Mission::isActive)
+                .toList();
+    }
+
+    /**
+     * Évalue un lot de missions actives en une passe :
+     * 1. les arènes référencées par les payloads typés sont chargées en une requête ;
+     * 2. les sessions terminées ne sont lues que si le lot contient une mission DIVERSITY, et
+     *    seulement celles terminées après le plus ancien startsAt de ces missions (lecture de
+     *    l'index par date de fin), puis indexées par (sportCode, arenaId) avec leur date de fin
+     *    la plus récente ;
+     * 3. chaque mission est évaluée contre ces index, sans autre accès à la base ;
+     * 4. missions et équipes récompensées sont écrites par saveAll.
+     */
+    private List<Mission> evaluateBatch(List<Mission> missions) {
+        return evaluateBatch(missions, this::indexTerminatedSessions);
+    }
+
+    private List<Mission> evaluateBatch(List<Mission> missions,
+                                        Function<Instant, Map<String, Map<String, Instant>>> sessionIndex) {
+        if (missions.isEmpty()) return missions;
+
+        Set<String> arenaIds = new HashSet<>();
+        Instant earliestDiversityStart = null;
+        for (Mission m : missions) {
+            MissionPayload payload = m.getPayload();
+            if (payload instanceof MissionPayload.Diversity) {
+                Instant startsAt = m.getStartsAt();
+                if (earliestDiversityStart == null || startsAt.isBefore(earliestDiversityStart)) {
+                    earliestDiversityStart = startsAt;
+                }
+            } else if (payload.arenaId() != null) {
+                arenaIds.add(payload.arenaId());
+            }
+        }
+
+        EvaluationIndex index = new EvaluationIndex(
+                ArenaOwnership.load(areneRepository, arenaIds),
+                earliestDiversityStart != null ? sessionIndex.apply(earliestDiversityStart) : Map.of()
+        );
+
+        Instant now = Instant.now();
+        Map<Long, int[]> rewardsByTeam = new LinkedHashMap<>();
+        for (Mission m : missions) {
+            if (m.getStatus() != MissionStatus.ACTIVE) continue;
+
+            if (m.isExpired()) {
+                m.setStatus(MissionStatus.EXPIRED);
+            } else if (evaluateByType(m, index)) {
+                m.setStatus(MissionStatus.SUCCESS);
+                m.setCompletedAt(now);
+                int[] rewards = rewardsByTeam.computeIfAbsent(m.getTeamId(), k -> new int[2]);
+                rewards[0] += m.getRewardTeamPoints();
+                rewards[1] += m.getRewardTeamXp();
+            }
+            m.setLastEvaluatedAt(now);
+            if (!m.isActive()) {
+                triggerIndex.unregister(m.getId());
+            }
+        }
+
+        List<Mission> saved = missionRepository.saveAll(missions);
+        grantRewards(rewardsByTeam);
+        return saved;
+    }
+
+    /**
+     * Indexe les sessions terminées après since : sportCode -> arenaId -> date de fin la plus récente.
+     * La clé ANY_ARENA agrège toutes les arènes d'un sport.
+     */
+    private Map<String, Map<String, Instant>> indexTerminatedSessions(Instant since) {
+        Map<String, Map<String, Instant>> latestEnd = new HashMap<>();
+        LocalDateTime sinceLocal = LocalDateTime.ofInstant(since, ZoneId.systemDefault());
+        for (SessionHistory.SessionEnd end : sessionHistory.terminatedSince(sinceLocal)) {
+            indexSessionEnd(latestEnd, end.sportCode(), end.pointId(), end.endedAt());
+        }
+        return latestEnd;
+    }
+
+    private static void indexSessionEnd(Map<String, Map<String, Instant>> latestEnd,
+                                        String sportCode, String pointId, LocalDateTime endedAt) {
+        Instant endedInstant = endedAt.atZone(ZoneId.systemDefault()).toInstant();
+        Map<String, Instant> byArena = latestEnd.computeIfAbsent(sportCode, k -> new HashMap<>());
+        byArena.merge(ANY_ARENA, endedInstant, MissionEvaluationService::latest);
+        if (pointId != null) {
+            byArena.merge(pointId, endedInstant, MissionEvaluationService::latest);
+        }
+    }
+
+    /**
+     * Incréments atomiques en base : pas de lecture de l'entité, pas de mise à jour perdue
+     * face à une attribution d'XP concurrente.
+     */
+    private void grantRewards(Map<Long, int[]> rewardsByTeam) {
+        rewardsByTeam.forEach((teamId, rewards) -> {
+            if (equipeRepository.addRewards(teamId, rewards[0], rewards[1]) > 0) {
+                eventPublisher.publishEvent(new TeamScoreChangedEvent(teamId, rewards[0], rewards[1]));
+            }
+        });
+    }
+
+    private boolean evaluateByType(Mission mission, EvaluationIndex index) {
+        MissionPayload payload = mission.getPayload();
+        if (payload instanceof MissionPayload.Recapture recapture) {
+            return evaluateRecapture(mission, recapture, index);
+        } else if (payload instanceof MissionPayload.Diversity diversity) {
+            return evaluateDiversity(mission, diversity, index);
+        } else if (payload instanceof MissionPayload.BreakRoute breakRoute) {
+            return evaluateBreakRoute(mission, breakRoute, index);
         }
         return false;
     }
 
+    /**
+     * RECAPTURE: SUCCESS si l'équipe contrôle l'arène (arenaId).
+     */
+    private boolean evaluateRecapture(Mission mission, MissionPayload.Recapture payload, EvaluationIndex index) {
+        return evaluateArenaControl(mission, payload.arenaId(), index);
+    }
+
     /**
      * DIVERSITY: SUCCESS si une session du sport (sportCode) a été terminée
      * sur l'arène (arenaId) après startsAt.
      */
-    private boolean evaluateDiversity(Mission mission, Map<String, Object> payload) {
-        Object arenaIdObj = payload.get("arenaId");
-        Object sportCodeObj = payload.get("sportCode");
-        if (sportCodeObj == null) return false;
-        String sportCode = sportCodeObj.toString();
-
-        Instant startsAt = mission.getStartsAtInstant();
-        List<Session> terminated = sessionRepository.findByState(SessionState.TERMINATED);
-
-        for (Session s : terminated) {
-            if (s.getSport() == null || s.getEndedAt() == null) continue;
-            if (!sportCode.equals(s.getSport().getCode())) continue;
-
-            if (arenaIdObj != null) {
-                String expectedArenaId = arenaIdObj.toString();
-                if (!expectedArenaId.equals(s.getPointId())) continue;
-            }
+    private boolean evaluateDiversity(Mission mission, MissionPayload.Diversity payload, EvaluationIndex index) {
+        if (payload.sportCode() == null) return false;
 
-            Instant endedInstant = s.getEndedAt().atZone(java.time.ZoneId.systemDefault()).toInstant();
-            if (endedInstant.isAfter(startsAt)) {
-                mission.setProgressCurrent(1);
-                return true;
-            }
+        Map<String, Instant> byArena = index.latestSessionEnd.get(payload.sportCode());
+        if (byArena == null) return false;
+
+        Instant latest = byArena.get(payload.arenaId() != null ? payload.arenaId() : ANY_ARENA);
+        if (latest != null && latest.isAfter(mission.getStartsAt())) {
+            mission.setProgressCurrent(1);
+            return true;
         }
         return false;
     }
@@ -157,40 +254,29 @@ public class MissionEvaluationService {
     /**
      * BREAK_ROUTE: SUCCESS si l'équipe contrôle l'arène (arenaId).
      */
-    private boolean evaluateBreakRoute(Mission mission, Map<String, Object> payload) {
-        Object arenaIdObj = payload.get("arenaId");
-        if (arenaIdObj == null) return false;
+    private boolean evaluateBreakRoute(Mission mission, MissionPayload.BreakRoute payload, EvaluationIndex index) {
+        return evaluateArenaControl(mission, payload.arenaId(), index);
+    }
 
-        String arenaId = arenaIdObj.toString();
-        Optional<Arene> areneOpt = areneRepository.findById(arenaId);
-        if (areneOpt.isEmpty()) return false;
+    private boolean evaluateArenaControl(Mission mission, String arenaId, EvaluationIndex index) {
+        if (arenaId == null) return false;
 
-        Arene arene = areneOpt.get();
-        if (arene.getControllingTeam() != null
-                && mission.getTeamId().equals(arene.getControllingTeam().getId())) {
+        if (index.ownership().isOwnedBy(arenaId, mission.getTeamId())) {
             mission.setProgressCurrent(1);
             return true;
         }
         return false;
     }
 
-    private void completeMissionSuccess(Mission mission) {
-        mission.setStatus(MissionStatus.SUCCESS);
-        mission.setCompletedAt(Instant.now().toString());
-
-        equipeRepository.findById(mission.getTeamId()).ifPresent(equipe -> {
-            equipe.setPoints(equipe.getPoints() + mission.getRewardTeamPoints());
-            equipe.setXp(equipe.getXp() + mission.getRewardTeamXp());
-            equipeRepository.save(equipe);
-        });
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
     }
 
-    private Map<String, Object> parsePayload(String json) {
-        if (json == null || json.isBlank()) return Map.of();
-        try {
-            return MAPPER.readValue(json, new TypeReference<>() {});
-        } catch (Exception e) {
-            return Map.of();
-        }
+    /**
+     * Index pré-calculés pour un lot : propriétaire des arènes référencées,
+     * et date de fin de session la plus récente par (sportCode, arenaId).
+     */
+    private record EvaluationIndex(ArenaOwnership ownership,
+                                   Map<String, Map<String, Instant>> latestSessionEnd) {
     }
 }
@@ -0,0 +1,55 @@
+package org.SportsIn.services;
+
+import jakarta.annotation.PreDestroy;
+import org.SportsIn.events.ArenaCapturedEvent;
+import org.SportsIn.events.SessionTerminatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Déclenche l'évaluation des missions à partir des événements de jeu :
+ * seules les missions indexées sur l'arène capturée ou le sport joué sont réévaluées.
+ *
+ * Une capture est publiée sous le verrou de l'arène : son évaluation (une transaction) est confiée
+ * à un thread dédié, après la validation de la transaction de capture s'il y en a une. Le verrou
+ * n'attend donc pas la base, et un échec d'évaluation ne remonte pas jusqu'à la capture.
+ */
+@Component
+public class MissionEventListener {
+
+    private final MissionEvaluationService evaluationService;
+    private final ExecutorService captureExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "mission-capture-evaluation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MissionEventListener(MissionEvaluationService evaluationService) {
+        this.evaluationService = evaluationService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArenaCaptured(ArenaCapturedEvent event) {
+        captureExecutor.execute(() -> {
+            try {
+                evaluationService.evaluateMissionsForArena(event.areneId());
+            } catch (RuntimeException e) {
+                System.err.println("Échec de l'évaluation des missions de l'arène " + event.areneId() + " : " + e.getMessage());
+            }
+        });
+    }
+
+    @EventListener
+    public void onSessionTerminated(SessionTerminatedEvent event) {
+        evaluationService.evaluateMissionsForSession(event.sportCode(), event.pointId(), event.endedAt());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        captureExecutor.shutdown();
+    }
+}
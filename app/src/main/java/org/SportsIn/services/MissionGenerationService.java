@@ -1,18 +1,19 @@
 package org.SportsIn.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.SportsIn.model.Arene;
-import org.SportsIn.model.Session;
-import org.SportsIn.model.SessionRepository;
-import org.SportsIn.model.SessionState;
 import org.SportsIn.model.mission.*;
 import org.SportsIn.repository.AreneRepository;
 import org.SportsIn.repository.MissionRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -23,18 +24,20 @@ import java.util.stream.Collectors;
 public class MissionGenerationService {
 
     private static final int MAX_ACTIVE_MISSIONS_PER_TEAM = 3;
-    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final MissionRepository missionRepository;
     private final AreneRepository areneRepository;
-    private final SessionRepository sessionRepository;
+    private final SessionHistory sessionHistory;
+    private final MissionTriggerIndex triggerIndex;
 
     public MissionGenerationService(MissionRepository missionRepository,
                                     AreneRepository areneRepository,
-                                    SessionRepository sessionRepository) {
+                                    SessionHistory sessionHistory,
+                                    MissionTriggerIndex triggerIndex) {
         this.missionRepository = missionRepository;
         this.areneRepository = areneRepository;
-        this.sessionRepository = sessionRepository;
+        this.sessionHistory = sessionHistory;
+        this.triggerIndex = triggerIndex;
     }
 
     /**
@@ -42,66 +45,137 @@ public class MissionGenerationService {
      * Ne dépasse pas MAX_ACTIVE_MISSIONS_PER_TEAM missions actives.
      */
     public void generateForTeam(Long teamId) {
-        long activeCount = missionRepository.countActiveByTeam(teamId);
+        WorldSnapshot world = takeSnapshot();
+        List<Mission> missions = planForTeam(teamId, missionRepository.findActiveByTeam(teamId), world);
+        saveAndIndex(missions);
+    }
+
+    /**
+     * Génère les missions de toutes les équipes en une passe :
+     * un seul instantané du monde (arènes, propriétaires, combinaisons sport/arène récentes)
+     * et une seule lecture des missions actives, puis une planification par équipe répartie
+     * sur un pool borné au nombre de cœurs, et enfin une insertion groupée.
+     *
+     * @return Le nombre de missions créées.
+     */
+    public int generateForAllTeams(List<Long> teamIds) {
+        if (teamIds.isEmpty()) return 0;
+
+        WorldSnapshot world = takeSnapshot();
+        Map<Long, List<Mission>> activeByTeam = missionRepository.findAllActive().stream()
+                .collect(Collectors.groupingBy(Mission::getTeamId));
+
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), teamIds.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Mission>>> plans = new ArrayList<>(teamIds.size());
+            for (Long teamId : teamIds) {
+                List<Mission> active = activeByTeam.getOrDefault(teamId, List.of());
+                plans.add(executor.submit(() -> planForTeam(teamId, active, world)));
+            }
+
+            // Ordre des équipes conservé : les IDs attribués ne dépendent pas de l'ordonnancement
+            List<Mission> missions = new ArrayList<>();
+            for (Future<List<Mission>> plan : plans) {
+                missions.addAll(plan.get());
+            }
+            saveAndIndex(missions);
+            return missions.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Génération des missions interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de la génération des missions", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Calcule les missions à créer pour une équipe, sans accès à la base.
+     */
+    private List<Mission> planForTeam(Long teamId, List<Mission> activeMissions, WorldSnapshot world) {
+        int activeCount = activeMissions.size();
         if (activeCount >= MAX_ACTIVE_MISSIONS_PER_TEAM) {
-            return;
+            return List.of();
         }
 
-        Set<String> existingKeys = missionRepository.findActiveByTeam(teamId).stream()
+        Set<String> existingKeys = activeMissions.stream()
                 .map(Mission::payloadKey)
                 .collect(Collectors.toSet());
 
-        int slotsAvailable = (int) (MAX_ACTIVE_MISSIONS_PER_TEAM - activeCount);
+        int slotsAvailable = MAX_ACTIVE_MISSIONS_PER_TEAM - activeCount;
         List<Mission> candidates = new ArrayList<>();
 
         // R1: RECAPTURE_RECENT_LOSS — reprendre une arène contrôlée par un adversaire
-        tryGenerateRecaptureMission(teamId, existingKeys).ifPresent(candidates::add);
+        tryGenerateRecaptureMission(teamId, existingKeys, world).ifPresent(candidates::add);
 
         // R2: DIVERSITY_SPORT — jouer un sport peu joué sur une arène
-        tryGenerateDiversityMission(teamId, existingKeys).ifPresent(candidates::add);
+        tryGenerateDiversityMission(teamId, existingKeys, world).ifPresent(candidates::add);
 
         // R3: BREAK_ROUTE — briser le contrôle d'une 2e arène adverse
-        tryGenerateBreakRouteMission(teamId, existingKeys).ifPresent(candidates::add);
+        tryGenerateBreakRouteMission(teamId, existingKeys, world).ifPresent(candidates::add);
 
-        int toSave = Math.min(slotsAvailable, candidates.size());
-        for (int i = 0; i < toSave; i++) {
-            missionRepository.save(candidates.get(i));
+        return candidates.subList(0, Math.min(slotsAvailable, candidates.size()));
+    }
+
+    private void saveAndIndex(List<Mission> missions) {
+        if (missions.isEmpty()) return;
+        for (Mission saved : missionRepository.insertAll(missions)) {
+            triggerIndex.register(saved);
         }
     }
 
     /**
-     * R1: Trouver une arène contrôlée par un adversaire.
+     * Lit une fois les arènes et les sessions terminées des 14 derniers jours.
+     * Deux requêtes pour les arènes (contrôle, puis sports), quel que soit leur nombre.
      */
-    private Optional<Mission> tryGenerateRecaptureMission(Long teamId, Set<String> existingKeys) {
-        List<Arene> allArenes = areneRepository.findAll();
+    private WorldSnapshot takeSnapshot() {
+        Map<String, List<String>> sportsByArena = new HashMap<>();
+        for (Object[] row : areneRepository.findAllArenaSports()) {
+            sportsByArena.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        List<ArenaView> arenas = ArenaOwnership.load(areneRepository).arenas().stream()
+                .map(a -> new ArenaView(a.arenaId(), a.nom(), a.controllingTeamId(),
+                        List.copyOf(sportsByArena.getOrDefault(a.arenaId(), List.of()))))
+                .toList();
 
-        for (Arene arene : allArenes) {
-            if (arene.getControllingTeam() == null) continue;
-            Long ownerId = arene.getControllingTeam().getId();
+        Set<String> recentCombos = new HashSet<>();
+        LocalDateTime fourteenDaysAgo = LocalDateTime.ofInstant(
+                Instant.now().minus(14, ChronoUnit.DAYS), ZoneId.systemDefault());
+        for (SessionHistory.SessionEnd end : sessionHistory.terminatedSince(fourteenDaysAgo)) {
+            if (end.pointId() != null) {
+                recentCombos.add(end.sportCode() + ":" + end.pointId());
+            }
+        }
+        return new WorldSnapshot(arenas, Set.copyOf(recentCombos));
+    }
+
+    /**
+     * R1: Trouver une arène contrôlée par un adversaire.
+     */
+    private Optional<Mission> tryGenerateRecaptureMission(Long teamId, Set<String> existingKeys, WorldSnapshot world) {
+        for (ArenaView arene : world.arenas()) {
+            if (arene.ownerId() == null) continue;
+            Long ownerId = arene.ownerId();
             if (teamId.equals(ownerId)) continue;
 
-            Map<String, Object> payload = Map.of(
-                    "arenaId", arene.getId(),
-                    "arenaName", arene.getNom(),
-                    "windowDays", 7
-            );
-            String payloadJson = toJson(payload);
-            String key = MissionType.RECAPTURE_RECENT_LOSS.name() + ":" + payloadJson;
+            MissionPayload payload = new MissionPayload.Recapture(arene.id(), arene.nom(), 7);
+            String key = MissionType.RECAPTURE_RECENT_LOSS.name() + ":" + payload.toJson();
             if (existingKeys.contains(key)) continue;
 
             Instant now = Instant.now();
             Mission m = new Mission();
             m.setTeamId(teamId);
-            m.setType(MissionType.RECAPTURE_RECENT_LOSS);
             m.setStatus(MissionStatus.ACTIVE);
-            m.setTitle("Reprendre " + arene.getNom());
-            m.setDescription("Reconquérir l'arène '" + arene.getNom()
+            m.setTitle("Reprendre " + arene.nom());
+            m.setDescription("Reconquérir l'arène '" + arene.nom()
                     + "' actuellement contrôlée par une équipe adverse. Gagnez un match sur cette arène !");
             m.setPriority(MissionPriority.HIGH);
             m.setRewardTeamPoints(50);
             m.setRewardTeamXp(30);
             m.setTimestampsFromInstant(now, now, now.plus(3, ChronoUnit.DAYS));
-            m.setPayloadJson(payloadJson);
+            m.setPayload(payload);
             m.setProgressCurrent(0);
             m.setProgressTarget(1);
             return Optional.of(m);
@@ -112,51 +186,30 @@ public class MissionGenerationService {
     /**
      * R2: Trouver un sport peu joué sur une arène.
      */
-    private Optional<Mission> tryGenerateDiversityMission(Long teamId, Set<String> existingKeys) {
-        List<Arene> allArenes = areneRepository.findAll();
-        List<Session> terminatedSessions = sessionRepository.findByState(SessionState.TERMINATED);
-
-        Set<String> recentCombos = new HashSet<>();
-        Instant fourteenDaysAgo = Instant.now().minus(14, ChronoUnit.DAYS);
-        for (Session s : terminatedSessions) {
-            if (s.getEndedAt() != null && s.getSport() != null && s.getPointId() != null) {
-                Instant endedInstant = s.getEndedAt().atZone(java.time.ZoneId.systemDefault()).toInstant();
-                if (endedInstant.isAfter(fourteenDaysAgo)) {
-                    recentCombos.add(s.getSport().getCode() + ":" + s.getPointId());
-                }
-            }
-        }
+    private Optional<Mission> tryGenerateDiversityMission(Long teamId, Set<String> existingKeys, WorldSnapshot world) {
+        for (ArenaView arene : world.arenas()) {
+            if (arene.sports() == null) continue;
+            for (String sportCode : arene.sports()) {
+                String combo = sportCode + ":" + arene.id();
+                if (world.recentCombos().contains(combo)) continue;
 
-        for (Arene arene : allArenes) {
-            if (arene.getSportsDisponibles() == null) continue;
-            for (String sportCode : arene.getSportsDisponibles()) {
-                String combo = sportCode + ":" + arene.getId();
-                if (recentCombos.contains(combo)) continue;
-
-                Map<String, Object> payload = Map.of(
-                        "arenaId", arene.getId(),
-                        "arenaName", arene.getNom(),
-                        "sportCode", sportCode,
-                        "windowDays", 14
-                );
-                String payloadJson = toJson(payload);
-                String key = MissionType.DIVERSITY_SPORT.name() + ":" + payloadJson;
+                MissionPayload payload = new MissionPayload.Diversity(arene.id(), arene.nom(), sportCode, 14);
+                String key = MissionType.DIVERSITY_SPORT.name() + ":" + payload.toJson();
                 if (existingKeys.contains(key)) continue;
 
                 Instant now = Instant.now();
                 Mission m = new Mission();
                 m.setTeamId(teamId);
-                m.setType(MissionType.DIVERSITY_SPORT);
                 m.setStatus(MissionStatus.ACTIVE);
-                m.setTitle("Diversité: " + sportCode + " à " + arene.getNom());
+                m.setTitle("Diversité: " + sportCode + " à " + arene.nom());
                 m.setDescription("Jouer une session de " + sportCode
-                        + " à l'arène '" + arene.getNom()
+                        + " à l'arène '" + arene.nom()
                         + "'. Aucune session de ce sport ici depuis 2 semaines !");
                 m.setPriority(MissionPriority.MEDIUM);
                 m.setRewardTeamPoints(30);
                 m.setRewardTeamXp(20);
                 m.setTimestampsFromInstant(now, now, now.plus(7, ChronoUnit.DAYS));
-                m.setPayloadJson(payloadJson);
+                m.setPayload(payload);
                 m.setProgressCurrent(0);
                 m.setProgressTarget(1);
                 return Optional.of(m);
@@ -169,38 +222,30 @@ public class MissionGenerationService {
      * R3: Briser le contrôle d'une 2e arène adverse.
      * Sélectionne une arène différente de celle déjà en R1.
      */
-    private Optional<Mission> tryGenerateBreakRouteMission(Long teamId, Set<String> existingKeys) {
-        List<Arene> allArenes = areneRepository.findAll();
-        List<Arene> adversaryArenas = allArenes.stream()
-                .filter(a -> a.getControllingTeam() != null && !teamId.equals(a.getControllingTeam().getId()))
+    private Optional<Mission> tryGenerateBreakRouteMission(Long teamId, Set<String> existingKeys, WorldSnapshot world) {
+        List<ArenaView> adversaryArenas = world.arenas().stream()
+                .filter(a -> a.ownerId() != null && !teamId.equals(a.ownerId()))
                 .toList();
 
         // Prendre la 2e arène adverse (la 1ère est déjà en R1)
         if (adversaryArenas.size() >= 2) {
-            Arene arene = adversaryArenas.get(1);
-            Map<String, Object> payload = Map.of(
-                    "arenaId", arene.getId(),
-                    "arenaName", arene.getNom(),
-                    "adversaryTeamId", arene.getControllingTeam().getId(),
-                    "minCount", 1
-            );
-            String payloadJson = toJson(payload);
-            String key = MissionType.BREAK_ROUTE.name() + ":" + payloadJson;
+            ArenaView arene = adversaryArenas.get(1);
+            MissionPayload payload = new MissionPayload.BreakRoute(arene.id(), arene.nom(), arene.ownerId(), 1);
+            String key = MissionType.BREAK_ROUTE.name() + ":" + payload.toJson();
             if (existingKeys.contains(key)) return Optional.empty();
 
             Instant now = Instant.now();
             Mission m = new Mission();
             m.setTeamId(teamId);
-            m.setType(MissionType.BREAK_ROUTE);
             m.setStatus(MissionStatus.ACTIVE);
-            m.setTitle("Briser le contrôle de " + arene.getNom());
-            m.setDescription("Reprendre l'arène '" + arene.getNom()
+            m.setTitle("Briser le contrôle de " + arene.nom());
+            m.setDescription("Reprendre l'arène '" + arene.nom()
                     + "' contrôlée par l'équipe adverse. Cassez leur domination !");
             m.setPriority(MissionPriority.HIGH);
             m.setRewardTeamPoints(75);
             m.setRewardTeamXp(50);
             m.setTimestampsFromInstant(now, now, now.plus(5, ChronoUnit.DAYS));
-            m.setPayloadJson(payloadJson);
+            m.setPayload(payload);
             m.setProgressCurrent(0);
             m.setProgressTarget(1);
             return Optional.of(m);
@@ -208,11 +253,15 @@ public class MissionGenerationService {
         return Optional.empty();
     }
 
-    private String toJson(Map<String, Object> map) {
-        try {
-            return MAPPER.writeValueAsString(map);
-        } catch (Exception e) {
-            return "{}";
-        }
+    /**
+     * Vue immuable d'une arène au moment de l'instantané.
+     */
+    private record ArenaView(String id, String nom, Long ownerId, List<String> sports) {
+    }
+
+    /**
+     * État du monde partagé (en lecture seule) par toutes les planifications d'une passe.
+     */
+    private record WorldSnapshot(List<ArenaView> arenas, Set<String> recentCombos) {
     }
 }
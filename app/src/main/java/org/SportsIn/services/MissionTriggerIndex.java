@@ -0,0 +1,129 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.mission.Mission;
+import org.SportsIn.model.mission.MissionPayload;
+import org.SportsIn.repository.MissionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index des missions actives selon les événements qui peuvent les faire aboutir :
+ * - par arenaId pour RECAPTURE_RECENT_LOSS et BREAK_ROUTE (capture d'arène) ;
+ * - par sportCode pour DIVERSITY_SPORT (fin de session).
+ *
+ * Construit depuis les missions actives au premier accès, puis tenu à jour par la génération
+ * (register) et par l'évaluation ou l'expiration (unregister). Appelées dans une transaction, ces
+ * mises à jour ne sont appliquées qu'après sa validation : une transaction annulée laisse l'index
+ * conforme à la base (une mission toujours ACTIVE reste indexée).
+ */
+@Component
+public class MissionTriggerIndex {
+
+    private final MissionRepository missionRepository;
+
+    private final Map<String, Set<Long>> missionIdsByArena = new HashMap<>();
+    private final Map<String, Set<Long>> missionIdsBySport = new HashMap<>();
+    private final Map<Long, Trigger> triggerByMissionId = new HashMap<>();
+    private boolean loaded = false;
+
+    public MissionTriggerIndex(MissionRepository missionRepository) {
+        this.missionRepository = missionRepository;
+    }
+
+    public synchronized void rebuild() {
+        missionIdsByArena.clear();
+        missionIdsBySport.clear();
+        triggerByMissionId.clear();
+        loaded = true;
+        for (Mission mission : missionRepository.findAllActive()) {
+            index(mission);
+        }
+    }
+
+    public void register(Mission mission) {
+        afterCommit(() -> {
+            synchronized (this) {
+                ensureLoaded();
+                index(mission);
+            }
+        });
+    }
+
+    public void unregister(Long missionId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(missionId);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void index(Mission mission) {
+        if (mission.getId() == null || !mission.isActive()) return;
+        remove(mission.getId());
+
+        MissionPayload payload = mission.getPayload();
+        Trigger trigger;
+        if (payload instanceof MissionPayload.Diversity diversity) {
+            if (diversity.sportCode() == null) return;
+            trigger = new Trigger(missionIdsBySport, diversity.sportCode());
+        } else {
+            if (payload.arenaId() == null) return;
+            trigger = new Trigger(missionIdsByArena, payload.arenaId());
+        }
+        trigger.index.computeIfAbsent(trigger.key, k -> new TreeSet<>()).add(mission.getId());
+        triggerByMissionId.put(mission.getId(), trigger);
+    }
+
+    private void remove(Long missionId) {
+        Trigger trigger = triggerByMissionId.remove(missionId);
+        if (trigger == null) return;
+        Set<Long> ids = trigger.index.get(trigger.key);
+        ids.remove(missionId);
+        if (ids.isEmpty()) trigger.index.remove(trigger.key);
+    }
+
+    /**
+     * Missions actives dont l'aboutissement dépend du contrôle de cette arène, triées par ID.
+     */
+    public synchronized List<Long> missionIdsForArena(String arenaId) {
+        ensureLoaded();
+        return List.copyOf(missionIdsByArena.getOrDefault(arenaId, Set.of()));
+    }
+
+    /**
+     * Missions DIVERSITY actives portant sur ce sport, triées par ID.
+     */
+    public synchronized List<Long> missionIdsForSport(String sportCode) {
+        ensureLoaded();
+        return List.copyOf(missionIdsBySport.getOrDefault(sportCode, Set.of()));
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    private record Trigger(Map<String, Set<Long>> index, String key) {
+    }
+}
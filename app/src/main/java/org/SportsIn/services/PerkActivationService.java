@@ -7,9 +7,10 @@ import org.SportsIn.model.progression.effects.PerkEffectStrategy;
 import org.SportsIn.model.user.Equipe;
 import org.SportsIn.repository.ActivePerkRepository;
 import org.SportsIn.repository.EquipeRepository;
-import org.SportsIn.repository.PerkDefinitionRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.util.List;
@@ -18,23 +19,30 @@ import java.util.List;
 public class PerkActivationService {
 
     private final ActivePerkRepository activePerkRepository;
-    private final PerkDefinitionRepository perkDefinitionRepository;
+    private final PerkCatalog perkCatalog;
     private final EquipeRepository equipeRepository;
     private final PerkEffectRegistry perkEffectRegistry;
+    private final ActivePerkIndex activePerkIndex;
+    private final GameStateVersions versions;
 
     public PerkActivationService(ActivePerkRepository activePerkRepository,
-                                 PerkDefinitionRepository perkDefinitionRepository,
+                                 PerkCatalog perkCatalog,
                                  EquipeRepository equipeRepository,
-                                 PerkEffectRegistry perkEffectRegistry) {
+                                 PerkEffectRegistry perkEffectRegistry,
+                                 ActivePerkIndex activePerkIndex,
+                                 GameStateVersions versions) {
         this.activePerkRepository = activePerkRepository;
-        this.perkDefinitionRepository = perkDefinitionRepository;
+        this.perkCatalog = perkCatalog;
         this.equipeRepository = equipeRepository;
         this.perkEffectRegistry = perkEffectRegistry;
+        this.activePerkIndex = activePerkIndex;
+        this.versions = versions;
     }
 
     @Transactional
     public ActivePerk activatePerk(Long teamId, String perkCode, String targetId) {
-        PerkDefinition def = perkDefinitionRepository.findByCode(perkCode)
+        PerkDefinition def = perkCatalog.findByCode(perkCode)
+                .map(PerkCatalog.Entry::definition)
                 .orElseThrow(() -> new IllegalArgumentException("Perk inconnu: " + perkCode));
 
         Equipe team = equipeRepository.findById(teamId)
@@ -65,29 +73,51 @@ public class PerkActivationService {
         perk.setTeamId(teamId);
         perk.setPerkDefinitionId(def.getId());
         perk.setTargetId(targetId);
-        perk.setActivatedAt(now.toString());
-        perk.setExpiresAt(now.plusSeconds(def.getDurationSeconds()).toString());
+        perk.setActivatedAt(now);
+        perk.setExpiresAt(now.plusSeconds(def.getDurationSeconds()));
         perk.setUsageCount(1);
 
-        return activePerkRepository.save(perk);
+        ActivePerk saved = activePerkRepository.save(perk);
+        publishAfterCommit(saved);
+        return saved;
     }
 
+    /**
+     * Purge les perks expirés de la base en une seule requête. L'index en mémoire
+     * les a déjà évincés à leur expiration.
+     */
     @Transactional
-    public void deactivateExpiredPerks() {
-        String now = Instant.now().toString();
-        List<ActivePerk> expired = activePerkRepository.findExpiredBefore(now);
-        if (!expired.isEmpty()) {
-            activePerkRepository.deleteAll(expired);
+    public int deactivateExpiredPerks() {
+        return activePerkRepository.deleteExpiredBefore(Instant.now());
+    }
+
+    /**
+     * Publie le perk dans l'index et invalide les calculs dépendant des perks une fois
+     * la transaction validée, pour qu'aucun lecteur ne voie un perk qui serait ensuite annulé.
+     */
+    private void publishAfterCommit(ActivePerk saved) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(saved);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(saved);
+            }
+        });
+    }
+
+    private void publish(ActivePerk saved) {
+        activePerkIndex.add(saved);
+        versions.bumpPerks();
     }
 
     public List<ActivePerk> getActivePerksForTeam(Long teamId) {
-        String now = Instant.now().toString();
-        return activePerkRepository.findActiveByTeam(teamId, now);
+        return activePerkIndex.findActiveByTeam(teamId);
     }
 
     public List<ActivePerk> getActivePerksOnTarget(String targetId) {
-        String now = Instant.now().toString();
-        return activePerkRepository.findActiveOnTarget(targetId, now);
+        return activePerkIndex.findActiveOnTarget(targetId);
     }
 }
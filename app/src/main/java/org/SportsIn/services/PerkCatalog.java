@@ -0,0 +1,103 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.progression.PerkDefinition;
+import org.SportsIn.model.progression.PerkParameters;
+import org.SportsIn.repository.PerkDefinitionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Catalogue en mémoire des définitions de perks, indexé par ID et par code.
+ *
+ * Chargé au démarrage puis servi depuis un instantané immuable : les chemins chauds
+ * (influence, XP, activation) ne touchent ni SQLite ni Jackson. Le catalogue change rarement ;
+ * après une modification de la table perk_definition, appeler reload().
+ */
+@Component
+public class PerkCatalog {
+
+    private final PerkDefinitionRepository perkDefinitionRepository;
+    private final GameStateVersions versions;
+
+    private volatile Snapshot snapshot;
+
+    public PerkCatalog(PerkDefinitionRepository perkDefinitionRepository, GameStateVersions versions) {
+        this.perkDefinitionRepository = perkDefinitionRepository;
+        this.versions = versions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Recharge le catalogue depuis la base et invalide les calculs dépendant des perks.
+     */
+    public synchronized void reload() {
+        List<Entry> entries = perkDefinitionRepository.findAll().stream()
+                .sorted(Comparator.comparing(PerkDefinition::getId))
+                .map(def -> new Entry(def, PerkParameters.parse(def.getParametersJson())))
+                .toList();
+        snapshot = new Snapshot(
+                entries,
+                entries.stream().collect(Collectors.toUnmodifiableMap(e -> e.definition().getId(), Function.identity())),
+                entries.stream().collect(Collectors.toUnmodifiableMap(e -> e.definition().getCode(), Function.identity()))
+        );
+        versions.bumpPerks();
+        System.out.println("Catalogue de perks chargé : " + entries.size() + " définitions.");
+    }
+
+    public Optional<Entry> findById(Long id) {
+        return Optional.ofNullable(current().byId.get(id));
+    }
+
+    public Optional<Entry> findByCode(String code) {
+        return Optional.ofNullable(current().byCode.get(code));
+    }
+
+    /**
+     * Définitions triées par ID.
+     */
+    public List<PerkDefinition> findAll() {
+        return current().entries.stream().map(Entry::definition).toList();
+    }
+
+    public List<PerkDefinition> findByRequiredLevelLessThanEqual(int level) {
+        return current().entries.stream()
+                .map(Entry::definition)
+                .filter(def -> def.getRequiredLevel() <= level)
+                .toList();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) reload();
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Définition de perk et ses paramètres déjà parsés.
+     */
+    public record Entry(PerkDefinition definition, PerkParameters parameters) {
+        public String effectType() {
+            return definition.getEffectType();
+        }
+    }
+
+    private record Snapshot(List<Entry> entries, Map<Long, Entry> byId, Map<String, Entry> byCode) {
+    }
+}
@@ -2,59 +2,53 @@ package org.SportsIn.services;
 
 import org.SportsIn.model.progression.ActivePerk;
 import org.SportsIn.model.progression.PerkContext;
-import org.SportsIn.model.progression.PerkDefinition;
 import org.SportsIn.model.progression.effects.PerkEffectRegistry;
 import org.SportsIn.model.progression.effects.PerkEffectStrategy;
-import org.SportsIn.repository.ActivePerkRepository;
-import org.SportsIn.repository.PerkDefinitionRepository;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.util.List;
 
 @Component
 public class PerkInfluenceModifier implements InfluenceModifier {
 
-    private final ActivePerkRepository activePerkRepository;
-    private final PerkDefinitionRepository perkDefinitionRepository;
+    private final ActivePerkIndex activePerkIndex;
+    private final PerkCatalog perkCatalog;
     private final PerkEffectRegistry perkEffectRegistry;
 
-    public PerkInfluenceModifier(ActivePerkRepository activePerkRepository,
-                                 PerkDefinitionRepository perkDefinitionRepository,
+    public PerkInfluenceModifier(ActivePerkIndex activePerkIndex,
+                                 PerkCatalog perkCatalog,
                                  PerkEffectRegistry perkEffectRegistry) {
-        this.activePerkRepository = activePerkRepository;
-        this.perkDefinitionRepository = perkDefinitionRepository;
+        this.activePerkIndex = activePerkIndex;
+        this.perkCatalog = perkCatalog;
         this.perkEffectRegistry = perkEffectRegistry;
     }
 
     @Override
     public double apply(Long teamId, String pointId, double currentModifier) {
-        String now = Instant.now().toString();
-        List<ActivePerk> perksOnPoint = activePerkRepository.findActiveOnTarget(
-                pointId, now);
+        List<ActivePerk> perksOnPoint = activePerkIndex.findActiveOnTarget(pointId);
 
         double perkModifier = 0.0;
 
         for (ActivePerk activePerk : perksOnPoint) {
-            PerkDefinition def = perkDefinitionRepository.findById(activePerk.getPerkDefinitionId())
+            PerkCatalog.Entry perk = perkCatalog.findById(activePerk.getPerkDefinitionId())
                     .orElse(null);
-            if (def == null) continue;
+            if (perk == null) continue;
 
-            if (!perkEffectRegistry.hasEffect(def.getEffectType())) continue;
+            if (!perkEffectRegistry.hasEffect(perk.effectType())) continue;
 
-            PerkEffectStrategy strategy = perkEffectRegistry.resolve(def.getEffectType());
+            PerkEffectStrategy strategy = perkEffectRegistry.resolve(perk.effectType());
 
             PerkContext context = new PerkContext(
                     teamId,
                     activePerk.getTeamId(),
                     pointId,
                     currentModifier,
-                    def.getParametersAsMap()
+                    perk.parameters().asMap()
             );
 
             boolean isOwnPerk = activePerk.getTeamId().equals(teamId);
-            boolean isBoost = "INFLUENCE_BOOST".equals(def.getEffectType());
-            boolean isReduction = "INFLUENCE_REDUCTION".equals(def.getEffectType());
+            boolean isBoost = "INFLUENCE_BOOST".equals(perk.effectType());
+            boolean isReduction = "INFLUENCE_REDUCTION".equals(perk.effectType());
 
             // Le boost s'applique au proprietaire, le shield reduit l'influence adverse
             if ((isBoost && isOwnPerk) || (isReduction && !isOwnPerk)) {
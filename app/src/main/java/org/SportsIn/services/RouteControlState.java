@@ -0,0 +1,246 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.Arene;
+import org.SportsIn.model.territory.Route;
+import org.SportsIn.model.territory.RouteBonus;
+import org.SportsIn.model.territory.RouteRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * État incrémental du contrôle des routes.
+ *
+ * Pour chaque route, on conserve les segments consécutifs d'arènes tenues par une même équipe
+ * (run-length) et, par équipe, la distribution des longueurs de segments. Un changement de
+ * propriétaire d'arène ne touche que les segments adjacents à sa position, et les bonus
+ * (équipe, arène) sont maintenus en continu : leur lecture ne rescanne aucune route.
+ *
+ * L'état est construit à partir du RouteRepository au premier accès, puis tenu à jour par
+ * TerritoryService (rebuild après régénération des routes, onArenaOwnerChanged à chaque prise).
+ * Chaque mise à jour incrémente la version de territoire, ce qui invalide le cache d'influence.
+ */
+@Component
+public class RouteControlState {
+
+    private final RouteRepository routeRepository;
+    private final GameStateVersions versions;
+
+    private final Map<Long, RouteTrack> tracksByRouteId = new HashMap<>();
+    private final Map<String, List<Position>> positionsByAreneId = new HashMap<>();
+
+    // Routes donnant un bonus à chaque équipe, et nombre de ces routes passant par chaque arène
+    private final Map<Long, Set<Long>> bonusRouteIdsByTeam = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> bonusRouteCountByTeamAndArene = new HashMap<>();
+
+    private boolean initialized = false;
+
+    public RouteControlState(RouteRepository routeRepository, GameStateVersions versions) {
+        this.routeRepository = routeRepository;
+        this.versions = versions;
+    }
+
+    /**
+     * Reconstruit l'état à partir des routes du repository et du propriétaire actuel de leurs arènes.
+     */
+    public synchronized void rebuild() {
+        tracksByRouteId.clear();
+        positionsByAreneId.clear();
+        bonusRouteIdsByTeam.clear();
+        bonusRouteCountByTeamAndArene.clear();
+
+        for (Route route : routeRepository.findAll()) {
+            if (route.getId() == null || route.getArenes() == null) continue;
+            RouteTrack track = new RouteTrack(route);
+            tracksByRouteId.put(route.getId(), track);
+            for (int p = 0; p < track.areneIds.length; p++) {
+                positionsByAreneId.computeIfAbsent(track.areneIds[p], k -> new ArrayList<>()).add(new Position(track, p));
+            }
+            for (int p = 0; p < track.areneIds.length; p++) {
+                setOwner(track, p, route.getArenes().get(p).getControllingTeamId());
+            }
+        }
+        initialized = true;
+        versions.bumpTerritory();
+    }
+
+    /**
+     * Applique un changement de propriétaire d'arène aux routes qui la contiennent.
+     *
+     * @param areneId L'arène qui change de main.
+     * @param teamId Le nouveau propriétaire (null si l'arène redevient neutre).
+     */
+    public synchronized void onArenaOwnerChanged(String areneId, Long teamId) {
+        ensureInitialized();
+        List<Position> positions = positionsByAreneId.getOrDefault(areneId, List.of());
+        for (Position position : positions) {
+            setOwner(position.track, position.index, teamId);
+        }
+        versions.bumpTerritory();
+    }
+
+    /**
+     * Bonus de score cumulé d'une équipe sur une arène : somme des bonus des routes
+     * passant par cette arène sur lesquelles l'équipe tient assez d'arènes consécutives.
+     */
+    public synchronized double getScoreBonus(Long teamId, String areneId) {
+        ensureInitialized();
+        Map<String, Integer> counts = bonusRouteCountByTeamAndArene.get(teamId);
+        if (counts == null) return 0.0;
+        return counts.getOrDefault(areneId, 0) * RouteService.SCORE_MULTIPLIER_BONUS;
+    }
+
+    /**
+     * Bonus de route actifs pour une équipe, triés par ID de route.
+     */
+    public synchronized List<RouteBonus> getBonuses(Long teamId) {
+        ensureInitialized();
+        Set<Long> routeIds = bonusRouteIdsByTeam.get(teamId);
+        if (routeIds == null) return List.of();
+
+        List<RouteBonus> bonuses = new ArrayList<>(routeIds.size());
+        for (Long routeId : new TreeSet<>(routeIds)) {
+            RouteTrack track = tracksByRouteId.get(routeId);
+            bonuses.add(new RouteBonus(teamId, track.route, track.maxRun(teamId),
+                    RouteService.SCORE_MULTIPLIER, RouteService.SCORE_MULTIPLIER_BONUS));
+        }
+        return bonuses;
+    }
+
+    /**
+     * Nombre maximum d'arènes consécutives tenues par une équipe sur une route.
+     */
+    public synchronized int getMaxConsecutiveArenes(Long routeId, Long teamId) {
+        ensureInitialized();
+        RouteTrack track = tracksByRouteId.get(routeId);
+        return track != null ? track.maxRun(teamId) : 0;
+    }
+
+    private void ensureInitialized() {
+        if (!initialized) {
+            rebuild();
+        }
+    }
+
+    private void setOwner(RouteTrack track, int position, Long newOwner) {
+        Long oldOwner = track.owners[position];
+        if (Objects.equals(oldOwner, newOwner)) return;
+
+        boolean oldOwnerHadBonus = oldOwner != null && track.hasBonus(oldOwner);
+        boolean newOwnerHadBonus = newOwner != null && track.hasBonus(newOwner);
+
+        track.assign(position, newOwner);
+
+        if (oldOwner != null && oldOwnerHadBonus != track.hasBonus(oldOwner)) {
+            updateBonus(track, oldOwner, !oldOwnerHadBonus);
+        }
+        if (newOwner != null && newOwnerHadBonus != track.hasBonus(newOwner)) {
+            updateBonus(track, newOwner, !newOwnerHadBonus);
+        }
+    }
+
+    private void updateBonus(RouteTrack track, Long teamId, boolean granted) {
+        Long routeId = track.route.getId();
+        Map<String, Integer> counts = bonusRouteCountByTeamAndArene.computeIfAbsent(teamId, k -> new HashMap<>());
+        if (granted) {
+            bonusRouteIdsByTeam.computeIfAbsent(teamId, k -> new LinkedHashSet<>()).add(routeId);
+            for (String areneId : track.distinctAreneIds) {
+                counts.merge(areneId, 1, Integer::sum);
+            }
+        } else {
+            Set<Long> routeIds = bonusRouteIdsByTeam.get(teamId);
+            routeIds.remove(routeId);
+            if (routeIds.isEmpty()) bonusRouteIdsByTeam.remove(teamId);
+            for (String areneId : track.distinctAreneIds) {
+                counts.computeIfPresent(areneId, (k, c) -> c > 1 ? c - 1 : null);
+            }
+            if (counts.isEmpty()) bonusRouteCountByTeamAndArene.remove(teamId);
+        }
+    }
+
+    private record Position(RouteTrack track, int index) {
+    }
+
+    /**
+     * Segments d'une route : runs[début] = fin (inclusive) pour chaque suite d'arènes
+     * consécutives tenues par la même équipe ; les positions neutres n'ont pas de segment.
+     */
+    private static final class RouteTrack {
+        private final Route route;
+        private final String[] areneIds;
+        private final Set<String> distinctAreneIds;
+        private final Long[] owners;
+        private final TreeMap<Integer, Integer> runs = new TreeMap<>();
+        private final Map<Long, TreeMap<Integer, Integer>> runLengthCountsByTeam = new HashMap<>();
+
+        private RouteTrack(Route route) {
+            this.route = route;
+            List<Arene> arenes = route.getArenes();
+            this.areneIds = new String[arenes.size()];
+            for (int i = 0; i < arenes.size(); i++) {
+                areneIds[i] = arenes.get(i).getId();
+            }
+            this.distinctAreneIds = new LinkedHashSet<>(List.of(areneIds));
+            this.owners = new Long[arenes.size()];
+        }
+
+        private int maxRun(Long teamId) {
+            TreeMap<Integer, Integer> lengths = runLengthCountsByTeam.get(teamId);
+            return lengths == null ? 0 : lengths.lastKey();
+        }
+
+        private boolean hasBonus(Long teamId) {
+            return maxRun(teamId) >= RouteService.MIN_CONSECUTIVE_ARENES_FOR_BONUS;
+        }
+
+        private void assign(int position, Long newOwner) {
+            Long oldOwner = owners[position];
+
+            // Scinder le segment de l'ancien propriétaire autour de la position
+            if (oldOwner != null) {
+                int start = runs.floorKey(position);
+                int end = runs.remove(start);
+                removeRunLength(oldOwner, end - start + 1);
+                if (start < position) addRun(oldOwner, start, position - 1);
+                if (position < end) addRun(oldOwner, position + 1, end);
+            }
+
+            owners[position] = newOwner;
+
+            // Fusionner avec les segments voisins du nouveau propriétaire
+            if (newOwner != null) {
+                int start = position;
+                int end = position;
+                if (position > 0 && newOwner.equals(owners[position - 1])) {
+                    start = runs.floorKey(position - 1);
+                    runs.remove(start);
+                    removeRunLength(newOwner, position - start);
+                }
+                if (position + 1 < owners.length && newOwner.equals(owners[position + 1])) {
+                    end = runs.remove(position + 1);
+                    removeRunLength(newOwner, end - position);
+                }
+                addRun(newOwner, start, end);
+            }
+        }
+
+        private void addRun(Long teamId, int start, int end) {
+            runs.put(start, end);
+            runLengthCountsByTeam.computeIfAbsent(teamId, k -> new TreeMap<>()).merge(end - start + 1, 1, Integer::sum);
+        }
+
+        private void removeRunLength(Long teamId, int length) {
+            TreeMap<Integer, Integer> lengths = runLengthCountsByTeam.get(teamId);
+            lengths.computeIfPresent(length, (k, c) -> c > 1 ? c - 1 : null);
+            if (lengths.isEmpty()) runLengthCountsByTeam.remove(teamId);
+        }
+    }
+}
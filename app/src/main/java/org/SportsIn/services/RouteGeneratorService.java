@@ -2,20 +2,23 @@ package org.SportsIn.services;
 
 import org.SportsIn.model.Arene;
 import org.SportsIn.model.territory.Route;
-import org.SportsIn.utils.GeoUtils;
+import org.SportsIn.utils.SpatialGridIndex;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Service pour générer automatiquement des routes sportives basées sur la proximité géographique.
  */
 public class RouteGeneratorService {
 
+    // Taille de cellule plancher pour l'index spatial (une distance de saut nulle reste valide)
+    private static final double MIN_INDEX_CELL_KM = 0.1;
+
     /**
      * Génère des routes en reliant les arènes les plus proches (Algorithme Greedy Nearest Neighbor).
+     * Les arènes non visitées sont rangées dans un index spatial dont la cellule vaut maxJumpDistanceKm :
+     * chaque recherche de voisin ne parcourt que les cellules adjacentes au lieu de toutes les arènes.
      *
      * @param allArenes Liste de toutes les arènes disponibles.
      * @param maxJumpDistanceKm Distance maximale entre deux arènes pour les relier (ex: 1.5 km).
@@ -24,26 +27,28 @@ public class RouteGeneratorService {
      */
     public List<Route> generateRoutes(List<Arene> allArenes, double maxJumpDistanceKm, int minArenesPerRoute) {
         List<Route> routes = new ArrayList<>();
-        Set<String> visitedArenes = new HashSet<>();
         long routeIdCounter = 1;
 
+        // Index des arènes non visitées : une arène visitée en est retirée.
+        SpatialGridIndex<Arene> unvisited = SpatialGridIndex.of(
+                allArenes, Math.max(maxJumpDistanceKm, MIN_INDEX_CELL_KM), Arene::getLatitude, Arene::getLongitude);
+
         for (Arene startArene : allArenes) {
-            if (visitedArenes.contains(startArene.getId())) {
+            if (!unvisited.remove(startArene)) {
                 continue;
             }
 
             List<Arene> currentRouteArenes = new ArrayList<>();
             currentRouteArenes.add(startArene);
-            visitedArenes.add(startArene.getId());
 
             Arene currentArene = startArene;
 
             while (true) {
-                Arene nearestNeighbor = findNearestUnvisitedNeighbor(currentArene, allArenes, visitedArenes, maxJumpDistanceKm);
+                Arene nearestNeighbor = findNearestUnvisitedNeighbor(currentArene, unvisited, maxJumpDistanceKm);
 
                 if (nearestNeighbor != null) {
                     currentRouteArenes.add(nearestNeighbor);
-                    visitedArenes.add(nearestNeighbor.getId());
+                    unvisited.remove(nearestNeighbor);
                     currentArene = nearestNeighbor;
                 } else {
                     break;
@@ -60,26 +65,8 @@ public class RouteGeneratorService {
         return routes;
     }
 
-    private Arene findNearestUnvisitedNeighbor(Arene current, List<Arene> allArenes, Set<String> visited, double maxDist) {
-        Arene nearest = null;
-        double minDistance = Double.MAX_VALUE;
-
-        for (Arene candidate : allArenes) {
-            if (candidate.getId().equals(current.getId()) || visited.contains(candidate.getId())) {
-                continue;
-            }
-
-            double dist = GeoUtils.calculateDistance(
-                    current.getLatitude(), current.getLongitude(),
-                    candidate.getLatitude(), candidate.getLongitude()
-            );
-
-            if (dist <= maxDist && dist < minDistance) {
-                minDistance = dist;
-                nearest = candidate;
-            }
-        }
-
-        return nearest;
+    private Arene findNearestUnvisitedNeighbor(Arene current, SpatialGridIndex<Arene> unvisited, double maxDist) {
+        return unvisited.findNearest(current.getLatitude(), current.getLongitude(), maxDist)
+                .orElse(null);
     }
 }
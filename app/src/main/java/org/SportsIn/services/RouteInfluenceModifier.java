@@ -1,40 +1,23 @@
 package org.SportsIn.services;
 
-import org.SportsIn.model.territory.Route;
-import org.SportsIn.model.territory.RouteBonus;
-import org.SportsIn.model.territory.RouteRepository;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
+/**
+ * Bonus d'influence des routes : lu dans l'état incrémental RouteControlState,
+ * sans rescanner les routes à chaque calcul.
+ */
 @Component
 public class RouteInfluenceModifier implements InfluenceModifier {
 
-    private final RouteRepository routeRepository;
-    private final RouteService routeService;
+    private final RouteControlState routeControlState;
 
-    public RouteInfluenceModifier(RouteRepository routeRepository) {
-        this.routeRepository = routeRepository;
-        this.routeService = new RouteService();
+    public RouteInfluenceModifier(RouteControlState routeControlState) {
+        this.routeControlState = routeControlState;
     }
 
     @Override
     public double apply(Long teamId, String pointId, double currentModifier) {
-        List<Route> allRoutes = routeRepository.findAll();
-        if (allRoutes.isEmpty()) return currentModifier;
-
-        List<RouteBonus> bonuses = routeService.calculateBonuses(allRoutes, teamId);
-        double routeBonus = 0.0;
-
-        for (RouteBonus bonus : bonuses) {
-            boolean pointIsOnRoute = bonus.getRoute().getArenes().stream()
-                    .anyMatch(a -> a.getId().equals(pointId));
-            if (pointIsOnRoute && "SCORE_MULTIPLIER".equals(bonus.getBonusType())) {
-                routeBonus += bonus.getBonusValue();
-            }
-        }
-
-        return currentModifier + routeBonus;
+        return currentModifier + routeControlState.getScoreBonus(teamId, pointId);
     }
 
     @Override
@@ -13,7 +13,11 @@ import java.util.List;
 public class RouteService {
 
     // Seuil minimal d'arènes consécutives pour déclencher un bonus
-    private static final int MIN_CONSECUTIVE_ARENES_FOR_BONUS = 3;
+    static final int MIN_CONSECUTIVE_ARENES_FOR_BONUS = 3;
+
+    // Bonus de score accordé par route contrôlée (+10%)
+    static final String SCORE_MULTIPLIER = "SCORE_MULTIPLIER";
+    static final double SCORE_MULTIPLIER_BONUS = 0.10;
 
     /**
      * Calcule les bonus actifs pour une équipe donnée sur une liste de routes.
@@ -29,8 +33,7 @@ public class RouteService {
             int maxConsecutive = getMaxConsecutiveArenes(route, teamId);
 
             if (maxConsecutive >= MIN_CONSECUTIVE_ARENES_FOR_BONUS) {
-                double bonusValue = 0.10; 
-                bonuses.add(new RouteBonus(teamId, route, maxConsecutive, "SCORE_MULTIPLIER", bonusValue));
+                bonuses.add(new RouteBonus(teamId, route, maxConsecutive, SCORE_MULTIPLIER, SCORE_MULTIPLIER_BONUS));
             }
         }
 
@@ -0,0 +1,245 @@
+package org.SportsIn.services;
+
+import jakarta.annotation.PreDestroy;
+import org.SportsIn.model.Session;
+import org.SportsIn.model.SessionRepository;
+import org.SportsIn.model.SessionState;
+import org.SportsIn.services.SessionPipelineMetrics.Stage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Traitement asynchrone des fins de session.
+ *
+ * submit() valide la demande et enregistre durablement la date de fin (la session reste ACTIVE
+ * avec endedAt renseigné) : c'est l'acceptation. Les étapes coûteuses (règles, XP, territoire,
+ * missions) s'exécutent ensuite sur un pool dédié via SessionService.processSessionCompletion.
+ *
+ * Les fins de session d'une même arène sont traitées dans l'ordre d'acceptation : chaque tâche
+ * est chaînée derrière la précédente de son arène. Les arènes distinctes avancent en parallèle.
+ * Au démarrage, les sessions acceptées mais pas encore traitées (ACTIVE avec endedAt) sont reprises.
+ *
+ * Un traitement en échec est retenté après un délai qui double à chaque essai, jusqu'à
+ * session.pipeline.max-attempts tentatives. L'échec est consigné (getFailure, getStats) tant que la
+ * session n'a pas été finalisée ; une fois les tentatives épuisées, un nouvel appel à submit()
+ * relance une série d'essais.
+ */
+@Service
+public class SessionCompletionPipeline {
+
+    private final SessionService sessionService;
+    private final SessionRepository sessionRepository;
+    private final SessionPipelineMetrics metrics;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+
+    private final Map<String, CompletableFuture<Void>> tailByArena = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final Map<String, CompletionFailure> failures = new ConcurrentHashMap<>();
+
+    static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    /**
+     * Dernier échec de traitement d'une session. exhausted : plus aucun essai n'est planifié.
+     */
+    public record CompletionFailure(String sessionId, int attempts, String lastError,
+                                    LocalDateTime lastFailedAt, boolean exhausted) {
+    }
+
+    public SessionCompletionPipeline(SessionService sessionService,
+                                     SessionRepository sessionRepository,
+                                     SessionPipelineMetrics metrics,
+                                     @Value("${session.pipeline.threads:4}") int threads,
+                                     @Value("${session.pipeline.max-attempts:5}") int maxAttempts,
+                                     @Value("${session.pipeline.retry-base-ms:1000}") long retryBaseMs) {
+        this.sessionService = sessionService;
+        this.sessionRepository = sessionRepository;
+        this.metrics = metrics;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), namedThreads("session-completion-"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("session-completion-retry-"));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseMs = Math.max(1, retryBaseMs);
+    }
+
+    /**
+     * Accepte la fin d'une session et planifie son traitement.
+     *
+     * @return La session telle qu'acceptée (ou déjà TERMINATED, auquel cas rien n'est planifié).
+     * @throws IllegalArgumentException si la session n'existe pas.
+     */
+    public Session submit(String sessionId) {
+        Session accepted = metrics.time(Stage.VALIDATE, () -> {
+            Session session = sessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new IllegalArgumentException("Session non trouvée avec l'ID: " + sessionId));
+            if (session.getState() == SessionState.TERMINATED) {
+                return session;
+            }
+            if (session.getEndedAt() == null) {
+                session.setEndedAt(LocalDateTime.now());
+                sessionRepository.saveDurably(session);
+            }
+            return session;
+        });
+        if (accepted.getState() != SessionState.TERMINATED) {
+            schedule(accepted);
+        }
+        return accepted;
+    }
+
+    /**
+     * Reprend les sessions acceptées avant un arrêt mais jamais finalisées.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        int recovered = recoverAccepted();
+        if (recovered > 0) {
+            System.out.println("Fins de session reprises au démarrage : " + recovered);
+        }
+    }
+
+    int recoverAccepted() {
+        int recovered = 0;
+        for (Session session : sessionRepository.findByState(SessionState.ACTIVE)) {
+            if (session.getEndedAt() != null && schedule(session)) {
+                recovered++;
+            }
+        }
+        return recovered;
+    }
+
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Dernier échec de traitement de la session, absent si elle n'a jamais échoué ou a été finalisée depuis.
+     */
+    public Optional<CompletionFailure> getFailure(String sessionId) {
+        return Optional.ofNullable(failures.get(sessionId));
+    }
+
+    public Map<String, Object> getStats() {
+        List<CompletionFailure> failed = failures.values().stream()
+                .sorted(Comparator.comparing(CompletionFailure::sessionId))
+                .toList();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("backlog", backlog.get());
+        stats.put("retrying", failed.stream().filter(failure -> !failure.exhausted()).count());
+        stats.put("failed", failed.stream().filter(CompletionFailure::exhausted).count());
+        stats.put("failures", failed);
+        stats.put("stages", metrics.snapshot());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("Fins de session encore en cours à l'arrêt : " + backlog.get() + " (reprises au prochain démarrage)");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean schedule(Session session) {
+        String sessionId = session.getId();
+        if (!inFlight.add(sessionId)) {
+            return false;
+        }
+        backlog.incrementAndGet();
+        // Une session dont les essais étaient épuisés repart pour une nouvelle série
+        failures.computeIfPresent(sessionId, (id, failure) -> failure.exhausted()
+                ? new CompletionFailure(id, 0, failure.lastError(), failure.lastFailedAt(), false)
+                : failure);
+        // Sans arène, aucun ordre à respecter : la session forme sa propre file
+        String key = session.getPointId() != null ? session.getPointId() : "session:" + sessionId;
+        enqueue(sessionId, key);
+        return true;
+    }
+
+    private void enqueue(String sessionId, String key) {
+        CompletableFuture<Void> next = tailByArena.compute(key, (k, tail) -> {
+            CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+            return previous.handleAsync((ignored, error) -> {
+                process(sessionId, key);
+                return null;
+            }, executor);
+        });
+        next.whenComplete((ignored, error) -> tailByArena.remove(key, next));
+    }
+
+    private void process(String sessionId, String key) {
+        try {
+            sessionService.processSessionCompletion(sessionId);
+            failures.remove(sessionId);
+        } catch (RuntimeException e) {
+            CompletionFailure failure = failures.compute(sessionId, (id, previous) -> {
+                int attempts = previous != null ? previous.attempts() + 1 : 1;
+                return new CompletionFailure(id, attempts, e.getMessage(), LocalDateTime.now(), attempts >= maxAttempts);
+            });
+            if (!failure.exhausted() && retryLater(sessionId, key, failure)) {
+                return;
+            }
+            System.err.println("Abandon du traitement de fin de la session " + sessionId + " après "
+                    + failure.attempts() + " tentative(s) : " + e.getMessage());
+        }
+        inFlight.remove(sessionId);
+        backlog.decrementAndGet();
+    }
+
+    /**
+     * Planifie un nouvel essai ; la session reste en cours (inFlight, backlog) jusqu'à son issue.
+     */
+    private boolean retryLater(String sessionId, String key, CompletionFailure failure) {
+        long delayMs = retryDelayMs(failure.attempts());
+        try {
+            retryScheduler.schedule(() -> enqueue(sessionId, key), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Arrêt en cours : la session reste acceptée et sera reprise au prochain démarrage
+            return false;
+        }
+        System.err.println("Échec du traitement de fin de la session " + sessionId + " (tentative "
+                + failure.attempts() + "/" + maxAttempts + "), nouvel essai dans " + delayMs + " ms : " + failure.lastError());
+        return true;
+    }
+
+    long retryDelayMs(int attempts) {
+        return Math.min(MAX_RETRY_DELAY_MS, retryBaseMs << Math.min(attempts - 1, 20));
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
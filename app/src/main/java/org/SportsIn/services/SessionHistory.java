@@ -0,0 +1,53 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.Session;
+import org.SportsIn.model.SessionDailyAggregate;
+import org.SportsIn.model.SessionRepository;
+import org.SportsIn.repository.SessionDailyAggregateRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Historique des sessions terminées, sur les deux niveaux de rétention :
+ * les sessions détaillées de la fenêtre chaude (SessionRepository) et les agrégats journaliers
+ * des sessions plus anciennes (session_daily_aggregate).
+ *
+ * Un agrégat est restitué comme une seule fin de session à sa date de fin la plus récente,
+ * ce qui suffit aux missions (existe-t-il une session de ce sport sur cette arène depuis X ?).
+ */
+@Component
+public class SessionHistory {
+
+    private final SessionRepository sessionRepository;
+    private final SessionDailyAggregateRepository aggregateRepository;
+
+    public SessionHistory(SessionRepository sessionRepository,
+                          SessionDailyAggregateRepository aggregateRepository) {
+        this.sessionRepository = sessionRepository;
+        this.aggregateRepository = aggregateRepository;
+    }
+
+    /**
+     * Fins de sessions postérieures à since, fenêtre chaude et agrégats confondus.
+     */
+    public List<SessionEnd> terminatedSince(LocalDateTime since) {
+        List<SessionEnd> ends = new ArrayList<>();
+        // Fenêtre chaude lue en premier : une session compactée entre les deux lectures
+        // est déjà dans les agrégats quand ceux-ci sont lus
+        for (Session s : sessionRepository.findTerminatedEndedAfter(since)) {
+            if (s.getSport() == null) continue;
+            ends.add(new SessionEnd(s.getSport().getCode(), s.getPointId(), s.getEndedAt()));
+        }
+        for (SessionDailyAggregate a : aggregateRepository.findEndedAfter(since.toString())) {
+            String pointId = a.getPointId().isEmpty() ? null : a.getPointId();
+            ends.add(new SessionEnd(a.getSportCode(), pointId, LocalDateTime.parse(a.getLastEndedAt())));
+        }
+        return ends;
+    }
+
+    public record SessionEnd(String sportCode, String pointId, LocalDateTime endedAt) {
+    }
+}
@@ -0,0 +1,87 @@
+package org.SportsIn.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Latences par étape du traitement de fin de session (nombre d'exécutions, moyenne, maximum).
+ */
+@Component
+public class SessionPipelineMetrics {
+
+    public enum Stage {
+        VALIDATE,
+        EVALUATE,
+        GRANT_XP,
+        TERRITORY,
+        SIDE_EFFECTS
+    }
+
+    private final Map<Stage, StageStats> stats;
+
+    public SessionPipelineMetrics() {
+        Map<Stage, StageStats> byStage = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            byStage.put(stage, new StageStats());
+        }
+        this.stats = Collections.unmodifiableMap(byStage);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void time(Stage stage, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void record(Stage stage, long nanos) {
+        StageStats s = stats.get(stage);
+        s.count.increment();
+        s.totalNanos.add(nanos);
+        s.maxNanos.accumulate(nanos);
+    }
+
+    public long getCount(Stage stage) {
+        return stats.get(stage).count.sum();
+    }
+
+    /**
+     * Statistiques par étape, en millisecondes : count, avgMillis, maxMillis.
+     */
+    public Map<String, Map<String, Number>> snapshot() {
+        Map<String, Map<String, Number>> snapshot = new LinkedHashMap<>();
+        stats.forEach((stage, s) -> {
+            long count = s.count.sum();
+            Map<String, Number> values = new LinkedHashMap<>();
+            values.put("count", count);
+            values.put("avgMillis", count == 0 ? 0.0 : s.totalNanos.sum() / 1_000_000.0 / count);
+            values.put("maxMillis", s.maxNanos.get() / 1_000_000.0);
+            snapshot.put(stage.name(), values);
+        });
+        return snapshot;
+    }
+
+    private static final class StageStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+}
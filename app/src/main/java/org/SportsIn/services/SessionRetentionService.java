@@ -0,0 +1,121 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.Participant;
+import org.SportsIn.model.ParticipantType;
+import org.SportsIn.model.Session;
+import org.SportsIn.model.SessionRepository;
+import org.SportsIn.repository.SessionDailyAggregateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Politique de rétention des sessions terminées.
+ *
+ * Les sessions terminées depuis moins de session.retention.hot-days jours restent détaillées
+ * dans SessionRepository. Au-delà, elles sont comptées dans session_daily_aggregate par
+ * (jour, sport, arène, équipe) puis supprimées du dépôt, ce qui borne sa taille.
+ * La fenêtre par défaut (14 jours) couvre la fenêtre de génération des missions DIVERSITY ;
+ * SessionHistory restitue les deux niveaux aux missions.
+ *
+ * Peut être désactivée via la propriété session.retention.enabled=false.
+ */
+@Service
+@ConditionalOnProperty(name = "session.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class SessionRetentionService {
+
+    private final SessionRepository sessionRepository;
+    private final SessionDailyAggregateRepository aggregateRepository;
+    private final int hotDays;
+
+    public SessionRetentionService(SessionRepository sessionRepository,
+                                   SessionDailyAggregateRepository aggregateRepository,
+                                   @Value("${session.retention.hot-days:14}") int hotDays) {
+        this.sessionRepository = sessionRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.hotDays = hotDays;
+    }
+
+    /**
+     * Toutes les heures : compacte les sessions sorties de la fenêtre chaude.
+     */
+    @Scheduled(fixedRate = 3_600_000)
+    @Transactional
+    public void compact() {
+        int compacted = compactBefore(LocalDateTime.now().minusDays(hotDays));
+        if (compacted > 0) {
+            System.out.println("Rétention : " + compacted + " sessions compactées en agrégats journaliers.");
+        }
+    }
+
+    /**
+     * Agrège puis supprime les sessions terminées avant cutoff. Une session sans sport ne peut
+     * pas être agrégée (le sport fait partie de la clé) : elle reste détaillée dans le dépôt.
+     *
+     * @return Le nombre de sessions compactées.
+     */
+    @Transactional
+    public int compactBefore(LocalDateTime cutoff) {
+        List<Session> expired = sessionRepository.findTerminatedEndedBefore(cutoff);
+        if (expired.isEmpty()) return 0;
+
+        List<Session> compacted = new ArrayList<>(expired.size());
+        Map<AggregateKey, Tally> tallies = new LinkedHashMap<>();
+        for (Session session : expired) {
+            if (session.getSport() == null || session.getSport().getCode() == null) continue;
+            compacted.add(session);
+            String day = session.getEndedAt().toLocalDate().toString();
+            String pointId = session.getPointId() != null ? session.getPointId() : "";
+            for (String teamId : teamIds(session)) {
+                tallies.computeIfAbsent(new AggregateKey(day, session.getSport().getCode(), pointId, teamId),
+                        k -> new Tally()).add(session.getEndedAt());
+            }
+        }
+        tallies.forEach((key, tally) -> aggregateRepository.accumulate(
+                key.day, key.sportCode, key.pointId, key.teamId, tally.count, tally.lastEndedAt.toString()));
+
+        // Suppression après l'écriture des agrégats : une session n'est jamais absente des deux niveaux
+        for (Session session : compacted) {
+            sessionRepository.deleteById(session.getId());
+        }
+        return compacted.size();
+    }
+
+    private static List<String> teamIds(Session session) {
+        List<String> teamIds = new ArrayList<>();
+        if (session.getParticipants() != null) {
+            for (Participant p : session.getParticipants()) {
+                if (p.getType() == ParticipantType.TEAM && p.getId() != null) {
+                    teamIds.add(p.getId());
+                }
+            }
+        }
+        if (teamIds.isEmpty()) {
+            teamIds.add("");
+        }
+        return teamIds;
+    }
+
+    private record AggregateKey(String day, String sportCode, String pointId, String teamId) {
+    }
+
+    private static final class Tally {
+        private int count;
+        private LocalDateTime lastEndedAt;
+
+        void add(LocalDateTime endedAt) {
+            count++;
+            if (lastEndedAt == null || endedAt.isAfter(lastEndedAt)) {
+                lastEndedAt = endedAt;
+            }
+        }
+    }
+}
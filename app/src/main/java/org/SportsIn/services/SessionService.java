@@ -1,11 +1,16 @@
 package org.SportsIn.services;
 
+import org.SportsIn.events.SessionTerminatedEvent;
 import org.SportsIn.model.EvaluationResult;
 import org.SportsIn.model.Session;
 import org.SportsIn.model.SessionRepository;
 import org.SportsIn.model.SessionState;
+import org.SportsIn.services.SessionPipelineMetrics.Stage;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 /**
  * Service agissant comme un chef d'orchestre pour gérer la logique métier
  * liée aux sessions de sport.
@@ -17,20 +22,34 @@ public class SessionService {
     private final TerritoryService territoryService;
     private final XpGrantService xpGrantService;
     private final RuleEvaluationService ruleEvaluationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionPipelineMetrics metrics;
 
     public SessionService(SessionRepository sessionRepository,
                           TerritoryService territoryService,
                           XpGrantService xpGrantService,
-                          RuleEvaluationService ruleEvaluationService) {
+                          RuleEvaluationService ruleEvaluationService,
+                          ApplicationEventPublisher eventPublisher,
+                          SessionPipelineMetrics metrics) {
         this.sessionRepository = sessionRepository;
         this.territoryService = territoryService;
         this.xpGrantService = xpGrantService;
         this.ruleEvaluationService = ruleEvaluationService;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
     }
 
     /**
-     * Finalise une session : détermine le vainqueur, met à jour le contrôle de l'arène
-     * et sauvegarde l'état final de la session.
+     * Finalise une session : détermine le vainqueur, attribue l'XP, met à jour le contrôle
+     * de l'arène, sauvegarde l'état final de la session et publie un SessionTerminatedEvent.
+     *
+     * Exécuté par étapes chronométrées (SessionPipelineMetrics) ; en production, appelé depuis
+     * SessionCompletionPipeline, hors du thread de la requête HTTP.
+     *
+     * Peut être rejoué (nouvel essai du pipeline, reprise au démarrage) : une session déjà
+     * terminée est ignorée, et l'XP de match n'est attribuée qu'une fois, la session étant
+     * marquée durablement avant l'attribution. Un échec entre le marquage et l'attribution perd
+     * donc l'XP plutôt que de la doubler ; territoire et fin de session sont idempotents.
      *
      * @param sessionId L'ID de la session à traiter.
      */
@@ -38,25 +57,59 @@ public class SessionService {
         // Étape 0 : Récupérer la session
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("Session non trouvée avec l'ID: " + sessionId));
+        if (session.getState() == SessionState.TERMINATED) {
+            return;
+        }
 
         // Étape 1 : Déterminer le vainqueur via le service de règles
-        EvaluationResult verdict = ruleEvaluationService.evaluateVictory(session);
+        EvaluationResult verdict = metrics.time(Stage.EVALUATE, () -> ruleEvaluationService.evaluateVictory(session));
         if (verdict == null || verdict.getWinnerParticipantId() == null) {
             System.out.println("La session " + sessionId + " s'est terminée sans vainqueur. Pas de changement de territoire.");
-            session.setState(SessionState.TERMINATED);
-            sessionRepository.save(session);
+            metrics.time(Stage.SIDE_EFFECTS, () -> terminate(session));
             return;
         }
-        
+
         Long winnerTeamId;
         try {
             winnerTeamId = Long.parseLong(verdict.getWinnerParticipantId());
         } catch (NumberFormatException e) {
-            System.err.println("Erreur: L'ID du gagnant n'est pas un nombre valide: " + verdict.getWinnerParticipantId());
+            System.err.println("Erreur: L'ID du gagnant n'est pas un nombre valide: " + verdict.getWinnerParticipantId()
+                    + ". La session " + sessionId + " est terminée sans vainqueur.");
+            metrics.time(Stage.SIDE_EFFECTS, () -> terminate(session));
             return;
         }
 
-        // --- Attribution d'XP de match ---
+        // Étape 2 : Attribution d'XP de match
+        metrics.time(Stage.GRANT_XP, () -> grantMatchXp(session, winnerTeamId));
+
+        // Étape 3 : Territoire. Le bonus de routes est lu avant la mise à jour du contrôle
+        String pointId = session.getPointId();
+        double bonusMultiplier = metrics.time(Stage.TERRITORY, () -> {
+            if (pointId == null) return 0.0;
+            double bonus = territoryService.getScoreBonusForTeamOnPoint(winnerTeamId, pointId);
+            territoryService.updateTerritoryControl(pointId, winnerTeamId);
+            return bonus;
+        });
+
+        // Étape 4 : Effets de bord : journal du bonus, état final de la session, événement
+        metrics.time(Stage.SIDE_EFFECTS, () -> {
+            if (bonusMultiplier > 0) {
+                System.out.println(">>> BONUS APPLIQUÉ ! L'équipe " + winnerTeamId + " bénéficie d'un boost de " + (bonusMultiplier * 100) + "% grâce à ses routes.");
+            }
+            session.setWinnerParticipantId(winnerTeamId.toString());
+            terminate(session);
+        });
+
+        System.out.println("La session " + sessionId + " est terminée. Vainqueur: équipe " + winnerTeamId);
+    }
+
+    private void grantMatchXp(Session session, Long winnerTeamId) {
+        if (session.isMatchXpGranted()) {
+            return;
+        }
+        session.setMatchXpGranted(true);
+        sessionRepository.saveDurably(session);
+
         xpGrantService.grantMatchXp(winnerTeamId, true);
         // Attribuer XP de participation aux perdants
         for (var participant : session.getParticipants()) {
@@ -68,26 +121,17 @@ public class SessionService {
             } catch (NumberFormatException ignored) {
             }
         }
+    }
 
-        // --- Application du Bonus d'influence ---
-        String pointId = session.getPointId();
-        if (pointId != null) {
-            // On vérifie si l'équipe gagnante bénéficie d'un bonus sur cette arène
-            double bonusMultiplier = territoryService.getScoreBonusForTeamOnPoint(winnerTeamId, pointId);
-            
-            if (bonusMultiplier > 0) {
-                System.out.println(">>> BONUS APPLIQUÉ ! L'équipe " + winnerTeamId + " bénéficie d'un boost de " + (bonusMultiplier * 100) + "% grâce à ses routes.");
-            }
-
-            // Déléguer la gestion du territoire au TerritoryService
-            territoryService.updateTerritoryControl(pointId, winnerTeamId);
-        }
-
-        // Étape 3 : Mettre à jour l'état final de la session
-        session.setWinnerParticipantId(winnerTeamId.toString());
+    private void terminate(Session session) {
         session.setState(SessionState.TERMINATED);
+        if (session.getEndedAt() == null) {
+            session.setEndedAt(LocalDateTime.now());
+        }
         sessionRepository.save(session);
 
-        System.out.println("La session " + sessionId + " est terminée. Vainqueur: équipe " + winnerTeamId);
+        String sportCode = session.getSport() != null ? session.getSport().getCode() : null;
+        eventPublisher.publishEvent(new SessionTerminatedEvent(
+                session.getId(), sportCode, session.getPointId(), session.getEndedAt()));
     }
 }
@@ -0,0 +1,52 @@
+package org.SportsIn.services;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Ensemble fixe de verrous répartis par hachage de clé.
+ *
+ * Deux clés égales partagent toujours le même verrou ; deux clés différentes le partagent
+ * rarement (collision de bande), ce qui sérialise sans bloquer le reste.
+ * La mémoire est bornée quel que soit le nombre de clés.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Le nombre de bandes doit être positif : " + stripeCount);
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Object key, Supplier<T> work) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withLock(Object key, Runnable work) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            work.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock lockFor(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[Math.floorMod(h, stripes.length)];
+    }
+}
@@ -4,7 +4,6 @@ import org.SportsIn.model.progression.LevelThreshold;
 import org.SportsIn.model.progression.PerkDefinition;
 import org.SportsIn.model.user.Equipe;
 import org.SportsIn.repository.EquipeRepository;
-import org.SportsIn.repository.PerkDefinitionRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,12 +12,12 @@ import java.util.List;
 public class TeamProgressionService {
 
     private final EquipeRepository equipeRepository;
-    private final PerkDefinitionRepository perkDefinitionRepository;
+    private final PerkCatalog perkCatalog;
 
     public TeamProgressionService(EquipeRepository equipeRepository,
-                                  PerkDefinitionRepository perkDefinitionRepository) {
+                                  PerkCatalog perkCatalog) {
         this.equipeRepository = equipeRepository;
-        this.perkDefinitionRepository = perkDefinitionRepository;
+        this.perkCatalog = perkCatalog;
     }
 
     public int getLevel(Equipe equipe) {
@@ -37,7 +36,7 @@ public class TeamProgressionService {
 
     public List<PerkDefinition> getUnlockedPerks(Equipe equipe) {
         int level = getLevel(equipe);
-        return perkDefinitionRepository.findByRequiredLevelLessThanEqual(level);
+        return perkCatalog.findByRequiredLevelLessThanEqual(level);
     }
 
     public List<PerkDefinition> getUnlockedPerks(Long teamId) {
@@ -47,6 +46,6 @@ public class TeamProgressionService {
     }
 
     public List<PerkDefinition> getAllPerkDefinitions() {
-        return perkDefinitionRepository.findAll();
+        return perkCatalog.findAll();
     }
 }
@@ -1,5 +1,7 @@
 package org.SportsIn.services;
 
+import org.SportsIn.events.ArenaCapturedEvent;
+import org.SportsIn.events.ZoneControlChangedEvent;
 import org.SportsIn.model.Arene;
 import org.SportsIn.model.territory.Zone;
 import org.SportsIn.model.territory.ZoneRepository;
@@ -8,12 +10,18 @@ import org.SportsIn.model.territory.RouteBonus;
 import org.SportsIn.model.territory.RouteRepository;
 import org.SportsIn.repository.AreneRepository;
 import org.SportsIn.repository.EquipeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service responsable de la logique de conquête de territoire (Arènes et Zones).
+ *
+ * Les mises à jour d'une même arène sont sérialisées par un verrou à bandes, et le recalcul
+ * d'une zone par un second jeu de bandes : deux sessions sur des arènes différentes avancent
+ * en parallèle. Ordre d'acquisition toujours arène puis zone, une zone à la fois.
  */
 @Service
 public class TerritoryService {
@@ -22,22 +30,31 @@ public class TerritoryService {
     private final EquipeRepository equipeRepository;
     private final ZoneRepository zoneRepository;
     private final RouteRepository routeRepository;
-    private final RouteService routeService;
+    private final RouteControlState routeControlState;
     private final RouteGeneratorService routeGeneratorService;
     private final InfluenceCalculator influenceCalculator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final StripedLock areneLocks = new StripedLock(LOCK_STRIPES);
+    private final StripedLock zoneLocks = new StripedLock(LOCK_STRIPES);
+
+    private static final int LOCK_STRIPES = 64;
 
     public TerritoryService(AreneRepository areneRepository,
                             EquipeRepository equipeRepository,
                             ZoneRepository zoneRepository,
                             RouteRepository routeRepository,
-                            InfluenceCalculator influenceCalculator) {
+                            RouteControlState routeControlState,
+                            InfluenceCalculator influenceCalculator,
+                            ApplicationEventPublisher eventPublisher) {
         this.areneRepository = areneRepository;
         this.equipeRepository = equipeRepository;
         this.zoneRepository = zoneRepository;
         this.routeRepository = routeRepository;
-        this.routeService = new RouteService();
+        this.routeControlState = routeControlState;
         this.routeGeneratorService = new RouteGeneratorService();
         this.influenceCalculator = influenceCalculator;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -51,7 +68,8 @@ public class TerritoryService {
         
         routeRepository.deleteAll();
         routeRepository.saveAll(generatedRoutes);
-        
+        routeControlState.rebuild();
+
         System.out.println(">>> Routes générées automatiquement : " + generatedRoutes.size());
         for (Route r : generatedRoutes) {
             System.out.println("    - " + r.getNom() + " (" + r.getArenes().size() + " arènes)");
@@ -78,12 +96,22 @@ public class TerritoryService {
 
     /**
      * Appelé lorsqu'une équipe gagne une session sur une arène.
-     * Met à jour l'arène et vérifie si cela déclenche la capture d'une zone.
+     * Met à jour l'arène, vérifie si cela déclenche la capture d'une zone puis publie un
+     * ArenaCapturedEvent en cas de changement de propriétaire.
+     *
+     * L'événement est publié sous le verrou de l'arène, pour que les captures d'une même arène
+     * arrivent aux écouteurs dans l'ordre, mais après la mise à jour des zones et des routes : un
+     * écouteur en échec ne peut plus l'empêcher. Les écouteurs coûteux (évaluation des missions)
+     * travaillent sur leur propre thread.
      *
      * @param areneId L'ID de l'arène concernée.
      * @param winningTeamId L'ID de l'équipe gagnante.
      */
     public void updateTerritoryControl(String areneId, Long winningTeamId) {
+        areneLocks.withLock(areneId, () -> applyTerritoryControl(areneId, winningTeamId));
+    }
+
+    private void applyTerritoryControl(String areneId, Long winningTeamId) {
         areneRepository.findById(areneId).ifPresent(arene -> {
             Long oldOwner = arene.getControllingTeamId();
             
@@ -94,9 +122,11 @@ public class TerritoryService {
 
             System.out.println("Arène " + arene.getNom() + " (ID: " + areneId + ") passe de l'équipe " + oldOwner + " à l'équipe " + winningTeamId);
             
-            equipeRepository.findById(winningTeamId).ifPresent(equipe -> {
+            Optional<ArenaCapturedEvent> captured = equipeRepository.findById(winningTeamId).map(equipe -> {
                 arene.setControllingTeam(equipe);
                 areneRepository.save(arene);
+                routeControlState.onArenaOwnerChanged(areneId, winningTeamId);
+                return new ArenaCapturedEvent(areneId, winningTeamId, oldOwner);
             });
 
             // Vérifier les zones impactées
@@ -104,33 +134,45 @@ public class TerritoryService {
 
             // Vérifier les bonus de route
             checkRouteBonuses(winningTeamId);
+
+            captured.ifPresent(this::publishCapture);
         });
     }
 
+    private void publishCapture(ArenaCapturedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            System.err.println("Échec d'un écouteur de capture de l'arène " + event.areneId() + " : " + e.getMessage());
+        }
+    }
+
     private void checkZonesImpactedByArene(String areneId) {
         List<Zone> impactedZones = zoneRepository.findZonesByAreneId(areneId);
         
         for (Zone zone : impactedZones) {
-            boolean changed = zone.updateZoneControl();
-            
-            if (changed) {
-                Long newZoneOwner = zone.getControllingTeamId();
-                zoneRepository.save(zone);
-                
-                if (newZoneOwner != null) {
-                    System.out.println(">>> ZONE CONQUISE ! La zone '" + zone.getNom() + "' est maintenant contrôlée par l'équipe " + newZoneOwner);
-                } else {
-                    System.out.println(">>> ZONE PERDUE ! La zone '" + zone.getNom() + "' est redevenue neutre/contestée.");
+            // Une zone couvre plusieurs arènes : son recalcul est sérialisé à part
+            zoneLocks.withLock(zone.getId(), () -> {
+                Long previousZoneOwner = zone.getControllingTeamId();
+                boolean changed = zone.updateZoneControl();
+
+                if (changed) {
+                    Long newZoneOwner = zone.getControllingTeamId();
+                    zoneRepository.save(zone);
+                    eventPublisher.publishEvent(new ZoneControlChangedEvent(zone.getId(), newZoneOwner, previousZoneOwner));
+
+                    if (newZoneOwner != null) {
+                        System.out.println(">>> ZONE CONQUISE ! La zone '" + zone.getNom() + "' est maintenant contrôlée par l'équipe " + newZoneOwner);
+                    } else {
+                        System.out.println(">>> ZONE PERDUE ! La zone '" + zone.getNom() + "' est redevenue neutre/contestée.");
+                    }
                 }
-            }
+            });
         }
     }
 
     private void checkRouteBonuses(Long teamId) {
-        List<Route> allRoutes = routeRepository.findAll();
-        if (allRoutes.isEmpty()) return;
-
-        List<RouteBonus> bonuses = routeService.calculateBonuses(allRoutes, teamId);
+        List<RouteBonus> bonuses = routeControlState.getBonuses(teamId);
         if (!bonuses.isEmpty()) {
             System.out.println(">>> BONUS DE ROUTE ACTIFS pour l'équipe " + teamId + " :");
             for (RouteBonus bonus : bonuses) {
@@ -0,0 +1,86 @@
+package org.SportsIn.services;
+
+import jakarta.annotation.PreDestroy;
+import org.SportsIn.events.TeamScoreChangedEvent;
+import org.SportsIn.repository.EquipeRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cumule en mémoire les gains d'XP par équipe et les écrit périodiquement en base,
+ * un UPDATE incrémental par équipe (xp = xp + somme) au lieu d'un par attribution.
+ *
+ * L'XP lue depuis l'entité Equipe peut donc être en retard d'au plus un intervalle
+ * (xp.accumulator.flush-interval-ms) ; getPendingXp() donne la part non encore écrite.
+ */
+@Component
+public class XpAccumulator {
+
+    private final EquipeRepository equipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, Integer> pendingXp = new ConcurrentHashMap<>();
+
+    public XpAccumulator(EquipeRepository equipeRepository, ApplicationEventPublisher eventPublisher) {
+        this.equipeRepository = equipeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void add(Long teamId, int amount) {
+        if (teamId == null || amount <= 0) return;
+        pendingXp.merge(teamId, amount, Integer::sum);
+    }
+
+    public int getPendingXp(Long teamId) {
+        return pendingXp.getOrDefault(teamId, 0);
+    }
+
+    public int getPendingTeams() {
+        return pendingXp.size();
+    }
+
+    @Scheduled(fixedDelayString = "${xp.accumulator.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Écrit l'XP cumulée de chaque équipe. Un gain arrivé pendant le vidage reste
+     * en attente pour le passage suivant ; une écriture en échec est remise en attente.
+     * Chaque écriture réussie publie un TeamScoreChangedEvent.
+     *
+     * @return Le nombre d'équipes mises à jour.
+     */
+    public synchronized int flush() {
+        if (pendingXp.isEmpty()) return 0;
+        List<Long> teamIds = new ArrayList<>(pendingXp.keySet());
+        int flushed = 0;
+        for (Long teamId : teamIds) {
+            Integer amount = pendingXp.remove(teamId);
+            if (amount == null) continue;
+            try {
+                if (equipeRepository.addXp(teamId, amount) > 0) {
+                    eventPublisher.publishEvent(new TeamScoreChangedEvent(teamId, 0, amount));
+                }
+                flushed++;
+            } catch (RuntimeException e) {
+                pendingXp.merge(teamId, amount, Integer::sum);
+                System.err.println("Échec de l'écriture de l'XP de l'équipe " + teamId + " : " + e.getMessage());
+            }
+        }
+        return flushed;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            System.out.println("XP en attente écrite à l'arrêt pour " + flushed + " équipes.");
+        }
+    }
+}
@@ -1,16 +1,14 @@
 package org.SportsIn.services;
 
 import org.SportsIn.model.progression.ActivePerk;
-import org.SportsIn.model.progression.PerkDefinition;
-import org.SportsIn.repository.ActivePerkRepository;
-import org.SportsIn.repository.EquipeRepository;
-import org.SportsIn.repository.PerkDefinitionRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.util.List;
 
+/**
+ * Calcule les gains d'XP (base et multiplicateurs de perks) et les confie à XpAccumulator,
+ * qui les écrit en base par incréments groupés.
+ */
 @Service
 public class XpGrantService {
 
@@ -19,33 +17,30 @@ public class XpGrantService {
     private static final int XP_ROUTE_CONTROL = 15;
     private static final int XP_POINT_HOLDING_PER_HOUR = 5;
 
-    private final EquipeRepository equipeRepository;
-    private final ActivePerkRepository activePerkRepository;
-    private final PerkDefinitionRepository perkDefinitionRepository;
+    private final XpAccumulator xpAccumulator;
+    private final ActivePerkIndex activePerkIndex;
+    private final PerkCatalog perkCatalog;
 
-    public XpGrantService(EquipeRepository equipeRepository,
-                          ActivePerkRepository activePerkRepository,
-                          PerkDefinitionRepository perkDefinitionRepository) {
-        this.equipeRepository = equipeRepository;
-        this.activePerkRepository = activePerkRepository;
-        this.perkDefinitionRepository = perkDefinitionRepository;
+    public XpGrantService(XpAccumulator xpAccumulator,
+                          ActivePerkIndex activePerkIndex,
+                          PerkCatalog perkCatalog) {
+        this.xpAccumulator = xpAccumulator;
+        this.activePerkIndex = activePerkIndex;
+        this.perkCatalog = perkCatalog;
     }
 
-    @Transactional
     public void grantMatchXp(Long teamId, boolean won) {
         int base = won ? XP_MATCH_WIN : XP_MATCH_LOSS;
         int amount = applyXpMultiplier(teamId, base);
         addXp(teamId, amount);
     }
 
-    @Transactional
     public void grantRouteControlXp(Long teamId, int routeCount) {
         int base = routeCount * XP_ROUTE_CONTROL;
         int amount = applyXpMultiplier(teamId, base);
         addXp(teamId, amount);
     }
 
-    @Transactional
     public void grantPointHoldingXp(Long teamId, long holdingHours) {
         int base = (int) (holdingHours * XP_POINT_HOLDING_PER_HOUR);
         int amount = applyXpMultiplier(teamId, base);
@@ -53,19 +48,15 @@ public class XpGrantService {
     }
 
     private int applyXpMultiplier(Long teamId, int baseXp) {
-        if (activePerkRepository == null) return baseXp;
-        String now = Instant.now().toString();
-        List<ActivePerk> activePerks = activePerkRepository.findActiveByTeam(teamId, now);
+        if (activePerkIndex == null) return baseXp;
+        List<ActivePerk> activePerks = activePerkIndex.findActiveByTeam(teamId);
 
         double multiplier = 1.0;
         for (ActivePerk ap : activePerks) {
-            PerkDefinition def = perkDefinitionRepository.findById(ap.getPerkDefinitionId())
+            PerkCatalog.Entry perk = perkCatalog.findById(ap.getPerkDefinitionId())
                     .orElse(null);
-            if (def != null && "XP_MULTIPLIER".equals(def.getEffectType())) {
-                var params = def.getParametersAsMap();
-                Object raw = params.get("multiplier");
-                double bonus = raw instanceof Number n ? n.doubleValue() : 1.5;
-                multiplier *= bonus;
+            if (perk != null && "XP_MULTIPLIER".equals(perk.effectType())) {
+                multiplier *= perk.parameters().multiplier().orElse(1.5);
             }
         }
 
@@ -73,10 +64,7 @@ public class XpGrantService {
     }
 
     private void addXp(Long teamId, int amount) {
-        if (amount <= 0 || equipeRepository == null) return;
-        equipeRepository.findById(teamId).ifPresent(equipe -> {
-            equipe.setXp(equipe.getXp() + amount);
-            equipeRepository.save(equipe);
-        });
+        if (amount <= 0 || xpAccumulator == null) return;
+        xpAccumulator.add(teamId, amount);
     }
 }
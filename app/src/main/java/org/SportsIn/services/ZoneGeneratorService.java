@@ -2,15 +2,54 @@ package org.SportsIn.services;
 
 import org.SportsIn.model.Arene;
 import org.SportsIn.model.territory.Zone;
-import org.SportsIn.utils.GeoUtils;
+import org.SportsIn.utils.SpatialGridIndex;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
+/**
+ * Génère des zones en regroupant les arènes proches autour d'un centre (clustering par rayon).
+ *
+ * Les voisinages sont calculés via un index spatial, puis la carte est découpée en tuiles
+ * indépendantes : les composantes connexes du graphe "à moins de radiusKm". Une arène ne peut
+ * influencer que des arènes de sa propre tuile, donc chaque tuile est traitée séparément
+ * (en parallèle sur un ForkJoinPool pour les gros catalogues). Les zones sont ensuite numérotées
+ * dans l'ordre de la liste d'entrée : le résultat est identique à un parcours séquentiel et
+ * les IDs de zone restent stables d'un redémarrage à l'autre.
+ *
+ * Le regroupement ne gagne au parallélisme que sur un catalogue clairsemé. Dans une ville dense,
+ * les arènes forment une seule composante, donc une seule tuile traitée séquentiellement ; seul
+ * le calcul des voisinages reste parallèle. Découper cette tuile spatialement changerait les
+ * zones produites, car le regroupement glouton dépend de l'ordre de la liste d'entrée.
+ */
 public class ZoneGeneratorService {
 
+    // Taille de cellule plancher pour l'index spatial (un rayon nul reste valide)
+    private static final double MIN_INDEX_CELL_KM = 0.1;
+
+    // En dessous de ce nombre d'arènes, le coût du parallélisme dépasse le gain
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private final ForkJoinPool pool;
+
+    public ZoneGeneratorService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ZoneGeneratorService(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
     /**
      * Génère automatiquement des zones en regroupant les arènes proches.
      *
@@ -20,46 +59,155 @@ public class ZoneGeneratorService {
      * @return Une liste de zones générées.
      */
     public List<Zone> generateZonesFromArenes(List<Arene> allArenes, double radiusKm, int minArenesPerZone) {
-        List<Zone> generatedZones = new ArrayList<>();
-        Set<String> assignedAreneIds = new HashSet<>();
+        List<Arene> arenes = distinctById(allArenes);
+        int n = arenes.size();
+        boolean parallel = n >= PARALLEL_THRESHOLD;
+
+        // 1. Voisinages (ordinaux triés, l'arène elle-même incluse) via l'index spatial
+        Map<Arene, Integer> ordinals = new IdentityHashMap<>();
+        for (int i = 0; i < n; i++) {
+            ordinals.put(arenes.get(i), i);
+        }
+        SpatialGridIndex<Arene> index = SpatialGridIndex.of(
+                arenes, Math.max(radiusKm, MIN_INDEX_CELL_KM), Arene::getLatitude, Arene::getLongitude);
+
+        int[][] neighbors = new int[n][];
+        IntConsumer computeNeighbors = i -> {
+            Arene center = arenes.get(i);
+            neighbors[i] = index.findWithinRadius(center.getLatitude(), center.getLongitude(), radiusKm).stream()
+                    .mapToInt(ordinals::get)
+                    .toArray();
+        };
+        if (parallel) {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(computeNeighbors)).join();
+        } else {
+            IntStream.range(0, n).forEach(computeNeighbors);
+        }
+
+        // 2. Découpage en tuiles indépendantes (composantes connexes)
+        List<int[]> tiles = splitIntoTiles(neighbors);
+
+        // 3. Regroupement glouton dans chaque tuile (séquentiel à l'intérieur d'une tuile)
+        boolean[] assigned = new boolean[n];
+        List<List<int[]>> groupsPerTile;
+        if (parallel && tiles.size() > 1) {
+            groupsPerTile = pool.submit(() -> tiles.parallelStream()
+                    .map(tile -> clusterTile(tile, neighbors, assigned, minArenesPerZone))
+                    .toList()).join();
+        } else {
+            groupsPerTile = tiles.stream()
+                    .map(tile -> clusterTile(tile, neighbors, assigned, minArenesPerZone))
+                    .toList();
+        }
+
+        // 4. Numérotation déterministe : ordre des centres dans la liste d'entrée
+        List<int[]> groups = new ArrayList<>();
+        groupsPerTile.forEach(groups::addAll);
+        groups.sort(Comparator.comparingInt(group -> group[0]));
+
+        List<Zone> generatedZones = new ArrayList<>(groups.size());
         long zoneIdCounter = 1;
+        for (int[] group : groups) {
+            Arene centerArene = arenes.get(group[0]);
+            List<Arene> members = new ArrayList<>(group.length);
+            for (int ordinal : group) {
+                members.add(arenes.get(ordinal));
+            }
+            generatedZones.add(new Zone(
+                    zoneIdCounter++,
+                    "Zone Auto " + zoneIdCounter + " (Centre: " + centerArene.getNom() + ")",
+                    members
+            ));
+        }
 
-        for (Arene centerArene : allArenes) {
-            if (assignedAreneIds.contains(centerArene.getId())) {
+        return generatedZones;
+    }
+
+    /**
+     * Regroupe les arènes d'une tuile : chaque arène non affectée devient un centre et attire
+     * les arènes non affectées de son voisinage. Le groupe n'est retenu (et ses arènes affectées)
+     * que s'il atteint la taille minimale. Le premier élément de chaque groupe est son centre.
+     *
+     * Les tuiles étant disjointes, deux appels concurrents n'écrivent jamais la même case de assigned.
+     */
+    private List<int[]> clusterTile(int[] tile, int[][] neighbors, boolean[] assigned, int minArenesPerZone) {
+        List<int[]> groups = new ArrayList<>();
+
+        for (int center : tile) {
+            if (assigned[center]) {
                 continue;
             }
 
-            List<Arene> currentGroup = new ArrayList<>();
-            currentGroup.add(centerArene);
-
-            for (Arene candidate : allArenes) {
-                if (!candidate.getId().equals(centerArene.getId()) && !assignedAreneIds.contains(candidate.getId())) {
-                    double distance = GeoUtils.calculateDistance(
-                            centerArene.getLatitude(), centerArene.getLongitude(),
-                            candidate.getLatitude(), candidate.getLongitude()
-                    );
+            int[] candidates = neighbors[center];
+            int[] group = new int[candidates.length + 1];
+            int size = 0;
+            group[size++] = center;
+            for (int candidate : candidates) {
+                if (candidate != center && !assigned[candidate]) {
+                    group[size++] = candidate;
+                }
+            }
 
-                    if (distance <= radiusKm) {
-                        currentGroup.add(candidate);
-                    }
+            if (size >= minArenesPerZone) {
+                int[] kept = Arrays.copyOf(group, size);
+                for (int ordinal : kept) {
+                    assigned[ordinal] = true;
                 }
+                groups.add(kept);
             }
+        }
 
-            if (currentGroup.size() >= minArenesPerZone) {
-                Zone newZone = new Zone(
-                        zoneIdCounter++,
-                        "Zone Auto " + zoneIdCounter + " (Centre: " + centerArene.getNom() + ")",
-                        currentGroup
-                );
-                
-                generatedZones.add(newZone);
-
-                for (Arene a : currentGroup) {
-                    assignedAreneIds.add(a.getId());
+        return groups;
+    }
+
+    /**
+     * Calcule les composantes connexes du graphe de voisinage (union-find).
+     * Chaque tuile liste ses ordinaux par ordre croissant.
+     */
+    private List<int[]> splitIntoTiles(int[][] neighbors) {
+        int n = neighbors.length;
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j : neighbors[i]) {
+                int rootI = find(parent, i);
+                int rootJ = find(parent, j);
+                if (rootI != rootJ) {
+                    parent[Math.max(rootI, rootJ)] = Math.min(rootI, rootJ);
                 }
             }
         }
 
-        return generatedZones;
+        Map<Integer, List<Integer>> members = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            members.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(i);
+        }
+
+        List<int[]> tiles = new ArrayList<>(members.size());
+        for (List<Integer> tile : members.values()) {
+            tiles.add(tile.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return tiles;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static List<Arene> distinctById(List<Arene> allArenes) {
+        Set<String> seen = new HashSet<>();
+        List<Arene> distinct = new ArrayList<>(allArenes.size());
+        for (Arene arene : allArenes) {
+            if (seen.add(arene.getId())) {
+                distinct.add(arene);
+            }
+        }
+        return distinct;
     }
 }
@@ -2,7 +2,7 @@ package org.SportsIn.utils;
 
 public class GeoUtils {
 
-    private static final int EARTH_RADIUS_KM = 6371;
+    static final int EARTH_RADIUS_KM = 6371;
 
     /**
      * Calcule la distance en kilomètres entre deux points GPS (Latitude/Longitude)
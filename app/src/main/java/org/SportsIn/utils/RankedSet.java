@@ -0,0 +1,209 @@
+package org.SportsIn.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Classement d'éléments par score décroissant (arbre d'ordre statistique, treap).
+ *
+ * Chaque nœud connaît la taille de son sous-arbre : le rang d'un élément et la sélection
+ * du k-ième se font en O(log n) attendu, une page de m éléments en O(log n + m).
+ * À score égal, les éléments sont départagés par ordre naturel croissant de leur identifiant,
+ * ce qui rend le classement déterministe.
+ *
+ * Cette classe n'est pas thread-safe ; les appelants synchronisent les accès.
+ *
+ * @param <K> Type de l'identifiant des éléments classés (ex: ID d'équipe).
+ */
+public class RankedSet<K extends Comparable<K>> {
+
+    private final Map<K, Long> scores = new HashMap<>();
+    private Node<K> root;
+
+    /**
+     * Place l'élément au score donné (insertion ou déplacement).
+     */
+    public void put(K id, long score) {
+        Long previous = scores.put(id, score);
+        if (previous != null) {
+            if (previous == score) return;
+            root = delete(root, previous, id);
+        }
+        root = insert(root, new Node<>(id, score, ThreadLocalRandom.current().nextInt()));
+    }
+
+    /**
+     * Ajoute delta au score de l'élément (0 s'il était absent).
+     *
+     * @return Le nouveau score.
+     */
+    public long add(K id, long delta) {
+        long score = scores.getOrDefault(id, 0L) + delta;
+        put(id, score);
+        return score;
+    }
+
+    public boolean remove(K id) {
+        Long previous = scores.remove(id);
+        if (previous == null) return false;
+        root = delete(root, previous, id);
+        return true;
+    }
+
+    public void clear() {
+        scores.clear();
+        root = null;
+    }
+
+    public boolean contains(K id) {
+        return scores.containsKey(id);
+    }
+
+    public Long score(K id) {
+        return scores.get(id);
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    /**
+     * Rang de l'élément, à partir de 1 pour le meilleur score.
+     *
+     * @return Le rang, ou -1 si l'élément n'est pas classé.
+     */
+    public int rank(K id) {
+        Long score = scores.get(id);
+        if (score == null) return -1;
+        int before = 0;
+        Node<K> node = root;
+        while (node != null) {
+            int cmp = compare(score, id, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return before + size(node.left) + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Éléments classés de offset (inclus, à partir de 0) à offset + limit (exclu).
+     */
+    public List<Entry<K>> range(int offset, int limit) {
+        List<Entry<K>> page = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        if (offset < 0 || limit <= 0) return page;
+        collect(root, offset, offset + limit, 0, page);
+        return page;
+    }
+
+    private void collect(Node<K> node, int from, int to, int base, List<Entry<K>> out) {
+        if (node == null || base >= to || base + node.size <= from) return;
+        int nodeIndex = base + size(node.left);
+        collect(node.left, from, to, base, out);
+        if (nodeIndex >= from && nodeIndex < to) {
+            out.add(new Entry<>(nodeIndex + 1, node.id, node.score));
+        }
+        collect(node.right, from, to, nodeIndex + 1, out);
+    }
+
+    private Node<K> insert(Node<K> node, Node<K> added) {
+        if (node == null) return added;
+        if (compare(added.score, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<K> delete(Node<K> node, long score, K id) {
+        if (node == null) return null;
+        int cmp = compare(score, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, score, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, score, id);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<K> merge(Node<K> left, Node<K> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<K> rotateRight(Node<K> node) {
+        Node<K> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<K> rotateLeft(Node<K> node) {
+        Node<K> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /** Score décroissant, puis identifiant croissant. */
+    private int compare(long score, K id, Node<K> node) {
+        int cmp = Long.compare(node.score, score);
+        return cmp != 0 ? cmp : id.compareTo(node.id);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    /**
+     * Position d'un élément dans le classement.
+     */
+    public record Entry<K>(int rank, K id, long score) {
+    }
+
+    private static final class Node<K> {
+        private final K id;
+        private final long score;
+        private final int priority;
+        private int size = 1;
+        private Node<K> left;
+        private Node<K> right;
+
+        private Node(K id, long score, int priority) {
+            this.id = id;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+}
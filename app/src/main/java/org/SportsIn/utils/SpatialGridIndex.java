@@ -0,0 +1,257 @@
+package org.SportsIn.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Index géospatial basé sur une grille uniforme latitude/longitude.
+ *
+ * Chaque élément est rangé dans une cellule de taille fixe (en degrés, dérivée d'une taille en km).
+ * Les requêtes par rayon ou de plus proche voisin ne parcourent que les cellules qui intersectent
+ * le rayon demandé, au lieu de comparer tous les éléments entre eux.
+ *
+ * À taille égale de distance, les résultats sont départagés par ordre d'insertion, ce qui rend
+ * les requêtes déterministes pour une même séquence d'insertions.
+ *
+ * Cette classe n'est pas thread-safe en écriture ; les lectures concurrentes sont sûres
+ * tant qu'aucune insertion ou suppression n'a lieu en parallèle.
+ *
+ * @param <T> Type des éléments indexés (ex: Arene).
+ */
+public class SpatialGridIndex<T> {
+
+    /** Longueur d'un degré de latitude, cohérente avec le rayon terrestre de GeoUtils. */
+    private static final double KM_PER_DEGREE = Math.PI * GeoUtils.EARTH_RADIUS_KM / 180.0;
+
+    /** Marge ajoutée aux bornes de recherche pour absorber les erreurs d'arrondi. */
+    private static final double EPSILON_DEG = 1e-9;
+
+    /** Ordre "plus proche d'abord", départagé par ordre d'insertion. */
+    private static final Comparator<Match<?>> NEAREST_FIRST = Comparator
+            .<Match<?>>comparingDouble(Match::distance)
+            .thenComparingLong(m -> m.entry.ordinal);
+
+    private final double cellSizeDeg;
+    private final int columns;
+    private final ToDoubleFunction<T> latitudeOf;
+    private final ToDoubleFunction<T> longitudeOf;
+
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+    private long insertionCounter = 0;
+
+    /**
+     * @param cellSizeKm Taille d'une cellule en kilomètres. Idéalement proche du rayon des requêtes.
+     * @param latitudeOf Fonction d'accès à la latitude d'un élément.
+     * @param longitudeOf Fonction d'accès à la longitude d'un élément.
+     */
+    public SpatialGridIndex(double cellSizeKm, ToDoubleFunction<T> latitudeOf, ToDoubleFunction<T> longitudeOf) {
+        if (!(cellSizeKm > 0)) {
+            throw new IllegalArgumentException("La taille de cellule doit être strictement positive: " + cellSizeKm);
+        }
+        this.cellSizeDeg = Math.min(cellSizeKm / KM_PER_DEGREE, 180.0);
+        this.columns = (int) Math.ceil(360.0 / cellSizeDeg);
+        this.latitudeOf = latitudeOf;
+        this.longitudeOf = longitudeOf;
+    }
+
+    /**
+     * Construit un index contenant tous les éléments fournis, insérés dans l'ordre de la liste.
+     */
+    public static <T> SpatialGridIndex<T> of(List<T> items, double cellSizeKm,
+                                             ToDoubleFunction<T> latitudeOf, ToDoubleFunction<T> longitudeOf) {
+        SpatialGridIndex<T> index = new SpatialGridIndex<>(cellSizeKm, latitudeOf, longitudeOf);
+        for (T item : items) {
+            index.insert(item);
+        }
+        return index;
+    }
+
+    // --- Mise à jour ---
+
+    /**
+     * Ajoute un élément à l'index. Un élément déjà présent est ignoré.
+     * @return true si l'élément a été ajouté.
+     */
+    public boolean insert(T item) {
+        if (item == null || entries.containsKey(item)) {
+            return false;
+        }
+        double lat = latitudeOf.applyAsDouble(item);
+        double lon = longitudeOf.applyAsDouble(item);
+        Entry<T> entry = new Entry<>(item, lat, lon, insertionCounter++, cellKey(row(lat), column(lon)));
+        entries.put(item, entry);
+        cells.computeIfAbsent(entry.cellKey, k -> new ArrayList<>()).add(entry);
+        return true;
+    }
+
+    /**
+     * Retire un élément de l'index.
+     * @return true si l'élément était présent.
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        List<Entry<T>> cell = cells.get(entry.cellKey);
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(entry.cellKey);
+        }
+        return true;
+    }
+
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    // --- Requêtes ---
+
+    /**
+     * Retourne les éléments situés à moins de radiusKm (inclus) du point donné,
+     * dans leur ordre d'insertion.
+     */
+    public List<T> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        List<Match<T>> matches = collectWithinRadius(latitude, longitude, radiusKm, item -> true);
+        matches.sort(Comparator.comparingLong(m -> m.entry.ordinal));
+        List<T> result = new ArrayList<>(matches.size());
+        for (Match<T> m : matches) {
+            result.add(m.entry.item);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne les k éléments les plus proches du point, limités à maxDistanceKm,
+     * triés par distance croissante (puis par ordre d'insertion en cas d'égalité).
+     */
+    public List<T> findKNearest(double latitude, double longitude, int k, double maxDistanceKm) {
+        if (k <= 0) {
+            return List.of();
+        }
+        List<Match<T>> matches = collectWithinRadius(latitude, longitude, maxDistanceKm, item -> true);
+        matches.sort(NEAREST_FIRST);
+        List<T> result = new ArrayList<>(Math.min(k, matches.size()));
+        for (int i = 0; i < matches.size() && i < k; i++) {
+            result.add(matches.get(i).entry.item);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne l'élément le plus proche du point, à moins de maxDistanceKm.
+     */
+    public Optional<T> findNearest(double latitude, double longitude, double maxDistanceKm) {
+        return findNearest(latitude, longitude, maxDistanceKm, item -> true);
+    }
+
+    /**
+     * Retourne l'élément le plus proche du point, à moins de maxDistanceKm, qui satisfait le filtre.
+     * En cas d'égalité de distance, l'élément inséré en premier est retenu.
+     */
+    public Optional<T> findNearest(double latitude, double longitude, double maxDistanceKm, Predicate<T> filter) {
+        Match<T> best = null;
+        for (Match<T> m : collectWithinRadius(latitude, longitude, maxDistanceKm, filter)) {
+            if (best == null || NEAREST_FIRST.compare(m, best) < 0) {
+                best = m;
+            }
+        }
+        return best != null ? Optional.of(best.entry.item) : Optional.empty();
+    }
+
+    // --- Parcours de la grille ---
+
+    private List<Match<T>> collectWithinRadius(double latitude, double longitude, double radiusKm, Predicate<T> filter) {
+        List<Match<T>> matches = new ArrayList<>();
+        if (entries.isEmpty() || radiusKm < 0 || Double.isNaN(radiusKm)) {
+            return matches;
+        }
+
+        // Boîte englobante exacte d'un cercle sur la sphère (bornes en latitude puis en longitude).
+        double angularRadius = radiusKm / GeoUtils.EARTH_RADIUS_KM;
+        double angularRadiusDeg = Math.toDegrees(angularRadius) + EPSILON_DEG;
+        double minLat = latitude - angularRadiusDeg;
+        double maxLat = latitude + angularRadiusDeg;
+
+        boolean allColumns = minLat <= -90.0 || maxLat >= 90.0 || angularRadius >= Math.PI / 2;
+        int columnReach = 0;
+        if (!allColumns) {
+            double ratio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+            if (ratio >= 1.0) {
+                allColumns = true;
+            } else {
+                double lonSpanDeg = Math.toDegrees(Math.asin(ratio)) + EPSILON_DEG;
+                columnReach = (int) Math.ceil(lonSpanDeg / cellSizeDeg);
+            }
+        }
+
+        int minRow = row(Math.max(-90.0, minLat));
+        int maxRow = row(Math.min(90.0, maxLat));
+        int centerColumn = column(longitude);
+        int columnCount = allColumns ? columns : Math.min(columns, 2 * columnReach + 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int i = 0; i < columnCount; i++) {
+                int c = allColumns ? i : Math.floorMod(centerColumn - columnReach + i, columns);
+                List<Entry<T>> cell = cells.get(cellKey(r, c));
+                if (cell == null) continue;
+
+                for (Entry<T> e : cell) {
+                    if (!filter.test(e.item)) continue;
+                    double distance = GeoUtils.calculateDistance(latitude, longitude, e.latitude, e.longitude);
+                    if (distance <= radiusKm) {
+                        matches.add(new Match<>(e, distance));
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellSizeDeg);
+    }
+
+    private int column(double longitude) {
+        double normalized = ((longitude + 180.0) % 360.0 + 360.0) % 360.0;
+        return Math.floorMod((int) Math.floor(normalized / cellSizeDeg), columns);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final double latitude;
+        private final double longitude;
+        private final long ordinal;
+        private final long cellKey;
+
+        private Entry(T item, double latitude, double longitude, long ordinal, long cellKey) {
+            this.item = item;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.ordinal = ordinal;
+            this.cellKey = cellKey;
+        }
+    }
+
+    private record Match<T>(Entry<T> entry, double distance) {
+    }
+}
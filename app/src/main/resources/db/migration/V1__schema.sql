@@ -80,6 +80,18 @@ CREATE TABLE IF NOT EXISTS metric_value (
     FOREIGN KEY (session_id) REFERENCES session(id) ON DELETE CASCADE
 );
 
+-- Table SESSION_DAILY_AGGREGATE (sessions sorties de la fenêtre chaude, comptées par jour)
+CREATE TABLE IF NOT EXISTS session_daily_aggregate (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    day TEXT NOT NULL,
+    sport_code TEXT NOT NULL,
+    point_id TEXT NOT NULL DEFAULT '',
+    team_id TEXT NOT NULL DEFAULT '',
+    session_count INTEGER NOT NULL DEFAULT 0,
+    last_ended_at TEXT NOT NULL,
+    UNIQUE (day, sport_code, point_id, team_id)
+);
+
 -- Table MISSION (Feature 5: Missions dynamiques de conquête / défense)
 CREATE TABLE IF NOT EXISTS mission (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -91,14 +103,14 @@ CREATE TABLE IF NOT EXISTS mission (
     priority TEXT NOT NULL DEFAULT 'MEDIUM' CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
     reward_team_points INTEGER NOT NULL DEFAULT 0,
     reward_team_xp INTEGER NOT NULL DEFAULT 0,
-    created_at TEXT NOT NULL,
-    starts_at TEXT NOT NULL,
-    ends_at TEXT NOT NULL,
-    completed_at TEXT,
+    created_at INTEGER NOT NULL,             -- epoch millis (UTC)
+    starts_at INTEGER NOT NULL,
+    ends_at INTEGER NOT NULL,
+    completed_at INTEGER,
     payload_json TEXT,
     progress_current INTEGER NOT NULL DEFAULT 0,
     progress_target INTEGER NOT NULL DEFAULT 1,
-    last_evaluated_at TEXT,
+    last_evaluated_at INTEGER,
     FOREIGN KEY (team_id) REFERENCES equipe(id) ON DELETE CASCADE
 );
 
@@ -123,9 +135,9 @@ CREATE TABLE IF NOT EXISTS active_perk (
     team_id INTEGER NOT NULL,
     perk_definition_id INTEGER NOT NULL,
     target_id TEXT,
-    activated_at TEXT NOT NULL,
-    expires_at TEXT NOT NULL,
-    last_used_at TEXT,
+    activated_at INTEGER NOT NULL,           -- epoch millis (UTC)
+    expires_at INTEGER NOT NULL,
+    last_used_at INTEGER,
     usage_count INTEGER NOT NULL DEFAULT 0,
     FOREIGN KEY (team_id) REFERENCES equipe(id) ON DELETE CASCADE,
     FOREIGN KEY (perk_definition_id) REFERENCES perk_definition(id) ON DELETE CASCADE
@@ -149,6 +161,7 @@ CREATE INDEX IF NOT EXISTS idx_session_sport_id ON session(sport_id);
 CREATE INDEX IF NOT EXISTS idx_session_state ON session(state);
 CREATE INDEX IF NOT EXISTS idx_metric_value_session_id ON metric_value(session_id);
 CREATE INDEX IF NOT EXISTS idx_session_participant_session_id ON session_participant(session_id);
+CREATE INDEX IF NOT EXISTS idx_session_daily_aggregate_last_ended ON session_daily_aggregate(last_ended_at);
 CREATE INDEX IF NOT EXISTS idx_mission_team_id ON mission(team_id);
 CREATE INDEX IF NOT EXISTS idx_mission_status ON mission(status);
 CREATE INDEX IF NOT EXISTS idx_mission_team_status ON mission(team_id, status);
@@ -1,5 +1,5 @@
 -- Données d'exemple pour les tests
--- Ce fichier est exécuté après schema.sql
+-- Migration V2 : appliquée une seule fois, après le schéma (V1)
 
 -- ============================================
 -- ÉQUIPES
@@ -0,0 +1,4 @@
+-- migration:online
+-- Expiration des missions (findActiveEndingBefore) : filtre sur status puis plage sur ends_at.
+-- Construit en arrière-plan après le démarrage : la table mission peut être volumineuse.
+CREATE INDEX IF NOT EXISTS idx_mission_status_ends ON mission(status, ends_at);
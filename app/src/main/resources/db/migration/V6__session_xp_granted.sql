@@ -0,0 +1,3 @@
+-- Fin de session : l'XP de match est attribuée une seule fois, même si le traitement est
+-- retenté ou repris au démarrage (SessionService.processSessionCompletion).
+ALTER TABLE session ADD COLUMN xp_granted INTEGER NOT NULL DEFAULT 0;
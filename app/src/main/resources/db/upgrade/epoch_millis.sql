@@ -0,0 +1,74 @@
+-- Passage des dates ISO-8601 (TEXT) de mission et active_perk en epoch millis (INTEGER).
+-- SQLite ne sait pas changer le type d'une colonne : chaque table est recréée puis recopiée.
+-- Exécuté par EpochMillisSchemaUpgrade, uniquement sur une base encore au format TEXT.
+
+ALTER TABLE mission RENAME TO mission_iso_dates;
+
+CREATE TABLE mission (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    team_id INTEGER NOT NULL,
+    type TEXT NOT NULL CHECK (type IN ('RECAPTURE_RECENT_LOSS', 'BREAK_ROUTE', 'DIVERSITY_SPORT')),
+    status TEXT NOT NULL DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'SUCCESS', 'FAILED', 'EXPIRED')),
+    title TEXT NOT NULL,
+    description TEXT,
+    priority TEXT NOT NULL DEFAULT 'MEDIUM' CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    reward_team_points INTEGER NOT NULL DEFAULT 0,
+    reward_team_xp INTEGER NOT NULL DEFAULT 0,
+    created_at INTEGER NOT NULL,
+    starts_at INTEGER NOT NULL,
+    ends_at INTEGER NOT NULL,
+    completed_at INTEGER,
+    payload_json TEXT,
+    progress_current INTEGER NOT NULL DEFAULT 0,
+    progress_target INTEGER NOT NULL DEFAULT 1,
+    last_evaluated_at INTEGER,
+    FOREIGN KEY (team_id) REFERENCES equipe(id) ON DELETE CASCADE
+);
+
+-- julianday() lit l'ISO-8601 avec le suffixe Z ; 2440587.5 = 1970-01-01T00:00:00Z
+INSERT INTO mission (id, team_id, type, status, title, description, priority, reward_team_points, reward_team_xp,
+                     created_at, starts_at, ends_at, completed_at, payload_json, progress_current, progress_target,
+                     last_evaluated_at)
+SELECT id, team_id, type, status, title, description, priority, reward_team_points, reward_team_xp,
+       CAST(ROUND((julianday(created_at) - 2440587.5) * 86400000) AS INTEGER),
+       CAST(ROUND((julianday(starts_at) - 2440587.5) * 86400000) AS INTEGER),
+       CAST(ROUND((julianday(ends_at) - 2440587.5) * 86400000) AS INTEGER),
+       CAST(ROUND((julianday(completed_at) - 2440587.5) * 86400000) AS INTEGER),
+       payload_json, progress_current, progress_target,
+       CAST(ROUND((julianday(last_evaluated_at) - 2440587.5) * 86400000) AS INTEGER)
+FROM mission_iso_dates;
+
+DROP TABLE mission_iso_dates;
+
+CREATE INDEX IF NOT EXISTS idx_mission_team_id ON mission(team_id);
+CREATE INDEX IF NOT EXISTS idx_mission_status ON mission(status);
+CREATE INDEX IF NOT EXISTS idx_mission_team_status ON mission(team_id, status);
+
+ALTER TABLE active_perk RENAME TO active_perk_iso_dates;
+
+CREATE TABLE active_perk (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    team_id INTEGER NOT NULL,
+    perk_definition_id INTEGER NOT NULL,
+    target_id TEXT,
+    activated_at INTEGER NOT NULL,
+    expires_at INTEGER NOT NULL,
+    last_used_at INTEGER,
+    usage_count INTEGER NOT NULL DEFAULT 0,
+    FOREIGN KEY (team_id) REFERENCES equipe(id) ON DELETE CASCADE,
+    FOREIGN KEY (perk_definition_id) REFERENCES perk_definition(id) ON DELETE CASCADE
+);
+
+INSERT INTO active_perk (id, team_id, perk_definition_id, target_id, activated_at, expires_at, last_used_at, usage_count)
+SELECT id, team_id, perk_definition_id, target_id,
+       CAST(ROUND((julianday(activated_at) - 2440587.5) * 86400000) AS INTEGER),
+       CAST(ROUND((julianday(expires_at) - 2440587.5) * 86400000) AS INTEGER),
+       CAST(ROUND((julianday(last_used_at) - 2440587.5) * 86400000) AS INTEGER),
+       usage_count
+FROM active_perk_iso_dates;
+
+DROP TABLE active_perk_iso_dates;
+
+CREATE INDEX IF NOT EXISTS idx_active_perk_team ON active_perk(team_id);
+CREATE INDEX IF NOT EXISTS idx_active_perk_target ON active_perk(target_id);
+CREATE INDEX IF NOT EXISTS idx_active_perk_expires ON active_perk(expires_at);
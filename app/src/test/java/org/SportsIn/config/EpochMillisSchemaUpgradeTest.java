@@ -0,0 +1,86 @@
+package org.SportsIn.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochMillisSchemaUpgradeTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    private void createLegacyTables() {
+        jdbcTemplate.execute("CREATE TABLE mission (id INTEGER PRIMARY KEY AUTOINCREMENT, team_id INTEGER NOT NULL, "
+                + "type TEXT NOT NULL, status TEXT NOT NULL DEFAULT 'ACTIVE', title TEXT NOT NULL, description TEXT, "
+                + "priority TEXT NOT NULL DEFAULT 'MEDIUM', reward_team_points INTEGER NOT NULL DEFAULT 0, "
+                + "reward_team_xp INTEGER NOT NULL DEFAULT 0, created_at TEXT NOT NULL, starts_at TEXT NOT NULL, "
+                + "ends_at TEXT NOT NULL, completed_at TEXT, payload_json TEXT, progress_current INTEGER NOT NULL DEFAULT 0, "
+                + "progress_target INTEGER NOT NULL DEFAULT 1, last_evaluated_at TEXT)");
+        jdbcTemplate.execute("CREATE TABLE active_perk (id INTEGER PRIMARY KEY AUTOINCREMENT, team_id INTEGER NOT NULL, "
+                + "perk_definition_id INTEGER NOT NULL, target_id TEXT, activated_at TEXT NOT NULL, expires_at TEXT NOT NULL, "
+                + "last_used_at TEXT, usage_count INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    @Test
+    void legacyIsoDates_areConvertedToEpochMillis() throws SQLException {
+        createLegacyTables();
+        jdbcTemplate.update("INSERT INTO mission (id, team_id, type, title, created_at, starts_at, ends_at, payload_json) "
+                + "VALUES (7, 1, 'DIVERSITY_SPORT', 'm', ?, ?, ?, '{}')",
+                "2026-03-01T10:00:00Z", "2026-03-01T10:00:00.123Z", "2026-03-04T10:00:00.123456789Z");
+        jdbcTemplate.update("INSERT INTO active_perk (id, team_id, perk_definition_id, activated_at, expires_at) "
+                + "VALUES (3, 1, 2, ?, ?)", "2026-03-01T10:00:00Z", "2026-03-01T11:30:00.5Z");
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        assertTrue(EpochMillisSchemaUpgrade.needsUpgrade(connection));
+        new EpochMillisSchemaUpgrade().migrate(connection);
+
+        Map<String, Object> mission = jdbcTemplate.queryForMap(
+                "SELECT created_at, starts_at, ends_at, completed_at, typeof(ends_at) AS ends_type FROM mission WHERE id = 7");
+        assertEquals(Instant.parse("2026-03-01T10:00:00Z").toEpochMilli(), ((Number) mission.get("created_at")).longValue());
+        assertEquals(Instant.parse("2026-03-01T10:00:00.123Z").toEpochMilli(), ((Number) mission.get("starts_at")).longValue());
+        assertEquals(Instant.parse("2026-03-04T10:00:00.123Z").toEpochMilli(), ((Number) mission.get("ends_at")).longValue());
+        assertNull(mission.get("completed_at"));
+        assertEquals("integer", mission.get("ends_type"));
+
+        Long expiresAt = jdbcTemplate.queryForObject("SELECT expires_at FROM active_perk WHERE id = 3", Long.class);
+        assertEquals(Instant.parse("2026-03-01T11:30:00.500Z").toEpochMilli(), expiresAt);
+
+        assertFalse(EpochMillisSchemaUpgrade.needsUpgrade(connection));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'idx_mission_status'", Integer.class));
+    }
+
+    @Test
+    void currentSchema_isLeftUntouched() throws SQLException {
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__schema.sql")).execute(dataSource);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        assertFalse(EpochMillisSchemaUpgrade.needsUpgrade(connection));
+        new EpochMillisSchemaUpgrade().migrate(connection);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE name LIKE '%_iso_dates'", Integer.class));
+    }
+}
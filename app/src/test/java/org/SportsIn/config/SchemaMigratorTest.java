@@ -0,0 +1,165 @@
+package org.SportsIn.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+
+    @TempDir
+    Path scripts;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    private SchemaMigrator projectMigrator() {
+        return new SchemaMigrator(dataSource,
+                List.of(new EpochMillisSchemaUpgrade(), new SessionDateSchemaUpgrade()), "classpath:db/migration");
+    }
+
+    private SchemaMigrator scriptMigrator() {
+        return new SchemaMigrator(dataSource, List.of(), "file:" + scripts);
+    }
+
+    private void script(String name, String content) throws IOException {
+        Files.writeString(scripts.resolve(name), content);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private boolean indexExists(String name) {
+        return count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = '" + name + "'") == 1;
+    }
+
+    @Test
+    void projectMigrations_createSchemaSeedOnceAndDeferOnlineIndex() {
+        SchemaMigrator migrator = projectMigrator();
+        migrator.migrate();
+
+        assertEquals(List.of(1, 2, 3, 5, 6), jdbcTemplate.queryForList(
+                "SELECT version FROM schema_version ORDER BY version", Integer.class));
+        assertEquals(List.of(4), migrator.getPendingOnlineVersions());
+        assertFalse(indexExists("idx_mission_status_ends"));
+        assertEquals(5, count("SELECT COUNT(*) FROM equipe"));
+
+        migrator.applyOnline();
+
+        assertTrue(migrator.getPendingOnlineVersions().isEmpty());
+        assertTrue(indexExists("idx_mission_status_ends"));
+        assertEquals(6, count("SELECT COUNT(*) FROM schema_version"));
+    }
+
+    @Test
+    void secondStartup_doesNotReplaySeedData() {
+        projectMigrator().migrate();
+        jdbcTemplate.update("DELETE FROM joueur WHERE equipe_id = 5");
+        jdbcTemplate.update("DELETE FROM equipe WHERE id = 5");
+
+        SchemaMigrator restarted = projectMigrator();
+        restarted.migrate();
+
+        assertEquals(4, count("SELECT COUNT(*) FROM equipe"));
+        assertEquals(List.of(4), restarted.getPendingOnlineVersions());
+    }
+
+    @Test
+    void failingScript_isRolledBackWithoutMetadata() throws IOException {
+        script("V1__items.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY);");
+        script("V2__broken.sql", "CREATE TABLE other (id INTEGER PRIMARY KEY);\nINSERT INTO missing_table VALUES (1);");
+
+        assertThrows(RuntimeException.class, () -> scriptMigrator().migrate());
+
+        assertEquals(List.of(1), jdbcTemplate.queryForList("SELECT version FROM schema_version", Integer.class));
+        assertEquals(0, count("SELECT COUNT(*) FROM sqlite_master WHERE name = 'other'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE name = 'item'"));
+    }
+
+    @Test
+    void newScript_isAppliedAlone() throws IOException {
+        script("V1__items.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY);");
+        scriptMigrator().migrate();
+        script("V2__item_rows.sql", "INSERT INTO item (id) VALUES (1);");
+
+        scriptMigrator().migrate();
+        scriptMigrator().migrate();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM item"));
+        assertEquals(2, count("SELECT COUNT(*) FROM schema_version"));
+    }
+
+    @Test
+    void editedAppliedScript_failsStartup() throws IOException {
+        script("V1__items.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY);");
+        scriptMigrator().migrate();
+        script("V1__items.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT);");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> scriptMigrator().migrate());
+        assertTrue(e.getMessage().contains("V1"));
+    }
+
+    @Test
+    void onlineScript_onFileDatabase_usesDedicatedConnection(@TempDir Path databaseDir) throws IOException {
+        SingleConnectionDataSource fileDataSource =
+                new SingleConnectionDataSource("jdbc:sqlite:" + databaseDir.resolve("app.db"), true);
+        try {
+            script("V1__items.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT);");
+            script("V2__item_name_index.sql", SchemaMigrator.ONLINE_MARKER + "\n"
+                    + "CREATE INDEX IF NOT EXISTS idx_item_name ON item(name);");
+            SchemaMigrator migrator = new SchemaMigrator(fileDataSource, List.of(), "file:" + scripts);
+            migrator.migrate();
+
+            // La connexion du pool ne peut plus écrire : l'index doit passer par une autre connexion
+            JdbcTemplate pooled = new JdbcTemplate(fileDataSource);
+            pooled.execute("PRAGMA query_only = 1");
+            migrator.applyOnline();
+
+            assertTrue(migrator.getPendingOnlineVersions().isEmpty());
+            assertEquals(1, pooled.queryForObject(
+                    "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'idx_item_name'", Integer.class));
+            assertEquals(2, pooled.queryForObject("SELECT COUNT(*) FROM schema_version", Integer.class));
+        } finally {
+            fileDataSource.destroy();
+        }
+    }
+
+    @Test
+    void onlineScript_mustOnlyCreateIndexes() throws IOException {
+        script("V1__items.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT);");
+        script("V2__index_and_data.sql", SchemaMigrator.ONLINE_MARKER + "\n"
+                + "CREATE INDEX IF NOT EXISTS idx_item_name ON item(name);\n"
+                + "DELETE FROM item;");
+
+        assertThrows(IllegalStateException.class, () -> scriptMigrator().migrate());
+    }
+
+    @Test
+    void duplicateVersion_isRejected() throws IOException {
+        script("V1__items.sql", "CREATE TABLE item (id INTEGER PRIMARY KEY);");
+        script("V1__other.sql", "CREATE TABLE other (id INTEGER PRIMARY KEY);");
+
+        assertThrows(IllegalStateException.class, () -> scriptMigrator().migrate());
+    }
+}
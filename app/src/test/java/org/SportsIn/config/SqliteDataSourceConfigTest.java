@@ -0,0 +1,81 @@
+package org.SportsIn.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqliteDataSourceConfigTest {
+
+    @TempDir
+    Path dir;
+
+    private SqliteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        routing = SqliteDataSourceConfig.create("jdbc:sqlite:" + dir.resolve("test.db"), 2, 3000, 1 << 20, 2048);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        jdbcTemplate.execute("CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void connections_useWalAndTunedPragmas() {
+        assertEquals("wal", jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("PRAGMA synchronous", Integer.class), "1 = NORMAL");
+        assertEquals(3000, jdbcTemplate.queryForObject("PRAGMA busy_timeout", Integer.class));
+        assertEquals(-2048, jdbcTemplate.queryForObject("PRAGMA cache_size", Integer.class));
+
+        String readerJournal = readOnly.execute(status -> jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class));
+        assertEquals("wal", readerJournal);
+    }
+
+    @Test
+    void readOnlyTransactions_goToReaderPool_andSeeCommittedWrites() {
+        jdbcTemplate.update("INSERT INTO item (id, name) VALUES (1, 'a')");
+
+        Integer queryOnly = readOnly.execute(status -> jdbcTemplate.queryForObject("PRAGMA query_only", Integer.class));
+        Integer count = readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class));
+
+        assertEquals(1, queryOnly);
+        assertEquals(1, count);
+        assertEquals(0, jdbcTemplate.queryForObject("PRAGMA query_only", Integer.class), "Hors lecture seule : écrivain");
+    }
+
+    @Test
+    void readerPool_rejectsWrites() {
+        assertThrows(UncategorizedSQLException.class, () -> readOnly.executeWithoutResult(
+                status -> jdbcTemplate.update("INSERT INTO item (id, name) VALUES (2, 'b')")));
+    }
+
+    @Test
+    void writerPool_holdsSingleConnection() {
+        assertEquals(1, routing.getWriter().getMaximumPoolSize());
+        assertEquals(2, routing.getReaders().getMaximumPoolSize());
+    }
+
+    @Test
+    void inMemoryUrl_isRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> SqliteDataSourceConfig.create("jdbc:sqlite::memory:", 2, 3000, 0, 2048));
+    }
+}
@@ -0,0 +1,136 @@
+package org.SportsIn.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesure le débit lectures/écritures concurrentes sur un fichier SQLite, avant et après réglage :
+ * - défaut : pool Hikari de 10 connexions, journal rollback, synchronous=FULL ;
+ * - réglé : SqliteDataSourceConfig (WAL, synchronous=NORMAL, un écrivain, pool de lecteurs).
+ *
+ * Lancement : gradle :app:sqliteBenchmark [-Pseconds=5 -Pwriters=4 -Preaders=8]
+ */
+public class SqliteThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int readers = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        System.out.printf("Durée %ds, %d écrivains, %d lecteurs%n", seconds, writers, readers);
+
+        Path dir = Files.createTempDirectory("sqlite-bench");
+        try (Target baseline = defaultPool(dir.resolve("default.db").toString())) {
+            report("défaut", run(baseline, seconds, writers, readers));
+        }
+        try (Target tuned = tunedPool(dir.resolve("tuned.db").toString())) {
+            report("réglé ", run(tuned, seconds, writers, readers));
+        }
+    }
+
+    private static Target defaultPool(String file) {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setJdbcUrl("jdbc:sqlite:" + file);
+        config.setMaximumPoolSize(10);
+        HikariDataSource pool = new HikariDataSource(config);
+        return new Target(pool, pool);
+    }
+
+    private static Target tunedPool(String file) {
+        SqliteRoutingDataSource routing = SqliteDataSourceConfig.create("jdbc:sqlite:" + file, 4, 5000, 268435456L, 16384);
+        return new Target(new LazyConnectionDataSourceProxy(routing), routing);
+    }
+
+    private static Result run(Target target, int seconds, int writers, int readers) throws InterruptedException {
+        JdbcTemplate jdbc = new JdbcTemplate(target.dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(target.dataSource);
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+
+        jdbc.execute("CREATE TABLE IF NOT EXISTS bench (id INTEGER PRIMARY KEY AUTOINCREMENT, team_id INTEGER, xp INTEGER)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_bench_team ON bench(team_id)");
+        write.executeWithoutResult(status -> {
+            for (int i = 0; i < 1000; i++) {
+                jdbc.update("INSERT INTO bench (team_id, xp) VALUES (?, ?)", i % 100, i);
+            }
+        });
+
+        Result result = new Result();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        write.executeWithoutResult(status -> {
+                            int team = ThreadLocalRandom.current().nextInt(100);
+                            jdbc.update("INSERT INTO bench (team_id, xp) VALUES (?, ?)", team, 10);
+                            jdbc.update("UPDATE bench SET xp = xp + 1 WHERE id = ?", team + 1);
+                        });
+                        result.writes.increment();
+                    } catch (RuntimeException e) {
+                        result.errors.increment();
+                    }
+                }
+            }));
+        }
+        for (int i = 0; i < readers; i++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        read.execute(status -> jdbc.queryForObject(
+                                "SELECT SUM(xp) FROM bench WHERE team_id = ?", Long.class,
+                                ThreadLocalRandom.current().nextInt(100)));
+                        result.reads.increment();
+                    } catch (RuntimeException e) {
+                        result.errors.increment();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        result.seconds = seconds;
+        return result;
+    }
+
+    private static void report(String label, Result result) {
+        System.out.printf("%s : %8.0f écritures/s  %8.0f lectures/s  %6d erreurs%n", label,
+                result.writes.sum() / (double) result.seconds,
+                result.reads.sum() / (double) result.seconds,
+                result.errors.sum());
+    }
+
+    private record Target(DataSource dataSource, Closeable resource) implements AutoCloseable {
+        @Override
+        public void close() throws Exception {
+            resource.close();
+        }
+    }
+
+    private static final class Result {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private int seconds;
+    }
+}
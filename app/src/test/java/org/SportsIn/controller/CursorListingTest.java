@@ -0,0 +1,94 @@
+package org.SportsIn.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.SportsIn.dto.CursorPageDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CursorListingTest {
+
+    record Item(long id, String nom) {
+    }
+
+    private final CursorListing listing = new CursorListing(new ObjectMapper(), mock(PlatformTransactionManager.class));
+    private final List<Integer> requestedLimits = new ArrayList<>();
+
+    /**
+     * Source de count éléments d'ID 1..count, qui note les tailles de page demandées.
+     */
+    private CursorListing.PageSource<Item, Long> items(long count) {
+        return (after, limit) -> {
+            requestedLimits.add(limit);
+            return LongStream.rangeClosed(after + 1, count).limit(limit)
+                    .mapToObj(id -> new Item(id, "Item " + id)).toList();
+        };
+    }
+
+    @Test
+    @DisplayName("Le curseur suivant est l'ID du dernier élément, absent sur la dernière page")
+    void page_returnsNextCursorUntilLastPage() {
+        CursorPageDTO<Item> first = listing.page(items(5), 0L, 2, Item::id);
+        CursorPageDTO<Item> last = listing.page(items(5), 4L, 2, Item::id);
+
+        assertEquals(List.of(1L, 2L), first.items().stream().map(Item::id).toList());
+        assertEquals("2", first.nextCursor());
+        assertEquals(List.of(5L), last.items().stream().map(Item::id).toList());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void page_exactlyFullLastPage_hasNoNextCursor() {
+        CursorPageDTO<Item> page = listing.page(items(4), 2L, 2, Item::id);
+
+        assertEquals(2, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void page_clampsLimit() {
+        listing.page(items(5), 0L, 0, Item::id);
+        listing.page(items(5), 0L, 100_000, Item::id);
+
+        assertEquals(List.of(2, CursorListing.MAX_LIMIT + 1), requestedLimits);
+    }
+
+    @Test
+    @DisplayName("Le flux NDJSON parcourt toute la source par tranches bornées")
+    void stream_writesOneJsonLinePerItemAcrossChunks() throws IOException {
+        long count = CursorListing.STREAM_CHUNK * 2L + 7;
+        ResponseEntity<StreamingResponseBody> response = listing.stream(items(count), 0L, Item::id);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertEquals(CursorListing.NDJSON, response.getHeaders().getContentType());
+        assertEquals(count, lines.size());
+        assertEquals("{\"id\":1,\"nom\":\"Item 1\"}", lines.get(0));
+        assertEquals("{\"id\":" + count + ",\"nom\":\"Item " + count + "\"}", lines.get(lines.size() - 1));
+        assertEquals(3, requestedLimits.size());
+        assertTrue(requestedLimits.stream().allMatch(limit -> limit == CursorListing.STREAM_CHUNK));
+    }
+
+    @Test
+    void stream_emptySource_writesNothing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        listing.stream(items(0), 0L, Item::id).getBody().writeTo(out);
+
+        assertEquals(0, out.size());
+        assertEquals(1, requestedLimits.size());
+    }
+}
@@ -0,0 +1,66 @@
+package org.SportsIn.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sessions refusées par le stockage JDBC : le contrôleur répond 400, pas 500.
+ */
+@SpringBootTest(properties = {
+        "session.repository=jdbc",
+        "mission.scheduler.enabled=false"
+})
+@AutoConfigureMockMvc
+class SessionControllerTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempFile("session-controller", ".db");
+        file.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private void create(String body, int expectedStatus) throws Exception {
+        mockMvc.perform(post("/api/sessions").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    @Test
+    void create_withoutOrWithUnknownSport_isBadRequest() throws Exception {
+        create("{\"id\":\"S_NO_SPORT\",\"pointId\":\"parc_princes\"}", 400);
+        create("{\"id\":\"S_CURLING\",\"sport\":{\"code\":\"CURLING\"},\"pointId\":\"parc_princes\"}", 400);
+        create("{\"id\":\"S_FOOT\",\"sport\":{\"code\":\"FOOTBALL\"},\"pointId\":\"parc_princes\"}", 201);
+    }
+
+    @Test
+    void update_withUnknownSport_isBadRequestAndKeepsSession() throws Exception {
+        create("{\"id\":\"S_UPDATE\",\"sport\":{\"code\":\"BASKET\"},\"pointId\":\"parc_princes\"}", 201);
+
+        mockMvc.perform(put("/api/sessions/S_UPDATE").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sport\":{\"code\":\"CURLING\"},\"pointId\":\"parc_princes\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/sessions/S_UPDATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sport.code").value("BASKET"));
+    }
+}
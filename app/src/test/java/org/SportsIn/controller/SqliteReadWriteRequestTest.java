@@ -0,0 +1,66 @@
+package org.SportsIn.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requêtes HTTP qui lisent puis écrivent, sur la source de données SQLite réglée
+ * (connexion d'écriture unique, lecteurs en query_only).
+ */
+@SpringBootTest(properties = {
+        "sqlite.tuning.enabled=true",
+        "mission.scheduler.enabled=false"
+})
+@AutoConfigureMockMvc
+class SqliteReadWriteRequestTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempFile("read-write-request", ".db");
+        file.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void updateArena_readsThenWritesInOneRequest() throws Exception {
+        mockMvc.perform(put("/api/arenes/parc_princes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nom\":\"Parc\",\"latitude\":48.84,\"longitude\":2.25,\"sportsDisponibles\":[\"FOOTBALL\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nom").value("Parc"));
+
+        mockMvc.perform(get("/api/arenes/parc_princes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nom").value("Parc"));
+    }
+
+    @Test
+    void updateTeam_readsThenWritesInOneRequest() throws Exception {
+        mockMvc.perform(put("/api/equipes/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nom\":\"Les Rouges\",\"points\":10,\"xp\":20}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/equipes/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nom").value("Les Rouges"));
+    }
+}
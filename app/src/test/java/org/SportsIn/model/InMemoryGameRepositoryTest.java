@@ -3,8 +3,14 @@ package org.SportsIn.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -114,4 +120,99 @@ class InMemoryGameRepositoryTest {
     void existsById_notFound() {
         assertFalse(repository.existsById("NOPE"));
     }
+
+    @Test
+    void compareAndUpdate_appliesOnlyFromExpectedState() {
+        Game game = new Game();
+        game.setPointId("a1");
+        game.setState(GameState.WAITING);
+        repository.save(game);
+
+        assertTrue(repository.compareAndUpdate(game.getId(), GameState.WAITING,
+                g -> g.setState(GameState.MATCHED)).isPresent());
+        assertTrue(repository.compareAndUpdate(game.getId(), GameState.WAITING,
+                g -> g.setState(GameState.MATCHED)).isEmpty());
+
+        assertTrue(repository.findByPointIdAndState("a1", GameState.WAITING).isEmpty());
+        assertEquals(1, repository.findByPointIdAndState("a1", GameState.MATCHED).size());
+    }
+
+    @Test
+    void compareAndUpdate_concurrentCallers_onlyOneSucceeds() throws Exception {
+        Game game = new Game();
+        game.setState(GameState.WAITING);
+        repository.save(game);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    repository.compareAndUpdate(game.getId(), GameState.WAITING, g -> g.setState(GameState.MATCHED))
+                            .ifPresent(g -> successes.incrementAndGet());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1, successes.get());
+    }
+
+    @Test
+    void save_completedGame_movesToArchive() {
+        Game game = new Game();
+        game.setPointId("a1");
+        game.setState(GameState.IN_PROGRESS);
+        repository.save(game);
+
+        game.setState(GameState.COMPLETED);
+        repository.save(game);
+
+        assertTrue(repository.findByState(GameState.IN_PROGRESS).isEmpty());
+        assertEquals(1, repository.findByState(GameState.COMPLETED).size());
+        assertTrue(repository.findById(game.getId()).isPresent());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    void archive_evictsOldestBeyondCapacity() {
+        InMemoryGameRepository bounded = new InMemoryGameRepository(2);
+        for (int i = 0; i < 3; i++) {
+            Game game = new Game();
+            game.setId("G" + i);
+            game.setState(GameState.COMPLETED);
+            bounded.save(game);
+        }
+
+        assertFalse(bounded.existsById("G0"));
+        assertTrue(bounded.existsById("G1"));
+        assertTrue(bounded.existsById("G2"));
+    }
+
+    @Test
+    void findPageAfter_readsActiveAndArchivedGamesInIdOrder() {
+        InMemoryGameRepository bounded = new InMemoryGameRepository(2);
+        for (String id : List.of("G3", "G1", "G5", "G2", "G4")) {
+            Game game = new Game();
+            game.setId(id);
+            game.setState(id.equals("G3") ? GameState.WAITING : GameState.COMPLETED);
+            bounded.save(game);
+        }
+        bounded.deleteById("G4");
+
+        // G1 et G5 évincés de l'archive (capacité 2), G4 supprimé
+        assertEquals(List.of("G2", "G3"), ids(bounded.findPageAfter("", 2)));
+        assertTrue(bounded.findPageAfter("G3", 2).isEmpty());
+    }
+
+    private static List<String> ids(List<Game> games) {
+        return games.stream().map(Game::getId).toList();
+    }
 }
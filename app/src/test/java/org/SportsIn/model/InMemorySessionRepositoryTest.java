@@ -3,8 +3,12 @@ package org.SportsIn.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,4 +96,111 @@ class InMemorySessionRepositoryTest {
     void existsById_notFound() {
         assertFalse(repository.existsById("NOPE"));
     }
+
+    @Test
+    void save_reindexesChangedState() {
+        Session session = new Session();
+        session.setState(SessionState.ACTIVE);
+        repository.save(session);
+
+        session.setState(SessionState.TERMINATED);
+        session.setEndedAt(LocalDateTime.now());
+        repository.save(session);
+
+        assertTrue(repository.findByState(SessionState.ACTIVE).isEmpty());
+        assertEquals(1, repository.findByState(SessionState.TERMINATED).size());
+    }
+
+    @Test
+    void findByPointIdAndSportCode_useIndexes() {
+        repository.save(session("S1", "P1", "FOOT", SessionState.ACTIVE, null));
+        repository.save(session("S2", "P1", "BASKET", SessionState.ACTIVE, null));
+        repository.save(session("S3", "P2", "FOOT", SessionState.ACTIVE, null));
+
+        assertEquals(2, repository.findByPointId("P1").size());
+        assertEquals(2, repository.findBySportCode("FOOT").size());
+        assertTrue(repository.findByPointId("P9").isEmpty());
+    }
+
+    @Test
+    void findTerminatedEndedAfter_returnsRangeOrderedByEndedAt() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        repository.save(session("S1", "P1", "FOOT", SessionState.TERMINATED, base.plusHours(2)));
+        repository.save(session("S2", "P1", "FOOT", SessionState.TERMINATED, base));
+        repository.save(session("S3", "P1", "FOOT", SessionState.TERMINATED, base.plusHours(1)));
+        repository.save(session("S4", "P1", "FOOT", SessionState.ACTIVE, null));
+
+        List<String> ids = repository.findTerminatedEndedAfter(base).stream().map(Session::getId).toList();
+
+        assertEquals(List.of("S3", "S1"), ids);
+    }
+
+    @Test
+    void deleteById_removesFromIndexes() {
+        repository.save(session("S1", "P1", "FOOT", SessionState.TERMINATED, LocalDateTime.now()));
+        repository.deleteById("S1");
+
+        assertTrue(repository.findByState(SessionState.TERMINATED).isEmpty());
+        assertTrue(repository.findByPointId("P1").isEmpty());
+        assertTrue(repository.findTerminatedEndedAfter(LocalDateTime.MIN).isEmpty());
+    }
+
+    @Test
+    void save_concurrentWriters_keepIndexesConsistent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        Session s = session("S" + thread + "_" + i, "P" + (i % 10), "FOOT", SessionState.ACTIVE, null);
+                        repository.save(s);
+                        if (i % 2 == 0) {
+                            s.setState(SessionState.TERMINATED);
+                            s.setEndedAt(LocalDateTime.now());
+                            repository.save(s);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(4000, repository.findAll().size());
+        assertEquals(2000, repository.findByState(SessionState.ACTIVE).size());
+        assertEquals(2000, repository.findByState(SessionState.TERMINATED).size());
+        assertEquals(2000, repository.findTerminatedEndedAfter(LocalDateTime.MIN).size());
+        assertEquals(400, repository.findByPointId("P3").size());
+    }
+
+    @Test
+    void findPageAfter_readsSessionsInIdOrder() {
+        for (String id : List.of("S3", "S1", "S5", "S2", "S4")) {
+            Session session = new Session();
+            session.setId(id);
+            repository.save(session);
+        }
+        repository.save(repository.findById("S2").orElseThrow());
+        repository.deleteById("S4");
+
+        assertEquals(List.of("S1", "S2"), repository.findPageAfter("", 2).stream().map(Session::getId).toList());
+        assertEquals(List.of("S3", "S5"), repository.findPageAfter("S2", 2).stream().map(Session::getId).toList());
+        assertTrue(repository.findPageAfter("S5", 2).isEmpty());
+    }
+
+    private static Session session(String id, String pointId, String sportCode,
+                                   SessionState state, LocalDateTime endedAt) {
+        Session session = new Session();
+        session.setId(id);
+        session.setPointId(pointId);
+        Sport sport = new Sport();
+        sport.setCode(sportCode);
+        session.setSport(sport);
+        session.setState(state);
+        session.setEndedAt(endedAt);
+        return session;
+    }
 }
@@ -0,0 +1,61 @@
+package org.SportsIn.model.mission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MissionPayloadTest {
+
+    @Test
+    void toJson_isCanonical() {
+        MissionPayload payload = new MissionPayload.Diversity("A1", "Arène 1", "FOOT", 14);
+
+        assertEquals("{\"arenaId\":\"A1\",\"arenaName\":\"Arène 1\",\"sportCode\":\"FOOT\",\"windowDays\":14}",
+                payload.toJson());
+        assertEquals("{\"arenaName\":\"X\"}", new MissionPayload.Recapture(null, "X", null).toJson());
+    }
+
+    @Test
+    void decode_ignoresFieldOrderAndUnknownFields() {
+        MissionPayload decoded = MissionPayload.decode(MissionType.BREAK_ROUTE,
+                "{\"minCount\":1,\"extra\":true,\"adversaryTeamId\":7,\"arenaName\":\"Arène 2\",\"arenaId\":\"A2\"}");
+
+        assertEquals(new MissionPayload.BreakRoute("A2", "Arène 2", 7L, 1), decoded);
+        assertEquals(MissionType.BREAK_ROUTE, decoded.type());
+    }
+
+    @Test
+    void decode_invalidOrBlank_returnsEmptyPayloadOfType() {
+        assertEquals(new MissionPayload.Recapture(null, null, null),
+                MissionPayload.decode(MissionType.RECAPTURE_RECENT_LOSS, null));
+        assertEquals(new MissionPayload.Diversity(null, null, null, null),
+                MissionPayload.decode(MissionType.DIVERSITY_SPORT, "{pas du json"));
+    }
+
+    @Test
+    void mission_cachesDecodedPayloadUntilJsonChanges() {
+        Mission mission = new Mission();
+        mission.setType(MissionType.RECAPTURE_RECENT_LOSS);
+        mission.setPayloadJson("{\"windowDays\":7,\"arenaId\":\"A1\"}");
+
+        MissionPayload first = mission.getPayload();
+        assertSame(first, mission.getPayload());
+        assertEquals("A1", first.arenaId());
+
+        mission.setPayloadJson("{\"arenaId\":\"A2\"}");
+        assertEquals("A2", mission.getPayload().arenaId());
+    }
+
+    @Test
+    void payloadKey_doesNotDependOnStoredFieldOrder() {
+        Mission stored = new Mission();
+        stored.setType(MissionType.RECAPTURE_RECENT_LOSS);
+        stored.setPayloadJson("{\"windowDays\":7,\"arenaName\":\"Arène 1\",\"arenaId\":\"A1\"}");
+
+        Mission generated = new Mission();
+        generated.setPayload(new MissionPayload.Recapture("A1", "Arène 1", 7));
+
+        assertEquals(generated.payloadKey(), stored.payloadKey());
+        assertEquals(MissionType.RECAPTURE_RECENT_LOSS, generated.getType());
+    }
+}
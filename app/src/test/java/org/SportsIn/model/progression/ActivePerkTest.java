@@ -12,40 +12,40 @@ class ActivePerkTest {
     @Test
     void isActive_whenWithinRange() {
         ActivePerk perk = new ActivePerk();
-        perk.setActivatedAt(Instant.now().minusSeconds(60).toString());
-        perk.setExpiresAt(Instant.now().plusSeconds(3600).toString());
+        perk.setActivatedAt(Instant.now().minusSeconds(60));
+        perk.setExpiresAt(Instant.now().plusSeconds(3600));
         assertTrue(perk.isActive());
     }
 
     @Test
     void isActive_whenExpired() {
         ActivePerk perk = new ActivePerk();
-        perk.setActivatedAt(Instant.now().minusSeconds(7200).toString());
-        perk.setExpiresAt(Instant.now().minusSeconds(3600).toString());
+        perk.setActivatedAt(Instant.now().minusSeconds(7200));
+        perk.setExpiresAt(Instant.now().minusSeconds(3600));
         assertFalse(perk.isActive());
     }
 
     @Test
     void isExpired_whenPast() {
         ActivePerk perk = new ActivePerk();
-        perk.setActivatedAt(Instant.now().minusSeconds(7200).toString());
-        perk.setExpiresAt(Instant.now().minusSeconds(10).toString());
+        perk.setActivatedAt(Instant.now().minusSeconds(7200));
+        perk.setExpiresAt(Instant.now().minusSeconds(10));
         assertTrue(perk.isExpired());
     }
 
     @Test
     void isExpired_whenNotYet() {
         ActivePerk perk = new ActivePerk();
-        perk.setActivatedAt(Instant.now().minusSeconds(60).toString());
-        perk.setExpiresAt(Instant.now().plusSeconds(3600).toString());
+        perk.setActivatedAt(Instant.now().minusSeconds(60));
+        perk.setExpiresAt(Instant.now().plusSeconds(3600));
         assertFalse(perk.isExpired());
     }
 
     @Test
     void getRemainingDuration_whenActive() {
         ActivePerk perk = new ActivePerk();
-        perk.setActivatedAt(Instant.now().minusSeconds(60).toString());
-        perk.setExpiresAt(Instant.now().plusSeconds(3600).toString());
+        perk.setActivatedAt(Instant.now().minusSeconds(60));
+        perk.setExpiresAt(Instant.now().plusSeconds(3600));
         Duration remaining = perk.getRemainingDuration();
         assertTrue(remaining.getSeconds() > 3500);
     }
@@ -53,30 +53,30 @@ class ActivePerkTest {
     @Test
     void getRemainingDuration_whenExpired_isZero() {
         ActivePerk perk = new ActivePerk();
-        perk.setActivatedAt(Instant.now().minusSeconds(7200).toString());
-        perk.setExpiresAt(Instant.now().minusSeconds(10).toString());
+        perk.setActivatedAt(Instant.now().minusSeconds(7200));
+        perk.setExpiresAt(Instant.now().minusSeconds(10));
         assertEquals(Duration.ZERO, perk.getRemainingDuration());
     }
 
     @Test
-    void getExpiresAtInstant() {
+    void getExpiresAt() {
         Instant future = Instant.now().plusSeconds(3600);
         ActivePerk perk = new ActivePerk();
-        perk.setExpiresAt(future.toString());
-        assertNotNull(perk.getExpiresAtInstant());
-        assertEquals(future, perk.getExpiresAtInstant());
+        perk.setExpiresAt(future);
+        assertNotNull(perk.getExpiresAt());
+        assertEquals(future, perk.getExpiresAt());
     }
 
     @Test
-    void getExpiresAtInstant_nullReturnsNull() {
+    void getExpiresAt_nullReturnsNull() {
         ActivePerk perk = new ActivePerk();
-        assertNull(perk.getExpiresAtInstant());
+        assertNull(perk.getExpiresAt());
     }
 
     @Test
-    void getActivatedAtInstant_nullReturnsNull() {
+    void getActivatedAt_nullReturnsNull() {
         ActivePerk perk = new ActivePerk();
-        assertNull(perk.getActivatedAtInstant());
+        assertNull(perk.getActivatedAt());
     }
 
     @Test
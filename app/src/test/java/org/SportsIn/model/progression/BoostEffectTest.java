@@ -89,8 +89,8 @@ class BoostEffectTest {
         // Create an active perk
         ActivePerk ap = new ActivePerk();
         ap.setPerkDefinitionId(10L);
-        ap.setActivatedAt(Instant.now().minusSeconds(60).toString());
-        ap.setExpiresAt(Instant.now().plusSeconds(3600).toString());
+        ap.setActivatedAt(Instant.now().minusSeconds(60));
+        ap.setExpiresAt(Instant.now().plusSeconds(3600));
 
         assertFalse(boostEffect.canActivate(team, def, List.of(ap)));
     }
@@ -106,8 +106,8 @@ class BoostEffectTest {
         // Recently expired perk
         ActivePerk ap = new ActivePerk();
         ap.setPerkDefinitionId(10L);
-        ap.setActivatedAt(Instant.now().minusSeconds(7200).toString());
-        ap.setExpiresAt(Instant.now().minusSeconds(10).toString()); // expired 10s ago, cooldown 3600s
+        ap.setActivatedAt(Instant.now().minusSeconds(7200));
+        ap.setExpiresAt(Instant.now().minusSeconds(10)); // expired 10s ago, cooldown 3600s
 
         assertFalse(boostEffect.canActivate(team, def, List.of(ap)));
     }
@@ -0,0 +1,31 @@
+package org.SportsIn.model.progression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerkParametersTest {
+
+    @Test
+    void parse_exposesTypedValues() {
+        PerkParameters params = PerkParameters.parse("{\"reductionPercent\": 50, \"targetType\": \"POINT\"}");
+
+        assertEquals(50.0, params.reductionPercent().orElseThrow(), 0.001);
+        assertTrue(params.boostPercent().isEmpty());
+        assertEquals("POINT", params.targetType());
+        assertEquals(50, params.asMap().get("reductionPercent"));
+    }
+
+    @Test
+    void parse_invalidOrBlank_returnsEmpty() {
+        assertSame(PerkParameters.EMPTY, PerkParameters.parse(null));
+        assertSame(PerkParameters.EMPTY, PerkParameters.parse("  "));
+        assertSame(PerkParameters.EMPTY, PerkParameters.parse("{pas du json"));
+    }
+
+    @Test
+    void asMap_isImmutable() {
+        PerkParameters params = PerkParameters.parse("{\"multiplier\": 1.5}");
+        assertThrows(UnsupportedOperationException.class, () -> params.asMap().put("multiplier", 3.0));
+    }
+}
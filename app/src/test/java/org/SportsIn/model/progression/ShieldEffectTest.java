@@ -94,8 +94,8 @@ class ShieldEffectTest {
         // One active perk already
         ActivePerk existing = new ActivePerk();
         existing.setPerkDefinitionId(1L);
-        existing.setActivatedAt(Instant.now().minusSeconds(100).toString());
-        existing.setExpiresAt(Instant.now().plusSeconds(10000).toString());
+        existing.setActivatedAt(Instant.now().minusSeconds(100));
+        existing.setExpiresAt(Instant.now().plusSeconds(10000));
 
         assertFalse(shield.canActivate(team, def, List.of(existing)));
     }
@@ -114,8 +114,8 @@ class ShieldEffectTest {
         // Expired perk (recently)
         ActivePerk expired = new ActivePerk();
         expired.setPerkDefinitionId(1L);
-        expired.setActivatedAt(Instant.now().minusSeconds(300000).toString());
-        expired.setExpiresAt(Instant.now().minusSeconds(100).toString()); // Expired 100s ago
+        expired.setActivatedAt(Instant.now().minusSeconds(300000));
+        expired.setExpiresAt(Instant.now().minusSeconds(100)); // Expired 100s ago
 
         // Cooldown is 7 days, expired 100s ago -> still in cooldown
         assertFalse(shield.canActivate(team, def, List.of(expired)));
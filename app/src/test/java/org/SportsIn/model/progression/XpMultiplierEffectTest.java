@@ -68,8 +68,8 @@ class XpMultiplierEffectTest {
 
         ActivePerk ap = new ActivePerk();
         ap.setPerkDefinitionId(20L);
-        ap.setActivatedAt(Instant.now().minusSeconds(60).toString());
-        ap.setExpiresAt(Instant.now().plusSeconds(3600).toString());
+        ap.setActivatedAt(Instant.now().minusSeconds(60));
+        ap.setExpiresAt(Instant.now().plusSeconds(3600));
 
         assertFalse(effect.canActivate(team, def, List.of(ap)));
     }
@@ -0,0 +1,88 @@
+package org.SportsIn.model.territory;
+
+import org.SportsIn.model.Arene;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryZoneRepositoryTest {
+
+    private InMemoryZoneRepository repository;
+    private Arene a1, a2, a3;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryZoneRepository();
+        a1 = new Arene("a1", "Arène 1", 0, 0);
+        a2 = new Arene("a2", "Arène 2", 0, 0);
+        a3 = new Arene("a3", "Arène 3", 0, 0);
+    }
+
+    @Test
+    void save_null_isIgnored() {
+        repository.save(null);
+        repository.save(new Zone(null, "Sans ID", List.of(a1)));
+        assertTrue(repository.findAll().isEmpty());
+        assertTrue(repository.findZonesByAreneId("a1").isEmpty());
+    }
+
+    @Test
+    void findZonesByAreneId_returnsOverlappingZonesSortedById() {
+        repository.save(new Zone(2L, "Zone B", List.of(a2, a3)));
+        repository.save(new Zone(1L, "Zone A", List.of(a1, a2)));
+
+        List<Zone> zones = repository.findZonesByAreneId("a2");
+
+        assertEquals(List.of(1L, 2L), zones.stream().map(Zone::getId).toList());
+        assertEquals(1, repository.findZonesByAreneId("a1").size());
+        assertTrue(repository.findZonesByAreneId("inconnue").isEmpty());
+    }
+
+    @Test
+    void save_reindexesWhenZoneCompositionChanges() {
+        Zone zone = new Zone(1L, "Zone A", new ArrayList<>(List.of(a1, a2)));
+        repository.save(zone);
+
+        zone.setArenes(new ArrayList<>(List.of(a2, a3)));
+        repository.save(zone);
+
+        assertTrue(repository.findZonesByAreneId("a1").isEmpty());
+        assertEquals(1, repository.findZonesByAreneId("a2").size());
+        assertEquals(1, repository.findZonesByAreneId("a3").size());
+    }
+
+    @Test
+    void concurrentSaves_keepIndexConsistent() throws InterruptedException {
+        int threads = 8;
+        int zonesPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            int offset = t * zonesPerThread;
+            executor.submit(() -> {
+                start.await();
+                for (long id = offset; id < offset + zonesPerThread; id++) {
+                    repository.save(new Zone(id, "Zone " + id, List.of(a1, new Arene("x" + id, "X", 0, 0))));
+                    repository.findZonesByAreneId("a1");
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * zonesPerThread, repository.findAll().size());
+        assertEquals(threads * zonesPerThread, repository.findZonesByAreneId("a1").size());
+        assertEquals(1, repository.findZonesByAreneId("x42").size());
+    }
+}
@@ -0,0 +1,181 @@
+package org.SportsIn.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.SportsIn.model.mission.Mission;
+import org.SportsIn.model.mission.MissionPayload;
+import org.SportsIn.services.ArenaOwnership;
+import org.SportsIn.services.MissionGenerationService;
+import org.SportsIn.services.MissionTriggerIndex;
+import org.SportsIn.services.SessionHistory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Nombre de requêtes SQL des chemins de lecture du contrôle des arènes, sur une vraie base SQLite.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/migration/V1__schema.sql",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AreneOwnershipQueryTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempFile("arene-ownership", ".db");
+        file.toFile().deleteOnExit();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file);
+    }
+
+    @Autowired
+    private AreneRepository areneRepository;
+
+    @Autowired
+    private MissionRepository missionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int arenaCount = 0;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (long teamId = 1; teamId <= 3; teamId++) {
+            jdbcTemplate.update("INSERT INTO equipe (id, nom) VALUES (?, ?)", teamId, "Équipe " + teamId);
+        }
+    }
+
+    /**
+     * Ajoute des arènes tenues par l'équipe 3, avec deux sports chacune.
+     */
+    private void addArenas(int count) {
+        for (int i = 0; i < count; i++) {
+            String id = "ARENE_" + (arenaCount++);
+            jdbcTemplate.update("INSERT INTO arene (id, nom, latitude, longitude, equipe_controle) VALUES (?, ?, ?, ?, 3)",
+                    id, "Arène " + id, 48.0 + arenaCount * 0.001, 2.0);
+            jdbcTemplate.update("INSERT INTO arene_sport (arene_id, sport_type) VALUES (?, 'FOOTBALL'), (?, 'BASKET')", id, id);
+        }
+    }
+
+    private long statements(Runnable work) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        work.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("La projection lit le propriétaire depuis la clé étrangère, arènes neutres comprises")
+    void findAllOwnership_readsOwnerIdsIncludingNeutralArenas() {
+        addArenas(2);
+        jdbcTemplate.update("INSERT INTO arene (id, nom, latitude, longitude) VALUES ('NEUTRE', 'Neutre', 0, 0)");
+
+        ArenaOwnership ownership = ArenaOwnership.load(areneRepository);
+
+        assertEquals(3, ownership.arenas().size());
+        assertEquals(3L, ownership.ownerOf("ARENE_0"));
+        assertNull(ownership.ownerOf("NEUTRE"));
+        assertTrue(ownership.isOwnedBy("ARENE_1", 3L));
+        assertEquals(2, ArenaOwnership.load(areneRepository, List.of("ARENE_0", "NEUTRE")).arenas().size());
+        assertEquals(4, areneRepository.findAllArenaSports().size());
+    }
+
+    @Test
+    @DisplayName("Génération de missions : nombre de requêtes indépendant du nombre d'arènes")
+    void missionGeneration_statementCountDoesNotDependOnArenaCount() {
+        MissionTriggerIndex triggerIndex = new MissionTriggerIndex(missionRepository);
+        triggerIndex.rebuild();
+        MissionGenerationService generation = new MissionGenerationService(missionRepository, areneRepository,
+                mock(SessionHistory.class), triggerIndex);
+
+        addArenas(3);
+        long withFewArenas = statements(() -> generation.generateForTeam(1L));
+        addArenas(60);
+        long withManyArenas = statements(() -> generation.generateForTeam(2L));
+
+        assertEquals(3, missionRepository.findActiveByTeam(2L).size());
+        assertEquals(withFewArenas, withManyArenas);
+    }
+
+    @Test
+    @DisplayName("insertAll écrit les missions en un lot et leur attribue les IDs des lignes")
+    void missionInsertAll_assignsRowIds() {
+        jdbcTemplate.update("INSERT INTO mission (team_id, type, title, created_at, starts_at, ends_at) "
+                + "VALUES (1, 'BREAK_ROUTE', 'Existante', 0, 0, 0)");
+        List<Mission> missions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Mission mission = new Mission();
+            mission.setTeamId(2L);
+            mission.setTitle("Mission " + i);
+            mission.setPayload(new MissionPayload.Recapture("ARENE_" + i, "Arène " + i, 7));
+            mission.setTimestampsFromInstant(Instant.EPOCH, Instant.EPOCH, Instant.EPOCH.plusSeconds(60));
+            missions.add(mission);
+        }
+
+        missionRepository.insertAll(missions);
+
+        for (Mission mission : missions) {
+            assertEquals(mission.getTitle(), jdbcTemplate.queryForObject(
+                    "SELECT title FROM mission WHERE id = ?", String.class, mission.getId()));
+        }
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mission", Integer.class));
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> missionRepository.insertAll(missions));
+    }
+
+    @Test
+    @DisplayName("findAll charge les sports des arènes par lots")
+    void findAll_loadsSportsInBatches() {
+        addArenas(60);
+
+        long count = statements(() -> areneRepository.findAll().forEach(a -> a.getSportsDisponibles().size()));
+
+        assertEquals(2, count);
+    }
+
+    @Test
+    @DisplayName("Les arènes de l'instantané sont triées par ID, pas dans l'ordre d'insertion")
+    void ownership_isOrderedById() {
+        for (String id : List.of("ZONE_C", "ZONE_A", "ZONE_B")) {
+            jdbcTemplate.update("INSERT INTO arene (id, nom, latitude, longitude) VALUES (?, ?, 0, 0)", id, id);
+        }
+
+        assertEquals(List.of("ZONE_A", "ZONE_B", "ZONE_C"),
+                ArenaOwnership.load(areneRepository).arenas().stream().map(ArenaOwnershipRow::arenaId).toList());
+        assertEquals(List.of("ZONE_A", "ZONE_C"), ArenaOwnership.load(areneRepository, List.of("ZONE_C", "ZONE_A"))
+                .arenas().stream().map(ArenaOwnershipRow::arenaId).toList());
+    }
+}
@@ -0,0 +1,237 @@
+package org.SportsIn.repository;
+
+import org.SportsIn.config.SessionDateSchemaUpgrade;
+import org.SportsIn.model.InvalidSessionException;
+import org.SportsIn.model.MetricType;
+import org.SportsIn.model.MetricValue;
+import org.SportsIn.model.Participant;
+import org.SportsIn.model.ParticipantType;
+import org.SportsIn.model.Session;
+import org.SportsIn.model.SessionResult;
+import org.SportsIn.model.SessionState;
+import org.SportsIn.model.Sport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcSessionRepositoryTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__schema.sql"),
+                new ClassPathResource("db/migration/V6__session_xp_granted.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO sport (id, code, name) VALUES (1, 'FOOT', 'Football')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    private JdbcSessionRepository repository(boolean writeBehind) {
+        return new JdbcSessionRepository(jdbcTemplate, new DataSourceTransactionManager(dataSource), writeBehind);
+    }
+
+    @Test
+    void save_thenFindById_roundTripsParticipantsAndMetrics() {
+        JdbcSessionRepository repository = repository(false);
+        repository.save(session("S1", SessionState.TERMINATED, LocalDateTime.of(2026, 3, 1, 10, 0)));
+
+        Session loaded = repository.findById("S1").orElseThrow();
+
+        assertEquals("FOOT", loaded.getSport().getCode());
+        assertEquals(SessionState.TERMINATED, loaded.getState());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 0), loaded.getEndedAt());
+        assertEquals(2, loaded.getParticipants().size());
+        assertEquals(2, loaded.getResult().getMetrics().size());
+        assertEquals(3.0, loaded.getResult().getMetrics().get(0).getValue(), 0.001);
+    }
+
+    @Test
+    void findById_readsSeedDatesWithOffset() {
+        jdbcTemplate.update("INSERT INTO session (id, sport_id, state, created_at, ended_at) VALUES "
+                + "('SEED', 1, 'TERMINATED', '2026-01-13T09:00:00+01:00', '2026-01-13T10:30:00Z')");
+
+        Session loaded = repository(false).findById("SEED").orElseThrow();
+
+        ZoneId zone = ZoneId.systemDefault();
+        assertEquals(OffsetDateTime.parse("2026-01-13T09:00:00+01:00").atZoneSameInstant(zone).toLocalDateTime(),
+                loaded.getCreatedAt());
+        assertEquals(OffsetDateTime.parse("2026-01-13T10:30:00Z").atZoneSameInstant(zone).toLocalDateTime(),
+                loaded.getEndedAt());
+    }
+
+    @Test
+    void save_existingSession_rewritesChildren() {
+        JdbcSessionRepository repository = repository(false);
+        Session session = session("S1", SessionState.ACTIVE, null);
+        repository.save(session);
+
+        session.getResult().getMetrics().remove(1);
+        session.setState(SessionState.TERMINATED);
+        session.setEndedAt(LocalDateTime.now());
+        repository.save(session);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM metric_value", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session_participant", Integer.class));
+        assertTrue(repository.findByState(SessionState.ACTIVE).isEmpty());
+    }
+
+    @Test
+    void findTerminatedEndedAfter_readsRangeInOrder() {
+        JdbcSessionRepository repository = repository(false);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 10, 0);
+        repository.save(session("S1", SessionState.TERMINATED, base.plusHours(2)));
+        repository.save(session("S2", SessionState.TERMINATED, base));
+        repository.save(session("S3", SessionState.TERMINATED, base.plusHours(1)));
+
+        List<String> ids = repository.findTerminatedEndedAfter(base).stream().map(Session::getId).toList();
+
+        assertEquals(List.of("S3", "S1"), ids);
+    }
+
+    @Test
+    void findTerminatedEndedAfter_comparesMigratedOffsetDatesAsInstants() throws Exception {
+        jdbcTemplate.update("INSERT INTO session (id, sport_id, state, created_at, ended_at) VALUES "
+                + "('SEED', 1, 'TERMINATED', '2026-01-13T09:00:00+01:00', '2026-01-13T11:00:00+01:00')");
+        new SessionDateSchemaUpgrade().migrate(dataSource.getConnection());
+        LocalDateTime endedAt = OffsetDateTime.parse("2026-01-13T11:00:00+01:00")
+                .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        JdbcSessionRepository repository = repository(false);
+
+        assertEquals(List.of("SEED"), ids(repository.findTerminatedEndedAfter(endedAt.minusMinutes(1))));
+        assertTrue(repository.findTerminatedEndedAfter(endedAt).isEmpty());
+        assertEquals(List.of("SEED"), ids(repository.findTerminatedEndedBefore(endedAt.plusSeconds(1))));
+        assertEquals(endedAt, repository.findById("SEED").orElseThrow().getEndedAt());
+    }
+
+    @Test
+    void save_unknownSportOrIncompleteMetric_isRejectedBeforeBuffering() {
+        JdbcSessionRepository repository = repository(true);
+        Session unknownSport = session("S1", SessionState.ACTIVE, null);
+        unknownSport.getSport().setCode("CURLING");
+        Session noSport = session("S2", SessionState.ACTIVE, null);
+        noSport.setSport(null);
+        Session badMetric = session("S3", SessionState.ACTIVE, null);
+        badMetric.getResult().getMetrics().add(new MetricValue("A", null, 1, null));
+
+        assertThrows(InvalidSessionException.class, () -> repository.save(unknownSport));
+        assertThrows(InvalidSessionException.class, () -> repository.save(noSport));
+        assertThrows(InvalidSessionException.class, () -> repository.save(badMetric));
+        assertEquals(0, repository.getPendingWrites());
+    }
+
+    @Test
+    void writeBehind_rejectedWriteIsDroppedWithoutBlockingOthers() {
+        JdbcSessionRepository repository = repository(true);
+        Session broken = session("S1", SessionState.ACTIVE, null);
+        repository.save(broken);
+        repository.save(session("S2", SessionState.ACTIVE, null));
+        // Modifiée après validation : la base la refuse au vidage
+        broken.getResult().getMetrics().get(0).setMetricType(null);
+
+        assertEquals(1, repository.flush());
+
+        assertEquals(0, repository.getPendingWrites());
+        assertEquals(List.of("S2"), jdbcTemplate.queryForList("SELECT id FROM session", String.class));
+        repository.save(session("S3", SessionState.ACTIVE, null));
+        assertEquals(1, repository.flush());
+    }
+
+    @Test
+    void deleteById_removesChildren() {
+        JdbcSessionRepository repository = repository(false);
+        repository.save(session("S1", SessionState.ACTIVE, null));
+
+        assertTrue(repository.deleteById("S1"));
+        assertFalse(repository.existsById("S1"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM metric_value", Integer.class));
+    }
+
+    @Test
+    void writeBehind_readsOwnWritesBeforeFlush() {
+        JdbcSessionRepository repository = repository(true);
+        repository.save(session("S1", SessionState.ACTIVE, null));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session", Integer.class));
+        assertTrue(repository.findById("S1").isPresent());
+        assertEquals(1, repository.findByState(SessionState.ACTIVE).size());
+        assertEquals(1, repository.getPendingWrites());
+
+        assertEquals(1, repository.flush());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session", Integer.class));
+        assertEquals(0, repository.getPendingWrites());
+    }
+
+    @Test
+    void writeBehind_deleteHidesSessionUntilFlushed() {
+        JdbcSessionRepository repository = repository(true);
+        repository.save(session("S1", SessionState.ACTIVE, null));
+        repository.flush();
+
+        repository.deleteById("S1");
+
+        assertTrue(repository.findById("S1").isEmpty());
+        assertTrue(repository.findAll().isEmpty());
+        repository.flush();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session", Integer.class));
+    }
+
+    @Test
+    void findPageAfter_mergesPendingWritesInIdOrder() {
+        JdbcSessionRepository repository = repository(true);
+        for (String id : List.of("S1", "S2", "S3", "S4", "S5")) {
+            repository.save(session(id, SessionState.ACTIVE, null));
+        }
+        repository.flush();
+        repository.deleteById("S2");
+        repository.save(session("S35", SessionState.ACTIVE, null));
+
+        assertEquals(List.of("S1", "S3"), ids(repository.findPageAfter("", 2)));
+        assertEquals(List.of("S35", "S4"), ids(repository.findPageAfter("S3", 2)));
+        assertEquals(List.of("S5"), ids(repository.findPageAfter("S4", 2)));
+        assertTrue(repository.findPageAfter("S5", 2).isEmpty());
+    }
+
+    private static List<String> ids(List<Session> sessions) {
+        return sessions.stream().map(Session::getId).toList();
+    }
+
+    private static Session session(String id, SessionState state, LocalDateTime endedAt) {
+        Sport sport = new Sport();
+        sport.setCode("FOOT");
+
+        Session session = new Session();
+        session.setId(id);
+        session.setSport(sport);
+        session.setPointId("P1");
+        session.setState(state);
+        session.setCreatedAt(LocalDateTime.of(2026, 3, 1, 9, 0));
+        session.setEndedAt(endedAt);
+        session.setParticipants(new ArrayList<>(List.of(
+                new Participant("A", "Équipe A", ParticipantType.TEAM),
+                new Participant("B", "Équipe B", ParticipantType.TEAM))));
+        session.setResult(new SessionResult(session, new ArrayList<>(List.of(
+                new MetricValue("A", MetricType.GOALS, 3, null),
+                new MetricValue("B", MetricType.GOALS, 1, null)))));
+        return session;
+    }
+}
@@ -0,0 +1,104 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.progression.ActivePerk;
+import org.SportsIn.repository.ActivePerkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ActivePerkIndexTest {
+
+    private ActivePerkRepository repository;
+    private GameStateVersions versions;
+    private ActivePerkIndex index;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now();
+        repository = mock(ActivePerkRepository.class);
+        when(repository.findActiveAt(any())).thenReturn(List.of(
+                perk(1L, 10L, "a1", now.plusSeconds(3600))
+        ));
+        versions = new GameStateVersions();
+        index = new ActivePerkIndex(repository, versions);
+    }
+
+    @Test
+    void loadsFromRepositoryOnce_thenServesFromMemory() {
+        index.add(perk(2L, 10L, "a2", now.plusSeconds(7200)));
+        index.add(perk(3L, 20L, "a1", now.plusSeconds(7200)));
+
+        assertEquals(List.of(1L, 2L), ids(index.findActiveByTeam(10L)));
+        assertEquals(List.of(1L, 3L), ids(index.findActiveOnTarget("a1")));
+        assertTrue(index.findActiveByTeam(99L).isEmpty());
+
+        verify(repository, times(1)).findActiveAt(any());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void evictExpired_removesPerksInExpiryOrder() {
+        index.add(perk(2L, 10L, "a2", now.plusSeconds(60)));
+        index.add(perk(3L, 10L, "a2", now.plusSeconds(120)));
+
+        assertEquals(1, index.evictExpired(now.plusSeconds(90).toEpochMilli()));
+        assertEquals(List.of(1L, 3L), ids(index.findActiveByTeam(10L)));
+
+        assertEquals(2, index.evictExpired(now.plusSeconds(3600).toEpochMilli()));
+        assertTrue(index.findActiveByTeam(10L).isEmpty());
+        assertTrue(index.findActiveOnTarget("a2").isEmpty());
+    }
+
+    @Test
+    void alreadyExpiredPerk_isNeverReturned() {
+        index.add(perk(2L, 10L, "a2", now.minusSeconds(1)));
+
+        assertTrue(index.findActiveOnTarget("a2").isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void replacedOrRemovedPerk_leavesNoStaleEntry() {
+        index.add(perk(2L, 10L, "a2", now.plusSeconds(60)));
+        index.add(perk(2L, 10L, "a3", now.plusSeconds(600)));
+
+        assertTrue(index.findActiveOnTarget("a2").isEmpty());
+        assertEquals(0, index.evictExpired(now.plusSeconds(90).toEpochMilli()));
+        assertEquals(List.of(2L), ids(index.findActiveOnTarget("a3")));
+
+        index.remove(2L);
+        assertTrue(index.findActiveOnTarget("a3").isEmpty());
+    }
+
+    @Test
+    void add_invalidatesCachedInfluenceAtExpiry() {
+        index.findActiveByTeam(10L);
+        long before = versions.getPerkVersion();
+
+        index.add(perk(2L, 10L, "a2", now.minusMillis(1)));
+
+        assertTrue(versions.getPerkVersion() > before);
+    }
+
+    private static ActivePerk perk(Long id, Long teamId, String targetId, Instant expiresAt) {
+        ActivePerk perk = new ActivePerk();
+        perk.setId(id);
+        perk.setTeamId(teamId);
+        perk.setPerkDefinitionId(1L);
+        perk.setTargetId(targetId);
+        perk.setActivatedAt(expiresAt.minusSeconds(86400));
+        perk.setExpiresAt(expiresAt);
+        return perk;
+    }
+
+    private static List<Long> ids(List<ActivePerk> perks) {
+        return perks.stream().map(ActivePerk::getId).toList();
+    }
+}
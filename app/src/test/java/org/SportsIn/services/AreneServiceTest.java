@@ -0,0 +1,76 @@
+package org.SportsIn.services;
+
+import org.SportsIn.events.ArenaCapturedEvent;
+import org.SportsIn.model.Arene;
+import org.SportsIn.model.user.Equipe;
+import org.SportsIn.repository.AreneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AreneServiceTest {
+
+    private AreneRepository areneRepository;
+    private RouteControlState routeControlState;
+    private ApplicationEventPublisher eventPublisher;
+    private AreneService areneService;
+    private Arene arene;
+
+    @BeforeEach
+    void setUp() {
+        areneRepository = mock(AreneRepository.class);
+        routeControlState = mock(RouteControlState.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        areneService = new AreneService(areneRepository, routeControlState, eventPublisher);
+
+        arene = new Arene("A1", "Arène", 48.0, 2.0);
+        arene.setControllingTeam(team(1L));
+        when(areneRepository.findById("A1")).thenReturn(Optional.of(arene));
+        when(areneRepository.save(any(Arene.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static Equipe team(Long id) {
+        Equipe equipe = new Equipe("Équipe " + id);
+        equipe.setId(id);
+        return equipe;
+    }
+
+    private static Arene details(Equipe owner) {
+        Arene details = new Arene("A1", "Arène", 48.0, 2.0);
+        details.setControllingTeam(owner);
+        details.setSportsDisponibles(List.of("FOOTBALL"));
+        return details;
+    }
+
+    @Test
+    void update_ownerChange_publishesCapture() {
+        areneService.update("A1", details(team(2L)));
+
+        verify(routeControlState).onArenaOwnerChanged("A1", 2L);
+        verify(eventPublisher).publishEvent(new ArenaCapturedEvent("A1", 2L, 1L));
+    }
+
+    @Test
+    void update_sameOwner_publishesNothing() {
+        areneService.update("A1", details(team(1L)));
+
+        verifyNoInteractions(eventPublisher, routeControlState);
+    }
+
+    @Test
+    void update_failingListener_keepsUpdate() {
+        doThrow(new IllegalStateException("boom")).when(eventPublisher).publishEvent(any(Object.class));
+
+        Optional<Arene> updated = areneService.update("A1", details(null));
+
+        assertTrue(updated.isPresent());
+        assertNull(updated.get().getControllingTeamId());
+    }
+}
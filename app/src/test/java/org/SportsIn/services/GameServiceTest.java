@@ -7,6 +7,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -121,6 +125,37 @@ class GameServiceTest {
                 () -> gameService.joinGame(saved.getId(), 2L));
     }
 
+    @Test
+    void joinGame_raceBetweenTwoTeams_onlyOneSucceeds() throws Exception {
+        Equipe third = new Equipe("Vert");
+        third.setId(3L);
+        when(equipeRepository.findById(2L)).thenReturn(Optional.of(opponent));
+        when(equipeRepository.findById(3L)).thenReturn(Optional.of(third));
+        Game saved = gameService.create(new Game(null, sport, "a1", creator));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = pool.submit(() -> tryJoin(start, saved.getId(), 2L));
+            Future<Boolean> second = pool.submit(() -> tryJoin(start, saved.getId(), 3L));
+            start.countDown();
+
+            assertEquals(1, (first.get() ? 1 : 0) + (second.get() ? 1 : 0));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(GameState.MATCHED, gameService.getById(saved.getId()).orElseThrow().getState());
+    }
+
+    private boolean tryJoin(CountDownLatch start, String gameId, Long teamId) throws InterruptedException {
+        start.await();
+        try {
+            return gameService.joinGame(gameId, teamId).isPresent();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
     @Test
     void joinGame_unknownTeamThrows() {
         when(equipeRepository.findById(99L)).thenReturn(Optional.empty());
@@ -151,6 +186,27 @@ class GameServiceTest {
         assertNotNull(started.get().getStartedAt());
     }
 
+    @Test
+    void startGame_rejectedSession_returnsGameToMatched() {
+        when(equipeRepository.findById(2L)).thenReturn(Optional.of(opponent));
+        Game saved = gameService.create(new Game(null, sport, "a1", creator));
+        gameService.joinGame(saved.getId(), 2L);
+        GameService rejecting = new GameService(gameRepository, new InMemorySessionRepository() {
+            @Override
+            public Session save(Session session) {
+                throw new InvalidSessionException("Sport inconnu : FOOTBALL");
+            }
+        }, equipeRepository);
+
+        assertThrows(InvalidSessionException.class, () -> rejecting.startGame(saved.getId()));
+
+        Game game = gameRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(GameState.MATCHED, game.getState());
+        assertNull(game.getStartedAt());
+        assertNull(game.getSessionId());
+        assertEquals(GameState.IN_PROGRESS, gameService.startGame(saved.getId()).orElseThrow().getState());
+    }
+
     @Test
     void startGame_notMatchedThrows() {
         Game saved = gameService.create(new Game(null, sport, "a1", creator));
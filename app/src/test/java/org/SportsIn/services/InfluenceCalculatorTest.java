@@ -2,6 +2,7 @@ package org.SportsIn.services;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +29,7 @@ class InfluenceCalculatorTest {
             public int getOrder() { return 20; }
         };
 
-        InfluenceCalculator calc = new InfluenceCalculator(List.of(perk, route)); // Unordered
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(perk, route), new GameStateVersions()); // Unordered
         double result = calc.computeTotalModifier(1L, "10");
 
         // Should be ordered: route first (+0.10), then perk (-0.05)
@@ -37,7 +38,7 @@ class InfluenceCalculatorTest {
 
     @Test
     void no_modifiers_returns_zero() {
-        InfluenceCalculator calc = new InfluenceCalculator(List.of());
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(), new GameStateVersions());
         assertEquals(0.0, calc.computeTotalModifier(1L, "10"), 0.001);
     }
 
@@ -52,7 +53,7 @@ class InfluenceCalculatorTest {
             public int getOrder() { return 10; }
         };
 
-        InfluenceCalculator calc = new InfluenceCalculator(List.of(route));
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(route), new GameStateVersions());
         assertEquals(0.15, calc.computeTotalModifier(1L, "10"), 0.001);
     }
 
@@ -77,7 +78,87 @@ class InfluenceCalculatorTest {
             public int getOrder() { return 20; }
         };
 
-        InfluenceCalculator calc = new InfluenceCalculator(List.of(first, second));
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(first, second), new GameStateVersions());
         assertEquals(0.10, calc.computeTotalModifier(1L, "10"), 0.001);
     }
+
+    @Test
+    void cached_until_territory_or_perk_version_changes() {
+        int[] calls = {0};
+        InfluenceModifier counting = new InfluenceModifier() {
+            @Override
+            public double apply(Long teamId, String pointId, double current) {
+                calls[0]++;
+                return current + 0.10;
+            }
+            @Override
+            public int getOrder() { return 10; }
+        };
+        GameStateVersions versions = new GameStateVersions();
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(counting), versions);
+
+        calc.computeTotalModifier(1L, "10");
+        calc.computeTotalModifier(1L, "10");
+        calc.computeTotalModifier(2L, "10");
+        assertEquals(2, calls[0]);
+        assertEquals(1, calc.getCacheHits());
+        assertEquals(2, calc.getCacheMisses());
+
+        versions.bumpTerritory();
+        calc.computeTotalModifier(1L, "10");
+        versions.bumpPerks();
+        calc.computeTotalModifier(1L, "10");
+        assertEquals(4, calls[0]);
+    }
+
+    @Test
+    void cache_invalidated_when_scheduled_perk_expiry_passes() {
+        int[] calls = {0};
+        InfluenceModifier counting = new InfluenceModifier() {
+            @Override
+            public double apply(Long teamId, String pointId, double current) {
+                calls[0]++;
+                return current;
+            }
+            @Override
+            public int getOrder() { return 20; }
+        };
+        GameStateVersions versions = new GameStateVersions();
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(counting), versions);
+
+        versions.schedulePerkExpiry(Instant.now().plusSeconds(3600));
+        calc.computeTotalModifier(1L, "10");
+        calc.computeTotalModifier(1L, "10");
+        assertEquals(1, calls[0]);
+
+        versions.schedulePerkExpiry(Instant.now().minusMillis(1));
+        calc.computeTotalModifier(1L, "10");
+        calc.computeTotalModifier(1L, "10");
+        assertEquals(2, calls[0]);
+    }
+
+    @Test
+    void stale_entries_dropped_when_version_changes() {
+        GameStateVersions versions = new GameStateVersions();
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(), versions);
+
+        for (long team = 1; team <= 5; team++) {
+            calc.computeTotalModifier(team, "10");
+        }
+        assertEquals(5, calc.getCacheSize());
+
+        versions.bumpTerritory();
+        calc.computeTotalModifier(1L, "10");
+        assertEquals(1, calc.getCacheSize());
+    }
+
+    @Test
+    void cache_size_is_bounded() {
+        InfluenceCalculator calc = new InfluenceCalculator(List.of(), new GameStateVersions());
+
+        for (long team = 0; team < InfluenceCalculator.MAX_CACHE_ENTRIES + 10; team++) {
+            calc.computeTotalModifier(team, "10");
+        }
+        assertEquals(InfluenceCalculator.MAX_CACHE_ENTRIES, calc.getCacheSize());
+    }
 }
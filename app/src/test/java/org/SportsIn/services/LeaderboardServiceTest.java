@@ -0,0 +1,170 @@
+package org.SportsIn.services;
+
+import org.SportsIn.events.ArenaCapturedEvent;
+import org.SportsIn.events.TeamScoreChangedEvent;
+import org.SportsIn.events.ZoneControlChangedEvent;
+import org.SportsIn.model.Arene;
+import org.SportsIn.model.territory.InMemoryZoneRepository;
+import org.SportsIn.model.territory.Zone;
+import org.SportsIn.model.user.Equipe;
+import org.SportsIn.repository.ArenaOwnershipRow;
+import org.SportsIn.repository.AreneRepository;
+import org.SportsIn.repository.EquipeRepository;
+import org.SportsIn.repository.TeamScoreRow;
+import org.SportsIn.services.LeaderboardService.Metric;
+import org.SportsIn.services.LeaderboardService.Standing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class LeaderboardServiceTest {
+
+    private LeaderboardService leaderboardService;
+    private InMemoryZoneRepository zoneRepository;
+    private Map<Long, Equipe> teams;
+    private AreneRepository areneRepository;
+
+    @BeforeEach
+    void setUp() {
+        teams = Map.of(
+                1L, team(1L, "Les Aigles", 120, 10),
+                2L, team(2L, "Les Requins", 300, 5),
+                3L, team(3L, "Les Loups", 50, 40));
+
+        EquipeRepository equipeRepository = mock(EquipeRepository.class);
+        when(equipeRepository.findAll()).thenReturn(List.copyOf(teams.values()));
+        when(equipeRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(teams.get(inv.<Long>getArgument(0))));
+        when(equipeRepository.findScoreById(anyLong())).thenAnswer(inv -> Optional.ofNullable(teams.get(inv.<Long>getArgument(0)))
+                .map(e -> new TeamScoreRow(e.getId(), e.getPoints(), e.getXp())));
+        when(equipeRepository.findAllById(any())).thenAnswer(inv -> {
+            Iterable<Long> ids = inv.getArgument(0);
+            List<Equipe> found = new ArrayList<>();
+            ids.forEach(id -> { if (teams.containsKey(id)) found.add(teams.get(id)); });
+            return found;
+        });
+
+        Arene a1 = arene("a1", teams.get(3L));
+        Arene a2 = arene("a2", teams.get(3L));
+        Arene a3 = arene("a3", teams.get(1L));
+        areneRepository = mock(AreneRepository.class);
+        when(areneRepository.findAllOwnership()).thenReturn(List.of(
+                new ArenaOwnershipRow("a1", "a1", 0, 0, 3L),
+                new ArenaOwnershipRow("a2", "a2", 0, 0, 3L),
+                new ArenaOwnershipRow("a3", "a3", 0, 0, 1L),
+                new ArenaOwnershipRow("a4", "a4", 0, 0, null)));
+
+        zoneRepository = new InMemoryZoneRepository();
+        Zone zone = new Zone(100L, "Zone Nord", List.of(a1, a2, a3));
+        zone.setControllingTeamId(3L);
+        zoneRepository.save(zone);
+
+        leaderboardService = new LeaderboardService(equipeRepository, areneRepository, zoneRepository);
+        leaderboardService.rebuild();
+    }
+
+    private static Equipe team(Long id, String nom, int xp, int points) {
+        Equipe equipe = new Equipe(nom);
+        equipe.setId(id);
+        equipe.setXp(xp);
+        equipe.setPoints(points);
+        return equipe;
+    }
+
+    private static Arene arene(String id, Equipe owner) {
+        Arene arene = new Arene(id, "Arène " + id, 0, 0);
+        arene.setControllingTeam(owner);
+        return arene;
+    }
+
+    private List<Long> order(Metric metric) {
+        return leaderboardService.page(metric, 0, 10).stream().map(Standing::teamId).toList();
+    }
+
+    @Test
+    @DisplayName("La reconstruction classe toutes les équipes pour chaque critère")
+    void testRebuildRanksAllTeams() {
+        assertEquals(List.of(2L, 1L, 3L), order(Metric.XP));
+        assertEquals(List.of(3L, 1L, 2L), order(Metric.POINTS));
+        assertEquals(List.of(3L, 1L, 2L), order(Metric.ARENAS));
+        assertEquals(List.of(3L, 1L, 2L), order(Metric.ZONES));
+        assertEquals(3, leaderboardService.size(Metric.ZONES));
+    }
+
+    @Test
+    void testPageCarriesRankNameAndScore() {
+        List<Standing> page = leaderboardService.page(Metric.XP, 1, 1);
+
+        assertEquals(List.of(new Standing(2, 1L, "Les Aigles", 120)), page);
+    }
+
+    @Test
+    @DisplayName("Les gains d'XP et de points déplacent l'équipe dans le classement")
+    void testScoreEventsMoveTeam() {
+        teams.get(3L).setXp(350);
+        leaderboardService.onTeamScoreChanged(new TeamScoreChangedEvent(3L, 0, 300));
+
+        Standing standing = leaderboardService.standingOf(Metric.XP, 3L).orElseThrow();
+        assertEquals(1, standing.rank());
+        assertEquals(350, standing.score());
+        assertEquals(40, leaderboardService.standingOf(Metric.POINTS, 3L).orElseThrow().score());
+    }
+
+    @Test
+    @DisplayName("Une capture transfère une arène de l'ancien au nouveau propriétaire")
+    void testArenaCaptureTransfersCount() {
+        leaderboardService.onArenaCaptured(new ArenaCapturedEvent("a1", 2L, 3L));
+        leaderboardService.onArenaCaptured(new ArenaCapturedEvent("a4", 2L, null));
+
+        assertEquals(2, leaderboardService.standingOf(Metric.ARENAS, 2L).orElseThrow().score());
+        assertEquals(1, leaderboardService.standingOf(Metric.ARENAS, 3L).orElseThrow().score());
+        assertEquals(List.of(2L, 1L, 3L), order(Metric.ARENAS));
+    }
+
+    @Test
+    void testZoneControlChangeTransfersCount() {
+        leaderboardService.onZoneControlChanged(new ZoneControlChangedEvent(100L, null, 3L));
+
+        assertEquals(0, leaderboardService.standingOf(Metric.ZONES, 3L).orElseThrow().score());
+    }
+
+    @Test
+    @DisplayName("Un événement reçu pendant la reconstruction n'est ni perdu ni compté deux fois")
+    void testEventsDuringRebuildAreReplayedOnce() {
+        List<ArenaOwnershipRow> beforeCapture = List.of(
+                new ArenaOwnershipRow("a1", "a1", 0, 0, 3L),
+                new ArenaOwnershipRow("a2", "a2", 0, 0, 3L),
+                new ArenaOwnershipRow("a3", "a3", 0, 0, 1L),
+                new ArenaOwnershipRow("a4", "a4", 0, 0, null));
+        when(areneRepository.findAllOwnership()).thenAnswer(inv -> {
+            // Équipes déjà lues ; l'XP de l'équipe 3 est écrite avant la lecture des arènes,
+            // la capture de a1 après
+            teams.get(3L).setXp(150);
+            leaderboardService.onTeamScoreChanged(new TeamScoreChangedEvent(3L, 0, 100));
+            leaderboardService.onArenaCaptured(new ArenaCapturedEvent("a1", 2L, 3L));
+            return beforeCapture;
+        });
+
+        leaderboardService.rebuild();
+        // Publication tardive d'une capture déjà vue par la reconstruction
+        leaderboardService.onArenaCaptured(new ArenaCapturedEvent("a1", 2L, 3L));
+
+        assertEquals(150, leaderboardService.standingOf(Metric.XP, 3L).orElseThrow().score());
+        assertEquals(1, leaderboardService.standingOf(Metric.ARENAS, 2L).orElseThrow().score());
+        assertEquals(1, leaderboardService.standingOf(Metric.ARENAS, 3L).orElseThrow().score());
+    }
+
+    @Test
+    void testUnknownTeamHasNoStanding() {
+        assertTrue(leaderboardService.standingOf(Metric.XP, 99L).isEmpty());
+    }
+}
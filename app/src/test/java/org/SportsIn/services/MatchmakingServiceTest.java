@@ -0,0 +1,219 @@
+package org.SportsIn.services;
+
+import org.SportsIn.events.MatchFoundEvent;
+import org.SportsIn.model.Game;
+import org.SportsIn.model.GameState;
+import org.SportsIn.model.InMemoryGameRepository;
+import org.SportsIn.model.InMemorySessionRepository;
+import org.SportsIn.model.MatchTicket;
+import org.SportsIn.model.Sport;
+import org.SportsIn.model.user.Equipe;
+import org.SportsIn.repository.EquipeRepository;
+import org.SportsIn.repository.SportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class MatchmakingServiceTest {
+
+    private InMemoryGameRepository gameRepository;
+    private EquipeRepository equipeRepository;
+    private List<MatchFoundEvent> events;
+    private GameService gameService;
+    private SportRepository sportRepository;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = new InMemoryGameRepository();
+        equipeRepository = mock(EquipeRepository.class);
+        when(equipeRepository.findById(anyLong())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            Equipe equipe = new Equipe("Équipe " + id);
+            equipe.setId(id);
+            // Équipes paires niveau 1, impaires niveau 5
+            equipe.setXp(id % 2 == 0 ? 0 : 1000);
+            return Optional.of(equipe);
+        });
+        Sport sport = new Sport();
+        sport.setCode("FOOT");
+        sportRepository = mock(SportRepository.class);
+        when(sportRepository.findByCode("FOOT")).thenReturn(Optional.of(sport));
+
+        events = new CopyOnWriteArrayList<>();
+        gameService = new GameService(gameRepository, new InMemorySessionRepository(), equipeRepository);
+    }
+
+    private MatchmakingService service(int levelBandWidth) {
+        return new MatchmakingService(gameService, equipeRepository, sportRepository,
+                event -> events.add((MatchFoundEvent) event), levelBandWidth);
+    }
+
+    @Test
+    @DisplayName("Deux équipes sur le même point et sport sont appariées dans un jeu MATCHED")
+    void enqueue_pairsTwoTeams() {
+        MatchmakingService matchmaking = service(0);
+
+        MatchTicket first = matchmaking.enqueue(1L, "A1", "FOOT");
+        assertEquals(MatchTicket.Status.QUEUED, first.getStatus());
+
+        MatchTicket second = matchmaking.enqueue(2L, "A1", "FOOT");
+
+        assertEquals(MatchTicket.Status.MATCHED, first.getStatus());
+        assertEquals(MatchTicket.Status.MATCHED, second.getStatus());
+        assertEquals(first.getGameId(), second.getGameId());
+        assertEquals(2L, first.getOpponentTeamId());
+
+        Game game = gameRepository.findById(first.getGameId()).orElseThrow();
+        assertEquals(GameState.MATCHED, game.getState());
+        assertEquals(1L, game.getCreatorTeam().getId());
+        assertEquals(List.of(new MatchFoundEvent(game.getId(), "A1", "FOOT", 1L, 2L)), events);
+    }
+
+    @Test
+    @DisplayName("Des points différents ne sont pas appariés")
+    void enqueue_differentPoints_staysQueued() {
+        MatchmakingService matchmaking = service(0);
+        matchmaking.enqueue(1L, "A1", "FOOT");
+        matchmaking.enqueue(2L, "A2", "FOOT");
+
+        assertTrue(events.isEmpty());
+        assertTrue(gameRepository.findAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Avec des tranches de niveau, seules les équipes de la même tranche sont appariées")
+    void enqueue_levelBands_separateQueues() {
+        MatchmakingService matchmaking = service(2);
+        matchmaking.enqueue(1L, "A1", "FOOT");
+        matchmaking.enqueue(2L, "A1", "FOOT");
+        assertTrue(events.isEmpty());
+
+        matchmaking.enqueue(3L, "A1", "FOOT");
+
+        assertEquals(1, events.size());
+        assertEquals(1L, events.get(0).creatorTeamId());
+        assertEquals(3L, events.get(0).opponentTeamId());
+        assertEquals(MatchTicket.Status.QUEUED, matchmaking.getTicket(2L).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Une équipe annulée n'est plus appariée")
+    void cancel_removesTeamFromQueue() {
+        MatchmakingService matchmaking = service(0);
+        matchmaking.enqueue(1L, "A1", "FOOT");
+        assertTrue(matchmaking.cancel(1L));
+
+        matchmaking.enqueue(2L, "A1", "FOOT");
+        assertTrue(events.isEmpty());
+
+        matchmaking.enqueue(3L, "A1", "FOOT");
+        assertEquals(2L, events.get(0).creatorTeamId());
+        assertFalse(matchmaking.cancel(3L));
+    }
+
+    @Test
+    @DisplayName("Une équipe déjà en file conserve son ticket")
+    void enqueue_twice_returnsSameTicket() {
+        MatchmakingService matchmaking = service(0);
+        MatchTicket first = matchmaking.enqueue(1L, "A1", "FOOT");
+        assertSame(first, matchmaking.enqueue(1L, "A1", "FOOT"));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un échec de création du jeu remet les deux tickets en tête de file")
+    void enqueue_gameCreationFails_requeuesBothTickets() {
+        GameService failingOnce = spy(gameService);
+        doThrow(new IllegalStateException("base indisponible")).doCallRealMethod().when(failingOnce).create(any());
+        MatchmakingService matchmaking = new MatchmakingService(failingOnce, equipeRepository, sportRepository,
+                event -> events.add((MatchFoundEvent) event), 0);
+
+        MatchTicket first = matchmaking.enqueue(1L, "A1", "FOOT");
+        MatchTicket second = assertDoesNotThrow(() -> matchmaking.enqueue(2L, "A1", "FOOT"));
+
+        assertEquals(MatchTicket.Status.QUEUED, first.getStatus());
+        assertEquals(MatchTicket.Status.QUEUED, second.getStatus());
+        assertTrue(events.isEmpty());
+
+        MatchTicket third = matchmaking.enqueue(3L, "A1", "FOOT");
+
+        assertEquals(MatchTicket.Status.MATCHED, first.getStatus());
+        assertEquals(2L, first.getOpponentTeamId());
+        assertEquals(MatchTicket.Status.QUEUED, third.getStatus());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    @DisplayName("Pendant la création du jeu, le ticket reste QUEUED ; MATCHED arrive avec l'ID du jeu")
+    void enqueue_ticketIsMatchedOnlyWithGameId() {
+        GameService observed = spy(gameService);
+        MatchmakingService[] matchmaking = new MatchmakingService[1];
+        List<MatchTicket.Status> seenDuringCreation = new ArrayList<>();
+        doAnswer(inv -> {
+            MatchTicket ticket = matchmaking[0].getTicket(1L).orElseThrow();
+            seenDuringCreation.add(ticket.getStatus());
+            assertNull(ticket.getGameId());
+            return inv.callRealMethod();
+        }).when(observed).create(any());
+        matchmaking[0] = new MatchmakingService(observed, equipeRepository, sportRepository,
+                event -> events.add((MatchFoundEvent) event), 0);
+
+        MatchTicket first = matchmaking[0].enqueue(1L, "A1", "FOOT");
+        matchmaking[0].enqueue(2L, "A1", "FOOT");
+
+        assertEquals(List.of(MatchTicket.Status.QUEUED), seenDuringCreation);
+        assertEquals(MatchTicket.Status.MATCHED, first.getStatus());
+        assertNotNull(first.getGameId());
+    }
+
+    @Test
+    @DisplayName("Sous concurrence, chaque équipe est appariée exactement une fois")
+    void enqueue_concurrent_everyTeamMatchedOnce() throws Exception {
+        MatchmakingService matchmaking = service(0);
+        int teams = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (long id = thread; id < teams; id += 8) {
+                        matchmaking.enqueue(id + 1, "A1", "FOOT");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(teams / 2, events.size());
+        Set<Long> matched = new HashSet<>();
+        for (MatchFoundEvent event : events) {
+            assertTrue(matched.add(event.creatorTeamId()));
+            assertTrue(matched.add(event.opponentTeamId()));
+        }
+        assertEquals(teams, matched.size());
+        assertEquals(teams / 2, gameRepository.findByState(GameState.MATCHED).size());
+    }
+}
@@ -4,18 +4,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.SportsIn.model.*;
 import org.SportsIn.model.mission.*;
 import org.SportsIn.model.user.Equipe;
+import org.SportsIn.repository.ArenaOwnershipRow;
 import org.SportsIn.repository.AreneRepository;
 import org.SportsIn.repository.EquipeRepository;
 import org.SportsIn.repository.MissionRepository;
+import org.SportsIn.repository.SessionDailyAggregateRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 /**
  * Tests unitaires pour MissionGenerationService et MissionEvaluationService.
@@ -29,9 +36,11 @@ class MissionServiceTest {
     private InMemoryEquipeRepository equipeRepository;
     private InMemoryAreneRepository areneRepository;
     private InMemorySessionRepository sessionRepository;
+    private SessionHistory sessionHistory;
 
     private MissionGenerationService generationService;
     private MissionEvaluationService evaluationService;
+    private MissionTriggerIndex triggerIndex;
 
     private Equipe equipeA;
     private Equipe equipeB;
@@ -42,11 +51,13 @@ class MissionServiceTest {
         equipeRepository = new InMemoryEquipeRepository();
         areneRepository = new InMemoryAreneRepository();
         sessionRepository = new InMemorySessionRepository();
+        sessionHistory = new SessionHistory(sessionRepository, mock(SessionDailyAggregateRepository.class));
 
+        triggerIndex = new MissionTriggerIndex(missionRepository);
         generationService = new MissionGenerationService(
-                missionRepository, areneRepository, sessionRepository);
+                missionRepository, areneRepository, sessionHistory, triggerIndex);
         evaluationService = new MissionEvaluationService(
-                missionRepository, equipeRepository, areneRepository, sessionRepository);
+                missionRepository, equipeRepository, areneRepository, sessionHistory, triggerIndex, event -> {});
 
         equipeA = new Equipe("Équipe Alpha");
         equipeA.setId(1L);
@@ -121,6 +132,39 @@ class MissionServiceTest {
                 "Doit générer une mission BREAK_ROUTE");
     }
 
+    @Test
+    @DisplayName("generateForAllTeams produit les mêmes missions qu'une génération équipe par équipe")
+    void testGenerateForAllTeamsMatchesPerTeamGeneration() {
+        List<Long> teamIds = new ArrayList<>();
+        for (long id = 1; id <= 24; id++) {
+            Equipe team = new Equipe("Équipe " + id);
+            team.setId(id);
+            equipeRepository.save(team);
+            teamIds.add(id);
+        }
+        for (int i = 0; i < 12; i++) {
+            Equipe owner = i % 3 == 0 ? null : equipeRepository.findById((long) (i % 5) + 1).orElseThrow();
+            areneRepository.save(createArene("arena" + i, "Arène " + i, owner, List.of("FOOT", "BASKET")));
+        }
+        Mission existing = createActiveMission(2L, MissionType.DIVERSITY_SPORT, "Déjà là");
+        existing.setPayloadJson("{\"idx\":0}");
+        missionRepository.save(existing);
+
+        InMemoryMissionRepository sequentialRepository = new InMemoryMissionRepository();
+        sequentialRepository.save(copyOf(existing));
+        MissionGenerationService sequential = new MissionGenerationService(
+                sequentialRepository, areneRepository, sessionHistory, new MissionTriggerIndex(sequentialRepository));
+        for (Long teamId : teamIds) {
+            sequential.generateForTeam(teamId);
+        }
+
+        int created = generationService.generateForAllTeams(teamIds);
+
+        assertEquals(sequentialRepository.count() - 1, created);
+        assertEquals(describe(sequentialRepository.findAll()), describe(missionRepository.findAll()));
+        assertEquals(3, missionRepository.findActiveByTeam(2L).size());
+    }
+
     // ========================
     // EVALUATION TESTS
     // ========================
@@ -228,10 +272,178 @@ class MissionServiceTest {
         assertEquals(MissionStatus.SUCCESS, evaluated.getStatus());
     }
 
+    @Test
+    @DisplayName("evaluateDiversity: SUCCESS seulement pour une session terminée du bon sport, sur la bonne arène, après le début")
+    void testEvaluateDiversityAgainstTerminatedSessions() {
+        Sport foot = new Sport();
+        foot.setCode("FOOT");
+        Sport basket = new Sport();
+        basket.setCode("BASKET");
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1);
+        sessionRepository.save(terminatedSession("s1", basket, "arena_1", now));
+        sessionRepository.save(terminatedSession("s2", foot, "arena_2", now));
+        sessionRepository.save(terminatedSession("s3", foot, "arena_1", now.minusDays(2)));
+
+        Mission wrongArena = createActiveMission(1L, MissionType.DIVERSITY_SPORT, "Foot sur arena_1");
+        wrongArena.setPayloadJson(toJson(Map.of("arenaId", "arena_1", "sportCode", "FOOT")));
+        missionRepository.save(wrongArena);
+        Mission anyArena = createActiveMission(1L, MissionType.DIVERSITY_SPORT, "Foot n'importe où");
+        anyArena.setPayloadJson(toJson(Map.of("sportCode", "FOOT")));
+        anyArena.setRewardTeamPoints(20);
+        missionRepository.save(anyArena);
+        Mission basketMission = createActiveMission(2L, MissionType.DIVERSITY_SPORT, "Basket sur arena_1");
+        basketMission.setPayloadJson(toJson(Map.of("arenaId", "arena_1", "sportCode", "BASKET")));
+        basketMission.setRewardTeamPoints(15);
+        missionRepository.save(basketMission);
+
+        evaluationService.evaluateAllActiveMissions();
+
+        assertEquals(MissionStatus.ACTIVE, missionRepository.findById(wrongArena.getId()).orElseThrow().getStatus());
+        assertEquals(MissionStatus.SUCCESS, missionRepository.findById(anyArena.getId()).orElseThrow().getStatus());
+        assertEquals(MissionStatus.SUCCESS, missionRepository.findById(basketMission.getId()).orElseThrow().getStatus());
+        assertEquals(20, equipeA.getPoints());
+        assertEquals(15, equipeB.getPoints());
+    }
+
+    @Test
+    @DisplayName("evaluateAllActiveMissions cumule les récompenses de plusieurs missions d'une même équipe")
+    void testEvaluateAllActiveMissionsAccumulatesRewards() {
+        areneRepository.save(createArene("a1", "A1", equipeA, List.of("FOOT")));
+        areneRepository.save(createArene("a2", "A2", equipeB, List.of("FOOT")));
+
+        for (int i = 0; i < 3; i++) {
+            Mission m = createActiveMission(1L, MissionType.BREAK_ROUTE, "Briser " + i);
+            m.setPayloadJson(toJson(Map.of("arenaId", "a1")));
+            m.setRewardTeamPoints(10);
+            m.setRewardTeamXp(5);
+            missionRepository.save(m);
+        }
+        Mission lost = createActiveMission(1L, MissionType.RECAPTURE_RECENT_LOSS, "Reprendre A2");
+        lost.setPayloadJson(toJson(Map.of("arenaId", "a2")));
+        missionRepository.save(lost);
+
+        evaluationService.evaluateAllActiveMissions();
+
+        assertEquals(30, equipeA.getPoints());
+        assertEquals(15, equipeA.getXp());
+        assertEquals(1, missionRepository.findActiveByTeam(1L).size());
+        assertNotNull(missionRepository.findById(lost.getId()).orElseThrow().getLastEvaluatedAt());
+    }
+
+    @Test
+    @DisplayName("evaluateMissionsForArena ne réévalue que les missions indexées sur l'arène capturée")
+    void testEvaluateMissionsForArena() {
+        Arene target = createArene("a1", "A1", equipeA, List.of("FOOT"));
+        Arene other = createArene("a2", "A2", equipeA, List.of("FOOT"));
+        areneRepository.save(target);
+        areneRepository.save(other);
+
+        Mission onTarget = createActiveMission(1L, MissionType.BREAK_ROUTE, "Briser A1");
+        onTarget.setPayloadJson(toJson(Map.of("arenaId", "a1")));
+        missionRepository.save(onTarget);
+        Mission onOther = createActiveMission(1L, MissionType.RECAPTURE_RECENT_LOSS, "Reprendre A2");
+        onOther.setPayloadJson(toJson(Map.of("arenaId", "a2")));
+        missionRepository.save(onOther);
+
+        evaluationService.evaluateMissionsForArena("a1");
+
+        assertEquals(MissionStatus.SUCCESS, missionRepository.findById(onTarget.getId()).orElseThrow().getStatus());
+        assertEquals(MissionStatus.ACTIVE, missionRepository.findById(onOther.getId()).orElseThrow().getStatus());
+        assertTrue(triggerIndex.missionIdsForArena("a1").isEmpty(), "Une mission aboutie est retirée de l'index");
+        assertEquals(List.of(onOther.getId()), triggerIndex.missionIdsForArena("a2"));
+    }
+
+    @Test
+    @DisplayName("evaluateMissionsForSession fait aboutir les missions DIVERSITY du sport et de l'arène de la session")
+    void testEvaluateMissionsForSession() {
+        Mission foot = createActiveMission(1L, MissionType.DIVERSITY_SPORT, "Foot sur a1");
+        foot.setPayloadJson(toJson(Map.of("arenaId", "a1", "sportCode", "FOOT")));
+        missionRepository.save(foot);
+        Mission footElsewhere = createActiveMission(1L, MissionType.DIVERSITY_SPORT, "Foot sur a2");
+        footElsewhere.setPayloadJson(toJson(Map.of("arenaId", "a2", "sportCode", "FOOT")));
+        missionRepository.save(footElsewhere);
+
+        evaluationService.evaluateMissionsForSession("FOOT", "a1", LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(MissionStatus.SUCCESS, missionRepository.findById(foot.getId()).orElseThrow().getStatus());
+        assertEquals(MissionStatus.ACTIVE, missionRepository.findById(footElsewhere.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Les missions générées sont enregistrées dans l'index des déclencheurs")
+    void testGeneratedMissionsAreIndexed() {
+        Arene arene = createArene("lost", "Perdue", equipeB, List.of("FOOT"));
+        areneRepository.save(arene);
+
+        triggerIndex.missionIdsForArena("lost");
+        generationService.generateForTeam(1L);
+
+        assertFalse(triggerIndex.missionIdsForArena("lost").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Une transaction annulée laisse l'index des déclencheurs inchangé")
+    void testTriggerIndexChangesWaitForCommit() {
+        Mission mission = createActiveMission(1L, MissionType.BREAK_ROUTE, "Briser A1");
+        mission.setPayloadJson(toJson(Map.of("arenaId", "a1")));
+        missionRepository.save(mission);
+        Mission generated = createActiveMission(1L, MissionType.BREAK_ROUTE, "Briser A2");
+        generated.setPayloadJson(toJson(Map.of("arenaId", "a2")));
+        missionRepository.save(generated);
+        triggerIndex.rebuild();
+        triggerIndex.unregister(generated.getId());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            triggerIndex.unregister(mission.getId());
+            triggerIndex.register(generated);
+            assertEquals(List.of(mission.getId()), triggerIndex.missionIdsForArena("a1"));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(mission.getId()), triggerIndex.missionIdsForArena("a1"));
+        assertTrue(triggerIndex.missionIdsForArena("a2").isEmpty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            triggerIndex.unregister(mission.getId());
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(triggerIndex.missionIdsForArena("a1").isEmpty());
+    }
+
     // ========================
     // HELPERS
     // ========================
 
+    private Mission copyOf(Mission source) {
+        Mission copy = createActiveMission(source.getTeamId(), source.getType(), source.getTitle());
+        copy.setPayloadJson(source.getPayloadJson());
+        return copy;
+    }
+
+    private List<String> describe(List<Mission> missions) {
+        return missions.stream()
+                .map(m -> m.getTeamId() + "|" + m.getType() + "|" + m.getPayloadJson())
+                .toList();
+    }
+
+    private Session terminatedSession(String id, Sport sport, String pointId, LocalDateTime endedAt) {
+        Session session = new Session();
+        session.setId(id);
+        session.setSport(sport);
+        session.setPointId(pointId);
+        session.setState(SessionState.TERMINATED);
+        session.setEndedAt(endedAt);
+        return session;
+    }
+
     private Arene createArene(String id, String nom, Equipe controllingTeam, List<String> sports) {
         Arene arene = new Arene(id, nom, 48.0, 2.0);
         arene.setControllingTeam(controllingTeam);
@@ -274,6 +486,25 @@ class MissionServiceTest {
                     .filter(a -> a.getControllingTeam() != null && teamId.equals(a.getControllingTeam().getId()))
                     .toList();
         }
+        @Override public List<ArenaOwnershipRow> findAllOwnership() {
+            return db.values().stream().map(a -> new ArenaOwnershipRow(a.getId(), a.getNom(), a.getLatitude(),
+                    a.getLongitude(), a.getControllingTeamId())).toList();
+        }
+        @Override public List<ArenaOwnershipRow> findOwnershipByIdIn(java.util.Collection<String> ids) {
+            return findAllOwnership().stream().filter(row -> ids.contains(row.arenaId())).toList();
+        }
+        @Override public List<Object[]> findAllArenaSports() {
+            List<Object[]> rows = new ArrayList<>();
+            for (Arene a : db.values()) {
+                if (a.getSportsDisponibles() == null) continue;
+                for (String sport : a.getSportsDisponibles()) rows.add(new Object[]{a.getId(), sport});
+            }
+            return rows;
+        }
+        @Override public List<Arene> findByIdGreaterThanOrderByIdAsc(String afterId, org.springframework.data.domain.Limit limit) {
+            return db.values().stream().filter(a -> a.getId().compareTo(afterId) > 0)
+                    .sorted(Comparator.comparing(Arene::getId)).limit(limit.max()).toList();
+        }
         @Override public List<Arene> findBySportsDisponiblesContaining(String sport) {
             return db.values().stream()
                     .filter(a -> a.getSportsDisponibles() != null && a.getSportsDisponibles().contains(sport))
@@ -284,7 +515,9 @@ class MissionServiceTest {
         @Override public boolean existsById(String id) { return db.containsKey(id); }
         @Override public List<Arene> findAll() { return new ArrayList<>(db.values()); }
         @Override public <S extends Arene> List<S> saveAll(Iterable<S> entities) { entities.forEach(this::save); return List.of(); }
-        @Override public List<Arene> findAllById(Iterable<String> ids) { return List.of(); }
+        @Override public List<Arene> findAllById(Iterable<String> ids) {
+            List<Arene> r = new ArrayList<>(); ids.forEach(id -> { if (db.containsKey(id)) r.add(db.get(id)); }); return r;
+        }
         @Override public long count() { return db.size(); }
         @Override public void deleteById(String id) { db.remove(id); }
         @Override public void delete(Arene entity) { db.remove(entity.getId()); }
@@ -323,9 +556,9 @@ class MissionServiceTest {
                     .filter(m -> m.getTeamId().equals(teamId) && m.getStatus() == MissionStatus.ACTIVE)
                     .sorted(Comparator.comparing(Mission::getEndsAt)).toList();
         }
-        @Override public List<Mission> findActiveEndingBefore(String now) {
+        @Override public List<Mission> findActiveEndingBefore(Instant now) {
             return db.values().stream()
-                    .filter(m -> m.getStatus() == MissionStatus.ACTIVE && m.getEndsAt().compareTo(now) < 0).toList();
+                    .filter(m -> m.getStatus() == MissionStatus.ACTIVE && m.getEndsAt().isBefore(now)).toList();
         }
         @Override public long countActiveByTeam(Long teamId) {
             return db.values().stream().filter(m -> m.getTeamId().equals(teamId) && m.getStatus() == MissionStatus.ACTIVE).count();
@@ -347,8 +580,11 @@ class MissionServiceTest {
         @Override public <S extends Mission> List<S> saveAll(Iterable<S> entities) {
             List<S> r = new ArrayList<>(); entities.forEach(e -> r.add(save(e))); return r;
         }
+        @Override public List<Mission> insertAll(List<Mission> missions) { return saveAll(missions); }
         @Override public List<Mission> findAll() { return new ArrayList<>(db.values()); }
-        @Override public List<Mission> findAllById(Iterable<Long> ids) { return List.of(); }
+        @Override public List<Mission> findAllById(Iterable<Long> ids) {
+            List<Mission> r = new ArrayList<>(); ids.forEach(id -> { if (db.containsKey(id)) r.add(db.get(id)); }); return r;
+        }
         @Override public long count() { return db.size(); }
         @Override public void deleteById(Long id) { db.remove(id); }
         @Override public void delete(Mission entity) { db.remove(entity.getId()); }
@@ -381,12 +617,29 @@ class MissionServiceTest {
         @Override public Optional<Equipe> findByNom(String nom) {
             return db.values().stream().filter(e -> e.getNom().equals(nom)).findFirst();
         }
+        @Override public int addXp(Long id, int xp) { return addRewards(id, 0, xp); }
+        @Override public int addRewards(Long id, int points, int xp) {
+            Equipe equipe = db.get(id);
+            if (equipe == null) return 0;
+            equipe.setPoints(equipe.getPoints() + points);
+            equipe.setXp(equipe.getXp() + xp);
+            return 1;
+        }
+        @Override public Optional<org.SportsIn.repository.TeamScoreRow> findScoreById(Long id) {
+            return findById(id).map(e -> new org.SportsIn.repository.TeamScoreRow(e.getId(), e.getPoints(), e.getXp()));
+        }
+        @Override public List<Equipe> findByIdGreaterThanOrderByIdAsc(Long afterId, org.springframework.data.domain.Limit limit) {
+            return db.values().stream().filter(e -> e.getId() > afterId)
+                    .sorted(Comparator.comparing(Equipe::getId)).limit(limit.max()).toList();
+        }
         @Override public <S extends Equipe> S save(S entity) { db.put(entity.getId(), entity); return entity; }
         @Override public Optional<Equipe> findById(Long id) { return Optional.ofNullable(db.get(id)); }
         @Override public boolean existsById(Long id) { return db.containsKey(id); }
         @Override public List<Equipe> findAll() { return new ArrayList<>(db.values()); }
         @Override public <S extends Equipe> List<S> saveAll(Iterable<S> entities) { entities.forEach(this::save); return List.of(); }
-        @Override public List<Equipe> findAllById(Iterable<Long> ids) { return List.of(); }
+        @Override public List<Equipe> findAllById(Iterable<Long> ids) {
+            List<Equipe> r = new ArrayList<>(); ids.forEach(id -> { if (db.containsKey(id)) r.add(db.get(id)); }); return r;
+        }
         @Override public long count() { return db.size(); }
         @Override public void deleteById(Long id) { db.remove(id); }
         @Override public void delete(Equipe entity) { db.remove(entity.getId()); }
@@ -424,5 +677,9 @@ class MissionServiceTest {
         @Override public boolean deleteById(String id) { return db.remove(id) != null; }
         @Override public boolean existsById(String id) { return db.containsKey(id); }
         @Override public List<Session> findAll() { return new ArrayList<>(db.values()); }
+        @Override public List<Session> findPageAfter(String afterId, int limit) {
+            return db.values().stream().filter(s -> s.getId().compareTo(afterId) > 0)
+                    .sorted(Comparator.comparing(Session::getId)).limit(limit).toList();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.progression.PerkDefinition;
+import org.SportsIn.repository.PerkDefinitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PerkCatalogTest {
+
+    private PerkDefinitionRepository repository;
+    private GameStateVersions versions;
+    private PerkCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PerkDefinitionRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                definition(2L, "BOOST_INFLUENCE", "INFLUENCE_BOOST", 5, "{\"boostPercent\": 25}"),
+                definition(3L, "XP_BOOST", "XP_MULTIPLIER", 2, "{\"multiplier\": 1.5}")
+        ));
+        versions = new GameStateVersions();
+        catalog = new PerkCatalog(repository, versions);
+    }
+
+    @Test
+    void lookups_loadOnceAndNeverHitRepositoryAgain() {
+        assertEquals("XP_BOOST", catalog.findById(3L).orElseThrow().definition().getCode());
+        assertEquals(1.5, catalog.findByCode("XP_BOOST").orElseThrow().parameters().multiplier().orElseThrow(), 0.001);
+        assertEquals(List.of(3L), catalog.findByRequiredLevelLessThanEqual(4).stream().map(PerkDefinition::getId).toList());
+        assertEquals(List.of(2L, 3L), catalog.findAll().stream().map(PerkDefinition::getId).toList());
+        assertTrue(catalog.findById(99L).isEmpty());
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void reload_picksUpChangesAndBumpsPerkVersion() {
+        catalog.findById(2L);
+        long before = versions.getPerkVersion();
+        when(repository.findAll()).thenReturn(List.of(
+                definition(2L, "BOOST_INFLUENCE", "INFLUENCE_BOOST", 5, "{\"boostPercent\": 40}")
+        ));
+
+        catalog.reload();
+
+        assertEquals(40.0, catalog.findById(2L).orElseThrow().parameters().boostPercent().orElseThrow(), 0.001);
+        assertTrue(catalog.findByCode("XP_BOOST").isEmpty());
+        assertTrue(versions.getPerkVersion() > before);
+    }
+
+    private static PerkDefinition definition(Long id, String code, String effectType, int level, String json) {
+        PerkDefinition def = new PerkDefinition();
+        def.setId(id);
+        def.setCode(code);
+        def.setName(code);
+        def.setEffectType(effectType);
+        def.setRequiredLevel(level);
+        def.setParametersJson(json);
+        return def;
+    }
+}
@@ -0,0 +1,133 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.Arene;
+import org.SportsIn.model.territory.InMemoryRouteRepository;
+import org.SportsIn.model.territory.Route;
+import org.SportsIn.model.territory.RouteBonus;
+import org.SportsIn.model.user.Equipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteControlStateTest {
+
+    private InMemoryRouteRepository routeRepository;
+    private RouteControlState state;
+    private RouteService routeService;
+    private Equipe team1;
+    private Equipe team2;
+
+    @BeforeEach
+    void setUp() {
+        routeRepository = new InMemoryRouteRepository();
+        state = new RouteControlState(routeRepository, new GameStateVersions());
+        routeService = new RouteService();
+        team1 = new Equipe("Rouge");
+        team1.setId(1L);
+        team2 = new Equipe("Bleu");
+        team2.setId(2L);
+    }
+
+    @Test
+    void buildsFromRepositoryOnFirstAccess() {
+        List<Arene> arenes = arenes("A", 4);
+        arenes.get(0).setControllingTeam(team1);
+        arenes.get(1).setControllingTeam(team1);
+        arenes.get(2).setControllingTeam(team1);
+        routeRepository.save(new Route(1L, "Route", "desc", arenes));
+
+        assertEquals(3, state.getMaxConsecutiveArenes(1L, 1L));
+        assertEquals(0.10, state.getScoreBonus(1L, "A3"), 0.001);
+        assertEquals(0.0, state.getScoreBonus(2L, "A3"), 0.001);
+    }
+
+    @Test
+    void ownerChange_splitsAndMergesRuns() {
+        routeRepository.save(new Route(1L, "Route", "desc", arenes("A", 5)));
+
+        state.onArenaOwnerChanged("A0", 1L);
+        state.onArenaOwnerChanged("A1", 1L);
+        state.onArenaOwnerChanged("A3", 1L);
+        state.onArenaOwnerChanged("A4", 1L);
+        assertEquals(2, state.getMaxConsecutiveArenes(1L, 1L));
+        assertTrue(state.getBonuses(1L).isEmpty());
+
+        state.onArenaOwnerChanged("A2", 1L);
+        assertEquals(5, state.getMaxConsecutiveArenes(1L, 1L));
+        List<RouteBonus> bonuses = state.getBonuses(1L);
+        assertEquals(1, bonuses.size());
+        assertEquals(5, bonuses.get(0).getConsecutivePoints());
+
+        state.onArenaOwnerChanged("A2", 2L);
+        assertEquals(2, state.getMaxConsecutiveArenes(1L, 1L));
+        assertEquals(1, state.getMaxConsecutiveArenes(1L, 2L));
+        assertEquals(0.0, state.getScoreBonus(1L, "A0"), 0.001);
+    }
+
+    @Test
+    void bonusesAccumulateAcrossRoutesSharingAnArena() {
+        List<Arene> first = arenes("A", 3);
+        List<Arene> second = new ArrayList<>(arenes("B", 2));
+        second.add(first.get(2));
+        routeRepository.save(new Route(1L, "R1", "desc", first));
+        routeRepository.save(new Route(2L, "R2", "desc", second));
+
+        for (String id : List.of("A0", "A1", "A2", "B0", "B1")) {
+            state.onArenaOwnerChanged(id, 1L);
+        }
+
+        assertEquals(0.20, state.getScoreBonus(1L, "A2"), 0.001);
+        assertEquals(0.10, state.getScoreBonus(1L, "B0"), 0.001);
+    }
+
+    @Test
+    void randomFlips_matchFullRescan() {
+        Random random = new Random(3);
+        List<Route> routes = new ArrayList<>();
+        List<Arene> pool = arenes("P", 30);
+        for (long r = 1; r <= 6; r++) {
+            List<Arene> routeArenes = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                routeArenes.add(pool.get(random.nextInt(pool.size())));
+            }
+            Route route = new Route(r, "R" + r, "desc", routeArenes);
+            routes.add(route);
+            routeRepository.save(route);
+        }
+        Equipe[] owners = {null, team1, team2};
+
+        for (int step = 0; step < 500; step++) {
+            Arene arene = pool.get(random.nextInt(pool.size()));
+            Equipe owner = owners[random.nextInt(owners.length)];
+            arene.setControllingTeam(owner);
+            state.onArenaOwnerChanged(arene.getId(), owner != null ? owner.getId() : null);
+
+            for (Long teamId : List.of(1L, 2L)) {
+                for (Route route : routes) {
+                    assertEquals(routeService.getMaxConsecutiveArenes(route, teamId),
+                            state.getMaxConsecutiveArenes(route.getId(), teamId));
+                }
+                for (Arene point : pool) {
+                    double expected = routeService.calculateBonuses(routes, teamId).stream()
+                            .filter(b -> b.getRoute().getArenes().stream().anyMatch(a -> a.getId().equals(point.getId())))
+                            .mapToDouble(RouteBonus::getBonusValue)
+                            .sum();
+                    assertEquals(expected, state.getScoreBonus(teamId, point.getId()), 0.0001);
+                }
+            }
+        }
+    }
+
+    private static List<Arene> arenes(String prefix, int count) {
+        List<Arene> arenes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            arenes.add(new Arene(prefix + i, prefix + i, 0, 0));
+        }
+        return arenes;
+    }
+}
@@ -19,7 +19,7 @@ class RouteInfluenceModifierTest {
     @BeforeEach
     void setUp() {
         routeRepository = new InMemoryRouteRepository();
-        modifier = new RouteInfluenceModifier(routeRepository);
+        modifier = new RouteInfluenceModifier(new RouteControlState(routeRepository, new GameStateVersions()));
     }
 
     @Test
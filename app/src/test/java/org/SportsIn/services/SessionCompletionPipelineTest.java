@@ -0,0 +1,207 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.InMemorySessionRepository;
+import org.SportsIn.model.Session;
+import org.SportsIn.model.SessionRepository;
+import org.SportsIn.model.SessionState;
+import org.SportsIn.model.Sport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SessionCompletionPipelineTest {
+
+    private SessionRepository sessionRepository;
+    private SessionService sessionService;
+    private SessionCompletionPipeline pipeline;
+    private List<String> processed;
+    private Sport football;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository = new InMemorySessionRepository();
+        sessionService = mock(SessionService.class);
+        processed = new CopyOnWriteArrayList<>();
+        football = new Sport(1L, "FOOT", "Football", 101L, null);
+        pipeline = new SessionCompletionPipeline(sessionService, sessionRepository, new SessionPipelineMetrics(), 4, 3, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    private Session activeSession(String id, String pointId) {
+        Session session = new Session(id, football, pointId, SessionState.ACTIVE, LocalDateTime.now(), List.of());
+        return sessionRepository.save(session);
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pipeline.getBacklog() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, pipeline.getBacklog());
+    }
+
+    @Test
+    @DisplayName("submit enregistre la date de fin et rend la main avant le traitement")
+    void testSubmitAcceptsBeforeProcessing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            processed.add(inv.getArgument(0));
+            return null;
+        }).when(sessionService).processSessionCompletion(anyString());
+        activeSession("S_1", "42");
+
+        Session accepted = pipeline.submit("S_1");
+
+        assertEquals(SessionState.ACTIVE, accepted.getState());
+        assertNotNull(sessionRepository.findById("S_1").orElseThrow().getEndedAt(), "La date de fin doit être persistée à l'acceptation");
+        assertTrue(processed.isEmpty());
+
+        release.countDown();
+        awaitIdle();
+        assertEquals(List.of("S_1"), processed);
+    }
+
+    @Test
+    @DisplayName("Les fins de session d'une même arène sont traitées dans l'ordre d'acceptation")
+    void testSameArenaProcessedInOrder() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            String id = inv.getArgument(0);
+            if (id.equals("S_1")) {
+                firstStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            processed.add(id);
+            return null;
+        }).when(sessionService).processSessionCompletion(anyString());
+        for (int i = 1; i <= 5; i++) {
+            activeSession("S_" + i, "42");
+        }
+        activeSession("OTHER", "43");
+
+        for (int i = 1; i <= 5; i++) {
+            pipeline.submit("S_" + i);
+        }
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        pipeline.submit("OTHER");
+
+        // Une autre arène n'attend pas la première
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!processed.contains("OTHER") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of("OTHER"), processed);
+
+        release.countDown();
+        awaitIdle();
+        assertEquals(List.of("OTHER", "S_1", "S_2", "S_3", "S_4", "S_5"), processed);
+    }
+
+    @Test
+    @DisplayName("Une session déjà terminée n'est pas retraitée")
+    void testTerminatedSessionIsNotResubmitted() throws Exception {
+        Session session = activeSession("S_1", "42");
+        session.setState(SessionState.TERMINATED);
+        sessionRepository.save(session);
+
+        Session result = pipeline.submit("S_1");
+
+        assertEquals(SessionState.TERMINATED, result.getState());
+        awaitIdle();
+        verify(sessionService, never()).processSessionCompletion(anyString());
+    }
+
+    @Test
+    void testSubmitUnknownSessionThrows() {
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit("INCONNUE"));
+    }
+
+    @Test
+    @DisplayName("Une erreur de traitement ne bloque pas la file de l'arène et est retentée")
+    void testFailureDoesNotBlockArenaQueue() throws Exception {
+        doAnswer(inv -> {
+            String id = inv.getArgument(0);
+            processed.add(id);
+            if (processed.size() == 1) throw new IllegalStateException("boom");
+            return null;
+        }).when(sessionService).processSessionCompletion(anyString());
+        activeSession("S_1", "42");
+        activeSession("S_2", "42");
+
+        pipeline.submit("S_1");
+        pipeline.submit("S_2");
+
+        awaitIdle();
+        assertEquals(List.of("S_1", "S_2", "S_1"), processed);
+        assertTrue(pipeline.getFailure("S_1").isEmpty(), "Un essai réussi efface l'échec");
+        assertEquals(0L, pipeline.getStats().get("retrying"));
+    }
+
+    @Test
+    @DisplayName("Après les essais épuisés, l'échec reste visible et submit relance une série")
+    void testExhaustedFailureIsRecordedAndResubmittable() throws Exception {
+        doAnswer(inv -> {
+            processed.add(inv.getArgument(0));
+            throw new IllegalStateException("base indisponible");
+        }).when(sessionService).processSessionCompletion(anyString());
+        activeSession("S_1", "42");
+
+        pipeline.submit("S_1");
+        awaitIdle();
+
+        assertEquals(3, processed.size());
+        SessionCompletionPipeline.CompletionFailure failure = pipeline.getFailure("S_1").orElseThrow();
+        assertTrue(failure.exhausted());
+        assertEquals(3, failure.attempts());
+        assertEquals("base indisponible", failure.lastError());
+        assertEquals(1L, pipeline.getStats().get("failed"));
+        assertEquals(List.of(failure), pipeline.getStats().get("failures"));
+
+        doAnswer(inv -> processed.add(inv.getArgument(0))).when(sessionService).processSessionCompletion(anyString());
+        pipeline.submit("S_1");
+        awaitIdle();
+
+        assertEquals(4, processed.size());
+        assertTrue(pipeline.getFailure("S_1").isEmpty());
+        assertEquals(0L, pipeline.getStats().get("failed"));
+    }
+
+    @Test
+    void testRetryDelayDoublesUpToCap() {
+        assertEquals(10, pipeline.retryDelayMs(1));
+        assertEquals(40, pipeline.retryDelayMs(3));
+        assertEquals(SessionCompletionPipeline.MAX_RETRY_DELAY_MS, pipeline.retryDelayMs(50));
+    }
+
+    @Test
+    @DisplayName("Au démarrage, les sessions acceptées mais non finalisées sont reprises")
+    void testRecoverAcceptedSessions() throws Exception {
+        doAnswer(inv -> processed.add(inv.getArgument(0))).when(sessionService).processSessionCompletion(anyString());
+        Session accepted = activeSession("S_1", "42");
+        accepted.setEndedAt(LocalDateTime.now());
+        sessionRepository.save(accepted);
+        activeSession("S_2", "42");
+
+        assertEquals(1, pipeline.recoverAccepted());
+
+        awaitIdle();
+        assertEquals(List.of("S_1"), processed);
+    }
+}
@@ -0,0 +1,104 @@
+package org.SportsIn.services;
+
+import org.SportsIn.model.InMemorySessionRepository;
+import org.SportsIn.model.Participant;
+import org.SportsIn.model.ParticipantType;
+import org.SportsIn.model.Session;
+import org.SportsIn.model.SessionDailyAggregate;
+import org.SportsIn.model.SessionState;
+import org.SportsIn.model.Sport;
+import org.SportsIn.repository.SessionDailyAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SessionRetentionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 20, 12, 0);
+
+    private InMemorySessionRepository sessionRepository;
+    private SessionDailyAggregateRepository aggregateRepository;
+    private SessionRetentionService retentionService;
+    private SessionHistory history;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository = new InMemorySessionRepository();
+        aggregateRepository = mock(SessionDailyAggregateRepository.class);
+        retentionService = new SessionRetentionService(sessionRepository, aggregateRepository, 14);
+        history = new SessionHistory(sessionRepository, aggregateRepository);
+    }
+
+    @Test
+    void compactBefore_aggregatesOldSessionsPerDaySportArenaAndTeam() {
+        LocalDateTime day = NOW.minusDays(20);
+        sessionRepository.save(session("S1", "FOOT", "P1", day.withHour(10), "T1", "T2"));
+        sessionRepository.save(session("S2", "FOOT", "P1", day.withHour(18), "T1"));
+        sessionRepository.save(session("S3", "FOOT", "P1", NOW.minusDays(1), "T1"));
+
+        int compacted = retentionService.compactBefore(NOW.minusDays(14));
+
+        assertEquals(2, compacted);
+        String date = day.toLocalDate().toString();
+        verify(aggregateRepository).accumulate(date, "FOOT", "P1", "T1", 2, day.withHour(18).toString());
+        verify(aggregateRepository).accumulate(date, "FOOT", "P1", "T2", 1, day.withHour(10).toString());
+        verifyNoMoreInteractions(aggregateRepository);
+        assertEquals(List.of("S3"), sessionRepository.findAll().stream().map(Session::getId).toList());
+    }
+
+    @Test
+    void compactBefore_nothingToCompact_writesNothing() {
+        sessionRepository.save(session("S1", "FOOT", "P1", NOW.minusDays(1), "T1"));
+
+        assertEquals(0, retentionService.compactBefore(NOW.minusDays(14)));
+        verifyNoInteractions(aggregateRepository);
+    }
+
+    @Test
+    void compactBefore_sessionWithoutSport_isKeptDetailed() {
+        Session noSport = session("S1", "FOOT", "P1", NOW.minusDays(20), "T1");
+        noSport.setSport(null);
+        sessionRepository.save(noSport);
+        sessionRepository.save(session("S2", "FOOT", "P1", NOW.minusDays(20), "T1"));
+
+        assertEquals(1, retentionService.compactBefore(NOW.minusDays(14)));
+
+        assertEquals(List.of("S1"), sessionRepository.findAll().stream().map(Session::getId).toList());
+    }
+
+    @Test
+    void history_spansHotWindowAndAggregates() {
+        sessionRepository.save(session("S1", "FOOT", "P1", NOW.minusDays(1), "T1"));
+        when(aggregateRepository.findEndedAfter(anyString())).thenReturn(List.of(
+                new SessionDailyAggregate("2026-02-20", "BASKET", "", "", 3, "2026-02-20T18:00")));
+
+        List<SessionHistory.SessionEnd> ends = history.terminatedSince(NOW.minusDays(60));
+
+        assertEquals(List.of(
+                new SessionHistory.SessionEnd("FOOT", "P1", NOW.minusDays(1)),
+                new SessionHistory.SessionEnd("BASKET", null, LocalDateTime.of(2026, 2, 20, 18, 0))), ends);
+    }
+
+    private static Session session(String id, String sportCode, String pointId, LocalDateTime endedAt,
+                                   String... teamIds) {
+        Sport sport = new Sport();
+        sport.setCode(sportCode);
+        Session session = new Session();
+        session.setId(id);
+        session.setSport(sport);
+        session.setPointId(pointId);
+        session.setState(SessionState.TERMINATED);
+        session.setEndedAt(endedAt);
+        session.setParticipants(Arrays.stream(teamIds)
+                .map(t -> new Participant(t, "Équipe " + t, ParticipantType.TEAM))
+                .toList());
+        return session;
+    }
+}
@@ -1,8 +1,11 @@
 package org.SportsIn.services;
 
+import org.SportsIn.events.ArenaCapturedEvent;
+import org.SportsIn.events.SessionTerminatedEvent;
 import org.SportsIn.model.*;
 import org.SportsIn.model.territory.*;
 import org.SportsIn.model.user.Equipe;
+import org.SportsIn.repository.ArenaOwnershipRow;
 import org.SportsIn.repository.AreneRepository;
 import org.SportsIn.repository.EquipeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +16,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class SessionServiceTest {
 
@@ -23,6 +27,7 @@ class SessionServiceTest {
     private ZoneRepository zoneRepository;
     private RouteRepository routeRepository;
     private TerritoryService territoryService;
+    private List<Object> publishedEvents;
 
     private Sport football;
     private Arene cityStade;
@@ -39,12 +44,15 @@ class SessionServiceTest {
         zoneRepository = new InMemoryZoneRepository();
         routeRepository = new InMemoryRouteRepository();
 
+        GameStateVersions versions = new GameStateVersions();
+        RouteControlState routeControlState = new RouteControlState(routeRepository, versions);
         InfluenceCalculator influenceCalculator = new InfluenceCalculator(
-                List.of(new RouteInfluenceModifier(routeRepository)));
-        territoryService = new TerritoryService(areneRepository, equipeRepository, zoneRepository, routeRepository, influenceCalculator);
+                List.of(new RouteInfluenceModifier(routeControlState)), versions);
+        publishedEvents = new ArrayList<>();
+        territoryService = new TerritoryService(areneRepository, equipeRepository, zoneRepository, routeRepository, routeControlState, influenceCalculator, publishedEvents::add);
         XpGrantService xpGrantService = new XpGrantService(null, null, null);
         RuleEvaluationService ruleEvaluationService = new RuleEvaluationService(new InMemoryRuleRepository());
-        sessionService = new SessionService(sessionRepository, territoryService, xpGrantService, ruleEvaluationService);
+        sessionService = new SessionService(sessionRepository, territoryService, xpGrantService, ruleEvaluationService, publishedEvents::add, new SessionPipelineMetrics());
 
         // Données de test
         football = new Sport(1L, "FOOT", "Football", 101L, null);
@@ -85,6 +93,12 @@ class SessionServiceTest {
         Session sessionVerif = sessionRepository.findById("S_001").orElseThrow();
         assertEquals(SessionState.TERMINATED, sessionVerif.getState());
         assertEquals("10", sessionVerif.getWinnerParticipantId());
+        assertNotNull(sessionVerif.getEndedAt());
+
+        assertEquals(List.of(
+                new ArenaCapturedEvent("42", 10L, null),
+                new SessionTerminatedEvent("S_001", "FOOT", "42", sessionVerif.getEndedAt())
+        ), publishedEvents);
     }
 
     @Test
@@ -108,6 +122,8 @@ class SessionServiceTest {
         Session sessionVerif = sessionRepository.findById("S_002").orElseThrow();
         assertEquals(SessionState.TERMINATED, sessionVerif.getState());
         assertNull(sessionVerif.getWinnerParticipantId());
+        assertEquals(1, publishedEvents.size(), "Seule la fin de session est publiée, pas de capture");
+        assertInstanceOf(SessionTerminatedEvent.class, publishedEvents.get(0));
     }
     
     @Test
@@ -185,6 +201,48 @@ class SessionServiceTest {
         assertEquals("10", sessionVerif.getWinnerParticipantId());
     }
 
+    @Test
+    @DisplayName("Un traitement rejoué après un échec n'attribue pas l'XP de match une seconde fois")
+    void testProcessSessionCompletion_RetryDoesNotGrantXpTwice() {
+        XpGrantService xpGrantService = mock(XpGrantService.class);
+        TerritoryService failingOnce = mock(TerritoryService.class);
+        doThrow(new IllegalStateException("base indisponible")).doNothing()
+                .when(failingOnce).updateTerritoryControl("42", 10L);
+        SessionService service = new SessionService(sessionRepository, failingOnce, xpGrantService,
+                new RuleEvaluationService(new InMemoryRuleRepository()), publishedEvents::add, new SessionPipelineMetrics());
+        Session session = new Session("S_007", football, "42", SessionState.ACTIVE, LocalDateTime.now(), List.of(equipeA, equipeB));
+        session.getResult().setMetrics(List.of(
+                new MetricValue(equipeA.getId(), MetricType.GOALS, 3.0, "match"),
+                new MetricValue(equipeB.getId(), MetricType.GOALS, 1.0, "match")));
+        sessionRepository.save(session);
+
+        assertThrows(IllegalStateException.class, () -> service.processSessionCompletion("S_007"));
+        assertEquals(SessionState.ACTIVE, sessionRepository.findById("S_007").orElseThrow().getState());
+        service.processSessionCompletion("S_007");
+        service.processSessionCompletion("S_007");
+
+        verify(xpGrantService, times(1)).grantMatchXp(10L, true);
+        verify(xpGrantService, times(1)).grantMatchXp(12L, false);
+        verify(failingOnce, times(2)).updateTerritoryControl("42", 10L);
+        assertEquals(SessionState.TERMINATED, sessionRepository.findById("S_007").orElseThrow().getState());
+    }
+
+    @Test
+    @DisplayName("Un vainqueur qui n'est pas une équipe : la session se termine sans vainqueur")
+    void testProcessSessionCompletion_NonNumericWinner_TerminatesWithoutWinner() {
+        Participant alice = new Participant("alice", "Alice", ParticipantType.PLAYER);
+        Session session = new Session("S_008", football, "42", SessionState.ACTIVE, LocalDateTime.now(), List.of(alice));
+        session.getResult().setMetrics(List.of(new MetricValue("alice", MetricType.GOALS, 4.0, "match")));
+        sessionRepository.save(session);
+
+        sessionService.processSessionCompletion("S_008");
+
+        Session sessionVerif = sessionRepository.findById("S_008").orElseThrow();
+        assertEquals(SessionState.TERMINATED, sessionVerif.getState());
+        assertNull(sessionVerif.getWinnerParticipantId());
+        assertNull(areneRepository.findById("42").orElseThrow().getControllingTeamId());
+    }
+
     // ========== IN-MEMORY STUBS ==========
 
     static class InMemoryAreneRepository implements AreneRepository {
@@ -195,6 +253,25 @@ class SessionServiceTest {
                     .filter(a -> a.getControllingTeam() != null && teamId.equals(a.getControllingTeam().getId()))
                     .toList();
         }
+        @Override public List<ArenaOwnershipRow> findAllOwnership() {
+            return db.values().stream().map(a -> new ArenaOwnershipRow(a.getId(), a.getNom(), a.getLatitude(),
+                    a.getLongitude(), a.getControllingTeamId())).toList();
+        }
+        @Override public List<ArenaOwnershipRow> findOwnershipByIdIn(java.util.Collection<String> ids) {
+            return findAllOwnership().stream().filter(row -> ids.contains(row.arenaId())).toList();
+        }
+        @Override public List<Object[]> findAllArenaSports() {
+            List<Object[]> rows = new ArrayList<>();
+            for (Arene a : db.values()) {
+                if (a.getSportsDisponibles() == null) continue;
+                for (String sport : a.getSportsDisponibles()) rows.add(new Object[]{a.getId(), sport});
+            }
+            return rows;
+        }
+        @Override public List<Arene> findByIdGreaterThanOrderByIdAsc(String afterId, org.springframework.data.domain.Limit limit) {
+            return db.values().stream().filter(a -> a.getId().compareTo(afterId) > 0)
+                    .sorted(Comparator.comparing(Arene::getId)).limit(limit.max()).toList();
+        }
         @Override public List<Arene> findBySportsDisponiblesContaining(String sport) {
             return db.values().stream()
                     .filter(a -> a.getSportsDisponibles() != null && a.getSportsDisponibles().contains(sport))
@@ -238,6 +315,21 @@ class SessionServiceTest {
         @Override public Optional<Equipe> findByNom(String nom) {
             return db.values().stream().filter(e -> e.getNom().equals(nom)).findFirst();
         }
+        @Override public int addXp(Long id, int xp) { return addRewards(id, 0, xp); }
+        @Override public int addRewards(Long id, int points, int xp) {
+            Equipe equipe = db.get(id);
+            if (equipe == null) return 0;
+            equipe.setPoints(equipe.getPoints() + points);
+            equipe.setXp(equipe.getXp() + xp);
+            return 1;
+        }
+        @Override public Optional<org.SportsIn.repository.TeamScoreRow> findScoreById(Long id) {
+            return findById(id).map(e -> new org.SportsIn.repository.TeamScoreRow(e.getId(), e.getPoints(), e.getXp()));
+        }
+        @Override public List<Equipe> findByIdGreaterThanOrderByIdAsc(Long afterId, org.springframework.data.domain.Limit limit) {
+            return db.values().stream().filter(e -> e.getId() > afterId)
+                    .sorted(Comparator.comparing(Equipe::getId)).limit(limit.max()).toList();
+        }
         @Override public <S extends Equipe> S save(S entity) { db.put(entity.getId(), entity); return entity; }
         @Override public Optional<Equipe> findById(Long id) { return Optional.ofNullable(db.get(id)); }
         @Override public boolean existsById(Long id) { return db.containsKey(id); }
@@ -1,8 +1,10 @@
 package org.SportsIn.services;
 
+import org.SportsIn.events.ArenaCapturedEvent;
 import org.SportsIn.model.Arene;
 import org.SportsIn.model.user.Equipe;
 import org.SportsIn.model.territory.*;
+import org.SportsIn.repository.ArenaOwnershipRow;
 import org.SportsIn.repository.AreneRepository;
 import org.SportsIn.repository.EquipeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +12,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,9 +40,11 @@ class TerritoryServiceTest {
         equipeRepository = new InMemoryEquipeRepository();
         zoneRepository = new InMemoryZoneRepository();
         routeRepository = new InMemoryRouteRepository();
+        GameStateVersions versions = new GameStateVersions();
+        RouteControlState routeControlState = new RouteControlState(routeRepository, versions);
         InfluenceCalculator influenceCalculator = new InfluenceCalculator(
-                List.of(new RouteInfluenceModifier(routeRepository)));
-        territoryService = new TerritoryService(areneRepository, equipeRepository, zoneRepository, routeRepository, influenceCalculator);
+                List.of(new RouteInfluenceModifier(routeControlState)), versions);
+        territoryService = new TerritoryService(areneRepository, equipeRepository, zoneRepository, routeRepository, routeControlState, influenceCalculator, event -> {});
 
         // Création des équipes
         team10 = new Equipe("Équipe 10");
@@ -146,6 +155,99 @@ class TerritoryServiceTest {
         territoryService.updateTerritoryControl("a3", 10L);
 
         assertEquals(10L, a3.getControllingTeamId());
+        assertEquals(0.10, territoryService.getScoreBonusForTeamOnPoint(10L, "a4"), 0.001,
+                "Les 3 arènes consécutives donnent le bonus sur toute la route");
+
+        territoryService.updateTerritoryControl("a2", 20L);
+
+        assertEquals(0.0, territoryService.getScoreBonusForTeamOnPoint(10L, "a1"), 0.001,
+                "La chaîne est brisée, le bonus disparaît");
+    }
+
+    @Test
+    @DisplayName("Un écouteur de capture en échec n'empêche pas la mise à jour de la zone")
+    void testFailingCaptureListener_doesNotSkipZoneUpdate() {
+        GameStateVersions versions = new GameStateVersions();
+        RouteControlState routeControlState = new RouteControlState(routeRepository, versions);
+        InfluenceCalculator influenceCalculator = new InfluenceCalculator(
+                List.of(new RouteInfluenceModifier(routeControlState)), versions);
+        TerritoryService service = new TerritoryService(areneRepository, equipeRepository, zoneRepository, routeRepository,
+                routeControlState, influenceCalculator, event -> {
+                    if (event instanceof ArenaCapturedEvent) throw new IllegalStateException("écouteur en échec");
+                });
+        a1.setControllingTeam(team10);
+        a2.setControllingTeam(team10);
+        areneRepository.save(a1);
+        areneRepository.save(a2);
+
+        service.updateTerritoryControl("a3", 10L);
+
+        assertEquals(10L, areneRepository.findById("a3").orElseThrow().getControllingTeamId());
+        assertEquals(10L, zoneRepository.findById(100L).orElseThrow().getControllingTeamId());
+    }
+
+    @Test
+    @DisplayName("Captures concurrentes : arènes et zone restent cohérentes")
+    void testConcurrentCapturesKeepZonesConsistent() throws Exception {
+        List<ArenaCapturedEvent> captures = Collections.synchronizedList(new ArrayList<>());
+        GameStateVersions versions = new GameStateVersions();
+        RouteControlState routeControlState = new RouteControlState(routeRepository, versions);
+        InfluenceCalculator influenceCalculator = new InfluenceCalculator(
+                List.of(new RouteInfluenceModifier(routeControlState)), versions);
+        TerritoryService service = new TerritoryService(areneRepository, equipeRepository, zoneRepository, routeRepository,
+                routeControlState, influenceCalculator, event -> {
+                    if (event instanceof ArenaCapturedEvent capture) captures.add(capture);
+                });
+
+        List<String> areneIds = List.of("a1", "a2", "a3", "a4");
+        int threads = 8;
+        int iterations = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < iterations; i++) {
+                        String areneId = areneIds.get(random.nextInt(areneIds.size()));
+                        service.updateTerritoryControl(areneId, random.nextBoolean() ? 10L : 20L);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Chaque capture part du propriétaire laissé par la précédente sur la même arène
+        Map<String, Long> ownerByArene = new HashMap<>();
+        for (ArenaCapturedEvent capture : captures) {
+            assertEquals(ownerByArene.get(capture.areneId()), capture.previousTeamId(),
+                    "Capture entrelacée sur l'arène " + capture.areneId());
+            assertNotEquals(capture.previousTeamId(), capture.teamId());
+            ownerByArene.put(capture.areneId(), capture.teamId());
+        }
+        for (String areneId : areneIds) {
+            assertEquals(ownerByArene.get(areneId), areneRepository.findById(areneId).orElseThrow().getControllingTeamId());
+        }
+
+        // La zone reflète l'état final des arènes
+        Map<Long, Long> counts = new HashMap<>();
+        for (String areneId : areneIds) {
+            counts.merge(ownerByArene.get(areneId), 1L, Long::sum);
+        }
+        Long expectedZoneOwner = counts.entrySet().stream()
+                .filter(e -> e.getKey() != null && e.getValue() >= 3)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+        assertEquals(expectedZoneOwner, zoneRepository.findById(100L).orElseThrow().getControllingTeamId());
     }
 
     // ========== IN-MEMORY STUBS ==========
@@ -158,6 +260,25 @@ class TerritoryServiceTest {
                     .filter(a -> a.getControllingTeam() != null && teamId.equals(a.getControllingTeam().getId()))
                     .toList();
         }
+        @Override public List<ArenaOwnershipRow> findAllOwnership() {
+            return db.values().stream().map(a -> new ArenaOwnershipRow(a.getId(), a.getNom(), a.getLatitude(),
+                    a.getLongitude(), a.getControllingTeamId())).toList();
+        }
+        @Override public List<ArenaOwnershipRow> findOwnershipByIdIn(java.util.Collection<String> ids) {
+            return findAllOwnership().stream().filter(row -> ids.contains(row.arenaId())).toList();
+        }
+        @Override public List<Object[]> findAllArenaSports() {
+            List<Object[]> rows = new ArrayList<>();
+            for (Arene a : db.values()) {
+                if (a.getSportsDisponibles() == null) continue;
+                for (String sport : a.getSportsDisponibles()) rows.add(new Object[]{a.getId(), sport});
+            }
+            return rows;
+        }
+        @Override public List<Arene> findByIdGreaterThanOrderByIdAsc(String afterId, org.springframework.data.domain.Limit limit) {
+            return db.values().stream().filter(a -> a.getId().compareTo(afterId) > 0)
+                    .sorted(Comparator.comparing(Arene::getId)).limit(limit.max()).toList();
+        }
         @Override public List<Arene> findBySportsDisponiblesContaining(String sport) {
             return db.values().stream()
                     .filter(a -> a.getSportsDisponibles() != null && a.getSportsDisponibles().contains(sport))
@@ -201,6 +322,21 @@ class TerritoryServiceTest {
         @Override public Optional<Equipe> findByNom(String nom) {
             return db.values().stream().filter(e -> e.getNom().equals(nom)).findFirst();
         }
+        @Override public int addXp(Long id, int xp) { return addRewards(id, 0, xp); }
+        @Override public int addRewards(Long id, int points, int xp) {
+            Equipe equipe = db.get(id);
+            if (equipe == null) return 0;
+            equipe.setPoints(equipe.getPoints() + points);
+            equipe.setXp(equipe.getXp() + xp);
+            return 1;
+        }
+        @Override public Optional<org.SportsIn.repository.TeamScoreRow> findScoreById(Long id) {
+            return findById(id).map(e -> new org.SportsIn.repository.TeamScoreRow(e.getId(), e.getPoints(), e.getXp()));
+        }
+        @Override public List<Equipe> findByIdGreaterThanOrderByIdAsc(Long afterId, org.springframework.data.domain.Limit limit) {
+            return db.values().stream().filter(e -> e.getId() > afterId)
+                    .sorted(Comparator.comparing(Equipe::getId)).limit(limit.max()).toList();
+        }
         @Override public <S extends Equipe> S save(S entity) { db.put(entity.getId(), entity); return entity; }
         @Override public Optional<Equipe> findById(Long id) { return Optional.ofNullable(db.get(id)); }
         @Override public boolean existsById(Long id) { return db.containsKey(id); }
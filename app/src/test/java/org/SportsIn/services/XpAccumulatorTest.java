@@ -0,0 +1,114 @@
+package org.SportsIn.services;
+
+import org.SportsIn.repository.EquipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class XpAccumulatorTest {
+
+    private EquipeRepository equipeRepository;
+    private XpAccumulator accumulator;
+    private Map<Long, Integer> writtenXp;
+
+    @BeforeEach
+    void setUp() {
+        equipeRepository = mock(EquipeRepository.class);
+        writtenXp = new ConcurrentHashMap<>();
+        when(equipeRepository.addXp(anyLong(), anyInt())).thenAnswer(inv -> {
+            writtenXp.merge(inv.getArgument(0), inv.getArgument(1), Integer::sum);
+            return 1;
+        });
+        accumulator = new XpAccumulator(equipeRepository, event -> {});
+    }
+
+    @Test
+    @DisplayName("Les gains d'une même équipe sont regroupés en un seul UPDATE")
+    void testGrantsAreCoalescedPerTeam() {
+        accumulator.add(1L, 30);
+        accumulator.add(1L, 10);
+        accumulator.add(2L, 15);
+
+        assertEquals(40, accumulator.getPendingXp(1L));
+        assertEquals(2, accumulator.flush());
+
+        verify(equipeRepository).addXp(1L, 40);
+        verify(equipeRepository).addXp(2L, 15);
+        verifyNoMoreInteractions(equipeRepository);
+        assertEquals(0, accumulator.getPendingTeams());
+        assertEquals(0, accumulator.flush());
+    }
+
+    @Test
+    void testNonPositiveGrantsAreIgnored() {
+        accumulator.add(1L, 0);
+        accumulator.add(1L, -5);
+        accumulator.add(null, 10);
+
+        assertEquals(0, accumulator.getPendingTeams());
+    }
+
+    @Test
+    @DisplayName("Une écriture en échec est remise en attente")
+    void testFailedWriteIsRequeued() {
+        when(equipeRepository.addXp(eq(1L), anyInt())).thenThrow(new IllegalStateException("base verrouillée"));
+        accumulator.add(1L, 30);
+        accumulator.add(2L, 10);
+
+        assertEquals(1, accumulator.flush());
+
+        assertEquals(30, accumulator.getPendingXp(1L));
+        assertEquals(10, writtenXp.get(2L));
+    }
+
+    @Test
+    @DisplayName("Aucun gain perdu quand les vidages croisent des attributions concurrentes")
+    void testConcurrentGrantsAndFlushesLoseNothing() throws Exception {
+        int threads = 8;
+        int grantsPerThread = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            Future<?> flusher = executor.submit(() -> {
+                while (running.get()) {
+                    accumulator.flush();
+                }
+            });
+            List<Future<?>> granters = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long teamId = t % 3;
+                granters.add(executor.submit(() -> {
+                    for (int i = 0; i < grantsPerThread; i++) {
+                        accumulator.add(teamId, 1);
+                    }
+                }));
+            }
+            for (Future<?> granter : granters) {
+                granter.get();
+            }
+            running.set(false);
+            flusher.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        accumulator.flush();
+
+        int total = writtenXp.values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(threads * grantsPerThread, total);
+    }
+}
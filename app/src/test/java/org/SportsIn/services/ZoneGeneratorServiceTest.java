@@ -2,11 +2,16 @@ package org.SportsIn.services;
 
 import org.SportsIn.model.Arene;
 import org.SportsIn.model.territory.Zone;
+import org.SportsIn.utils.GeoUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,4 +61,59 @@ class ZoneGeneratorServiceTest {
         // ASSERT
         assertTrue(zones.isEmpty(), "Aucune zone ne devrait être créée car les arènes sont trop loin.");
     }
+
+    @Test
+    @DisplayName("Le découpage en tuiles parallèles produit les mêmes zones qu'un parcours séquentiel")
+    void testGenerateZones_ParallelMatchesSequentialReference() {
+        Random random = new Random(7);
+        List<Arene> arenes = new ArrayList<>();
+        // Plusieurs villes éloignées pour obtenir de nombreuses tuiles indépendantes
+        double[][] villes = {{48.85, 2.35}, {45.76, 4.84}, {43.30, 5.37}, {44.84, -0.58}, {50.63, 3.06}};
+        for (int i = 0; i < 3000; i++) {
+            double[] ville = villes[i % villes.length];
+            arenes.add(new Arene("A" + i, "Arène " + i,
+                    ville[0] + random.nextDouble() * 0.1, ville[1] + random.nextDouble() * 0.1));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Zone> zones = new ZoneGeneratorService(pool).generateZonesFromArenes(arenes, 0.8, 3);
+            List<Zone> expected = referenceGenerate(arenes, 0.8, 3);
+
+            assertEquals(expected.size(), zones.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getId(), zones.get(i).getId());
+                assertEquals(expected.get(i).getNom(), zones.get(i).getNom());
+                assertEquals(expected.get(i).getArenes(), zones.get(i).getArenes());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Implémentation de référence : comparaison de chaque centre avec toutes les arènes.
+     */
+    private static List<Zone> referenceGenerate(List<Arene> allArenes, double radiusKm, int minArenesPerZone) {
+        List<Zone> zones = new ArrayList<>();
+        Set<String> assigned = new HashSet<>();
+        long zoneIdCounter = 1;
+        for (Arene center : allArenes) {
+            if (assigned.contains(center.getId())) continue;
+            List<Arene> group = new ArrayList<>();
+            group.add(center);
+            for (Arene candidate : allArenes) {
+                if (!candidate.getId().equals(center.getId()) && !assigned.contains(candidate.getId())
+                        && GeoUtils.calculateDistance(center.getLatitude(), center.getLongitude(),
+                                candidate.getLatitude(), candidate.getLongitude()) <= radiusKm) {
+                    group.add(candidate);
+                }
+            }
+            if (group.size() >= minArenesPerZone) {
+                zones.add(new Zone(zoneIdCounter++, "Zone Auto " + zoneIdCounter + " (Centre: " + center.getNom() + ")", group));
+                group.forEach(a -> assigned.add(a.getId()));
+            }
+        }
+        return zones;
+    }
 }
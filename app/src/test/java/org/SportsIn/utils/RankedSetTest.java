@@ -0,0 +1,101 @@
+package org.SportsIn.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedSetTest {
+
+    @Test
+    void rank_ordersByScoreDescending_thenIdAscending() {
+        RankedSet<Long> set = new RankedSet<>();
+        set.put(3L, 100);
+        set.put(1L, 50);
+        set.put(2L, 100);
+
+        assertEquals(1, set.rank(2L));
+        assertEquals(2, set.rank(3L));
+        assertEquals(3, set.rank(1L));
+        assertEquals(-1, set.rank(99L));
+    }
+
+    @Test
+    void put_movesExistingElement() {
+        RankedSet<Long> set = new RankedSet<>();
+        set.put(1L, 10);
+        set.put(2L, 20);
+
+        set.put(1L, 30);
+
+        assertEquals(2, set.size());
+        assertEquals(1, set.rank(1L));
+        assertEquals(30L, set.score(1L));
+    }
+
+    @Test
+    void add_startsFromZeroForUnknownElement() {
+        RankedSet<Long> set = new RankedSet<>();
+
+        assertEquals(5, set.add(7L, 5));
+        assertEquals(3, set.add(7L, -2));
+        assertEquals(3L, set.score(7L));
+    }
+
+    @Test
+    void range_returnsPageWithRanks() {
+        RankedSet<Long> set = new RankedSet<>();
+        for (long id = 1; id <= 10; id++) {
+            set.put(id, id * 10);
+        }
+
+        List<RankedSet.Entry<Long>> page = set.range(2, 3);
+
+        assertEquals(List.of(
+                new RankedSet.Entry<>(3, 8L, 80L),
+                new RankedSet.Entry<>(4, 7L, 70L),
+                new RankedSet.Entry<>(5, 6L, 60L)), page);
+        assertEquals(2, set.range(8, 5).size());
+        assertTrue(set.range(10, 5).isEmpty());
+        assertTrue(set.range(-1, 5).isEmpty());
+    }
+
+    @Test
+    void randomOperations_matchSortedListReference() {
+        Random random = new Random(42);
+        RankedSet<Long> set = new RankedSet<>();
+        Map<Long, Long> reference = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextInt(200);
+            int op = random.nextInt(10);
+            if (op == 0) {
+                assertEquals(reference.remove(id) != null, set.remove(id));
+            } else if (op < 5) {
+                long score = random.nextInt(50);
+                set.put(id, score);
+                reference.put(id, score);
+            } else {
+                long delta = random.nextInt(21) - 10;
+                set.add(id, delta);
+                reference.merge(id, delta, Long::sum);
+            }
+        }
+
+        List<Long> expected = new ArrayList<>(reference.keySet());
+        expected.sort(Comparator.<Long, Long>comparing(reference::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+        assertEquals(expected.size(), set.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, set.rank(expected.get(i)));
+        }
+        List<Long> all = set.range(0, set.size()).stream().map(RankedSet.Entry::id).toList();
+        assertEquals(expected, all);
+    }
+}
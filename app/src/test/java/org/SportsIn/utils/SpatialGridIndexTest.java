@@ -0,0 +1,102 @@
+package org.SportsIn.utils;
+
+import org.SportsIn.model.Arene;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialGridIndexTest {
+
+    private static SpatialGridIndex<Arene> indexOf(List<Arene> arenes, double cellSizeKm) {
+        return SpatialGridIndex.of(arenes, cellSizeKm, Arene::getLatitude, Arene::getLongitude);
+    }
+
+    @Test
+    void findWithinRadius_returnsOnlyClosePoints_inInsertionOrder() {
+        Arene louvre = new Arene("2", "Louvre", 48.8606, 2.3376);
+        Arene chatelet = new Arene("1", "Châtelet", 48.8584, 2.3470);
+        Arene lyon = new Arene("3", "Lyon", 45.7640, 4.8357);
+        SpatialGridIndex<Arene> index = indexOf(List.of(louvre, chatelet, lyon), 1.0);
+
+        List<Arene> result = index.findWithinRadius(48.8584, 2.3470, 2.0);
+
+        assertEquals(List.of(louvre, chatelet), result);
+    }
+
+    @Test
+    void findNearest_respectsMaxDistanceAndFilter() {
+        Arene a = new Arene("a", "A", 48.850, 2.350);
+        Arene b = new Arene("b", "B", 48.860, 2.350); // ~1.1 km
+        Arene c = new Arene("c", "C", 48.870, 2.350); // ~2.2 km
+        SpatialGridIndex<Arene> index = indexOf(List.of(a, b, c), 2.0);
+
+        assertEquals(b, index.findNearest(48.850, 2.350, 2.0, x -> x != a).orElseThrow());
+        assertEquals(c, index.findNearest(48.850, 2.350, 3.0, x -> x != a && x != b).orElseThrow());
+        assertTrue(index.findNearest(48.850, 2.350, 2.0, x -> x != a && x != b).isEmpty());
+    }
+
+    @Test
+    void findNearest_tieBrokenByInsertionOrder() {
+        Arene first = new Arene("1", "Nord", 48.860, 2.350);
+        Arene second = new Arene("2", "Sud", 48.840, 2.350);
+        SpatialGridIndex<Arene> index = indexOf(List.of(first, second), 1.0);
+
+        assertEquals(first, index.findNearest(48.850, 2.350, 5.0).orElseThrow());
+    }
+
+    @Test
+    void findKNearest_sortedByDistance() {
+        Arene far = new Arene("far", "Loin", 48.880, 2.350);
+        Arene near = new Arene("near", "Proche", 48.851, 2.350);
+        Arene mid = new Arene("mid", "Milieu", 48.860, 2.350);
+        SpatialGridIndex<Arene> index = indexOf(List.of(far, near, mid), 1.0);
+
+        assertEquals(List.of(near, mid), index.findKNearest(48.850, 2.350, 2, 10.0));
+    }
+
+    @Test
+    void remove_excludesPointFromQueries() {
+        Arene a = new Arene("a", "A", 48.850, 2.350);
+        SpatialGridIndex<Arene> index = indexOf(List.of(a), 1.0);
+
+        assertTrue(index.remove(a));
+        assertFalse(index.remove(a));
+        assertTrue(index.isEmpty());
+        assertTrue(index.findWithinRadius(48.850, 2.350, 1.0).isEmpty());
+    }
+
+    @Test
+    void queriesAcrossAntimeridian() {
+        Arene east = new Arene("e", "Est", 0.0, 179.995);
+        Arene west = new Arene("w", "Ouest", 0.0, -179.995);
+        SpatialGridIndex<Arene> index = indexOf(List.of(east, west), 0.5);
+
+        assertEquals(List.of(east, west), index.findWithinRadius(0.0, 179.995, 2.0));
+    }
+
+    @Test
+    void findWithinRadius_matchesBruteForce() {
+        Random random = new Random(42);
+        List<Arene> arenes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            arenes.add(new Arene("A" + i, "A" + i,
+                    48.80 + random.nextDouble() * 0.2, 2.25 + random.nextDouble() * 0.2));
+        }
+        SpatialGridIndex<Arene> index = indexOf(arenes, 0.7);
+
+        for (int q = 0; q < 50; q++) {
+            Arene center = arenes.get(random.nextInt(arenes.size()));
+            double radius = 0.2 + random.nextDouble() * 2.0;
+            List<Arene> expected = arenes.stream()
+                    .filter(a -> GeoUtils.calculateDistance(center.getLatitude(), center.getLongitude(),
+                            a.getLatitude(), a.getLongitude()) <= radius)
+                    .toList();
+
+            assertEquals(expected, index.findWithinRadius(center.getLatitude(), center.getLongitude(), radius));
+        }
+    }
+}
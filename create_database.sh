@@ -3,7 +3,7 @@
 # Script pour créer la base de données SQLite du projet SportsIn
 
 DB_FILE="sportsin.db"
-SCHEMA_FILE="app/src/main/resources/schema.sql"
+SCHEMA_FILE="app/src/main/resources/db/migration/V1__schema.sql"
 
 # Vérifier si sqlite3 est installé
 if ! command -v sqlite3 &> /dev/null; then